@@ -0,0 +1,304 @@
+package com.tcrs.tcrs_backend.benchmark;
+
+import com.tcrs.tcrs_backend.dto.payment.PaymentAnalyticsResponse;
+import com.tcrs.tcrs_backend.entity.*;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Deterministic synthetic dataset for the benchmarks: {@code rows} payment history
+ * rows and {@code rows} trade references spread over one business per
+ * {@link #ROWS_PER_BUSINESS} rows. Also provides in-memory versions of the
+ * aggregate queries the scoring path runs, and repository stubs backed by them.
+ */
+public final class BenchmarkData {
+
+    public static final int ROWS_PER_BUSINESS = 10;
+
+    private static final long SEED = 42L;
+
+    private final List<Business> businesses = new ArrayList<>();
+    private final Map<Long, List<PaymentHistory>> paymentsByBusiness = new HashMap<>();
+    private final Map<Long, List<TradeReference>> referencesByBusiness = new HashMap<>();
+
+    private BenchmarkData() {}
+
+    public static BenchmarkData generate(int rows) {
+        BenchmarkData data = new BenchmarkData();
+        Random random = new Random(SEED);
+        LocalDate today = LocalDate.now();
+
+        int businessCount = Math.max(1, rows / ROWS_PER_BUSINESS);
+        for (long id = 1; id <= businessCount; id++) {
+            Business business = new Business();
+            business.setId(id);
+            business.setBusinessName("Business " + id);
+            business.setGstin(String.format("27AAAAA%04dA1Z5", id % 10000));
+            business.setPan(String.format("AAAAA%04dA", id % 10000));
+            business.setBusinessType(pick(random, BusinessType.values()));
+            business.setIndustryCategory(pick(random, IndustryCategory.values()));
+            business.setRegistrationDate(random.nextInt(20) == 0 ? null : today.minusDays(random.nextInt(15 * 365)));
+            business.setGstinVerified(random.nextBoolean());
+            business.setPanVerified(random.nextBoolean());
+            business.setAddress("Address " + id);
+            business.setPhoneNumber("98" + (10000000 + id));
+            business.setEmail("business" + id + "@example.com");
+            business.setWebsite(random.nextBoolean() ? "https://business" + id + ".example.com" : null);
+            business.setBusinessDescription(random.nextBoolean() ? "Synthetic business " + id : null);
+            data.businesses.add(business);
+            data.paymentsByBusiness.put(id, new ArrayList<>());
+            data.referencesByBusiness.put(id, new ArrayList<>());
+        }
+
+        for (long id = 1; id <= rows; id++) {
+            Business business = data.businesses.get(random.nextInt(businessCount));
+
+            PaymentHistory payment = new PaymentHistory();
+            payment.setId(id);
+            payment.setBusiness(business);
+            payment.setTransactionReference("TXN-" + id);
+            payment.setTransactionAmount(BigDecimal.valueOf(1000 + random.nextInt(2_000_000), 2));
+            payment.setPaymentStatus(pick(random, PaymentStatus.values()));
+            payment.setDueDate(today.minusDays(random.nextInt(365)));
+            payment.setDaysOverdue(random.nextInt(3) == 0 ? random.nextInt(90) : 0);
+            payment.setDaysDelayed(random.nextInt(3) == 0 ? random.nextInt(60) : null);
+            payment.setPaymentRating(random.nextInt(4) == 0 ? null : 1 + random.nextInt(5));
+            payment.setIsActive(random.nextInt(20) != 0);
+            data.paymentsByBusiness.get(business.getId()).add(payment);
+
+            TradeReference reference = new TradeReference();
+            reference.setId(id);
+            reference.setBusiness(business);
+            reference.setVerificationStatus(pick(random, ReferenceVerificationStatus.values()));
+            reference.setPaymentBehavior(random.nextInt(10) == 0 ? null : pick(random, PaymentBehavior.values()));
+            reference.setRecommendationLevel(random.nextInt(10) == 0 ? null : pick(random, RecommendationLevel.values()));
+            reference.setHasDisputes(random.nextInt(8) == 0);
+            reference.setCreditLimitProvided(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(200_000_000), 2) : null);
+            reference.setTotalBusinessValue(random.nextBoolean() ? BigDecimal.valueOf(random.nextInt(500_000_000), 2) : null);
+            reference.setIsActive(random.nextInt(20) != 0);
+            data.referencesByBusiness.get(business.getId()).add(reference);
+        }
+
+        return data;
+    }
+
+    public List<Business> getBusinesses() {
+        return businesses;
+    }
+
+    // Active rows of a business, as the pre-kernel scoring loaded them
+    public List<PaymentHistory> activePayments(Long businessId) {
+        List<PaymentHistory> active = new ArrayList<>();
+        for (PaymentHistory payment : paymentsByBusiness.getOrDefault(businessId, Collections.emptyList())) {
+            if (Boolean.TRUE.equals(payment.getIsActive())) {
+                active.add(payment);
+            }
+        }
+        return active;
+    }
+
+    public List<TradeReference> activeReferences(Long businessId) {
+        List<TradeReference> active = new ArrayList<>();
+        for (TradeReference reference : referencesByBusiness.getOrDefault(businessId, Collections.emptyList())) {
+            if (Boolean.TRUE.equals(reference.getIsActive())) {
+                active.add(reference);
+            }
+        }
+        return active;
+    }
+
+    public Optional<Business> findBusiness(Long businessId) {
+        int index = businessId.intValue() - 1;
+        return index >= 0 && index < businesses.size() ? Optional.of(businesses.get(index)) : Optional.empty();
+    }
+
+    /**
+     * Same rows as TradeReferenceRepository.getScoringAggregatesByBusinessId.
+     */
+    public List<Object[]> tradeReferenceAggregates(Long businessId) {
+        Map<List<Object>, Object[]> groups = new LinkedHashMap<>();
+        for (TradeReference reference : referencesByBusiness.getOrDefault(businessId, Collections.emptyList())) {
+            if (!Boolean.TRUE.equals(reference.getIsActive())) {
+                continue;
+            }
+            List<Object> key = Arrays.asList(reference.getVerificationStatus(),
+                    reference.getPaymentBehavior(), reference.getRecommendationLevel());
+            Object[] row = groups.computeIfAbsent(key, k -> new Object[]{
+                    k.get(0), k.get(1), k.get(2), 0L, 0L, 0L, BigDecimal.ZERO, 0L, BigDecimal.ZERO, 0L});
+
+            BigDecimal creditLimit = reference.getCreditLimitProvided();
+            BigDecimal businessValue = reference.getTotalBusinessValue();
+            row[3] = (Long) row[3] + 1;
+            if (Boolean.TRUE.equals(reference.getHasDisputes())) {
+                row[4] = (Long) row[4] + 1;
+            }
+            if (businessValue != null && businessValue.compareTo(BigDecimal.valueOf(1000000)) > 0) {
+                row[5] = (Long) row[5] + 1;
+            }
+            if (creditLimit != null && creditLimit.signum() > 0) {
+                row[6] = ((BigDecimal) row[6]).add(creditLimit);
+                row[7] = (Long) row[7] + 1;
+            }
+            if (businessValue != null && businessValue.signum() > 0) {
+                row[8] = ((BigDecimal) row[8]).add(businessValue);
+                row[9] = (Long) row[9] + 1;
+            }
+        }
+        return new ArrayList<>(groups.values());
+    }
+
+    /**
+     * Same row as BusinessPaymentCountersRepository.aggregateCountersByBusinessId.
+     */
+    public List<Object[]> paymentCounterAggregates(Long businessId) {
+        long total = 0, onTime = 0, late = 0, veryLate = 0, overdue = 0, defaulted = 0;
+        long paidWithoutDelay = 0, delayed = 0, delayDays = 0, rated = 0, ratingSum = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        BigDecimal overdueAmount = BigDecimal.ZERO;
+
+        for (PaymentHistory payment : paymentsByBusiness.getOrDefault(businessId, Collections.emptyList())) {
+            if (!Boolean.TRUE.equals(payment.getIsActive())) {
+                continue;
+            }
+            total++;
+            amount = amount.add(payment.getTransactionAmount());
+
+            PaymentStatus status = payment.getPaymentStatus();
+            Integer daysDelayed = payment.getDaysDelayed();
+            Integer daysOverdue = payment.getDaysOverdue();
+            if (status == PaymentStatus.PAID) {
+                if (daysDelayed == null || daysDelayed <= 0) {
+                    onTime++;
+                } else if (daysDelayed <= 30) {
+                    late++;
+                } else {
+                    veryLate++;
+                }
+                if (daysOverdue == null || daysOverdue == 0) {
+                    paidWithoutDelay++;
+                }
+            } else if (status == PaymentStatus.OVERDUE || status == PaymentStatus.DEFAULTED) {
+                if (status == PaymentStatus.OVERDUE) {
+                    overdue++;
+                } else {
+                    defaulted++;
+                }
+                overdueAmount = overdueAmount.add(payment.getTransactionAmount());
+            }
+            if (daysOverdue != null && daysOverdue > 0) {
+                delayed++;
+                delayDays += daysOverdue;
+            }
+            if (payment.getPaymentRating() != null) {
+                rated++;
+                ratingSum += payment.getPaymentRating();
+            }
+        }
+
+        return Collections.singletonList(new Object[]{total, amount, onTime, late, veryLate, overdue, defaulted,
+                overdueAmount, paidWithoutDelay, delayed, delayDays, rated, ratingSum});
+    }
+
+    /**
+     * The basic statistics section of PaymentHistoryService.getPaymentAnalytics,
+     * which is what the report scoring reads.
+     */
+    public PaymentAnalyticsResponse paymentAnalytics(Business business) {
+        List<PaymentHistory> payments = paymentsByBusiness.getOrDefault(business.getId(), Collections.emptyList());
+
+        int total = 0, onTime = 0, overdue = 0, delayed = 0, disputes = 0, longestDelay = 0;
+        long delayDays = 0;
+        BigDecimal value = BigDecimal.ZERO;
+        BigDecimal overdueAmount = BigDecimal.ZERO;
+        for (PaymentHistory payment : payments) {
+            if (!Boolean.TRUE.equals(payment.getIsActive())) {
+                continue;
+            }
+            total++;
+            value = value.add(payment.getTransactionAmount());
+            int daysOverdue = payment.getDaysOverdue() != null ? payment.getDaysOverdue() : 0;
+            if (payment.getPaymentStatus() == PaymentStatus.PAID && daysOverdue == 0) {
+                onTime++;
+            }
+            if (payment.getPaymentStatus() == PaymentStatus.OVERDUE || payment.getPaymentStatus() == PaymentStatus.DEFAULTED) {
+                overdue++;
+                overdueAmount = overdueAmount.add(payment.getTransactionAmount());
+            }
+            if (payment.getPaymentStatus() == PaymentStatus.DISPUTED) {
+                disputes++;
+            }
+            if (daysOverdue > 0) {
+                delayed++;
+                delayDays += daysOverdue;
+                longestDelay = Math.max(longestDelay, daysOverdue);
+            }
+        }
+
+        PaymentAnalyticsResponse analytics = new PaymentAnalyticsResponse();
+        analytics.setBusinessId(business.getId());
+        analytics.setBusinessName(business.getBusinessName());
+        analytics.setTotalTransactions(total);
+        analytics.setTotalTransactionValue(value);
+        analytics.setTotalOverdueTransactions(overdue);
+        analytics.setTotalOverdueAmount(overdueAmount);
+        analytics.setAveragePaymentDelay(delayed > 0 ? (double) delayDays / delayed : 0.0);
+        analytics.setOnTimePaymentPercentage(total > 0 ? onTime * 100.0 / total : 0.0);
+        analytics.setOverduePaymentPercentage(total > 0 ? overdue * 100.0 / total : 0.0);
+        analytics.setTotalDisputes(disputes);
+        analytics.setLongestPaymentDelay(longestDelay);
+        return analytics;
+    }
+
+    /**
+     * Repository proxy that answers the named methods and fails on anything else,
+     * so a benchmark cannot silently depend on an unstubbed query.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> T repository(Class<T> repositoryType, Map<String, Function<Object[], Object>> methods) {
+        return (T) Proxy.newProxyInstance(repositoryType.getClassLoader(), new Class<?>[]{repositoryType},
+                (proxy, method, args) -> {
+                    if (method.getDeclaringClass() == Object.class) {
+                        switch (method.getName()) {
+                            case "hashCode":
+                                return System.identityHashCode(proxy);
+                            case "equals":
+                                return proxy == args[0];
+                            default:
+                                return repositoryType.getSimpleName() + " (in memory)";
+                        }
+                    }
+                    Function<Object[], Object> handler = methods.get(method.getName());
+                    if (handler == null) {
+                        throw new UnsupportedOperationException(repositoryType.getSimpleName() + "." + method.getName());
+                    }
+                    return handler.apply(args);
+                });
+    }
+
+    // Sets an @Autowired field without a Spring context
+    public static void inject(Object target, String fieldName, Object value) {
+        try {
+            Field field = target.getClass().getDeclaredField(fieldName);
+            field.setAccessible(true);
+            field.set(target, value);
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("Cannot inject " + fieldName + " into " + target.getClass().getSimpleName(), e);
+        }
+    }
+
+    // Service debug logging would otherwise dominate the measurements
+    public static void quietLogging() {
+        ((ch.qos.logback.classic.Logger) LoggerFactory.getLogger(org.slf4j.Logger.ROOT_LOGGER_NAME))
+                .setLevel(ch.qos.logback.classic.Level.WARN);
+    }
+
+    private static <E> E pick(Random random, E[] values) {
+        return values[random.nextInt(values.length)];
+    }
+}
@@ -0,0 +1,93 @@
+package com.tcrs.tcrs_backend.benchmark;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.BusinessPaymentCounters;
+import com.tcrs.tcrs_backend.repository.BusinessPaymentCountersRepository;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.TradeReferenceRepository;
+import com.tcrs.tcrs_backend.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * CreditScoringService over the synthetic dataset.
+ *
+ * scoreBreakdowns scores every business from prepared feature vectors (the CPU
+ * part of portfolio scoring); extractAndScore runs the single-business path
+ * including feature extraction against in-memory repositories.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class CreditScoringBenchmark {
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private CreditScoringService creditScoringService;
+    private CreditScoreFeatures[] features;
+    private long[] businessIds;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        BenchmarkData data = BenchmarkData.generate(rows);
+
+        Map<String, Function<Object[], Object>> businessMethods = new HashMap<>();
+        businessMethods.put("findById", args -> data.findBusiness((Long) args[0]));
+
+        Map<String, Function<Object[], Object>> referenceMethods = new HashMap<>();
+        referenceMethods.put("getScoringAggregatesByBusinessId", args -> data.tradeReferenceAggregates((Long) args[0]));
+
+        // Counters rows are persisted in production, so lookups hit this map after the first recount
+        Map<Long, BusinessPaymentCounters> storedCounters = new HashMap<>();
+        Map<String, Function<Object[], Object>> counterMethods = new HashMap<>();
+        counterMethods.put("findById", args -> Optional.ofNullable(storedCounters.get((Long) args[0])));
+        counterMethods.put("aggregateCountersByBusinessId", args -> data.paymentCounterAggregates((Long) args[0]));
+
+        PaymentCounterService paymentCounterService = new PaymentCounterService();
+        BenchmarkData.inject(paymentCounterService, "businessPaymentCountersRepository",
+                BenchmarkData.repository(BusinessPaymentCountersRepository.class, counterMethods));
+
+        creditScoringService = new CreditScoringService();
+        BenchmarkData.inject(creditScoringService, "businessRepository",
+                BenchmarkData.repository(BusinessRepository.class, businessMethods));
+        BenchmarkData.inject(creditScoringService, "tradeReferenceRepository",
+                BenchmarkData.repository(TradeReferenceRepository.class, referenceMethods));
+        BenchmarkData.inject(creditScoringService, "paymentCounterService", paymentCounterService);
+        BenchmarkData.inject(creditScoringService, "scoringModelService", new ScoringModelService());
+
+        features = new CreditScoreFeatures[data.getBusinesses().size()];
+        businessIds = new long[features.length];
+        for (int i = 0; i < features.length; i++) {
+            Business business = data.getBusinesses().get(i);
+            storedCounters.put(business.getId(), paymentCounterService.getCounters(business.getId()));
+            features[i] = creditScoringService.extractFeatures(business.getId());
+            businessIds[i] = business.getId();
+        }
+    }
+
+    @Benchmark
+    public void scoreBreakdowns(Blackhole blackhole) {
+        for (CreditScoreFeatures businessFeatures : features) {
+            blackhole.consume(creditScoringService.calculateScoreBreakdown(businessFeatures));
+        }
+    }
+
+    @Benchmark
+    public BigDecimal extractAndScore() {
+        long businessId = businessIds[next++ % businessIds.length];
+        return creditScoringService.calculateCreditScore(creditScoringService.extractFeatures(businessId));
+    }
+}
@@ -0,0 +1,66 @@
+package com.tcrs.tcrs_backend.benchmark;
+
+import com.tcrs.tcrs_backend.dto.payment.PaymentAnalyticsResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.service.PaymentHistoryService;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodType;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PaymentHistoryService.calculatePaymentBehaviorScores for every business in the
+ * synthetic dataset, starting from precomputed basic payment statistics.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PaymentBehaviorBenchmark {
+
+    private static final MethodHandle CALCULATE_PAYMENT_BEHAVIOR_SCORES = ReportScoringBenchmark.privateMethod(
+            PaymentHistoryService.class, "calculatePaymentBehaviorScores",
+            MethodType.methodType(void.class, PaymentAnalyticsResponse.class, Business.class));
+
+    private static final PaymentHistoryService PAYMENT_HISTORY_SERVICE = new PaymentHistoryService();
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private Business[] businesses;
+    private PaymentAnalyticsResponse[] analytics;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        BenchmarkData data = BenchmarkData.generate(rows);
+
+        businesses = data.getBusinesses().toArray(new Business[0]);
+        analytics = new PaymentAnalyticsResponse[businesses.length];
+        for (int i = 0; i < businesses.length; i++) {
+            analytics[i] = data.paymentAnalytics(businesses[i]);
+        }
+    }
+
+    @Benchmark
+    public void paymentBehaviorScores(Blackhole blackhole) throws Throwable {
+        for (int i = 0; i < businesses.length; i++) {
+            CALCULATE_PAYMENT_BEHAVIOR_SCORES.invokeExact(PAYMENT_HISTORY_SERVICE, analytics[i], businesses[i]);
+            blackhole.consume(analytics[i]);
+        }
+    }
+
+    // Fills in the behavior scores the enhanced report reads
+    static PaymentAnalyticsResponse scored(PaymentAnalyticsResponse analytics, Business business) {
+        try {
+            CALCULATE_PAYMENT_BEHAVIOR_SCORES.invokeExact(PAYMENT_HISTORY_SERVICE, analytics, business);
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+        return analytics;
+    }
+}
@@ -0,0 +1,86 @@
+package com.tcrs.tcrs_backend.benchmark;
+
+import com.tcrs.tcrs_backend.dto.payment.PaymentAnalyticsResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.CreditReport;
+import com.tcrs.tcrs_backend.service.CreditReportService;
+import com.tcrs.tcrs_backend.service.EnhancedCreditReportService;
+import com.tcrs.tcrs_backend.service.ReportFeatures;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Report score calculation of CreditReportService and EnhancedCreditReportService
+ * for every business in the synthetic dataset. Both are private steps of report
+ * generation and are reached through method handles.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ReportScoringBenchmark {
+
+    private static final MethodHandle CALCULATE_CREDIT_SCORES = privateMethod(CreditReportService.class,
+            "calculateCreditScores", MethodType.methodType(void.class, CreditReport.class, ReportFeatures.class));
+
+    private static final MethodHandle CALCULATE_ENHANCED_CREDIT_SCORES = privateMethod(EnhancedCreditReportService.class,
+            "calculateEnhancedCreditScores",
+            MethodType.methodType(void.class, CreditReport.class, ReportFeatures.class));
+
+    @Param({"10", "1000", "100000"})
+    private int rows;
+
+    private final CreditReportService creditReportService = new CreditReportService();
+    private final EnhancedCreditReportService enhancedCreditReportService = new EnhancedCreditReportService();
+
+    private ReportFeatures[] features;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        BenchmarkData data = BenchmarkData.generate(rows);
+
+        List<Business> businesses = data.getBusinesses();
+        features = new ReportFeatures[businesses.size()];
+        for (int i = 0; i < features.length; i++) {
+            Business business = businesses.get(i);
+            PaymentAnalyticsResponse analytics = PaymentBehaviorBenchmark.scored(data.paymentAnalytics(business), business);
+            features[i] = new ReportFeatures(business);
+            features[i].setPaymentSummary(analytics);
+        }
+    }
+
+    @Benchmark
+    public void creditReportScores(Blackhole blackhole) throws Throwable {
+        for (ReportFeatures reportFeatures : features) {
+            CreditReport report = new CreditReport();
+            CALCULATE_CREDIT_SCORES.invokeExact(creditReportService, report, reportFeatures);
+            blackhole.consume(report);
+        }
+    }
+
+    @Benchmark
+    public void enhancedCreditReportScores(Blackhole blackhole) throws Throwable {
+        for (ReportFeatures reportFeatures : features) {
+            CreditReport report = new CreditReport();
+            CALCULATE_ENHANCED_CREDIT_SCORES.invokeExact(enhancedCreditReportService, report, reportFeatures);
+            blackhole.consume(report);
+        }
+    }
+
+    static MethodHandle privateMethod(Class<?> owner, String name, MethodType type) {
+        try {
+            return MethodHandles.privateLookupIn(owner, MethodHandles.lookup()).findVirtual(owner, name, type);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.tcrs.tcrs_backend.benchmark;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.PaymentHistory;
+import com.tcrs.tcrs_backend.entity.TradeReference;
+import com.tcrs.tcrs_backend.repository.BusinessPaymentCountersRepository;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.TradeReferenceRepository;
+import com.tcrs.tcrs_backend.service.*;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * The BigDecimal scoring rules the kernel replaced next to the fixed-point kernel,
+ * scoring the same businesses down to score, grade, risk category and credit limit.
+ *
+ * baselineRules walks each business's payment and trade reference rows as the old
+ * code did; kernel scores the feature vectors built from the same rows. Run with
+ * the default {@code -prof gc} to compare gc.alloc.rate.norm per operation.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(1)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class ScoringKernelBenchmark {
+
+    @Param({"1000", "100000"})
+    private int rows;
+
+    private final ScoringModel model = TableScoringModel.defaultModel();
+
+    private Business[] businesses;
+    private List<PaymentHistory>[] payments;
+    private List<TradeReference>[] references;
+    private CreditScoreFeatures[] features;
+    private LocalDate today;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        BenchmarkData.quietLogging();
+        BenchmarkData data = BenchmarkData.generate(rows);
+
+        Map<String, Function<Object[], Object>> businessMethods = new HashMap<>();
+        businessMethods.put("findById", args -> data.findBusiness((Long) args[0]));
+
+        Map<String, Function<Object[], Object>> referenceMethods = new HashMap<>();
+        referenceMethods.put("getScoringAggregatesByBusinessId", args -> data.tradeReferenceAggregates((Long) args[0]));
+
+        Map<String, Function<Object[], Object>> counterMethods = new HashMap<>();
+        counterMethods.put("findById", args -> Optional.empty());
+        counterMethods.put("aggregateCountersByBusinessId", args -> data.paymentCounterAggregates((Long) args[0]));
+
+        PaymentCounterService paymentCounterService = new PaymentCounterService();
+        BenchmarkData.inject(paymentCounterService, "businessPaymentCountersRepository",
+                BenchmarkData.repository(BusinessPaymentCountersRepository.class, counterMethods));
+
+        // Only used to build the feature vectors, outside the measured methods
+        CreditScoringService creditScoringService = new CreditScoringService();
+        BenchmarkData.inject(creditScoringService, "businessRepository",
+                BenchmarkData.repository(BusinessRepository.class, businessMethods));
+        BenchmarkData.inject(creditScoringService, "tradeReferenceRepository",
+                BenchmarkData.repository(TradeReferenceRepository.class, referenceMethods));
+        BenchmarkData.inject(creditScoringService, "paymentCounterService", paymentCounterService);
+
+        int count = data.getBusinesses().size();
+        businesses = new Business[count];
+        payments = new List[count];
+        references = new List[count];
+        features = new CreditScoreFeatures[count];
+        for (int i = 0; i < count; i++) {
+            Business business = data.getBusinesses().get(i);
+            businesses[i] = business;
+            payments[i] = data.activePayments(business.getId());
+            // The old rules throw on a reference without a payment behavior, so the baseline skips those
+            references[i] = data.activeReferences(business.getId());
+            references[i].removeIf(reference -> reference.getPaymentBehavior() == null);
+            features[i] = creditScoringService.extractFeatures(business.getId());
+        }
+        today = LocalDate.now();
+    }
+
+    @Benchmark
+    public void baselineRules(Blackhole blackhole) {
+        for (int i = 0; i < businesses.length; i++) {
+            BigDecimal score = BaselineScoringRules.creditScore(
+                    BaselineScoringRules.paymentHistoryScore(payments[i]),
+                    BaselineScoringRules.tradeReferenceScore(references[i]),
+                    BaselineScoringRules.businessProfileScore(businesses[i]),
+                    BaselineScoringRules.creditUtilizationScore(references[i]),
+                    BaselineScoringRules.businessAgeScore(businesses[i], today));
+            blackhole.consume(BaselineScoringRules.creditScoreGrade(score));
+            blackhole.consume(BaselineScoringRules.riskCategory(score));
+            blackhole.consume(BaselineScoringRules.recommendedCreditLimit(score, references[i]));
+        }
+    }
+
+    @Benchmark
+    public void kernel(Blackhole blackhole) {
+        long todayEpochDay = today.toEpochDay();
+        for (CreditScoreFeatures businessFeatures : features) {
+            int scoreTenths = model.creditScore(businessFeatures, todayEpochDay);
+            blackhole.consume(model.creditScoreGrade(scoreTenths));
+            blackhole.consume(model.riskCategory(scoreTenths));
+            blackhole.consume(model.recommendedCreditLimit(scoreTenths, businessFeatures));
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.tcrs.tcrs_backend.controller;
 
 
 import com.tcrs.tcrs_backend.dto.analytics.DashboardAnalyticsDTO;
+import com.tcrs.tcrs_backend.entity.SnapShotType;
 import com.tcrs.tcrs_backend.service.AnalyticsService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -13,6 +14,7 @@ import org.springframework.web.bind.annotation.*;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -74,12 +76,22 @@ public class AnalyticsController {
     @GetMapping("/credit-trends")
     @PreAuthorize("hasRole('USER') or hasRole('ADMIN')")
     public ResponseEntity<Map<String, Object>> getCreditTrends(
-            @RequestParam(required = false, defaultValue = "12") int months) {
+            @RequestParam(required = false, defaultValue = "12") int months,
+            @RequestParam(required = false, defaultValue = "MONTHLY") SnapShotType granularity) {
         try {
-            // Implementation for credit trends
+            if (months < 1 || months > 60) {
+                Map<String, Object> errorResponse = new HashMap<>();
+                errorResponse.put("success", false);
+                errorResponse.put("message", "Months must be between 1 and 60");
+                return ResponseEntity.badRequest().body(errorResponse);
+            }
+
+            List<DashboardAnalyticsDTO.TrendDataPoint> trend = analyticsService.getCreditScoreTrend(months, granularity);
+
             Map<String, Object> response = new HashMap<>();
             response.put("success", true);
-            response.put("message", "Credit trends endpoint - to be implemented");
+            response.put("data", trend);
+            response.put("timestamp", LocalDateTime.now().format(DateTimeFormatter.ISO_LOCAL_DATE_TIME));
 
             return ResponseEntity.ok(response);
 
@@ -1,19 +1,46 @@
 package com.tcrs.tcrs_backend.controller;
 
 import com.tcrs.tcrs_backend.dto.auth.ApiResponse;
+import com.tcrs.tcrs_backend.dto.credit.BulkCreditReportRequest;
+import com.tcrs.tcrs_backend.dto.credit.CreditHistoryPage;
+import com.tcrs.tcrs_backend.dto.credit.CreditReportJobResponse;
 import com.tcrs.tcrs_backend.dto.credit.CreditReportRequest;
 import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import com.tcrs.tcrs_backend.dto.credit.CreditScoreHistoryPoint;
+import com.tcrs.tcrs_backend.dto.credit.CreditScoreSparkline;
+import com.tcrs.tcrs_backend.dto.credit.ScoreSimulationRequest;
+import com.tcrs.tcrs_backend.dto.credit.ScoreSimulationResponse;
+import com.tcrs.tcrs_backend.entity.ReportJobStatus;
+import com.tcrs.tcrs_backend.entity.SnapShotType;
+import com.tcrs.tcrs_backend.service.BulkCreditReportService;
+import com.tcrs.tcrs_backend.service.CreditReportJobService;
+import com.tcrs.tcrs_backend.service.CreditReportPayloadCache;
+import com.tcrs.tcrs_backend.service.CreditReportPdfService;
 import com.tcrs.tcrs_backend.service.CreditReportService;
+import com.tcrs.tcrs_backend.service.CreditScoreHistoryService;
+import com.tcrs.tcrs_backend.service.ScoreSimulationService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/api/credit")
@@ -22,56 +49,120 @@ public class CreditReportController {
 
     private static final Logger logger = LoggerFactory.getLogger(CreditReportController.class);
 
+    private static final Duration REPORT_MAX_AGE = Duration.ofDays(365);
+
     @Autowired
     private CreditReportService creditReportService;
 
+    @Autowired
+    private CreditReportJobService creditReportJobService;
+
+    @Autowired
+    private BulkCreditReportService bulkCreditReportService;
+
+    @Autowired
+    private CreditReportPayloadCache creditReportPayloadCache;
+
+    @Autowired
+    private CreditReportPdfService creditReportPdfService;
+
+    @Autowired
+    private ScoreSimulationService scoreSimulationService;
+
+    @Value("${app.bulk-reports.timeout-minutes:30}")
+    private long bulkTimeoutMinutes;
+
+    @Autowired
+    private CreditScoreHistoryService creditScoreHistoryService;
+
+    /**
+     * Queues the report and waits a bounded time for it on a released request thread.
+     * Returns 200 with the report when it is ready in time, otherwise 202 with the job
+     * to poll. With async=true the job is returned straight away.
+     */
     @PostMapping("/generate")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
-    public ResponseEntity<ApiResponse<CreditReportResponse>> generateCreditReport(
-            @Valid @RequestBody CreditReportRequest request) {
-        logger.info("Generate credit report request received for business ID: {}", request.getBusinessId());
+    public CompletableFuture<ResponseEntity<ApiResponse<?>>> generateCreditReport(
+            @Valid @RequestBody CreditReportRequest request,
+            @RequestParam(defaultValue = "false") boolean async) {
+        logger.info("Generate credit report request received for business ID: {} (async: {})",
+                request.getBusinessId(), async);
+
+        CreditReportJobResponse job = creditReportJobService.submit(request);
+
+        if (async) {
+            return CompletableFuture.completedFuture(jobAccepted(job));
+        }
+
+        return creditReportJobService.awaitCompletion(job.getJobId())
+                .thenApply(result -> result.getStatus() == ReportJobStatus.COMPLETED
+                        ? ResponseEntity.<ApiResponse<?>>ok(new ApiResponse<>(
+                                true,
+                                "Credit report generated successfully",
+                                result.getReport()))
+                        : jobAccepted(result));
+    }
+
+    /**
+     * Reports for up to 10000 business IDs and 10000 GSTINs, streamed as one
+     * BulkCreditReportItem per line in completion order.
+     */
+    @PostMapping(value = "/bulk", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<StreamingResponseBody> generateBulkCreditReports(
+            @Valid @RequestBody BulkCreditReportRequest request,
+            HttpServletRequest servletRequest) {
+        logger.info("Bulk credit report request received");
+
+        StreamingResponseBody body = bulkCreditReportService.streamReports(request);
+        StreamingTimeouts.setTimeout(servletRequest, Duration.ofMinutes(bulkTimeoutMinutes));
 
-        CreditReportResponse creditReport = creditReportService.generateCreditReport(request);
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/jobs/{jobId}")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<ApiResponse<CreditReportJobResponse>> getCreditReportJob(@PathVariable String jobId) {
+        CreditReportJobResponse job = creditReportJobService.getJob(jobId);
 
-        ApiResponse<CreditReportResponse> response = new ApiResponse<>(
+        ApiResponse<CreditReportJobResponse> response = new ApiResponse<>(
                 true,
-                "Credit report generated successfully",
-                creditReport
+                "Credit report job retrieved successfully",
+                job
         );
 
         return ResponseEntity.ok(response);
     }
 
+    // Reports never change, so the pre-serialized payload is served with a strong ETag;
+    // a matching If-None-Match gets 304 without touching the database once cached
     @GetMapping("/report/{reportNumber}")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
-    public ResponseEntity<ApiResponse<CreditReportResponse>> getCreditReport(@PathVariable String reportNumber) {
+    public ResponseEntity<byte[]> getCreditReport(@PathVariable String reportNumber) {
         logger.info("Get credit report request for report number: {}", reportNumber);
 
-        CreditReportResponse creditReport = creditReportService.getCreditReport(reportNumber);
+        return reportPayload(creditReportPayloadCache.getByReportNumber(reportNumber));
+    }
 
-        ApiResponse<CreditReportResponse> response = new ApiResponse<>(
-                true,
-                "Credit report retrieved successfully",
-                creditReport
-        );
+    // Rendered on the first download and served from the on-disk artifact afterwards
+    @GetMapping("/report/{reportNumber}/pdf")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public void downloadCreditReportPdf(@PathVariable String reportNumber,
+                                        HttpServletRequest request,
+                                        HttpServletResponse response) throws IOException {
+        logger.info("Download credit report PDF request for report number: {}", reportNumber);
 
-        return ResponseEntity.ok(response);
+        creditReportPdfService.writePdf(reportNumber, request, response);
     }
 
     @GetMapping("/report/id/{reportId}")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
-    public ResponseEntity<ApiResponse<CreditReportResponse>> getCreditReportById(@PathVariable Long reportId) {
+    public ResponseEntity<byte[]> getCreditReportById(@PathVariable Long reportId) {
         logger.info("Get credit report request for report ID: {}", reportId);
 
-        CreditReportResponse creditReport = creditReportService.getCreditReportById(reportId);
-
-        ApiResponse<CreditReportResponse> response = new ApiResponse<>(
-                true,
-                "Credit report retrieved successfully",
-                creditReport
-        );
-
-        return ResponseEntity.ok(response);
+        return reportPayload(creditReportPayloadCache.getById(reportId));
     }
 
     @GetMapping("/business/{businessId}/history")
@@ -91,6 +182,68 @@ public class CreditReportController {
         return ResponseEntity.ok(response);
     }
 
+    // Keyset-paginated history projection; pass the returned nextCursor to get older reports
+    @GetMapping("/business/{businessId}/history/page")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<ApiResponse<CreditHistoryPage>> getBusinessCreditHistoryPage(
+            @PathVariable Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int size) {
+        logger.info("Get credit history page request for business ID: {} - size: {}", businessId, size);
+
+        CreditHistoryPage history = creditReportService.getBusinessCreditHistoryPage(businessId, cursor, size);
+
+        ApiResponse<CreditHistoryPage> response = new ApiResponse<>(
+                true,
+                "Business credit history retrieved successfully",
+                history
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/business/{businessId}/history/sparkline")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<ApiResponse<CreditScoreSparkline>> getCreditScoreSparkline(
+            @PathVariable Long businessId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "30") int points) {
+        logger.info("Get credit score sparkline request for business ID: {} - points: {}", businessId, points);
+
+        CreditScoreSparkline sparkline = creditReportService.getCreditScoreSparkline(businessId, cursor, points);
+
+        ApiResponse<CreditScoreSparkline> response = new ApiResponse<>(
+                true,
+                "Credit score sparkline retrieved successfully",
+                sparkline
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/business/{businessId}/score-history")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<ApiResponse<List<CreditScoreHistoryPoint>>> getCreditScoreHistory(
+            @PathVariable Long businessId,
+            @RequestParam(defaultValue = "DAILY") SnapShotType granularity,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        logger.info("Get credit score history request for business ID: {} - granularity: {}", businessId, granularity);
+
+        LocalDate toDate = to != null ? to : LocalDate.now();
+        LocalDate fromDate = from != null ? from : toDate.minusDays(90);
+        List<CreditScoreHistoryPoint> history = creditScoreHistoryService.getCreditScoreHistory(
+                businessId, granularity, fromDate, toDate);
+
+        ApiResponse<List<CreditScoreHistoryPoint>> response = new ApiResponse<>(
+                true,
+                "Credit score history retrieved successfully",
+                history
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @GetMapping("/my-reports")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
     public ResponseEntity<ApiResponse<Page<CreditReportResponse>>> getUserCreditReports(
@@ -108,4 +261,37 @@ public class CreditReportController {
 
         return ResponseEntity.ok(response);
     }
-}
\ No newline at end of file
+
+    @PostMapping("/simulate")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<ApiResponse<ScoreSimulationResponse>> simulateCreditScore(
+            @Valid @RequestBody ScoreSimulationRequest request) {
+        logger.info("Credit score simulation request received for business ID: {}", request.getBusinessId());
+
+        ScoreSimulationResponse simulation = scoreSimulationService.simulate(request);
+
+        ApiResponse<ScoreSimulationResponse> response = new ApiResponse<>(
+                true,
+                "Credit score simulation completed successfully",
+                simulation
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<ApiResponse<?>> jobAccepted(CreditReportJobResponse job) {
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(new ApiResponse<>(
+                true,
+                "Credit report generation queued",
+                job));
+    }
+
+    // The ETag is checked against If-None-Match when the entity is written
+    private ResponseEntity<byte[]> reportPayload(CreditReportPayloadCache.ReportPayload payload) {
+        return ResponseEntity.ok()
+                .eTag(payload.getEtag())
+                .cacheControl(CacheControl.maxAge(REPORT_MAX_AGE).cachePrivate().immutable())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(payload.getBody());
+    }
+}
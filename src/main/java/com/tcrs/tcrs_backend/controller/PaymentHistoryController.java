@@ -2,20 +2,31 @@ package com.tcrs.tcrs_backend.controller;
 
 
 import com.tcrs.tcrs_backend.dto.auth.ApiResponse;
+import com.tcrs.tcrs_backend.dto.payment.BulkPaymentIngestionResponse;
 import com.tcrs.tcrs_backend.dto.payment.PaymentAnalyticsResponse;
 import com.tcrs.tcrs_backend.dto.payment.PaymentHistoryRequest;
 import com.tcrs.tcrs_backend.dto.payment.PaymentHistoryResponse;
+import com.tcrs.tcrs_backend.service.PaymentHistoryBulkService;
+import com.tcrs.tcrs_backend.service.PaymentHistoryExportService;
 import com.tcrs.tcrs_backend.service.PaymentHistoryService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.time.Duration;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
 
 @RestController
@@ -28,6 +39,15 @@ public class PaymentHistoryController {
     @Autowired
     private PaymentHistoryService paymentHistoryService;
 
+    @Autowired
+    private PaymentHistoryBulkService paymentHistoryBulkService;
+
+    @Autowired
+    private PaymentHistoryExportService paymentHistoryExportService;
+
+    @Value("${app.payment-export.timeout-minutes:30}")
+    private long exportTimeoutMinutes;
+
     @PostMapping
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<PaymentHistoryResponse>> addPaymentHistory(
@@ -45,6 +65,25 @@ public class PaymentHistoryController {
         return ResponseEntity.ok(response);
     }
 
+    @PostMapping(value = "/bulk", consumes = {"text/csv", MediaType.APPLICATION_NDJSON_VALUE})
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<BulkPaymentIngestionResponse>> addPaymentHistories(
+            HttpServletRequest request) throws IOException {
+        logger.info("Bulk payment history upload received ({})", request.getContentType());
+
+        PaymentHistoryBulkService.Format format = request.getContentType().toLowerCase(Locale.ROOT).startsWith("text/csv")
+                ? PaymentHistoryBulkService.Format.CSV : PaymentHistoryBulkService.Format.NDJSON;
+        BulkPaymentIngestionResponse report = paymentHistoryBulkService.ingest(request.getInputStream(), format);
+
+        ApiResponse<BulkPaymentIngestionResponse> response = new ApiResponse<>(
+                true,
+                "Bulk payment history processed",
+                report
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{paymentHistoryId}")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN')")
     public ResponseEntity<ApiResponse<PaymentHistoryResponse>> updatePaymentHistory(
@@ -96,6 +135,31 @@ public class PaymentHistoryController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * All of a business's active payment history, newest first, streamed as a JSON array
+     * (format=json) or CSV (format=csv) without loading it into memory.
+     */
+    @GetMapping("/business/{businessId}/export")
+    @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
+    public ResponseEntity<StreamingResponseBody> exportBusinessPaymentHistory(
+            @PathVariable Long businessId,
+            @RequestParam(defaultValue = "json") String format,
+            HttpServletRequest request) {
+        logger.info("Export payment history request for business ID: {} ({})", businessId, format);
+
+        PaymentHistoryExportService.Format exportFormat = PaymentHistoryExportService.Format.from(format);
+        StreamingResponseBody body = paymentHistoryExportService.streamExport(businessId, exportFormat);
+        StreamingTimeouts.setTimeout(request, Duration.ofMinutes(exportTimeoutMinutes));
+
+        String extension = exportFormat == PaymentHistoryExportService.Format.CSV ? "csv" : "json";
+        return ResponseEntity.ok()
+                .contentType(exportFormat == PaymentHistoryExportService.Format.CSV
+                        ? MediaType.parseMediaType("text/csv") : MediaType.APPLICATION_JSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"payment-history-" + businessId + "." + extension + "\"")
+                .body(body);
+    }
+
     @GetMapping("/business/{businessId}/paginated")
     @PreAuthorize("hasRole('SME_USER') or hasRole('ADMIN') or hasRole('VIEWER')")
     public ResponseEntity<ApiResponse<Page<PaymentHistoryResponse>>> getBusinessPaymentHistoryPaginated(
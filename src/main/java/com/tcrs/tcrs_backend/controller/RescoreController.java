@@ -0,0 +1,60 @@
+package com.tcrs.tcrs_backend.controller;
+
+import com.tcrs.tcrs_backend.dto.auth.ApiResponse;
+import com.tcrs.tcrs_backend.service.NightlyRescoreService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/rescore")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class RescoreController {
+
+    private static final Logger logger = LoggerFactory.getLogger(RescoreController.class);
+
+    @Autowired
+    private NightlyRescoreService nightlyRescoreService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getRescoreStatus() {
+        logger.info("Get portfolio rescore status request received");
+
+        ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                true,
+                "Portfolio rescore status retrieved successfully",
+                nightlyRescoreService.getStatus()
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/run")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> runRescore() {
+        logger.info("Run portfolio rescore request received");
+
+        if (!nightlyRescoreService.trigger()) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ApiResponse<>(
+                    false,
+                    "Portfolio rescore is already running",
+                    nightlyRescoreService.getStatus()
+            ));
+        }
+
+        ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                true,
+                "Portfolio rescore started",
+                nightlyRescoreService.getStatus()
+        );
+
+        return ResponseEntity.accepted().body(response);
+    }
+}
@@ -0,0 +1,62 @@
+package com.tcrs.tcrs_backend.controller;
+
+import com.tcrs.tcrs_backend.dto.auth.ApiResponse;
+import com.tcrs.tcrs_backend.service.ScoringModel;
+import com.tcrs.tcrs_backend.service.ScoringModelService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/admin/scoring-model")
+@CrossOrigin(origins = "*", maxAge = 3600)
+public class ScoringModelController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringModelController.class);
+
+    @Autowired
+    private ScoringModelService scoringModelService;
+
+    @GetMapping
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> getActiveModel() {
+        logger.info("Get active scoring model request received");
+
+        ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                true,
+                "Active scoring model retrieved successfully",
+                describe(scoringModelService.getModel())
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/reload")
+    @PreAuthorize("hasRole('ADMIN')")
+    public ResponseEntity<ApiResponse<Map<String, Object>>> reloadModel() {
+        logger.info("Reload scoring model request received");
+
+        ScoringModel model = scoringModelService.reload();
+
+        ApiResponse<Map<String, Object>> response = new ApiResponse<>(
+                true,
+                "Scoring model reloaded successfully",
+                describe(model)
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    private Map<String, Object> describe(ScoringModel model) {
+        Map<String, Object> details = new HashMap<>();
+        details.put("version", model.getVersion());
+        details.put("implementation", model.getClass().getSimpleName());
+        return details;
+    }
+}
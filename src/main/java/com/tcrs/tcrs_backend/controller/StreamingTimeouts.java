@@ -0,0 +1,37 @@
+package com.tcrs.tcrs_backend.controller;
+
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+/**
+ * Per-request async timeouts for endpoints returning a StreamingResponseBody.
+ *
+ * Such a body is written in its own async dispatch, which starts with the default async
+ * timeout whatever the handler returned, so a WebAsyncTask timeout would not reach it.
+ * Instead an interceptor sets the timeout just before the stream starts, leaving every
+ * other async request on the container default.
+ */
+final class StreamingTimeouts {
+
+    private static final Object INTERCEPTOR_KEY = StreamingTimeouts.class.getName() + ".timeout";
+
+    private StreamingTimeouts() {}
+
+    static void setTimeout(HttpServletRequest request, Duration timeout) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(INTERCEPTOR_KEY,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void beforeConcurrentHandling(NativeWebRequest webRequest, Callable<T> task) {
+                        if (webRequest instanceof AsyncWebRequest) {
+                            ((AsyncWebRequest) webRequest).setTimeout(timeout.toMillis());
+                        }
+                    }
+                });
+    }
+}
@@ -0,0 +1,41 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import com.tcrs.tcrs_backend.entity.BulkReportItemStatus;
+
+// One line of the bulk report stream
+public class BulkCreditReportItem {
+
+    private String input;           // Business ID or GSTIN as requested
+    private Long businessId;
+    private BulkReportItemStatus status;
+    private String error;
+    private CreditReportResponse report;
+
+    // Constructors
+    public BulkCreditReportItem() {}
+
+    public BulkCreditReportItem(String input, Long businessId, BulkReportItemStatus status,
+                                String error, CreditReportResponse report) {
+        this.input = input;
+        this.businessId = businessId;
+        this.status = status;
+        this.error = error;
+        this.report = report;
+    }
+
+    // Getters and Setters
+    public String getInput() { return input; }
+    public void setInput(String input) { this.input = input; }
+
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public BulkReportItemStatus getStatus() { return status; }
+    public void setStatus(BulkReportItemStatus status) { this.status = status; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+
+    public CreditReportResponse getReport() { return report; }
+    public void setReport(CreditReportResponse report) { this.report = report; }
+}
@@ -0,0 +1,26 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkCreditReportRequest {
+
+    @Size(max = 10000, message = "At most 10000 business IDs per request")
+    private List<@NotNull(message = "Business IDs must not be null") Long> businessIds = new ArrayList<>();
+
+    @Size(max = 10000, message = "At most 10000 GSTINs per request")
+    private List<@NotNull(message = "GSTINs must not be null") String> gstins = new ArrayList<>();
+
+    // Constructors
+    public BulkCreditReportRequest() {}
+
+    // Getters and Setters; either list may be sent as null when only the other is used
+    public List<Long> getBusinessIds() { return businessIds; }
+    public void setBusinessIds(List<Long> businessIds) { this.businessIds = businessIds != null ? businessIds : new ArrayList<>(); }
+
+    public List<String> getGstins() { return gstins; }
+    public void setGstins(List<String> gstins) { this.gstins = gstins != null ? gstins : new ArrayList<>(); }
+}
@@ -0,0 +1,49 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import com.tcrs.tcrs_backend.entity.CreditGrade;
+import com.tcrs.tcrs_backend.entity.RiskCategory;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+public class CreditHistoryEntry {
+
+    private Long reportId;
+    private String reportNumber;
+    private LocalDateTime createdAt;
+    private BigDecimal creditScore;
+    private CreditGrade creditScoreGrade;
+    private RiskCategory riskCategory;
+
+    // Constructors
+    public CreditHistoryEntry() {}
+
+    public CreditHistoryEntry(Long reportId, String reportNumber, LocalDateTime createdAt, BigDecimal creditScore,
+                              CreditGrade creditScoreGrade, RiskCategory riskCategory) {
+        this.reportId = reportId;
+        this.reportNumber = reportNumber;
+        this.createdAt = createdAt;
+        this.creditScore = creditScore;
+        this.creditScoreGrade = creditScoreGrade;
+        this.riskCategory = riskCategory;
+    }
+
+    // Getters and Setters
+    public Long getReportId() { return reportId; }
+    public void setReportId(Long reportId) { this.reportId = reportId; }
+
+    public String getReportNumber() { return reportNumber; }
+    public void setReportNumber(String reportNumber) { this.reportNumber = reportNumber; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public BigDecimal getCreditScore() { return creditScore; }
+    public void setCreditScore(BigDecimal creditScore) { this.creditScore = creditScore; }
+
+    public CreditGrade getCreditScoreGrade() { return creditScoreGrade; }
+    public void setCreditScoreGrade(CreditGrade creditScoreGrade) { this.creditScoreGrade = creditScoreGrade; }
+
+    public RiskCategory getRiskCategory() { return riskCategory; }
+    public void setRiskCategory(RiskCategory riskCategory) { this.riskCategory = riskCategory; }
+}
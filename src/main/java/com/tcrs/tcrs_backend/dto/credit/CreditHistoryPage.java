@@ -0,0 +1,24 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import java.util.List;
+
+public class CreditHistoryPage {
+
+    private List<CreditHistoryEntry> entries;  // Newest first
+    private String nextCursor;                 // Null on the last page
+
+    // Constructors
+    public CreditHistoryPage() {}
+
+    public CreditHistoryPage(List<CreditHistoryEntry> entries, String nextCursor) {
+        this.entries = entries;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<CreditHistoryEntry> getEntries() { return entries; }
+    public void setEntries(List<CreditHistoryEntry> entries) { this.entries = entries; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,54 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import com.tcrs.tcrs_backend.entity.ReportJobStatus;
+
+import java.time.LocalDateTime;
+
+public class CreditReportJobResponse {
+
+    private String jobId;
+    private Long businessId;
+    private ReportJobStatus status;
+    private Boolean priority;
+    private String reportNumber;
+    private String errorMessage;
+    private CreditReportResponse report;    // Set once the job has completed
+
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public CreditReportJobResponse() {}
+
+    // Getters and Setters
+    public String getJobId() { return jobId; }
+    public void setJobId(String jobId) { this.jobId = jobId; }
+
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public ReportJobStatus getStatus() { return status; }
+    public void setStatus(ReportJobStatus status) { this.status = status; }
+
+    public Boolean getPriority() { return priority; }
+    public void setPriority(Boolean priority) { this.priority = priority; }
+
+    public String getReportNumber() { return reportNumber; }
+    public void setReportNumber(String reportNumber) { this.reportNumber = reportNumber; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public CreditReportResponse getReport() { return report; }
+    public void setReport(CreditReportResponse report) { this.report = report; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
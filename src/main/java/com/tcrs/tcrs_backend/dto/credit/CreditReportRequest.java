@@ -10,6 +10,8 @@ public class CreditReportRequest {
     private String purpose;     // Purpose of credit check
     private String comments;    // Additional comments
 
+    private Boolean notifyOnCompletion = false;  // Email the requester when a queued report is ready
+
     // Constructors
     public CreditReportRequest() {}
 
@@ -28,4 +30,7 @@ public class CreditReportRequest {
 
     public String getComments() { return comments; }
     public void setComments(String comments) { this.comments = comments; }
+
+    public Boolean getNotifyOnCompletion() { return notifyOnCompletion; }
+    public void setNotifyOnCompletion(Boolean notifyOnCompletion) { this.notifyOnCompletion = notifyOnCompletion; }
 }
\ No newline at end of file
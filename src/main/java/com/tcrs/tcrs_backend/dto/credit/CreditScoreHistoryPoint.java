@@ -0,0 +1,46 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class CreditScoreHistoryPoint {
+
+    private LocalDate periodStart;
+    private BigDecimal averageScore;
+    private BigDecimal minScore;
+    private BigDecimal maxScore;
+    private BigDecimal closingScore;  // Last score recorded in the period; null for portfolio trends
+    private Long count;               // Scores recorded, or businesses scored for portfolio trends
+
+    // Constructors
+    public CreditScoreHistoryPoint() {}
+
+    public CreditScoreHistoryPoint(LocalDate periodStart, BigDecimal averageScore, BigDecimal minScore,
+                                   BigDecimal maxScore, BigDecimal closingScore, Long count) {
+        this.periodStart = periodStart;
+        this.averageScore = averageScore;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.closingScore = closingScore;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public LocalDate getPeriodStart() { return periodStart; }
+    public void setPeriodStart(LocalDate periodStart) { this.periodStart = periodStart; }
+
+    public BigDecimal getAverageScore() { return averageScore; }
+    public void setAverageScore(BigDecimal averageScore) { this.averageScore = averageScore; }
+
+    public BigDecimal getMinScore() { return minScore; }
+    public void setMinScore(BigDecimal minScore) { this.minScore = minScore; }
+
+    public BigDecimal getMaxScore() { return maxScore; }
+    public void setMaxScore(BigDecimal maxScore) { this.maxScore = maxScore; }
+
+    public BigDecimal getClosingScore() { return closingScore; }
+    public void setClosingScore(BigDecimal closingScore) { this.closingScore = closingScore; }
+
+    public Long getCount() { return count; }
+    public void setCount(Long count) { this.count = count; }
+}
@@ -0,0 +1,47 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class CreditScoreSparkline {
+
+    private List<BigDecimal> scores;  // Oldest first, ready to plot
+    private BigDecimal minScore;
+    private BigDecimal maxScore;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    private String nextCursor;        // Continues with older reports; null when there are none
+
+    // Constructors
+    public CreditScoreSparkline() {}
+
+    public CreditScoreSparkline(List<BigDecimal> scores, BigDecimal minScore, BigDecimal maxScore,
+                                LocalDateTime from, LocalDateTime to, String nextCursor) {
+        this.scores = scores;
+        this.minScore = minScore;
+        this.maxScore = maxScore;
+        this.from = from;
+        this.to = to;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BigDecimal> getScores() { return scores; }
+    public void setScores(List<BigDecimal> scores) { this.scores = scores; }
+
+    public BigDecimal getMinScore() { return minScore; }
+    public void setMinScore(BigDecimal minScore) { this.minScore = minScore; }
+
+    public BigDecimal getMaxScore() { return maxScore; }
+    public void setMaxScore(BigDecimal maxScore) { this.maxScore = maxScore; }
+
+    public LocalDateTime getFrom() { return from; }
+    public void setFrom(LocalDateTime from) { this.from = from; }
+
+    public LocalDateTime getTo() { return to; }
+    public void setTo(LocalDateTime to) { this.to = to; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,36 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ScoreScenario {
+
+    @NotBlank(message = "Scenario name is required")
+    @Size(max = 100, message = "Scenario name must not exceed 100 characters")
+    private String name;
+
+    // Applied in order on top of the business's current data
+    @NotEmpty(message = "At least one change is required")
+    @Size(max = 20, message = "At most 20 changes are allowed per scenario")
+    @Valid
+    private List<ScoreScenarioChange> changes;
+
+    // Constructors
+    public ScoreScenario() {}
+
+    public ScoreScenario(String name, List<ScoreScenarioChange> changes) {
+        this.name = name;
+        this.changes = changes;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public List<ScoreScenarioChange> getChanges() { return changes; }
+    public void setChanges(List<ScoreScenarioChange> changes) { this.changes = changes; }
+}
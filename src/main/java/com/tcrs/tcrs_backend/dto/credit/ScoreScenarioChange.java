@@ -0,0 +1,59 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import com.tcrs.tcrs_backend.entity.PaymentBehavior;
+import com.tcrs.tcrs_backend.entity.RecommendationLevel;
+import com.tcrs.tcrs_backend.entity.ScenarioChangeType;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotNull;
+
+import java.math.BigDecimal;
+
+public class ScoreScenarioChange {
+
+    @NotNull(message = "Change type is required")
+    private ScenarioChangeType type;
+
+    // Number of payments or references affected; settle, resolve and verify changes default to all of them
+    @Min(value = 1, message = "Count must be at least 1")
+    @Max(value = 10000, message = "Count must not exceed 10000")
+    private Integer count;
+
+    // Amount per payment, or business value per trade reference
+    @DecimalMin(value = "0.00", message = "Amount must not be negative")
+    private BigDecimal amount;
+
+    // Only used by ADD_TRADE_REFERENCES
+    @DecimalMin(value = "0.00", message = "Credit limit must not be negative")
+    private BigDecimal creditLimit;
+    private PaymentBehavior paymentBehavior;
+    private RecommendationLevel recommendationLevel;
+
+    // Constructors
+    public ScoreScenarioChange() {}
+
+    public ScoreScenarioChange(ScenarioChangeType type, Integer count) {
+        this.type = type;
+        this.count = count;
+    }
+
+    // Getters and Setters
+    public ScenarioChangeType getType() { return type; }
+    public void setType(ScenarioChangeType type) { this.type = type; }
+
+    public Integer getCount() { return count; }
+    public void setCount(Integer count) { this.count = count; }
+
+    public BigDecimal getAmount() { return amount; }
+    public void setAmount(BigDecimal amount) { this.amount = amount; }
+
+    public BigDecimal getCreditLimit() { return creditLimit; }
+    public void setCreditLimit(BigDecimal creditLimit) { this.creditLimit = creditLimit; }
+
+    public PaymentBehavior getPaymentBehavior() { return paymentBehavior; }
+    public void setPaymentBehavior(PaymentBehavior paymentBehavior) { this.paymentBehavior = paymentBehavior; }
+
+    public RecommendationLevel getRecommendationLevel() { return recommendationLevel; }
+    public void setRecommendationLevel(RecommendationLevel recommendationLevel) { this.recommendationLevel = recommendationLevel; }
+}
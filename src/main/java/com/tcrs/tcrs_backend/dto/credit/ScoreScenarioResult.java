@@ -0,0 +1,50 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import java.math.BigDecimal;
+
+public class ScoreScenarioResult {
+
+    private String name;
+    private BigDecimal creditScore;
+    private String creditScoreGrade;
+    private String riskCategory;
+    private BigDecimal recommendedCreditLimit;
+
+    // Difference from the baseline; zero for the baseline itself
+    private BigDecimal scoreChange;
+    private BigDecimal creditLimitChange;
+
+    // Constructors
+    public ScoreScenarioResult() {}
+
+    public ScoreScenarioResult(String name, BigDecimal creditScore, String creditScoreGrade,
+                               String riskCategory, BigDecimal recommendedCreditLimit) {
+        this.name = name;
+        this.creditScore = creditScore;
+        this.creditScoreGrade = creditScoreGrade;
+        this.riskCategory = riskCategory;
+        this.recommendedCreditLimit = recommendedCreditLimit;
+    }
+
+    // Getters and Setters
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public BigDecimal getCreditScore() { return creditScore; }
+    public void setCreditScore(BigDecimal creditScore) { this.creditScore = creditScore; }
+
+    public String getCreditScoreGrade() { return creditScoreGrade; }
+    public void setCreditScoreGrade(String creditScoreGrade) { this.creditScoreGrade = creditScoreGrade; }
+
+    public String getRiskCategory() { return riskCategory; }
+    public void setRiskCategory(String riskCategory) { this.riskCategory = riskCategory; }
+
+    public BigDecimal getRecommendedCreditLimit() { return recommendedCreditLimit; }
+    public void setRecommendedCreditLimit(BigDecimal recommendedCreditLimit) { this.recommendedCreditLimit = recommendedCreditLimit; }
+
+    public BigDecimal getScoreChange() { return scoreChange; }
+    public void setScoreChange(BigDecimal scoreChange) { this.scoreChange = scoreChange; }
+
+    public BigDecimal getCreditLimitChange() { return creditLimitChange; }
+    public void setCreditLimitChange(BigDecimal creditLimitChange) { this.creditLimitChange = creditLimitChange; }
+}
@@ -0,0 +1,34 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public class ScoreSimulationRequest {
+
+    @NotNull(message = "Business ID is required")
+    private Long businessId;
+
+    @NotEmpty(message = "At least one scenario is required")
+    @Size(max = 50, message = "At most 50 scenarios can be simulated at once")
+    @Valid
+    private List<ScoreScenario> scenarios;
+
+    // Constructors
+    public ScoreSimulationRequest() {}
+
+    public ScoreSimulationRequest(Long businessId, List<ScoreScenario> scenarios) {
+        this.businessId = businessId;
+        this.scenarios = scenarios;
+    }
+
+    // Getters and Setters
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public List<ScoreScenario> getScenarios() { return scenarios; }
+    public void setScenarios(List<ScoreScenario> scenarios) { this.scenarios = scenarios; }
+}
@@ -0,0 +1,36 @@
+package com.tcrs.tcrs_backend.dto.credit;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class ScoreSimulationResponse {
+
+    private Long businessId;
+    private String businessName;
+    private Integer modelVersion;
+    private ScoreScenarioResult baseline;
+    private List<ScoreScenarioResult> scenarios;
+    private LocalDateTime simulatedAt;
+
+    // Constructors
+    public ScoreSimulationResponse() {}
+
+    // Getters and Setters
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public String getBusinessName() { return businessName; }
+    public void setBusinessName(String businessName) { this.businessName = businessName; }
+
+    public Integer getModelVersion() { return modelVersion; }
+    public void setModelVersion(Integer modelVersion) { this.modelVersion = modelVersion; }
+
+    public ScoreScenarioResult getBaseline() { return baseline; }
+    public void setBaseline(ScoreScenarioResult baseline) { this.baseline = baseline; }
+
+    public List<ScoreScenarioResult> getScenarios() { return scenarios; }
+    public void setScenarios(List<ScoreScenarioResult> scenarios) { this.scenarios = scenarios; }
+
+    public LocalDateTime getSimulatedAt() { return simulatedAt; }
+    public void setSimulatedAt(LocalDateTime simulatedAt) { this.simulatedAt = simulatedAt; }
+}
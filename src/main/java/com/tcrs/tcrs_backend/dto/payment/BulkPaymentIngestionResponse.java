@@ -0,0 +1,58 @@
+package com.tcrs.tcrs_backend.dto.payment;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BulkPaymentIngestionResponse {
+
+    private long totalRows;
+    private long insertedRows;
+    private long rejectedRows;
+    private List<RowError> errors = new ArrayList<>();
+    private boolean errorsTruncated; // More rows were rejected than errors lists
+
+    // Constructors
+    public BulkPaymentIngestionResponse() {}
+
+    // Getters and Setters
+    public long getTotalRows() { return totalRows; }
+    public void setTotalRows(long totalRows) { this.totalRows = totalRows; }
+
+    public long getInsertedRows() { return insertedRows; }
+    public void setInsertedRows(long insertedRows) { this.insertedRows = insertedRows; }
+
+    public long getRejectedRows() { return rejectedRows; }
+    public void setRejectedRows(long rejectedRows) { this.rejectedRows = rejectedRows; }
+
+    public List<RowError> getErrors() { return errors; }
+    public void setErrors(List<RowError> errors) { this.errors = errors; }
+
+    public boolean isErrorsTruncated() { return errorsTruncated; }
+    public void setErrorsTruncated(boolean errorsTruncated) { this.errorsTruncated = errorsTruncated; }
+
+    public static class RowError {
+
+        private long rowNumber; // Records counted from 1, not counting a CSV header
+        private String transactionReference;
+        private String message;
+
+        // Constructors
+        public RowError() {}
+
+        public RowError(long rowNumber, String transactionReference, String message) {
+            this.rowNumber = rowNumber;
+            this.transactionReference = transactionReference;
+            this.message = message;
+        }
+
+        // Getters and Setters
+        public long getRowNumber() { return rowNumber; }
+        public void setRowNumber(long rowNumber) { this.rowNumber = rowNumber; }
+
+        public String getTransactionReference() { return transactionReference; }
+        public void setTransactionReference(String transactionReference) { this.transactionReference = transactionReference; }
+
+        public String getMessage() { return message; }
+        public void setMessage(String message) { this.message = message; }
+    }
+}
@@ -0,0 +1,7 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum BulkReportItemStatus {
+    REUSED,         // A still-valid report already existed
+    GENERATED,      // A new report was generated
+    FAILED          // No report; see the item's error
+}
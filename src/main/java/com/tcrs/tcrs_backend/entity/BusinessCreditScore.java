@@ -0,0 +1,114 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "business_credit_scores")
+@EntityListeners(AuditingEntityListener.class)
+public class BusinessCreditScore {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @OneToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "business_id", nullable = false, unique = true)
+    private Business business;
+
+    @Column(name = "credit_score", precision = 5, scale = 1, nullable = false)
+    private BigDecimal creditScore;
+
+    @Column(name = "credit_score_grade", nullable = false)
+    private String creditScoreGrade;
+
+    @Column(name = "risk_category", nullable = false)
+    private String riskCategory;
+
+    // Sub-scores
+    @Column(name = "payment_history_score", precision = 6, scale = 2)
+    private BigDecimal paymentHistoryScore;
+
+    @Column(name = "trade_reference_score", precision = 6, scale = 2)
+    private BigDecimal tradeReferenceScore;
+
+    @Column(name = "business_profile_score", precision = 6, scale = 2)
+    private BigDecimal businessProfileScore;
+
+    @Column(name = "credit_utilization_score", precision = 6, scale = 2)
+    private BigDecimal creditUtilizationScore;
+
+    @Column(name = "business_age_score", precision = 6, scale = 2)
+    private BigDecimal businessAgeScore;
+
+    @Column(name = "recommended_credit_limit", precision = 15, scale = 2)
+    private BigDecimal recommendedCreditLimit;
+
+    @Column(name = "calculated_at", nullable = false)
+    private LocalDateTime calculatedAt;
+
+    @Column(name = "model_version")
+    private Integer modelVersion; // Scoring model version the score was computed with
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BusinessCreditScore() {}
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Business getBusiness() { return business; }
+    public void setBusiness(Business business) { this.business = business; }
+
+    public BigDecimal getCreditScore() { return creditScore; }
+    public void setCreditScore(BigDecimal creditScore) { this.creditScore = creditScore; }
+
+    public String getCreditScoreGrade() { return creditScoreGrade; }
+    public void setCreditScoreGrade(String creditScoreGrade) { this.creditScoreGrade = creditScoreGrade; }
+
+    public String getRiskCategory() { return riskCategory; }
+    public void setRiskCategory(String riskCategory) { this.riskCategory = riskCategory; }
+
+    public BigDecimal getPaymentHistoryScore() { return paymentHistoryScore; }
+    public void setPaymentHistoryScore(BigDecimal paymentHistoryScore) { this.paymentHistoryScore = paymentHistoryScore; }
+
+    public BigDecimal getTradeReferenceScore() { return tradeReferenceScore; }
+    public void setTradeReferenceScore(BigDecimal tradeReferenceScore) { this.tradeReferenceScore = tradeReferenceScore; }
+
+    public BigDecimal getBusinessProfileScore() { return businessProfileScore; }
+    public void setBusinessProfileScore(BigDecimal businessProfileScore) { this.businessProfileScore = businessProfileScore; }
+
+    public BigDecimal getCreditUtilizationScore() { return creditUtilizationScore; }
+    public void setCreditUtilizationScore(BigDecimal creditUtilizationScore) { this.creditUtilizationScore = creditUtilizationScore; }
+
+    public BigDecimal getBusinessAgeScore() { return businessAgeScore; }
+    public void setBusinessAgeScore(BigDecimal businessAgeScore) { this.businessAgeScore = businessAgeScore; }
+
+    public BigDecimal getRecommendedCreditLimit() { return recommendedCreditLimit; }
+    public void setRecommendedCreditLimit(BigDecimal recommendedCreditLimit) { this.recommendedCreditLimit = recommendedCreditLimit; }
+
+    public LocalDateTime getCalculatedAt() { return calculatedAt; }
+    public void setCalculatedAt(LocalDateTime calculatedAt) { this.calculatedAt = calculatedAt; }
+
+    public Integer getModelVersion() { return modelVersion; }
+    public void setModelVersion(Integer modelVersion) { this.modelVersion = modelVersion; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
@@ -0,0 +1,127 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Running totals over a business's active payment history, maintained on every
+ * payment history write so scoring and analytics do not aggregate all rows.
+ */
+@Entity
+@Table(name = "business_payment_counters")
+@EntityListeners(AuditingEntityListener.class)
+public class BusinessPaymentCounters {
+
+    @Id
+    @Column(name = "business_id")
+    private Long businessId;
+
+    @Column(name = "total_payments", nullable = false)
+    private Long totalPayments = 0L;
+
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    // Scoring buckets (PAID by days delayed, then OVERDUE and DEFAULTED)
+    @Column(name = "on_time_payments", nullable = false)
+    private Long onTimePayments = 0L;
+
+    @Column(name = "late_payments", nullable = false)
+    private Long latePayments = 0L; // 1-30 days delayed
+
+    @Column(name = "very_late_payments", nullable = false)
+    private Long veryLatePayments = 0L; // Over 30 days delayed
+
+    @Column(name = "overdue_payments", nullable = false)
+    private Long overduePayments = 0L;
+
+    @Column(name = "defaulted_payments", nullable = false)
+    private Long defaultedPayments = 0L;
+
+    @Column(name = "overdue_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal overdueAmount = BigDecimal.ZERO; // OVERDUE and DEFAULTED
+
+    // Analytics buckets (PAID with no days overdue, and delay sums over days overdue)
+    @Column(name = "paid_without_delay_payments", nullable = false)
+    private Long paidWithoutDelayPayments = 0L;
+
+    @Column(name = "delayed_payments", nullable = false)
+    private Long delayedPayments = 0L;
+
+    @Column(name = "total_delay_days", nullable = false)
+    private Long totalDelayDays = 0L;
+
+    @Column(name = "rated_payments", nullable = false)
+    private Long ratedPayments = 0L;
+
+    @Column(name = "total_rating", nullable = false)
+    private Long totalRating = 0L;
+
+    // Null for counters created before monthly rollups existed, until they are backfilled
+    @Column(name = "monthly_rollups_built")
+    private Boolean monthlyRollupsBuilt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BusinessPaymentCounters() {}
+
+    public BusinessPaymentCounters(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    // Getters and Setters
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public Long getTotalPayments() { return totalPayments; }
+    public void setTotalPayments(Long totalPayments) { this.totalPayments = totalPayments; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public Long getOnTimePayments() { return onTimePayments; }
+    public void setOnTimePayments(Long onTimePayments) { this.onTimePayments = onTimePayments; }
+
+    public Long getLatePayments() { return latePayments; }
+    public void setLatePayments(Long latePayments) { this.latePayments = latePayments; }
+
+    public Long getVeryLatePayments() { return veryLatePayments; }
+    public void setVeryLatePayments(Long veryLatePayments) { this.veryLatePayments = veryLatePayments; }
+
+    public Long getOverduePayments() { return overduePayments; }
+    public void setOverduePayments(Long overduePayments) { this.overduePayments = overduePayments; }
+
+    public Long getDefaultedPayments() { return defaultedPayments; }
+    public void setDefaultedPayments(Long defaultedPayments) { this.defaultedPayments = defaultedPayments; }
+
+    public BigDecimal getOverdueAmount() { return overdueAmount; }
+    public void setOverdueAmount(BigDecimal overdueAmount) { this.overdueAmount = overdueAmount; }
+
+    public Long getPaidWithoutDelayPayments() { return paidWithoutDelayPayments; }
+    public void setPaidWithoutDelayPayments(Long paidWithoutDelayPayments) { this.paidWithoutDelayPayments = paidWithoutDelayPayments; }
+
+    public Long getDelayedPayments() { return delayedPayments; }
+    public void setDelayedPayments(Long delayedPayments) { this.delayedPayments = delayedPayments; }
+
+    public Long getTotalDelayDays() { return totalDelayDays; }
+    public void setTotalDelayDays(Long totalDelayDays) { this.totalDelayDays = totalDelayDays; }
+
+    public Long getRatedPayments() { return ratedPayments; }
+    public void setRatedPayments(Long ratedPayments) { this.ratedPayments = ratedPayments; }
+
+    public Long getTotalRating() { return totalRating; }
+    public void setTotalRating(Long totalRating) { this.totalRating = totalRating; }
+
+    public Boolean getMonthlyRollupsBuilt() { return monthlyRollupsBuilt; }
+    public void setMonthlyRollupsBuilt(Boolean monthlyRollupsBuilt) { this.monthlyRollupsBuilt = monthlyRollupsBuilt; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
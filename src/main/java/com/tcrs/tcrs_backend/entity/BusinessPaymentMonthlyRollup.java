@@ -0,0 +1,119 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Totals over a business's active payment history due in one calendar month, maintained
+ * alongside {@link BusinessPaymentCounters} so monthly trends never group raw rows.
+ */
+@Entity
+@Table(name = "business_payment_monthly_rollups", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_payment_monthly_rollups_business_month", columnNames = {"business_id", "month_start"})
+}, indexes = {
+        @Index(name = "idx_payment_monthly_rollups_month", columnList = "month_start")
+})
+@EntityListeners(AuditingEntityListener.class)
+public class BusinessPaymentMonthlyRollup {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+
+    @Column(name = "month_start", nullable = false)
+    private LocalDate monthStart; // First day of the due-date month
+
+    @Column(name = "total_payments", nullable = false)
+    private Long totalPayments = 0L;
+
+    @Column(name = "paid_without_delay_payments", nullable = false)
+    private Long paidWithoutDelayPayments = 0L;
+
+    @Column(name = "overdue_payments", nullable = false)
+    private Long overduePayments = 0L; // OVERDUE and DEFAULTED
+
+    @Column(name = "total_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "overdue_amount", precision = 19, scale = 2, nullable = false)
+    private BigDecimal overdueAmount = BigDecimal.ZERO;
+
+    // Days overdue summed over the payments that report it, zero included
+    @Column(name = "delay_reported_payments", nullable = false)
+    private Long delayReportedPayments = 0L;
+
+    @Column(name = "total_delay_days", nullable = false)
+    private Long totalDelayDays = 0L;
+
+    @Column(name = "active_disputes", nullable = false)
+    private Long activeDisputes = 0L;
+
+    @Column(name = "rated_payments", nullable = false)
+    private Long ratedPayments = 0L;
+
+    @Column(name = "total_rating", nullable = false)
+    private Long totalRating = 0L;
+
+    @LastModifiedDate
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
+    // Constructors
+    public BusinessPaymentMonthlyRollup() {}
+
+    public BusinessPaymentMonthlyRollup(Long businessId, LocalDate monthStart) {
+        this.businessId = businessId;
+        this.monthStart = monthStart;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public LocalDate getMonthStart() { return monthStart; }
+    public void setMonthStart(LocalDate monthStart) { this.monthStart = monthStart; }
+
+    public Long getTotalPayments() { return totalPayments; }
+    public void setTotalPayments(Long totalPayments) { this.totalPayments = totalPayments; }
+
+    public Long getPaidWithoutDelayPayments() { return paidWithoutDelayPayments; }
+    public void setPaidWithoutDelayPayments(Long paidWithoutDelayPayments) { this.paidWithoutDelayPayments = paidWithoutDelayPayments; }
+
+    public Long getOverduePayments() { return overduePayments; }
+    public void setOverduePayments(Long overduePayments) { this.overduePayments = overduePayments; }
+
+    public BigDecimal getTotalAmount() { return totalAmount; }
+    public void setTotalAmount(BigDecimal totalAmount) { this.totalAmount = totalAmount; }
+
+    public BigDecimal getOverdueAmount() { return overdueAmount; }
+    public void setOverdueAmount(BigDecimal overdueAmount) { this.overdueAmount = overdueAmount; }
+
+    public Long getDelayReportedPayments() { return delayReportedPayments; }
+    public void setDelayReportedPayments(Long delayReportedPayments) { this.delayReportedPayments = delayReportedPayments; }
+
+    public Long getTotalDelayDays() { return totalDelayDays; }
+    public void setTotalDelayDays(Long totalDelayDays) { this.totalDelayDays = totalDelayDays; }
+
+    public Long getActiveDisputes() { return activeDisputes; }
+    public void setActiveDisputes(Long activeDisputes) { this.activeDisputes = activeDisputes; }
+
+    public Long getRatedPayments() { return ratedPayments; }
+    public void setRatedPayments(Long ratedPayments) { this.ratedPayments = ratedPayments; }
+
+    public Long getTotalRating() { return totalRating; }
+    public void setTotalRating(Long totalRating) { this.totalRating = totalRating; }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+    public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
+}
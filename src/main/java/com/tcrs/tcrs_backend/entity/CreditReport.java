@@ -10,7 +10,9 @@ import java.math.BigDecimal;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "credit_reports")
+@Table(name = "credit_reports", indexes = {
+        @Index(name = "idx_credit_reports_business_created", columnList = "business_id, created_at, id")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class CreditReport {
 
@@ -0,0 +1,98 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A queued credit report request. Status is kept in the database so any node
+ * can answer polls for a job, whichever node's workers run it.
+ */
+@Entity
+@Table(name = "credit_report_jobs", indexes = {
+        @Index(name = "idx_credit_report_jobs_status_created", columnList = "status, created_at")
+})
+public class CreditReportJob {
+
+    @Id
+    @Column(name = "id", length = 36)
+    private String id;
+
+    @Column(name = "business_id", nullable = false)
+    private Long businessId;
+
+    @Column(name = "requested_by_id", nullable = false)
+    private Long requestedById;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private ReportJobStatus status = ReportJobStatus.QUEUED;
+
+    // Served from the priority lane
+    @Column(name = "priority", nullable = false)
+    private Boolean priority = false;
+
+    @Column(name = "notify_on_completion", nullable = false)
+    private Boolean notifyOnCompletion = false;
+
+    @Column(name = "report_number")
+    private String reportNumber;
+
+    @Column(name = "error_message", length = 500)
+    private String errorMessage;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "started_at")
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public CreditReportJob() {}
+
+    public CreditReportJob(String id, Long businessId, Long requestedById, Boolean priority, Boolean notifyOnCompletion) {
+        this.id = id;
+        this.businessId = businessId;
+        this.requestedById = requestedById;
+        this.priority = priority;
+        this.notifyOnCompletion = notifyOnCompletion;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public String getId() { return id; }
+    public void setId(String id) { this.id = id; }
+
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public Long getRequestedById() { return requestedById; }
+    public void setRequestedById(Long requestedById) { this.requestedById = requestedById; }
+
+    public ReportJobStatus getStatus() { return status; }
+    public void setStatus(ReportJobStatus status) { this.status = status; }
+
+    public Boolean getPriority() { return priority; }
+    public void setPriority(Boolean priority) { this.priority = priority; }
+
+    public Boolean getNotifyOnCompletion() { return notifyOnCompletion; }
+    public void setNotifyOnCompletion(Boolean notifyOnCompletion) { this.notifyOnCompletion = notifyOnCompletion; }
+
+    public String getReportNumber() { return reportNumber; }
+    public void setReportNumber(String reportNumber) { this.reportNumber = reportNumber; }
+
+    public String getErrorMessage() { return errorMessage; }
+    public void setErrorMessage(String errorMessage) { this.errorMessage = errorMessage; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
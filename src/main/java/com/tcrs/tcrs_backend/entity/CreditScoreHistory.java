@@ -0,0 +1,61 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One computed score for a business. Rows are only ever appended; the table is
+ * kept narrow (no joins, no breakdown) so long histories stay cheap to scan.
+ */
+@Entity
+@Table(name = "credit_score_history", indexes = {
+        @Index(name = "idx_credit_score_history_business_recorded", columnList = "business_id, recorded_at"),
+        @Index(name = "idx_credit_score_history_recorded", columnList = "recorded_at")
+})
+public class CreditScoreHistory {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "business_id", nullable = false, updatable = false)
+    private Long businessId;
+
+    @Column(name = "credit_score", precision = 6, scale = 2, nullable = false, updatable = false)
+    private BigDecimal creditScore;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "source", nullable = false, updatable = false, length = 20)
+    private CreditScoreSource source;
+
+    @Column(name = "recorded_at", nullable = false, updatable = false)
+    private LocalDateTime recordedAt;
+
+    // Constructors
+    public CreditScoreHistory() {}
+
+    public CreditScoreHistory(Long businessId, BigDecimal creditScore, CreditScoreSource source, LocalDateTime recordedAt) {
+        this.businessId = businessId;
+        this.creditScore = creditScore;
+        this.source = source;
+        this.recordedAt = recordedAt;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public BigDecimal getCreditScore() { return creditScore; }
+    public void setCreditScore(BigDecimal creditScore) { this.creditScore = creditScore; }
+
+    public CreditScoreSource getSource() { return source; }
+    public void setSource(CreditScoreSource source) { this.source = source; }
+
+    public LocalDateTime getRecordedAt() { return recordedAt; }
+    public void setRecordedAt(LocalDateTime recordedAt) { this.recordedAt = recordedAt; }
+}
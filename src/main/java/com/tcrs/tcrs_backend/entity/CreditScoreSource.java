@@ -0,0 +1,8 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum CreditScoreSource {
+    DATA_CHANGE,        // Rescore after payment history, trade reference or profile writes
+    RESCORE,            // Batch scoring of many businesses
+    MONITORING,         // Computed during a monitoring check
+    CREDIT_REPORT       // Overall score of a generated credit report (report scale)
+}
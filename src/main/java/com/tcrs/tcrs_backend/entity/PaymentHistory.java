@@ -11,7 +11,10 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "payment_histories")
+@Table(name = "payment_histories", indexes = {
+        @Index(name = "idx_payment_histories_transaction_reference", columnList = "transaction_reference"),
+        @Index(name = "idx_payment_histories_business_created", columnList = "business_id, created_at")
+})
 @EntityListeners(AuditingEntityListener.class)
 public class PaymentHistory {
 
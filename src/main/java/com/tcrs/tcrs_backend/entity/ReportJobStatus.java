@@ -0,0 +1,8 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum ReportJobStatus {
+    QUEUED,         // Waiting for a report worker
+    RUNNING,        // Report being generated
+    COMPLETED,      // Report generated; reportNumber is set
+    FAILED          // Generation failed; errorMessage is set
+}
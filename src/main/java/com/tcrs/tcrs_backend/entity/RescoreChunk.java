@@ -0,0 +1,88 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A business ID range [fromId, toId) of a rescore run. Workers claim a chunk by
+ * moving it from PENDING to IN_PROGRESS, which also serves as the checkpoint.
+ */
+@Entity
+@Table(name = "rescore_chunks", indexes = {
+        @Index(name = "idx_rescore_chunks_run_status", columnList = "run_id, status")
+})
+public class RescoreChunk {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "run_id", nullable = false)
+    private Long runId;
+
+    @Column(name = "from_id", nullable = false)
+    private Long fromId;
+
+    @Column(name = "to_id", nullable = false)
+    private Long toId;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RescoreChunkStatus status = RescoreChunkStatus.PENDING;
+
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    @Column(name = "businesses_scored")
+    private Integer businessesScored;
+
+    @Column(name = "claimed_at")
+    private LocalDateTime claimedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    // Constructors
+    public RescoreChunk() {}
+
+    public RescoreChunk(Long runId, Long fromId, Long toId) {
+        this.runId = runId;
+        this.fromId = fromId;
+        this.toId = toId;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Long getRunId() { return runId; }
+    public void setRunId(Long runId) { this.runId = runId; }
+
+    public Long getFromId() { return fromId; }
+    public void setFromId(Long fromId) { this.fromId = fromId; }
+
+    public Long getToId() { return toId; }
+    public void setToId(Long toId) { this.toId = toId; }
+
+    public RescoreChunkStatus getStatus() { return status; }
+    public void setStatus(RescoreChunkStatus status) { this.status = status; }
+
+    public Integer getAttempts() { return attempts; }
+    public void setAttempts(Integer attempts) { this.attempts = attempts; }
+
+    public Integer getBusinessesScored() { return businessesScored; }
+    public void setBusinessesScored(Integer businessesScored) { this.businessesScored = businessesScored; }
+
+    public LocalDateTime getClaimedAt() { return claimedAt; }
+    public void setClaimedAt(LocalDateTime claimedAt) { this.claimedAt = claimedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+
+    public String getLastError() { return lastError; }
+    public void setLastError(String lastError) { this.lastError = lastError; }
+}
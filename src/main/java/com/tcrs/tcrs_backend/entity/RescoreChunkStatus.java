@@ -0,0 +1,8 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum RescoreChunkStatus {
+    PENDING,
+    IN_PROGRESS,
+    DONE,
+    FAILED
+}
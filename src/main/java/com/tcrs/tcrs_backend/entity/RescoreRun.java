@@ -0,0 +1,90 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * One full-portfolio rescore. Progress lives in its {@link RescoreChunk} rows,
+ * so a run interrupted by a crash or the time window is picked up where it stopped.
+ */
+@Entity
+@Table(name = "rescore_runs")
+public class RescoreRun {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // At most one run per day, so nodes triggered at the same time join the same run
+    @Column(name = "run_date", nullable = false, unique = true)
+    private LocalDate runDate;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false)
+    private RescoreRunStatus status = RescoreRunStatus.RUNNING;
+
+    @Column(name = "chunk_size", nullable = false)
+    private Integer chunkSize;
+
+    @Column(name = "total_chunks", nullable = false)
+    private Integer totalChunks;
+
+    @Column(name = "model_version")
+    private Integer modelVersion;
+
+    @Column(name = "businesses_scored")
+    private Long businessesScored = 0L;
+
+    @Column(name = "failed_chunks")
+    private Integer failedChunks = 0;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    // Constructors
+    public RescoreRun() {}
+
+    public RescoreRun(LocalDate runDate, Integer chunkSize, Integer totalChunks, Integer modelVersion) {
+        this.runDate = runDate;
+        this.chunkSize = chunkSize;
+        this.totalChunks = totalChunks;
+        this.modelVersion = modelVersion;
+        this.startedAt = LocalDateTime.now();
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public LocalDate getRunDate() { return runDate; }
+    public void setRunDate(LocalDate runDate) { this.runDate = runDate; }
+
+    public RescoreRunStatus getStatus() { return status; }
+    public void setStatus(RescoreRunStatus status) { this.status = status; }
+
+    public Integer getChunkSize() { return chunkSize; }
+    public void setChunkSize(Integer chunkSize) { this.chunkSize = chunkSize; }
+
+    public Integer getTotalChunks() { return totalChunks; }
+    public void setTotalChunks(Integer totalChunks) { this.totalChunks = totalChunks; }
+
+    public Integer getModelVersion() { return modelVersion; }
+    public void setModelVersion(Integer modelVersion) { this.modelVersion = modelVersion; }
+
+    public Long getBusinessesScored() { return businessesScored; }
+    public void setBusinessesScored(Long businessesScored) { this.businessesScored = businessesScored; }
+
+    public Integer getFailedChunks() { return failedChunks; }
+    public void setFailedChunks(Integer failedChunks) { this.failedChunks = failedChunks; }
+
+    public LocalDateTime getStartedAt() { return startedAt; }
+    public void setStartedAt(LocalDateTime startedAt) { this.startedAt = startedAt; }
+
+    public LocalDateTime getCompletedAt() { return completedAt; }
+    public void setCompletedAt(LocalDateTime completedAt) { this.completedAt = completedAt; }
+}
@@ -0,0 +1,6 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum RescoreRunStatus {
+    RUNNING,        // Chunks still pending; resumed by the next trigger or on startup
+    COMPLETED       // Every chunk processed (some may have failed)
+}
@@ -0,0 +1,15 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum ScenarioChangeType {
+    ADD_ON_TIME_PAYMENTS,       // Paid invoices with no delay
+    ADD_LATE_PAYMENTS,          // Paid invoices up to 30 days late
+    ADD_VERY_LATE_PAYMENTS,     // Paid invoices more than 30 days late
+    ADD_OVERDUE_PAYMENTS,       // New unpaid overdue invoices
+    ADD_DEFAULTED_PAYMENTS,     // New defaulted invoices
+    SETTLE_OVERDUE_PAYMENTS,    // Overdue invoices paid off late
+    RESOLVE_DISPUTES,           // Disputed trade references resolved
+    VERIFY_TRADE_REFERENCES,    // Unverified trade references verified
+    ADD_TRADE_REFERENCES,       // New verified trade references
+    VERIFY_GSTIN,               // GSTIN verification completed
+    VERIFY_PAN                  // PAN verification completed
+}
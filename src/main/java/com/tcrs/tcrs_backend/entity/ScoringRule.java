@@ -0,0 +1,75 @@
+package com.tcrs.tcrs_backend.entity;
+
+import jakarta.persistence.*;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of a versioned scoring model. Lookup rules map a key to points;
+ * band rules map a threshold to points or a label, and a band row without a
+ * threshold is the fallback for values below every other band.
+ */
+@Entity
+@Table(name = "scoring_rules")
+@EntityListeners(AuditingEntityListener.class)
+public class ScoringRule {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "model_version", nullable = false)
+    private Integer modelVersion;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "rule_type", nullable = false)
+    private ScoringRuleType ruleType;
+
+    @Column(name = "rule_key", nullable = false)
+    private String ruleKey; // Enum name, fixed key or band label
+
+    @Column(name = "threshold")
+    private Long threshold;
+
+    @Column(name = "points")
+    private Long points;
+
+    @CreatedDate
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    // Constructors
+    public ScoringRule() {}
+
+    public ScoringRule(Integer modelVersion, ScoringRuleType ruleType, String ruleKey, Long threshold, Long points) {
+        this.modelVersion = modelVersion;
+        this.ruleType = ruleType;
+        this.ruleKey = ruleKey;
+        this.threshold = threshold;
+        this.points = points;
+    }
+
+    // Getters and Setters
+    public Long getId() { return id; }
+    public void setId(Long id) { this.id = id; }
+
+    public Integer getModelVersion() { return modelVersion; }
+    public void setModelVersion(Integer modelVersion) { this.modelVersion = modelVersion; }
+
+    public ScoringRuleType getRuleType() { return ruleType; }
+    public void setRuleType(ScoringRuleType ruleType) { this.ruleType = ruleType; }
+
+    public String getRuleKey() { return ruleKey; }
+    public void setRuleKey(String ruleKey) { this.ruleKey = ruleKey; }
+
+    public Long getThreshold() { return threshold; }
+    public void setThreshold(Long threshold) { this.threshold = threshold; }
+
+    public Long getPoints() { return points; }
+    public void setPoints(Long points) { this.points = points; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
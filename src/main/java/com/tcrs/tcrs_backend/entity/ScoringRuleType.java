@@ -0,0 +1,18 @@
+package com.tcrs.tcrs_backend.entity;
+
+public enum ScoringRuleType {
+    WEIGHT,                 // Sub-score weight in percent, keyed by sub-score
+    SCORE_LIMIT,            // BASE, MIN and MAX overall score
+    PAYMENT_OUTCOME,        // Points per payment by outcome
+    TRADE_REFERENCE,        // Points per trade reference by verification and value
+    ADJUSTMENT,             // Fixed bonuses and penalties, some with a threshold
+    PAYMENT_BEHAVIOR,       // Points per reference, keyed by PaymentBehavior
+    RECOMMENDATION_LEVEL,   // Points per reference, keyed by RecommendationLevel
+    BUSINESS_TYPE,          // Profile points, keyed by BusinessType
+    INDUSTRY_CATEGORY,      // Profile points, keyed by IndustryCategory
+    GRADE,                  // Score band to grade label
+    RISK_CATEGORY,          // Score band to risk label
+    CREDIT_LIMIT,           // Score band to base credit limit in rupees
+    BUSINESS_AGE,           // Months since registration to points
+    CREDIT_UTILIZATION      // Average credit limit above threshold to points
+}
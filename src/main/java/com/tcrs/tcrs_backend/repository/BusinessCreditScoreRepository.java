@@ -0,0 +1,68 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.BusinessCreditScore;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BusinessCreditScoreRepository extends JpaRepository<BusinessCreditScore, Long> {
+
+    Optional<BusinessCreditScore> findByBusinessId(Long businessId);
+
+    List<BusinessCreditScore> findByBusinessIdIn(Collection<Long> businessIds);
+
+    // Businesses whose score has not been materialized yet
+    @Query("SELECT b.id FROM Business b WHERE NOT EXISTS " +
+            "(SELECT s.id FROM BusinessCreditScore s WHERE s.business = b) ORDER BY b.id")
+    List<Long> findBusinessIdsWithoutScore();
+
+    // Businesses whose materialized score was computed with a different scoring model version
+    @Query("SELECT s.business.id FROM BusinessCreditScore s " +
+            "WHERE s.modelVersion IS NULL OR s.modelVersion <> :modelVersion ORDER BY s.business.id")
+    List<Long> findBusinessIdsScoredWithOtherModel(@Param("modelVersion") Integer modelVersion);
+
+    // Portfolio summary (count, average, high risk below 500, low risk from 700)
+    @Query("SELECT COUNT(s), AVG(s.creditScore), " +
+            "SUM(CASE WHEN s.creditScore < 500 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 700 THEN 1 ELSE 0 END) " +
+            "FROM BusinessCreditScore s")
+    List<Object[]> getScoreSummary();
+
+    // Score bands 300-400, 400-500, 500-600, 600-700, 700-800, 800+
+    @Query("SELECT " +
+            "SUM(CASE WHEN s.creditScore >= 300 AND s.creditScore < 400 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 400 AND s.creditScore < 500 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 500 AND s.creditScore < 600 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 600 AND s.creditScore < 700 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 700 AND s.creditScore < 800 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN s.creditScore >= 800 THEN 1 ELSE 0 END) " +
+            "FROM BusinessCreditScore s")
+    List<Object[]> getScoreDistribution();
+
+    @Query("SELECT s.riskCategory, COUNT(s) FROM BusinessCreditScore s GROUP BY s.riskCategory")
+    List<Object[]> countByRiskCategory();
+
+    // Ordered scores, paged so the median can be read without loading the whole table
+    @Query("SELECT s.creditScore FROM BusinessCreditScore s ORDER BY s.creditScore")
+    List<BigDecimal> findCreditScoresOrdered(Pageable pageable);
+
+    @Query("SELECT s.business.state, AVG(s.creditScore) FROM BusinessCreditScore s " +
+            "WHERE s.business.state IS NOT NULL GROUP BY s.business.state")
+    List<Object[]> getAverageScoreByState();
+
+    @Query("SELECT s.business.industryCategory, AVG(s.creditScore) FROM BusinessCreditScore s " +
+            "WHERE s.business.industryCategory IS NOT NULL GROUP BY s.business.industryCategory")
+    List<Object[]> getAverageScoreByIndustry();
+
+    // Delivered to listeners when the calling transaction commits, dropped if it rolls back
+    @Query(value = "SELECT 1 FROM pg_notify(?1, ?2)", nativeQuery = true)
+    Integer notifyChannel(String channel, String payload);
+}
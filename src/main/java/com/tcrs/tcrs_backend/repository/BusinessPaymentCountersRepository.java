@@ -0,0 +1,60 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.BusinessPaymentCounters;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BusinessPaymentCountersRepository extends JpaRepository<BusinessPaymentCounters, Long> {
+
+    // Row lock so concurrent payment writes for one business apply their deltas one after another
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT c FROM BusinessPaymentCounters c WHERE c.businessId = :businessId")
+    Optional<BusinessPaymentCounters> findByBusinessIdForUpdate(@Param("businessId") Long businessId);
+
+    // Empty counters row, to be recounted by the caller when this returns 1. A concurrent insert
+    // of the same business waits for the first to finish and then inserts nothing.
+    @Modifying
+    @Query(value = "INSERT INTO business_payment_counters (business_id, total_payments, total_amount, " +
+            "on_time_payments, late_payments, very_late_payments, overdue_payments, defaulted_payments, " +
+            "overdue_amount, paid_without_delay_payments, delayed_payments, total_delay_days, rated_payments, " +
+            "total_rating, monthly_rollups_built, updated_at) " +
+            "VALUES (:businessId, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, 0, false, CURRENT_TIMESTAMP) " +
+            "ON CONFLICT (business_id) DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("businessId") Long businessId);
+
+    // Businesses with active payment history but no counters row yet
+    @Query("SELECT DISTINCT ph.business.id FROM PaymentHistory ph WHERE ph.isActive = true AND NOT EXISTS " +
+            "(SELECT c.businessId FROM BusinessPaymentCounters c WHERE c.businessId = ph.business.id) " +
+            "ORDER BY ph.business.id")
+    List<Long> findBusinessIdsWithoutCounters(Pageable pageable);
+
+    // Counters whose business has no monthly rollups yet
+    @Query("SELECT c.businessId FROM BusinessPaymentCounters c WHERE c.monthlyRollupsBuilt IS NULL " +
+            "OR c.monthlyRollupsBuilt = false ORDER BY c.businessId")
+    List<Long> findBusinessIdsWithoutMonthlyRollups(Pageable pageable);
+
+    // Full recount from payment history, used when a business has no counters row yet
+    @Query("SELECT COUNT(ph), SUM(ph.transactionAmount), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND (ph.daysDelayed IS NULL OR ph.daysDelayed <= 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND ph.daysDelayed > 0 AND ph.daysDelayed <= 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND ph.daysDelayed > 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'OVERDUE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'DEFAULTED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus IN ('OVERDUE', 'DEFAULTED') THEN ph.transactionAmount ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND (ph.daysOverdue IS NULL OR ph.daysOverdue = 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.daysOverdue > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.daysOverdue > 0 THEN ph.daysOverdue ELSE 0 END), " +
+            "COUNT(ph.paymentRating), SUM(ph.paymentRating) " +
+            "FROM PaymentHistory ph WHERE ph.business.id = :businessId AND ph.isActive = true")
+    List<Object[]> aggregateCountersByBusinessId(@Param("businessId") Long businessId);
+}
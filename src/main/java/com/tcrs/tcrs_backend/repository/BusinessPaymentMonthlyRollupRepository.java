@@ -0,0 +1,51 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.BusinessPaymentMonthlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface BusinessPaymentMonthlyRollupRepository extends JpaRepository<BusinessPaymentMonthlyRollup, Long> {
+
+    Optional<BusinessPaymentMonthlyRollup> findByBusinessIdAndMonthStart(Long businessId, LocalDate monthStart);
+
+    /**
+     * Whether the business's rollups are built (null when it has no counters row yet), with one
+     * row per rollup from fromMonth on, oldest first; the rollup is null when there are none.
+     */
+    @Query("SELECT c.monthlyRollupsBuilt, r FROM BusinessPaymentCounters c " +
+            "LEFT JOIN BusinessPaymentMonthlyRollup r ON r.businessId = c.businessId AND r.monthStart >= :fromMonth " +
+            "WHERE c.businessId = :businessId ORDER BY r.monthStart")
+    List<Object[]> findRollupsWithBuildState(@Param("businessId") Long businessId,
+                                             @Param("fromMonth") LocalDate fromMonth);
+
+    // Totals across all businesses per month, oldest first
+    @Query("SELECT r.monthStart, SUM(r.totalPayments), SUM(r.paidWithoutDelayPayments), " +
+            "SUM(r.totalDelayDays), SUM(r.delayReportedPayments) FROM BusinessPaymentMonthlyRollup r " +
+            "WHERE r.monthStart >= :fromMonth GROUP BY r.monthStart ORDER BY r.monthStart")
+    List<Object[]> sumByMonthSince(@Param("fromMonth") LocalDate fromMonth);
+
+    @Modifying
+    @Query("DELETE FROM BusinessPaymentMonthlyRollup r WHERE r.businessId = :businessId")
+    void deleteByBusinessId(@Param("businessId") Long businessId);
+
+    // Full recount of a business's months from payment history, in rollup column order
+    @Query("SELECT YEAR(ph.dueDate), MONTH(ph.dueDate), COUNT(ph), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND (ph.daysOverdue IS NULL OR ph.daysOverdue = 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus IN ('OVERDUE', 'DEFAULTED') THEN 1 ELSE 0 END), " +
+            "SUM(ph.transactionAmount), " +
+            "SUM(CASE WHEN ph.paymentStatus IN ('OVERDUE', 'DEFAULTED') THEN ph.transactionAmount ELSE 0 END), " +
+            "COUNT(ph.daysOverdue), SUM(ph.daysOverdue), " +
+            "SUM(CASE WHEN ph.disputeStatus IN ('DISPUTE_RAISED', 'UNDER_REVIEW', 'ESCALATED') THEN 1 ELSE 0 END), " +
+            "COUNT(ph.paymentRating), SUM(ph.paymentRating) " +
+            "FROM PaymentHistory ph WHERE ph.business.id = :businessId AND ph.isActive = true " +
+            "GROUP BY YEAR(ph.dueDate), MONTH(ph.dueDate)")
+    List<Object[]> aggregateMonthsByBusinessId(@Param("businessId") Long businessId);
+}
@@ -12,12 +12,14 @@ import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface BusinessRepository extends JpaRepository<Business, Long> {
     Optional<Business> findByGstin(String gstin);
+    List<Business> findByGstinIn(Collection<String> gstins);
     Optional<Business> findByPan(String pan);
     List<Business> findByOwner(User owner);
     Boolean existsByGstin(String gstin);
@@ -78,4 +80,30 @@ public interface BusinessRepository extends JpaRepository<Business, Long> {
     long countByCreatedAtBetween(LocalDateTime startDate, LocalDateTime endDate);
     long countByGstinVerifiedTrue();
 
-}
\ No newline at end of file
+
+    // ID bounds of active businesses, for partitioning portfolio-wide jobs
+    @Query("SELECT MIN(b.id), MAX(b.id) FROM Business b WHERE b.isActive = true")
+    List<Object[]> findActiveIdRange();
+
+    @Query("SELECT b.id FROM Business b WHERE b.isActive = true AND b.id >= :fromId AND b.id < :toId ORDER BY b.id")
+    List<Long> findActiveIdsInRange(@Param("fromId") Long fromId, @Param("toId") Long toId);
+
+    @Query("SELECT b.id FROM Business b WHERE b.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+
+    // Report inputs in one round trip: longest payment delay, active payment disputes, trade references
+    // (total, positive, negative) and the KYC profile's status and completion
+    @Query("SELECT " +
+            "(SELECT MAX(ph.daysOverdue) FROM PaymentHistory ph WHERE ph.business = b AND ph.isActive = true " +
+            "AND ph.daysOverdue IS NOT NULL), " +
+            "(SELECT COUNT(ph) FROM PaymentHistory ph WHERE ph.business = b AND ph.isActive = true " +
+            "AND ph.disputeStatus IN ('DISPUTE_RAISED', 'UNDER_REVIEW', 'ESCALATED')), " +
+            "(SELECT COUNT(tr) FROM TradeReference tr WHERE tr.business = b AND tr.isActive = true), " +
+            "(SELECT COUNT(tr) FROM TradeReference tr WHERE tr.business = b AND tr.isActive = true " +
+            "AND tr.paymentBehavior IN ('EXCELLENT', 'GOOD')), " +
+            "(SELECT COUNT(tr) FROM TradeReference tr WHERE tr.business = b AND tr.isActive = true " +
+            "AND tr.paymentBehavior IN ('POOR', 'VERY_POOR', 'DEFAULTED')), " +
+            "k.kycStatus, k.completionPercentage " +
+            "FROM Business b LEFT JOIN KycProfile k ON k.business = b WHERE b.id = :businessId")
+    List<Object[]> getReportAggregates(@Param("businessId") Long businessId);
+}
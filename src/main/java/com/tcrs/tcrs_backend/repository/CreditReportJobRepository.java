@@ -0,0 +1,27 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.CreditReportJob;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface CreditReportJobRepository extends JpaRepository<CreditReportJob, String> {
+
+    // Jobs left queued or running by a node that went away
+    @Modifying
+    @Query("UPDATE CreditReportJob j SET j.status = com.tcrs.tcrs_backend.entity.ReportJobStatus.FAILED, " +
+            "j.errorMessage = :message, j.completedAt = :now " +
+            "WHERE j.status IN (com.tcrs.tcrs_backend.entity.ReportJobStatus.QUEUED, " +
+            "com.tcrs.tcrs_backend.entity.ReportJobStatus.RUNNING) AND j.createdAt < :before")
+    int failAbandonedJobs(@Param("message") String message, @Param("before") LocalDateTime before,
+                          @Param("now") LocalDateTime now);
+
+    @Modifying
+    @Query("DELETE FROM CreditReportJob j WHERE j.completedAt < :before")
+    int deleteFinishedBefore(@Param("before") LocalDateTime before);
+}
@@ -1,6 +1,7 @@
 package com.tcrs.tcrs_backend.repository;
 
 
+import com.tcrs.tcrs_backend.dto.credit.CreditHistoryEntry;
 import com.tcrs.tcrs_backend.entity.Business;
 import com.tcrs.tcrs_backend.entity.CreditReport;
 import com.tcrs.tcrs_backend.entity.ReportStatus;
@@ -12,6 +13,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,12 +26,48 @@ public interface CreditReportRepository extends JpaRepository<CreditReport, Long
 
     List<CreditReport> findByRequestedByOrderByCreatedAtDesc(User requestedBy);
 
+    // Keyset pages of a business's history, newest first; the pageable only supplies the limit
+    @Query("SELECT new com.tcrs.tcrs_backend.dto.credit.CreditHistoryEntry(cr.id, cr.reportNumber, cr.createdAt, " +
+            "cr.creditScore, cr.creditScoreGrade, cr.riskCategory) FROM CreditReport cr " +
+            "WHERE cr.business.id = ?1 ORDER BY cr.createdAt DESC, cr.id DESC")
+    List<CreditHistoryEntry> findHistoryFirstPage(Long businessId, Pageable pageable);
+
+    @Query("SELECT new com.tcrs.tcrs_backend.dto.credit.CreditHistoryEntry(cr.id, cr.reportNumber, cr.createdAt, " +
+            "cr.creditScore, cr.creditScoreGrade, cr.riskCategory) FROM CreditReport cr " +
+            "WHERE cr.business.id = ?1 AND (cr.createdAt < ?2 OR (cr.createdAt = ?2 AND cr.id < ?3)) " +
+            "ORDER BY cr.createdAt DESC, cr.id DESC")
+    List<CreditHistoryEntry> findHistoryPageAfter(Long businessId, LocalDateTime createdAt, Long id, Pageable pageable);
+
     Page<CreditReport> findByRequestedByOrderByCreatedAtDesc(User requestedBy, Pageable pageable);
 
     @Query("SELECT cr FROM CreditReport cr WHERE cr.business = ?1 AND cr.reportStatus = ?2 " +
             "AND cr.reportValidUntil > ?3 ORDER BY cr.createdAt DESC")
     Optional<CreditReport> findValidReportByBusiness(Business business, ReportStatus status, LocalDateTime now);
 
+    // Lock space of the per-business report generation advisory lock
+    int REPORT_GENERATION_LOCK_SPACE = 0x54435252;
+
+    /**
+     * Serializes report generation for a business across nodes until the calling
+     * transaction ends, so the caller can re-check for a valid report the previous
+     * holder just committed. Unrelated businesses may share a key; they only wait.
+     */
+    default void lockReportGeneration(Long businessId) {
+        acquireTransactionAdvisoryLock(REPORT_GENERATION_LOCK_SPACE, Long.hashCode(businessId));
+    }
+
+    @Query(value = "SELECT 1 FROM pg_advisory_xact_lock(?1, ?2)", nativeQuery = true)
+    Integer acquireTransactionAdvisoryLock(int lockSpace, int key);
+
+    // Delivered to listeners when the calling transaction commits, dropped if it rolls back
+    @Query(value = "SELECT 1 FROM pg_notify(?1, ?2)", nativeQuery = true)
+    Integer notifyChannel(String channel, String payload);
+
+    // findValidReportByBusiness for many businesses at once, newest first
+    @Query("SELECT cr FROM CreditReport cr JOIN FETCH cr.business JOIN FETCH cr.requestedBy " +
+            "WHERE cr.business IN ?1 AND cr.reportStatus = ?2 AND cr.reportValidUntil > ?3 ORDER BY cr.createdAt DESC")
+    List<CreditReport> findValidReportsByBusinesses(Collection<Business> businesses, ReportStatus status, LocalDateTime now);
+
     @Query("SELECT cr FROM CreditReport cr WHERE cr.reportValidUntil < ?1 AND cr.reportStatus = ?2")
     List<CreditReport> findExpiredReports(LocalDateTime now, ReportStatus status);
 
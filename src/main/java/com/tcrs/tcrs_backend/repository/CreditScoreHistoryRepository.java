@@ -0,0 +1,46 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.CreditScoreHistory;
+import com.tcrs.tcrs_backend.entity.CreditScoreSource;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface CreditScoreHistoryRepository extends JpaRepository<CreditScoreHistory, Long> {
+
+    Optional<CreditScoreHistory> findFirstByBusinessIdAndSourceInOrderByRecordedAtDesc(
+            Long businessId, Collection<CreditScoreSource> sources);
+
+    // Buckets of one business's scores: period start, average, min, max, last score in the period, count
+    @Query(value = "SELECT date_trunc(:unit, h.recorded_at) AS period, AVG(h.credit_score), MIN(h.credit_score), " +
+            "MAX(h.credit_score), (ARRAY_AGG(h.credit_score ORDER BY h.recorded_at DESC))[1], COUNT(*) " +
+            "FROM credit_score_history h WHERE h.business_id = :businessId AND h.source IN (:sources) " +
+            "AND h.recorded_at >= :fromDate AND h.recorded_at < :toDate " +
+            "GROUP BY period ORDER BY period", nativeQuery = true)
+    List<Object[]> downsampleByBusinessId(@Param("businessId") Long businessId,
+                                          @Param("sources") Collection<String> sources,
+                                          @Param("unit") String unit,
+                                          @Param("fromDate") LocalDateTime fromDate,
+                                          @Param("toDate") LocalDateTime toDate);
+
+    // Buckets across all businesses, taking each business's last score in the period so frequently
+    // rescored businesses do not dominate: period start, average, min, max, business count
+    @Query(value = "SELECT l.period, AVG(l.credit_score), MIN(l.credit_score), MAX(l.credit_score), COUNT(*) FROM (" +
+            "SELECT DISTINCT ON (b.business_id, b.period) b.period, b.credit_score FROM (" +
+            "SELECT h.business_id, date_trunc(:unit, h.recorded_at) AS period, h.credit_score, h.recorded_at " +
+            "FROM credit_score_history h WHERE h.source IN (:sources) " +
+            "AND h.recorded_at >= :fromDate AND h.recorded_at < :toDate) b " +
+            "ORDER BY b.business_id, b.period, b.recorded_at DESC) l " +
+            "GROUP BY l.period ORDER BY l.period", nativeQuery = true)
+    List<Object[]> downsampleAllBusinesses(@Param("sources") Collection<String> sources,
+                                           @Param("unit") String unit,
+                                           @Param("fromDate") LocalDateTime fromDate,
+                                           @Param("toDate") LocalDateTime toDate);
+}
@@ -15,6 +15,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -32,6 +33,15 @@ public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory,
 
     Optional<PaymentHistory> findByTransactionReferenceAndIsActiveTrue(String transactionReference);
 
+    // Which of the given references are already taken, for set-based dedupe of bulk uploads
+    @Query("SELECT ph.transactionReference FROM PaymentHistory ph " +
+            "WHERE ph.isActive = true AND ph.transactionReference IN :references")
+    List<String> findActiveTransactionReferences(@Param("references") Collection<String> references);
+
+    // Delivered to listeners when the calling transaction commits, dropped if it rolls back
+    @Query(value = "SELECT 1 FROM pg_notify(?1, ?2)", nativeQuery = true)
+    Integer notifyChannel(String channel, String payload);
+
     // Payment Status Queries
     List<PaymentHistory> findByBusinessAndPaymentStatusAndIsActiveTrueOrderByDueDateDesc(
             Business business, PaymentStatus paymentStatus);
@@ -78,37 +88,36 @@ public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory,
     List<PaymentHistory> findRecentPaymentHistory(@Param("business") Business business,
                                                   @Param("sixMonthsAgo") LocalDateTime sixMonthsAgo);
 
-    // Payment Status Distribution
-    @Query("SELECT ph.paymentStatus, COUNT(ph) FROM PaymentHistory ph WHERE ph.business = :business " +
-            "AND ph.isActive = true GROUP BY ph.paymentStatus")
-    List<Object[]> getPaymentStatusDistribution(@Param("business") Business business);
-
-    @Query("SELECT ph.paymentStatus, SUM(ph.transactionAmount) FROM PaymentHistory ph WHERE ph.business = :business " +
-            "AND ph.isActive = true GROUP BY ph.paymentStatus")
-    List<Object[]> getPaymentAmountByStatus(@Param("business") Business business);
-
-    // Trade Relationship Analysis
-    @Query("SELECT ph.tradeRelationship, COUNT(ph) FROM PaymentHistory ph WHERE ph.business = :business " +
-            "AND ph.isActive = true GROUP BY ph.tradeRelationship")
-    List<Object[]> getRelationshipTypeBreakdown(@Param("business") Business business);
-
-    @Query("SELECT ph.tradeRelationship, AVG(CAST(ph.paymentRating AS double)) FROM PaymentHistory ph " +
-            "WHERE ph.business = :business AND ph.isActive = true AND ph.paymentRating IS NOT NULL " +
-            "GROUP BY ph.tradeRelationship")
-    List<Object[]> getAverageRatingByRelationship(@Param("business") Business business);
-
-    // Risk Indicators
-    @Query("SELECT MAX(ph.transactionAmount) FROM PaymentHistory ph WHERE ph.business = :business " +
-            "AND ph.isActive = true AND ph.paymentStatus IN ('OVERDUE', 'DEFAULTED')")
-    BigDecimal findLargestOverdueAmount(@Param("business") Business business);
-
-    @Query("SELECT MAX(ph.daysOverdue) FROM PaymentHistory ph WHERE ph.business = :business " +
-            "AND ph.isActive = true AND ph.daysOverdue IS NOT NULL")
-    Integer findLongestPaymentDelay(@Param("business") Business business);
-
-    @Query("SELECT COUNT(ph) FROM PaymentHistory ph WHERE ph.business = :business AND ph.isActive = true " +
-            "AND ph.disputeStatus IN ('DISPUTE_RAISED', 'UNDER_REVIEW', 'ESCALATED')")
-    Long countActiveDisputes(@Param("business") Business business);
+    /**
+     * Everything getPaymentAnalytics reports apart from the monthly trends, in one scan of the
+     * business's active rows. Grouping sets give one STATUS row per payment status, one
+     * RELATIONSHIP row per trade relationship and a TOTAL row. Every row carries all aggregates;
+     * only those meaningful for its set are read: [0] set, [1] status, [2] relationship,
+     * [3] count, [4] amount, [5] average rating, [6..16] the payment counter aggregates in
+     * BusinessPaymentCountersRepository order after count and amount, [17] largest overdue
+     * amount, [18] longest delay, [19] active disputes.
+     */
+    @Query(value = "SELECT CASE WHEN GROUPING(p.payment_status) = 0 THEN 'STATUS' " +
+            "WHEN GROUPING(p.trade_relationship) = 0 THEN 'RELATIONSHIP' ELSE 'TOTAL' END, " +
+            "p.payment_status, p.trade_relationship, " +
+            "COUNT(*), SUM(p.transaction_amount), AVG(CAST(p.payment_rating AS double precision)), " +
+            "SUM(CASE WHEN p.payment_status = 'PAID' AND (p.days_delayed IS NULL OR p.days_delayed <= 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status = 'PAID' AND p.days_delayed > 0 AND p.days_delayed <= 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status = 'PAID' AND p.days_delayed > 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status = 'OVERDUE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status = 'DEFAULTED' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status IN ('OVERDUE', 'DEFAULTED') THEN p.transaction_amount ELSE 0 END), " +
+            "SUM(CASE WHEN p.payment_status = 'PAID' AND (p.days_overdue IS NULL OR p.days_overdue = 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.days_overdue > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN p.days_overdue > 0 THEN p.days_overdue ELSE 0 END), " +
+            "COUNT(p.payment_rating), SUM(p.payment_rating), " +
+            "MAX(p.transaction_amount) FILTER (WHERE p.payment_status IN ('OVERDUE', 'DEFAULTED')), " +
+            "MAX(p.days_overdue), " +
+            "COUNT(*) FILTER (WHERE p.dispute_status IN ('DISPUTE_RAISED', 'UNDER_REVIEW', 'ESCALATED')) " +
+            "FROM payment_histories p WHERE p.business_id = :businessId AND p.is_active = true " +
+            "GROUP BY GROUPING SETS ((p.payment_status), (p.trade_relationship), ())",
+            nativeQuery = true)
+    List<Object[]> getPaymentAnalyticsRows(@Param("businessId") Long businessId);
 
     // Date Range Queries
     @Query("SELECT ph FROM PaymentHistory ph WHERE ph.business = :business AND ph.isActive = true " +
@@ -125,14 +134,6 @@ public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory,
     List<PaymentHistory> findByBusinessAndVerificationStatus(@Param("business") Business business,
                                                              @Param("status") VerificationStatus status);
 
-    // Monthly Trend Analysis
-    @Query("SELECT YEAR(ph.dueDate), MONTH(ph.dueDate), COUNT(ph), AVG(CAST(ph.daysOverdue AS double)) " +
-            "FROM PaymentHistory ph WHERE ph.business = :business AND ph.isActive = true " +
-            "AND ph.dueDate >= :startDate GROUP BY YEAR(ph.dueDate), MONTH(ph.dueDate) " +
-            "ORDER BY YEAR(ph.dueDate), MONTH(ph.dueDate)")
-    List<Object[]> getMonthlyPaymentTrends(@Param("business") Business business,
-                                           @Param("startDate") LocalDate startDate);
-
     // Performance Metrics
     @Query("SELECT ph FROM PaymentHistory ph WHERE ph.business = :business AND ph.isActive = true " +
             "AND ph.paymentStatus = 'PAID' ORDER BY ph.paymentDate DESC")
@@ -144,6 +145,19 @@ public interface PaymentHistoryRepository extends JpaRepository<PaymentHistory,
     @Query("SELECT ph FROM PaymentHistory ph WHERE ph.business.id = :businessId AND ph.isActive = true ORDER BY ph.createdAt DESC")
     List<PaymentHistory> findByBusinessIdAndIsActiveTrueOrderByCreatedAtDesc(@Param("businessId") Long businessId);
 
+    // Credit scoring features for businesses without payment counters, one row per business:
+    // business ID, total, on-time, late, very late, overdue, defaulted, amount
+    @Query("SELECT ph.business.id, COUNT(ph), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND (ph.daysDelayed IS NULL OR ph.daysDelayed <= 0) THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND ph.daysDelayed > 0 AND ph.daysDelayed <= 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'PAID' AND ph.daysDelayed > 30 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'OVERDUE' THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN ph.paymentStatus = 'DEFAULTED' THEN 1 ELSE 0 END), " +
+            "SUM(ph.transactionAmount) " +
+            "FROM PaymentHistory ph WHERE ph.business.id IN :businessIds AND ph.isActive = true " +
+            "GROUP BY ph.business.id")
+    List<Object[]> getScoringAggregatesByBusinessIds(@Param("businessIds") Collection<Long> businessIds);
+
     // ==========================================
     // ADDITIONAL METHODS FOR ANALYTICS SERVICE
     // ==========================================
@@ -0,0 +1,51 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.RescoreChunk;
+import com.tcrs.tcrs_backend.entity.RescoreChunkStatus;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface RescoreChunkRepository extends JpaRepository<RescoreChunk, Long> {
+
+    @Query("SELECT c.id FROM RescoreChunk c WHERE c.runId = :runId AND c.status = :status ORDER BY c.fromId")
+    List<Long> findChunkIds(@Param("runId") Long runId, @Param("status") RescoreChunkStatus status, Pageable pageable);
+
+    // Succeeds for exactly one worker, on any node
+    @Modifying
+    @Query("UPDATE RescoreChunk c SET c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.IN_PROGRESS, " +
+            "c.claimedAt = :now, c.attempts = c.attempts + 1 " +
+            "WHERE c.id = :chunkId AND c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.PENDING")
+    int claim(@Param("chunkId") Long chunkId, @Param("now") LocalDateTime now);
+
+    // Chunks left IN_PROGRESS by a crashed worker, and failed chunks, go back to PENDING while they have attempts left
+    @Modifying
+    @Query("UPDATE RescoreChunk c SET c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.PENDING " +
+            "WHERE c.runId = :runId AND c.attempts < :maxAttempts " +
+            "AND ((c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.IN_PROGRESS AND c.claimedAt < :staleBefore) " +
+            "OR c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.FAILED)")
+    int releaseChunks(@Param("runId") Long runId, @Param("staleBefore") LocalDateTime staleBefore,
+                      @Param("maxAttempts") int maxAttempts);
+
+    // Stale IN_PROGRESS chunks out of attempts, most likely crashing their node, are left failed
+    @Modifying
+    @Query("UPDATE RescoreChunk c SET c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.FAILED, " +
+            "c.completedAt = :now, c.lastError = :error WHERE c.runId = :runId AND c.attempts >= :maxAttempts " +
+            "AND c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.IN_PROGRESS AND c.claimedAt < :staleBefore")
+    int failStaleChunks(@Param("runId") Long runId, @Param("staleBefore") LocalDateTime staleBefore,
+                        @Param("maxAttempts") int maxAttempts, @Param("now") LocalDateTime now,
+                        @Param("error") String error);
+
+    long countByRunIdAndStatus(Long runId, RescoreChunkStatus status);
+
+    @Query("SELECT COALESCE(SUM(c.businessesScored), 0) FROM RescoreChunk c WHERE c.runId = :runId " +
+            "AND c.status = com.tcrs.tcrs_backend.entity.RescoreChunkStatus.DONE")
+    Long sumBusinessesScored(@Param("runId") Long runId);
+}
@@ -0,0 +1,19 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.RescoreRun;
+import com.tcrs.tcrs_backend.entity.RescoreRunStatus;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+@Repository
+public interface RescoreRunRepository extends JpaRepository<RescoreRun, Long> {
+
+    Optional<RescoreRun> findFirstByStatusOrderByStartedAtDesc(RescoreRunStatus status);
+
+    Optional<RescoreRun> findByRunDate(LocalDate runDate);
+
+    Optional<RescoreRun> findFirstByOrderByStartedAtDesc();
+}
@@ -0,0 +1,21 @@
+package com.tcrs.tcrs_backend.repository;
+
+import com.tcrs.tcrs_backend.entity.ScoringRule;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface ScoringRuleRepository extends JpaRepository<ScoringRule, Long> {
+
+    List<ScoringRule> findByModelVersion(Integer modelVersion);
+
+    @Query("SELECT MAX(r.modelVersion) FROM ScoringRule r")
+    Integer findLatestModelVersion();
+
+    // Delivered to listeners when the calling transaction commits, dropped if it rolls back
+    @Query(value = "SELECT 1 FROM pg_notify(?1, ?2)", nativeQuery = true)
+    Integer notifyChannel(String channel, String payload);
+}
@@ -10,6 +10,7 @@ import org.springframework.stereotype.Repository;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -175,4 +176,28 @@ public interface TradeReferenceRepository extends JpaRepository<TradeReference,
     // Add this method to your existing TradeReferenceRepository.java:
 
     List<TradeReference> findByBusinessIdAndIsActiveTrue(Long businessId);
-}
\ No newline at end of file
+
+    // Credit scoring feature extraction, one row per (verification status, payment behavior, recommendation level)
+    @Query("SELECT tr.verificationStatus, tr.paymentBehavior, tr.recommendationLevel, COUNT(tr), " +
+            "SUM(CASE WHEN tr.hasDisputes = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 1000000 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.creditLimitProvided > 0 THEN tr.creditLimitProvided ELSE 0 END), " +
+            "SUM(CASE WHEN tr.creditLimitProvided > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 0 THEN tr.totalBusinessValue ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 0 THEN 1 ELSE 0 END) " +
+            "FROM TradeReference tr WHERE tr.business.id = :businessId AND tr.isActive = true " +
+            "GROUP BY tr.verificationStatus, tr.paymentBehavior, tr.recommendationLevel")
+    List<Object[]> getScoringAggregatesByBusinessId(@Param("businessId") Long businessId);
+
+    // Batch variant of the scoring aggregates with the business ID as the leading column
+    @Query("SELECT tr.business.id, tr.verificationStatus, tr.paymentBehavior, tr.recommendationLevel, COUNT(tr), " +
+            "SUM(CASE WHEN tr.hasDisputes = true THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 1000000 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.creditLimitProvided > 0 THEN tr.creditLimitProvided ELSE 0 END), " +
+            "SUM(CASE WHEN tr.creditLimitProvided > 0 THEN 1 ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 0 THEN tr.totalBusinessValue ELSE 0 END), " +
+            "SUM(CASE WHEN tr.totalBusinessValue > 0 THEN 1 ELSE 0 END) " +
+            "FROM TradeReference tr WHERE tr.business.id IN :businessIds AND tr.isActive = true " +
+            "GROUP BY tr.business.id, tr.verificationStatus, tr.paymentBehavior, tr.recommendationLevel")
+    List<Object[]> getScoringAggregatesByBusinessIds(@Param("businessIds") Collection<Long> businessIds);
+}
@@ -1,17 +1,21 @@
 package com.tcrs.tcrs_backend.service;
 
 import com.tcrs.tcrs_backend.dto.analytics.DashboardAnalyticsDTO;
+import com.tcrs.tcrs_backend.dto.credit.CreditScoreHistoryPoint;
 import com.tcrs.tcrs_backend.entity.*;
 import com.tcrs.tcrs_backend.repository.*;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.IsoFields;
 import java.util.*;
 import java.util.stream.Collectors;
 
@@ -35,6 +39,15 @@ public class AnalyticsService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private BusinessCreditScoreRepository businessCreditScoreRepository;
+
+    @Autowired
+    private CreditScoreHistoryService creditScoreHistoryService;
+
+    @Autowired
+    private BusinessPaymentMonthlyRollupRepository paymentRollupRepository;
+
     // Optional - will be created when Alert system is implemented
     // @Autowired(required = false)
     // private AlertRepository alertRepository;
@@ -146,58 +159,40 @@ public class AnalyticsService {
 
     private DashboardAnalyticsDTO.CreditAnalytics generateCreditAnalytics() {
         try {
-            List<Business> businesses = businessRepository.findAll();
-            List<BigDecimal> creditScores = new ArrayList<>();
+            // Aggregated from the materialized business credit scores
+            Object[] summary = businessCreditScoreRepository.getScoreSummary().get(0);
+            long scoredBusinesses = toLong(summary[0]);
 
-            // Generate sample credit scores for demonstration
-            for (Business business : businesses) {
-                BigDecimal score = BigDecimal.valueOf(300 + Math.random() * 550);
-                creditScores.add(score);
-            }
-
-            if (creditScores.isEmpty()) {
+            if (scoredBusinesses == 0) {
                 return new DashboardAnalyticsDTO.CreditAnalytics();
             }
 
             // Calculate statistics
-            BigDecimal averageCreditScore = creditScores.stream()
-                    .reduce(BigDecimal.ZERO, BigDecimal::add)
-                    .divide(new BigDecimal(creditScores.size()), 2, RoundingMode.HALF_UP);
-
-            // Calculate median
-            List<BigDecimal> sortedScores = creditScores.stream().sorted().collect(Collectors.toList());
-            BigDecimal medianCreditScore = sortedScores.size() % 2 == 0 ?
-                    sortedScores.get(sortedScores.size() / 2 - 1).add(sortedScores.get(sortedScores.size() / 2))
-                            .divide(new BigDecimal(2), 2, RoundingMode.HALF_UP) :
-                    sortedScores.get(sortedScores.size() / 2);
+            BigDecimal averageCreditScore = toBigDecimal(summary[1]).setScale(2, RoundingMode.HALF_UP);
+            BigDecimal medianCreditScore = calculateMedianCreditScore(scoredBusinesses);
 
             // Risk categorization
-            Long highRiskBusinesses = creditScores.stream()
-                    .mapToLong(score -> score.compareTo(new BigDecimal(500)) < 0 ? 1 : 0)
-                    .sum();
-
-            Long lowRiskBusinesses = creditScores.stream()
-                    .mapToLong(score -> score.compareTo(new BigDecimal(700)) >= 0 ? 1 : 0)
-                    .sum();
+            Long highRiskBusinesses = toLong(summary[2]);
+            Long lowRiskBusinesses = toLong(summary[3]);
 
             // Credit score distribution
+            Object[] bands = businessCreditScoreRepository.getScoreDistribution().get(0);
             Map<String, Long> creditScoreDistribution = new HashMap<>();
-            creditScoreDistribution.put("300-400", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(300)) >= 0 && s.compareTo(new BigDecimal(400)) < 0 ? 1 : 0).sum());
-            creditScoreDistribution.put("400-500", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(400)) >= 0 && s.compareTo(new BigDecimal(500)) < 0 ? 1 : 0).sum());
-            creditScoreDistribution.put("500-600", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(500)) >= 0 && s.compareTo(new BigDecimal(600)) < 0 ? 1 : 0).sum());
-            creditScoreDistribution.put("600-700", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(600)) >= 0 && s.compareTo(new BigDecimal(700)) < 0 ? 1 : 0).sum());
-            creditScoreDistribution.put("700-800", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(700)) >= 0 && s.compareTo(new BigDecimal(800)) < 0 ? 1 : 0).sum());
-            creditScoreDistribution.put("800+", creditScores.stream().mapToLong(s -> s.compareTo(new BigDecimal(800)) >= 0 ? 1 : 0).sum());
+            creditScoreDistribution.put("300-400", toLong(bands[0]));
+            creditScoreDistribution.put("400-500", toLong(bands[1]));
+            creditScoreDistribution.put("500-600", toLong(bands[2]));
+            creditScoreDistribution.put("600-700", toLong(bands[3]));
+            creditScoreDistribution.put("700-800", toLong(bands[4]));
+            creditScoreDistribution.put("800+", toLong(bands[5]));
 
             // Risk category distribution
             Map<String, Long> riskCategoryDistribution = new HashMap<>();
-            for (BigDecimal score : creditScores) {
-                String risk = getRiskCategory(score);
-                riskCategoryDistribution.merge(risk, 1L, Long::sum);
+            for (Object[] row : businessCreditScoreRepository.countByRiskCategory()) {
+                riskCategoryDistribution.put((String) row[0], toLong(row[1]));
             }
 
-            // Credit score trend - empty for now
-            List<DashboardAnalyticsDTO.TrendDataPoint> creditScoreTrend = new ArrayList<>();
+            // Monthly average credit score over the last year, from the score history
+            List<DashboardAnalyticsDTO.TrendDataPoint> creditScoreTrend = getCreditScoreTrend(12, SnapShotType.MONTHLY);
 
             Long creditReportsGenerated = creditReportRepository.count();
 
@@ -217,6 +212,18 @@ public class AnalyticsService {
         }
     }
 
+    private BigDecimal calculateMedianCreditScore(long scoredBusinesses) {
+        // Read only the middle row(s) of the ordered scores, using single-row pages
+        int middle = (int) ((scoredBusinesses - 1) / 2);
+        BigDecimal lower = businessCreditScoreRepository.findCreditScoresOrdered(PageRequest.of(middle, 1)).get(0);
+
+        if (scoredBusinesses % 2 == 0) {
+            BigDecimal upper = businessCreditScoreRepository.findCreditScoresOrdered(PageRequest.of(middle + 1, 1)).get(0);
+            return lower.add(upper).divide(new BigDecimal(2), 2, RoundingMode.HALF_UP);
+        }
+        return lower;
+    }
+
     private DashboardAnalyticsDTO.PaymentAnalytics generatePaymentAnalytics() {
         try {
             List<PaymentHistory> payments = paymentHistoryRepository.findAll();
@@ -264,8 +271,8 @@ public class AnalyticsService {
                             Collectors.counting()
                     ));
 
-            // Payment performance trend - empty for now
-            List<DashboardAnalyticsDTO.TrendDataPoint> paymentPerformanceTrend = new ArrayList<>();
+            // Payment performance trend
+            List<DashboardAnalyticsDTO.TrendDataPoint> paymentPerformanceTrend = generatePaymentPerformanceTrend();
 
             // Top defaulters
             List<DashboardAnalyticsDTO.TopDefaulter> topDefaulters = generateTopDefaulters();
@@ -315,14 +322,18 @@ public class AnalyticsService {
                     .filter(b -> b.getState() != null)
                     .collect(Collectors.groupingBy(Business::getState));
 
+            Map<String, BigDecimal> averageScoreByState = new HashMap<>();
+            for (Object[] row : businessCreditScoreRepository.getAverageScoreByState()) {
+                averageScoreByState.put((String) row[0], toBigDecimal(row[1]).setScale(2, RoundingMode.HALF_UP));
+            }
+
             List<DashboardAnalyticsDTO.GeographicData> geoData = new ArrayList<>();
 
             for (Map.Entry<String, List<Business>> entry : businessesByState.entrySet()) {
                 String state = entry.getKey();
                 List<Business> businesses = entry.getValue();
 
-                // Generate sample average credit score
-                BigDecimal avgCreditScore = BigDecimal.valueOf(300 + Math.random() * 550);
+                BigDecimal avgCreditScore = averageScoreByState.get(state);
 
                 geoData.add(new DashboardAnalyticsDTO.GeographicData(
                         state,
@@ -348,19 +359,26 @@ public class AnalyticsService {
                     .filter(b -> b.getIndustryCategory() != null)
                     .collect(Collectors.groupingBy(b -> b.getIndustryCategory().toString()));
 
+            Map<String, BigDecimal> averageScoreByIndustry = new HashMap<>();
+            for (Object[] row : businessCreditScoreRepository.getAverageScoreByIndustry()) {
+                averageScoreByIndustry.put(row[0].toString(), toBigDecimal(row[1]).setScale(2, RoundingMode.HALF_UP));
+            }
+
             List<DashboardAnalyticsDTO.IndustryData> industryData = new ArrayList<>();
 
             for (Map.Entry<String, List<Business>> entry : businessesByIndustry.entrySet()) {
                 String industry = entry.getKey();
                 List<Business> businesses = entry.getValue();
 
-                // Generate sample metrics
-                BigDecimal avgCreditScore = BigDecimal.valueOf(300 + Math.random() * 550);
+                BigDecimal avgCreditScore = averageScoreByIndustry.get(industry);
+                // Sample payment delay until payment delays are aggregated per industry
                 BigDecimal avgPaymentDelay = BigDecimal.valueOf(Math.random() * 30);
 
                 // Calculate risk level based on credit score
                 Long riskLevel = 3L; // Default medium risk
-                if (avgCreditScore.compareTo(new BigDecimal(700)) >= 0) {
+                if (avgCreditScore == null) {
+                    riskLevel = 3L; // Not scored yet
+                } else if (avgCreditScore.compareTo(new BigDecimal(700)) >= 0) {
                     riskLevel = 1L;
                 } else if (avgCreditScore.compareTo(new BigDecimal(600)) >= 0) {
                     riskLevel = 2L;
@@ -388,6 +406,64 @@ public class AnalyticsService {
         }
     }
 
+    /**
+     * Average credit score across businesses per period over the last {@code months}
+     * months, read from the recorded score history rather than recomputed.
+     */
+    public List<DashboardAnalyticsDTO.TrendDataPoint> getCreditScoreTrend(int months, SnapShotType granularity) {
+        LocalDate today = LocalDate.now();
+        LocalDate from = today.minusMonths(months - 1L).withDayOfMonth(1);
+
+        List<DashboardAnalyticsDTO.TrendDataPoint> trend = new ArrayList<>();
+        for (CreditScoreHistoryPoint point : creditScoreHistoryService.getPortfolioCreditScoreTrend(granularity, from, today)) {
+            String period = formatPeriod(point.getPeriodStart(), granularity);
+            trend.add(new DashboardAnalyticsDTO.TrendDataPoint(
+                    period,
+                    point.getAverageScore(),
+                    point.getCount(),
+                    granularity == SnapShotType.MONTHLY ? point.getPeriodStart().getMonth().toString() : period
+            ));
+        }
+        return trend;
+    }
+
+    // Period keys as used by TrendDataPoint: "2024-01-01", "2024-W01", "2024-01", "2024-Q1", "2024"
+    private String formatPeriod(LocalDate periodStart, SnapShotType granularity) {
+        return switch (granularity) {
+            case DAILY -> periodStart.toString();
+            case WEEKLY -> String.format("%d-W%02d", periodStart.get(IsoFields.WEEK_BASED_YEAR),
+                    periodStart.get(IsoFields.WEEK_OF_WEEK_BASED_YEAR));
+            case MONTHLY -> periodStart.format(DateTimeFormatter.ofPattern("yyyy-MM"));
+            case QUARTERLY -> periodStart.getYear() + "-Q" + periodStart.get(IsoFields.QUARTER_OF_YEAR);
+            case YEARLY -> String.valueOf(periodStart.getYear());
+        };
+    }
+
+    // On-time payment rate per month over the last 12 months, summed from the monthly payment rollups
+    private List<DashboardAnalyticsDTO.TrendDataPoint> generatePaymentPerformanceTrend() {
+        List<DashboardAnalyticsDTO.TrendDataPoint> trend = new ArrayList<>();
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM");
+        LocalDate from = LocalDate.now().minusMonths(11).withDayOfMonth(1);
+
+        for (Object[] row : paymentRollupRepository.sumByMonthSince(from)) {
+            LocalDate monthStart = (LocalDate) row[0];
+            long total = row[1] != null ? ((Number) row[1]).longValue() : 0L;
+            long onTime = row[2] != null ? ((Number) row[2]).longValue() : 0L;
+            if (total == 0) {
+                continue;
+            }
+
+            trend.add(new DashboardAnalyticsDTO.TrendDataPoint(
+                    monthStart.format(formatter),
+                    BigDecimal.valueOf(onTime * 100).divide(BigDecimal.valueOf(total), 2, RoundingMode.HALF_UP),
+                    total,
+                    monthStart.getMonth().toString()
+            ));
+        }
+
+        return trend;
+    }
+
     // Helper methods
     private List<DashboardAnalyticsDTO.TrendDataPoint> generateBusinessGrowthTrend() {
         List<DashboardAnalyticsDTO.TrendDataPoint> trend = new ArrayList<>();
@@ -435,7 +511,9 @@ public class AnalyticsService {
                         try {
                             Business business = businessRepository.findById(entry.getKey()).orElse(null);
                             if (business != null) {
-                                BigDecimal creditScore = BigDecimal.valueOf(300 + Math.random() * 550);
+                                BigDecimal creditScore = businessCreditScoreRepository.findByBusinessId(business.getId())
+                                        .map(BusinessCreditScore::getCreditScore)
+                                        .orElse(null);
                                 int avgDaysPastDue = (int) overduePayments.stream()
                                         .filter(p -> p.getBusiness().getId().equals(business.getId()))
                                         .mapToInt(p -> p.getDaysDelayed() != null ? p.getDaysDelayed() : 0)
@@ -481,17 +559,17 @@ public class AnalyticsService {
         }
     }
 
-    private String getRiskCategory(BigDecimal score) {
-        if (score.compareTo(new BigDecimal(700)) >= 0) {
-            return "LOW";
-        } else if (score.compareTo(new BigDecimal(600)) >= 0) {
-            return "MODERATE";
-        } else if (score.compareTo(new BigDecimal(500)) >= 0) {
-            return "MEDIUM";
-        } else if (score.compareTo(new BigDecimal(400)) >= 0) {
-            return "HIGH";
-        } else {
-            return "VERY_HIGH";
+    private long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
         }
+        return BigDecimal.valueOf(((Number) value).doubleValue());
     }
 }
\ No newline at end of file
@@ -0,0 +1,205 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcrs.tcrs_backend.dto.credit.BulkCreditReportItem;
+import com.tcrs.tcrs_backend.dto.credit.BulkCreditReportRequest;
+import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.BulkReportItemStatus;
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.security.UserPrincipal;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Credit reports for a portfolio of businesses, written as NDJSON while they are
+ * produced. Inputs are resolved a chunk at a time; still-valid reports in a chunk
+ * are found with one query and written straight away, and the rest are generated
+ * on a shared, bounded pool with only a few reports per stream in flight, so
+ * neither the request nor the result set is ever materialized in full.
+ */
+@Service
+public class BulkCreditReportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkCreditReportService.class);
+
+    // Inputs resolved (and checked for reusable reports) per round trip
+    private static final int CHUNK_SIZE = 500;
+
+    private static final byte[] LINE_SEPARATOR = {'\n'};
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private CreditReportService creditReportService;
+
+    @Autowired
+    private ReportGenerationCoordinator reportGenerationCoordinator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Reports generated at once across all bulk requests
+    @Value("${app.bulk-reports.parallelism:4}")
+    private int parallelism;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = Executors.newFixedThreadPool(parallelism, runnable -> {
+            Thread thread = new Thread(runnable, "bulk-report-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    public StreamingResponseBody streamReports(BulkCreditReportRequest request) {
+        List<Long> businessIds = new ArrayList<>(new LinkedHashSet<>(request.getBusinessIds()));
+        List<String> gstins = new ArrayList<>();
+        for (String gstin : new LinkedHashSet<>(request.getGstins())) {
+            if (gstin != null && !gstin.isBlank()) {
+                gstins.add(gstin.trim().toUpperCase(Locale.ROOT));
+            }
+        }
+
+        if (businessIds.isEmpty() && gstins.isEmpty()) {
+            throw new BadRequestException("At least one business ID or GSTIN is required");
+        }
+
+        // The stream is written on another thread, so the requester is captured here
+        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        Long requestedById = currentUserPrincipal.getId();
+
+        logger.info("Bulk credit report request for {} business IDs and {} GSTINs", businessIds.size(), gstins.size());
+
+        return outputStream -> {
+            for (int from = 0; from < businessIds.size(); from += CHUNK_SIZE) {
+                List<Long> chunk = businessIds.subList(from, Math.min(from + CHUNK_SIZE, businessIds.size()));
+                writeChunk(chunk, businessRepository.findAllById(chunk), Business::getId, String::valueOf,
+                        requestedById, outputStream);
+            }
+            for (int from = 0; from < gstins.size(); from += CHUNK_SIZE) {
+                List<String> chunk = gstins.subList(from, Math.min(from + CHUNK_SIZE, gstins.size()));
+                writeChunk(chunk, businessRepository.findByGstinIn(chunk), Business::getGstin, Function.identity(),
+                        requestedById, outputStream);
+            }
+        };
+    }
+
+    private <K> void writeChunk(List<K> keys, List<Business> businesses, Function<Business, K> keyOf,
+                                Function<K, String> inputOf, Long requestedById,
+                                OutputStream outputStream) throws IOException {
+        Map<K, Business> businessesByKey = new HashMap<>();
+        for (Business business : businesses) {
+            businessesByKey.put(keyOf.apply(business), business);
+        }
+
+        Map<Long, CreditReportResponse> validReports = creditReportService.getValidReports(businesses);
+
+        List<Business> toGenerate = new ArrayList<>();
+        List<String> toGenerateInputs = new ArrayList<>();
+        for (K key : keys) {
+            String input = inputOf.apply(key);
+            Business business = businessesByKey.get(key);
+            if (business == null) {
+                writeItem(outputStream, new BulkCreditReportItem(input, null, BulkReportItemStatus.FAILED,
+                        "Business not found", null));
+                continue;
+            }
+
+            CreditReportResponse validReport = validReports.get(business.getId());
+            if (validReport != null) {
+                writeItem(outputStream, new BulkCreditReportItem(input, business.getId(), BulkReportItemStatus.REUSED,
+                        null, validReport));
+            } else {
+                toGenerate.add(business);
+                toGenerateInputs.add(input);
+            }
+        }
+
+        generateAndWrite(toGenerate, toGenerateInputs, requestedById, outputStream);
+    }
+
+    // Keeps at most `parallelism` reports of this stream in flight and writes each as it finishes
+    private void generateAndWrite(List<Business> businesses, List<String> inputs, Long requestedById,
+                                  OutputStream outputStream) throws IOException {
+        CompletionService<BulkCreditReportItem> completionService = new ExecutorCompletionService<>(executor);
+        List<Future<BulkCreditReportItem>> inFlight = new ArrayList<>();
+        int next = 0;
+
+        try {
+            while (next < businesses.size() || !inFlight.isEmpty()) {
+                while (next < businesses.size() && inFlight.size() < parallelism) {
+                    Business business = businesses.get(next);
+                    String input = inputs.get(next);
+                    inFlight.add(completionService.submit(() -> generate(input, business.getId(), requestedById)));
+                    next++;
+                }
+
+                Future<BulkCreditReportItem> done = completionService.take();
+                inFlight.remove(done);
+                writeItem(outputStream, done.get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Bulk credit report stream interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Unexpected bulk credit report failure", e.getCause());
+        } finally {
+            // The client went away or the stream failed; stop work nobody will read
+            for (Future<BulkCreditReportItem> future : inFlight) {
+                future.cancel(true);
+            }
+        }
+    }
+
+    private BulkCreditReportItem generate(String input, Long businessId, Long requestedById) {
+        try {
+            return new BulkCreditReportItem(input, businessId, BulkReportItemStatus.GENERATED, null,
+                    reportGenerationCoordinator.generateCreditReport(businessId, requestedById));
+        } catch (Exception e) {
+            logger.warn("Bulk credit report failed for business ID {}: {}", businessId, e.getMessage());
+            return new BulkCreditReportItem(input, businessId, BulkReportItemStatus.FAILED, e.getMessage(), null);
+        }
+    }
+
+    private void writeItem(OutputStream outputStream, BulkCreditReportItem item) throws IOException {
+        outputStream.write(objectMapper.writeValueAsBytes(item));
+        outputStream.write(LINE_SEPARATOR);
+        outputStream.flush();
+    }
+}
@@ -12,6 +12,7 @@ import com.tcrs.tcrs_backend.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -31,6 +32,9 @@ public class BusinessService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
     public BusinessResponse createBusiness(BusinessCreateRequest request) {
         logger.info("Creating business profile for GSTIN: {}", request.getGstin());
 
@@ -73,6 +77,7 @@ public class BusinessService {
         business.setPanVerified(false);
 
         Business savedBusiness = businessRepository.save(business);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(savedBusiness.getId()));
         logger.info("Business profile created successfully with ID: {}", savedBusiness.getId());
 
         return convertToResponse(savedBusiness);
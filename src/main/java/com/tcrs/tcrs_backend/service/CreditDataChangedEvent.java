@@ -0,0 +1,16 @@
+package com.tcrs.tcrs_backend.service;
+
+/**
+ * Published when payment history, trade references or the profile of a business
+ * change in a way that can move its credit score.
+ */
+public class CreditDataChangedEvent {
+
+    private final Long businessId;
+
+    public CreditDataChangedEvent(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    public Long getBusinessId() { return businessId; }
+}
@@ -28,7 +28,6 @@ import java.time.format.DateTimeFormatter;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -64,6 +63,12 @@ public class CreditMonitoringService {
     @Autowired
     private CreditScoringService creditScoringService;
 
+    @Autowired
+    private CreditScoreHistoryService creditScoreHistoryService;
+
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
     public CreditMonitoringResponse setupCreditMonitoring(CreditMonitoringRequest request) {
         logger.info("Setting up credit monitoring for business ID: {}", request.getBusinessId());
 
@@ -448,7 +453,7 @@ public class CreditMonitoringService {
 
     private void checkCreditScoreChanges(CreditMonitoring monitoring) {
         try {
-            BigDecimal currentScore = creditScoringService.calculateCurrentCreditScore(monitoring.getBusiness().getId());
+            BigDecimal currentScore = getCurrentCreditScore(monitoring.getBusiness().getId());
             BigDecimal lastScore = monitoring.getLastCreditScore();
 
             if (lastScore != null && monitoring.getCreditScoreChangeThreshold() != null) {
@@ -483,9 +488,19 @@ public class CreditMonitoringService {
         }
     }
 
+    // Every rescore is appended to the score history, so the latest entry is the current score;
+    // businesses without history yet are scored once and recorded
+    private BigDecimal getCurrentCreditScore(Long businessId) {
+        return creditScoreHistoryService.getLatestCreditScore(businessId).orElseGet(() -> {
+            BigDecimal score = creditScoringService.calculateCreditScore(creditScoringService.extractFeatures(businessId));
+            creditScoreHistoryService.record(businessId, score, CreditScoreSource.MONITORING);
+            return score;
+        });
+    }
+
     private void checkCreditScoreThresholds(CreditMonitoring monitoring) {
         try {
-            BigDecimal currentScore = creditScoringService.calculateCurrentCreditScore(monitoring.getBusiness().getId());
+            BigDecimal currentScore = getCurrentCreditScore(monitoring.getBusiness().getId());
 
             // Check minimum threshold
             if (monitoring.getCreditScoreThresholdMin() != null &&
@@ -692,7 +707,7 @@ public class CreditMonitoringService {
     }
 
     private String generateAlertNumber() {
-        return "ALT-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return documentNumberAllocator.next(DocumentNumberAllocator.Series.CREDIT_ALERT);
     }
 
     private CreditMonitoringResponse convertToMonitoringResponse(CreditMonitoring monitoring) {
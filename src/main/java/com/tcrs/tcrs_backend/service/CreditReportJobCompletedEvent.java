@@ -0,0 +1,33 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.ReportJobStatus;
+
+/**
+ * Published when a queued credit report job finishes, whether it completed or failed.
+ */
+public class CreditReportJobCompletedEvent {
+
+    private final String jobId;
+    private final Long businessId;
+    private final Long requestedById;
+    private final ReportJobStatus status;
+    private final String reportNumber;
+    private final boolean notifyRequester;
+
+    public CreditReportJobCompletedEvent(String jobId, Long businessId, Long requestedById, ReportJobStatus status,
+                                         String reportNumber, boolean notifyRequester) {
+        this.jobId = jobId;
+        this.businessId = businessId;
+        this.requestedById = requestedById;
+        this.status = status;
+        this.reportNumber = reportNumber;
+        this.notifyRequester = notifyRequester;
+    }
+
+    public String getJobId() { return jobId; }
+    public Long getBusinessId() { return businessId; }
+    public Long getRequestedById() { return requestedById; }
+    public ReportJobStatus getStatus() { return status; }
+    public String getReportNumber() { return reportNumber; }
+    public boolean isNotifyRequester() { return notifyRequester; }
+}
@@ -0,0 +1,76 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.ReportJobStatus;
+import com.tcrs.tcrs_backend.entity.User;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Emails the requester of a queued credit report when it finishes, if they asked to be notified.
+ */
+@Component
+public class CreditReportJobNotificationListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditReportJobNotificationListener.class);
+
+    @Autowired
+    private EmailService emailService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @EventListener
+    public void onCreditReportJobCompleted(CreditReportJobCompletedEvent event) {
+        if (!event.isNotifyRequester()) {
+            return;
+        }
+
+        try {
+            User user = userRepository.findById(event.getRequestedById()).orElse(null);
+            if (user == null) {
+                return;
+            }
+
+            String businessName = businessRepository.findById(event.getBusinessId())
+                    .map(Business::getBusinessName)
+                    .orElse("business #" + event.getBusinessId());
+
+            emailService.sendHtmlEmail(user.getEmail(), buildSubject(event, businessName), buildContent(event, businessName));
+
+            logger.info("Completion notification sent for credit report job: {}", event.getJobId());
+        } catch (Exception e) {
+            logger.error("Failed to send completion notification for credit report job: {}", event.getJobId(), e);
+        }
+    }
+
+    private String buildSubject(CreditReportJobCompletedEvent event, String businessName) {
+        return event.getStatus() == ReportJobStatus.COMPLETED
+                ? "TCRS: Credit report ready for " + businessName
+                : "TCRS: Credit report could not be generated for " + businessName;
+    }
+
+    private String buildContent(CreditReportJobCompletedEvent event, String businessName) {
+        StringBuilder content = new StringBuilder();
+        content.append("<h2>Credit Report ").append(event.getStatus() == ReportJobStatus.COMPLETED ? "Ready" : "Failed").append("</h2>");
+        content.append("<p><strong>Business:</strong> ").append(businessName).append("</p>");
+        content.append("<p><strong>Job ID:</strong> ").append(event.getJobId()).append("</p>");
+
+        if (event.getStatus() == ReportJobStatus.COMPLETED) {
+            content.append("<p><strong>Report Number:</strong> ").append(event.getReportNumber()).append("</p>");
+            content.append("<p>Please log in to your TCRS dashboard to view the report.</p>");
+        } else {
+            content.append("<p>Please log in to your TCRS dashboard to check the job and submit the request again.</p>");
+        }
+
+        return content.toString();
+    }
+}
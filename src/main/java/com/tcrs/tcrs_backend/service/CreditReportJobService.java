@@ -0,0 +1,355 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.credit.CreditReportJobResponse;
+import com.tcrs.tcrs_backend.dto.credit.CreditReportRequest;
+import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.CreditReportJob;
+import com.tcrs.tcrs_backend.entity.ReportJobStatus;
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
+import com.tcrs.tcrs_backend.exception.ServiceUnavailableException;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.CreditReportJobRepository;
+import com.tcrs.tcrs_backend.security.UserPrincipal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs credit report generation on a bounded pool of report workers instead of the
+ * request thread. Jobs from priority roles are taken ahead of standard jobs and may
+ * use a reserve of queue slots that standard jobs cannot, so a month-end spike of
+ * standard requests is turned away with 503 before it can starve them. Callers
+ * either poll the job or wait on its completion for a bounded time.
+ */
+@Service
+public class CreditReportJobService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditReportJobService.class);
+
+    private static final int MAX_ERROR_MESSAGE_LENGTH = 500;
+
+    @Autowired
+    private CreditReportJobRepository creditReportJobRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private CreditReportService creditReportService;
+
+    @Autowired
+    private ReportGenerationCoordinator reportGenerationCoordinator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${app.report-jobs.workers:4}")
+    private int workers;
+
+    @Value("${app.report-jobs.queue-capacity:200}")
+    private int queueCapacity;
+
+    @Value("${app.report-jobs.priority-reserve:50}")
+    private int priorityReserve;
+
+    @Value("${app.report-jobs.priority-roles:ADMIN}")
+    private Set<String> priorityRoles;
+
+    // How long a synchronous caller waits before getting the job back instead of the report
+    @Value("${app.report-jobs.sync-wait-seconds:25}")
+    private long syncWaitSeconds;
+
+    @Value("${app.report-jobs.abandoned-after-minutes:30}")
+    private long abandonedAfterMinutes;
+
+    @Value("${app.report-jobs.retention-hours:24}")
+    private long retentionHours;
+
+    private ThreadPoolExecutor executor;
+
+    private final AtomicInteger queuedJobs = new AtomicInteger();
+    private final AtomicLong submissionSequence = new AtomicLong();
+
+    // Completion of jobs submitted on this node, for callers waiting on the result
+    private final Map<String, CompletableFuture<CreditReportResponse>> completions = new ConcurrentHashMap<>();
+
+    private final MeterRegistry meterRegistry;
+    private final Counter completedCounter;
+    private final Counter failedCounter;
+    private final Timer queueWaitTimer;
+
+    public CreditReportJobService(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        this.completedCounter = Counter.builder("report.jobs")
+                .tag("outcome", "completed")
+                .register(meterRegistry);
+        this.failedCounter = Counter.builder("report.jobs")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.queueWaitTimer = Timer.builder("report.jobs.queue.wait")
+                .description("Time credit report jobs spend queued before a worker picks them up")
+                .register(meterRegistry);
+        Gauge.builder("report.jobs.queued", queuedJobs, AtomicInteger::get)
+                .description("Credit report jobs waiting for a worker on this node")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startWorkers() {
+        AtomicInteger threadNumber = new AtomicInteger();
+        executor = new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                new PriorityBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "report-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        Gauge.builder("report.jobs.active", executor, ThreadPoolExecutor::getActiveCount)
+                .description("Report workers currently generating a report on this node")
+                .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void stopWorkers() {
+        executor.shutdownNow();
+    }
+
+    public CreditReportJobResponse submit(CreditReportRequest request) {
+        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+
+        // Reject what would fail anyway before it takes a queue slot
+        Business business = businessRepository.findById(request.getBusinessId())
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + request.getBusinessId()));
+
+        if (!business.getIsActive()) {
+            throw new BadRequestException("Cannot generate credit report for inactive business");
+        }
+
+        boolean priority = isPriority(currentUserPrincipal);
+        if (!reserveQueueSlot(priority)) {
+            throw new ServiceUnavailableException("Credit report queue is full, please retry shortly");
+        }
+
+        CreditReportJob job;
+        try {
+            job = creditReportJobRepository.save(new CreditReportJob(UUID.randomUUID().toString(),
+                    business.getId(), currentUserPrincipal.getId(), priority,
+                    Boolean.TRUE.equals(request.getNotifyOnCompletion())));
+        } catch (RuntimeException e) {
+            queuedJobs.decrementAndGet();
+            throw e;
+        }
+
+        completions.put(job.getId(), new CompletableFuture<>());
+        executor.execute(new QueuedJob(job.getId(), priority, submissionSequence.incrementAndGet()));
+
+        logger.info("Queued credit report job {} for business ID: {} (priority: {})",
+                job.getId(), business.getId(), priority);
+
+        return convertToResponse(job, null);
+    }
+
+    /**
+     * Completes with the job once its report is ready, or with its current state when
+     * the synchronous wait passes first. A failed job completes exceptionally with the error
+     * report generation raised, as a synchronous call would have; a job that failed on another
+     * node only has its message left and completes with a server error.
+     */
+    public CompletableFuture<CreditReportJobResponse> awaitCompletion(String jobId) {
+        CompletableFuture<CreditReportResponse> completion = completions.get(jobId);
+        if (completion == null) {
+            // Submitted on another node, or finished and already swept
+            CreditReportJob job = findJob(jobId);
+            if (job.getStatus() == ReportJobStatus.FAILED) {
+                return CompletableFuture.failedFuture(new RuntimeException(
+                        "Credit report job " + jobId + " failed: " + job.getErrorMessage()));
+            }
+            return CompletableFuture.completedFuture(convertToResponse(job, job.getStatus() == ReportJobStatus.COMPLETED
+                    ? creditReportService.getCreditReport(job.getReportNumber()) : null));
+        }
+
+        return completion
+                .thenApply(report -> {
+                    CreditReportJobResponse response = convertToResponse(findJob(jobId), null);
+                    response.setReport(report);
+                    return response;
+                })
+                .completeOnTimeout(null, syncWaitSeconds, TimeUnit.SECONDS)
+                .thenApply(response -> response != null ? response : convertToResponse(findJob(jobId), null));
+    }
+
+    public CreditReportJobResponse getJob(String jobId) {
+        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+
+        CreditReportJob job = creditReportJobRepository.findById(jobId)
+                .filter(found -> found.getRequestedById().equals(currentUserPrincipal.getId()))
+                .orElseThrow(() -> new ResourceNotFoundException("Credit report job not found with ID: " + jobId));
+
+        CreditReportResponse report = job.getStatus() == ReportJobStatus.COMPLETED
+                ? creditReportService.getCreditReport(job.getReportNumber()) : null;
+        return convertToResponse(job, report);
+    }
+
+    @Scheduled(fixedDelayString = "${app.report-jobs.cleanup-interval-ms:600000}")
+    @Transactional
+    public void cleanUpJobs() {
+        LocalDateTime now = LocalDateTime.now();
+
+        int abandoned = creditReportJobRepository.failAbandonedJobs(
+                "Job was not completed; please resubmit", now.minusMinutes(abandonedAfterMinutes), now);
+        int deleted = creditReportJobRepository.deleteFinishedBefore(now.minusHours(retentionHours));
+        completions.values().removeIf(CompletableFuture::isDone);
+
+        if (abandoned > 0 || deleted > 0) {
+            logger.info("Credit report job cleanup: {} abandoned jobs failed, {} finished jobs removed", abandoned, deleted);
+        }
+    }
+
+    private void runJob(String jobId) {
+        CompletableFuture<CreditReportResponse> completion = completions.get(jobId);
+        CreditReportJob job = findJob(jobId);
+
+        job.setStatus(ReportJobStatus.RUNNING);
+        job.setStartedAt(LocalDateTime.now());
+        job = creditReportJobRepository.save(job);
+        queueWaitTimer.record(Duration.between(job.getCreatedAt(), job.getStartedAt()));
+
+        try {
+            CreditReportResponse report = reportGenerationCoordinator.generateCreditReport(job.getBusinessId(), job.getRequestedById());
+
+            job.setStatus(ReportJobStatus.COMPLETED);
+            job.setReportNumber(report.getReportNumber());
+            job.setCompletedAt(LocalDateTime.now());
+            creditReportJobRepository.save(job);
+            completedCounter.increment();
+
+            if (completion != null) {
+                completion.complete(report);
+            }
+        } catch (Exception e) {
+            logger.error("Credit report job {} failed for business ID: {}", jobId, job.getBusinessId(), e);
+
+            String message = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+            job.setStatus(ReportJobStatus.FAILED);
+            job.setErrorMessage(message.length() > MAX_ERROR_MESSAGE_LENGTH
+                    ? message.substring(0, MAX_ERROR_MESSAGE_LENGTH) : message);
+            job.setCompletedAt(LocalDateTime.now());
+            creditReportJobRepository.save(job);
+            failedCounter.increment();
+
+            if (completion != null) {
+                completion.completeExceptionally(e);
+            }
+        }
+
+        eventPublisher.publishEvent(new CreditReportJobCompletedEvent(job.getId(), job.getBusinessId(),
+                job.getRequestedById(), job.getStatus(), job.getReportNumber(), job.getNotifyOnCompletion()));
+    }
+
+    private boolean reserveQueueSlot(boolean priority) {
+        int limit = priority ? queueCapacity + priorityReserve : queueCapacity;
+        while (true) {
+            int queued = queuedJobs.get();
+            if (queued >= limit) {
+                return false;
+            }
+            if (queuedJobs.compareAndSet(queued, queued + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private boolean isPriority(UserPrincipal userPrincipal) {
+        for (GrantedAuthority authority : userPrincipal.getAuthorities()) {
+            if (priorityRoles.contains(authority.getAuthority().replaceFirst("^ROLE_", ""))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private CreditReportJob findJob(String jobId) {
+        return creditReportJobRepository.findById(jobId)
+                .orElseThrow(() -> new ResourceNotFoundException("Credit report job not found with ID: " + jobId));
+    }
+
+    private CreditReportJobResponse convertToResponse(CreditReportJob job, CreditReportResponse report) {
+        CreditReportJobResponse response = new CreditReportJobResponse();
+        response.setJobId(job.getId());
+        response.setBusinessId(job.getBusinessId());
+        response.setStatus(job.getStatus());
+        response.setPriority(job.getPriority());
+        response.setReportNumber(job.getReportNumber());
+        response.setErrorMessage(job.getErrorMessage());
+        response.setReport(report);
+        response.setCreatedAt(job.getCreatedAt());
+        response.setStartedAt(job.getStartedAt());
+        response.setCompletedAt(job.getCompletedAt());
+        return response;
+    }
+
+    // Priority jobs first, then in submission order
+    private final class QueuedJob implements Runnable, Comparable<QueuedJob> {
+
+        private final String jobId;
+        private final boolean priority;
+        private final long sequence;
+
+        private QueuedJob(String jobId, boolean priority, long sequence) {
+            this.jobId = jobId;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            queuedJobs.decrementAndGet();
+            try {
+                runJob(jobId);
+            } catch (Exception e) {
+                logger.error("Could not run credit report job {}", jobId, e);
+                CompletableFuture<CreditReportResponse> completion = completions.get(jobId);
+                if (completion != null) {
+                    completion.completeExceptionally(e);
+                }
+            }
+        }
+
+        @Override
+        public int compareTo(QueuedJob other) {
+            if (priority != other.priority) {
+                return priority ? -1 : 1;
+            }
+            return Long.compare(sequence, other.sequence);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcrs.tcrs_backend.dto.auth.ApiResponse;
+import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+
+/**
+ * Serialized API responses of generated credit reports, which never change once
+ * written. Each payload is built once per node and served as-is with a strong
+ * ETag over its bytes. The envelope timestamp is the report's creation time, so
+ * every node produces the same bytes and the same ETag for a report.
+ */
+@Service
+public class CreditReportPayloadCache {
+
+    @Autowired
+    private CreditReportService creditReportService;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    private final Cache<Long, ReportPayload> payloadsById;
+    private final Cache<String, ReportPayload> payloadsByNumber;
+
+    public CreditReportPayloadCache(@Value("${app.report-payload-cache.max-size:5000}") long maxSize,
+                                    MeterRegistry meterRegistry) {
+        this.payloadsById = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .recordStats()
+                        .<Long, ReportPayload>build(),
+                "creditReportPayloadsById");
+        this.payloadsByNumber = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .recordStats()
+                        .<String, ReportPayload>build(),
+                "creditReportPayloadsByNumber");
+    }
+
+    // ResourceNotFoundException from the lookup propagates and nothing is cached. A loader may
+    // only write to the other cache: writing to the cache that is computing the key is a
+    // recursive update, which Caffeine rejects.
+    public ReportPayload getByReportNumber(String reportNumber) {
+        return payloadsByNumber.get(reportNumber, number -> {
+            ReportPayload payload = serialize(creditReportService.getCreditReport(number));
+            payloadsById.put(payload.getReportId(), payload);
+            return payload;
+        });
+    }
+
+    public ReportPayload getById(Long reportId) {
+        return payloadsById.get(reportId, id -> {
+            ReportPayload payload = serialize(creditReportService.getCreditReportById(id));
+            payloadsByNumber.put(payload.getReportNumber(), payload);
+            return payload;
+        });
+    }
+
+    private ReportPayload serialize(CreditReportResponse report) {
+        ApiResponse<CreditReportResponse> response = new ApiResponse<>(
+                true,
+                "Credit report retrieved successfully",
+                report
+        );
+        response.setTimestamp(report.getCreatedAt());
+
+        try {
+            byte[] body = objectMapper.writeValueAsBytes(response);
+            return new ReportPayload(report.getId(), report.getReportNumber(), body, etag(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize credit report " + report.getReportNumber(), e);
+        }
+    }
+
+    private static String etag(byte[] body) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(body);
+            return "\"" + HexFormat.of().formatHex(digest, 0, 16) + "\"";
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static final class ReportPayload {
+
+        private final Long reportId;
+        private final String reportNumber;
+        private final byte[] body;
+        private final String etag;
+
+        private ReportPayload(Long reportId, String reportNumber, byte[] body, String etag) {
+            this.reportId = reportId;
+            this.reportNumber = reportNumber;
+            this.body = body;
+            this.etag = etag;
+        }
+
+        public Long getReportId() { return reportId; }
+        public String getReportNumber() { return reportNumber; }
+        public byte[] getBody() { return body; }
+        public String getEtag() { return etag; }
+    }
+}
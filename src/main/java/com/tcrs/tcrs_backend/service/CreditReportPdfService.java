@@ -0,0 +1,366 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+/**
+ * Printable PDF rendering of credit reports. The first download renders straight to the
+ * response while teeing into a temporary file, which becomes the cached artifact for that
+ * report number once complete. Reports never change, so later downloads skip rendering and
+ * the database: the file is handed to the container's sendfile, or transferred channel to
+ * channel where sendfile is unavailable. Artifacts past the maximum age, and the oldest ones
+ * while the directory is over its size limit, are pruned on a schedule and rendered again on
+ * their next download.
+ */
+@Service
+public class CreditReportPdfService {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditReportPdfService.class);
+
+    private static final Pattern REPORT_NUMBER = Pattern.compile("[A-Za-z0-9-]{1,64}");
+    private static final DateTimeFormatter DATE_FORMAT = DateTimeFormatter.ofPattern("dd MMM yyyy, HH:mm", Locale.ENGLISH);
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365)).cachePrivate().immutable().getHeaderValue();
+
+    // Request attributes of Tomcat's sendfile support
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    // Temporary files this old were left behind by a render that never finished
+    private static final Duration ABANDONED_TEMPORARY_AGE = Duration.ofHours(1);
+
+    @Value("${app.report-artifacts.dir:./report-artifacts}")
+    private String artifactDir;
+
+    @Value("${app.report-artifacts.max-size-mb:2048}")
+    private long maxSizeMb;
+
+    @Value("${app.report-artifacts.max-age-days:90}")
+    private long maxAgeDays;
+
+    @Autowired
+    private CreditReportService creditReportService;
+
+    public void writePdf(String reportNumber, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        if (!REPORT_NUMBER.matcher(reportNumber).matches()) {
+            throw new ResourceNotFoundException("Credit report not found with number: " + reportNumber);
+        }
+
+        Path artifact = Paths.get(artifactDir).resolve(reportNumber + ".pdf");
+        if (Files.isRegularFile(artifact)) {
+            sendArtifact(reportNumber, artifact, request, response);
+            return;
+        }
+
+        CreditReportResponse report = creditReportService.getCreditReport(reportNumber);
+        prepareResponse(reportNumber, response);
+        renderAndStore(report, artifact, response.getOutputStream());
+    }
+
+    private void sendArtifact(String reportNumber, Path artifact, HttpServletRequest request,
+                              HttpServletResponse response) throws IOException {
+        long size = Files.size(artifact);
+        prepareResponse(reportNumber, response);
+        response.setContentLengthLong(size);
+
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, artifact.toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+
+        try (FileChannel channel = FileChannel.open(artifact, StandardOpenOption.READ)) {
+            WritableByteChannel target = Channels.newChannel(response.getOutputStream());
+            long position = 0;
+            while (position < size) {
+                position += channel.transferTo(position, size - position, target);
+            }
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.report-artifacts.prune-interval-ms:3600000}")
+    public void pruneArtifacts() {
+        Path directory = Paths.get(artifactDir);
+        if (!Files.isDirectory(directory)) {
+            return;
+        }
+
+        Instant now = Instant.now();
+        Instant expiry = now.minus(Duration.ofDays(maxAgeDays));
+        Instant abandoned = now.minus(ABANDONED_TEMPORARY_AGE);
+        List<StoredArtifact> artifacts = new ArrayList<>();
+        long totalBytes = 0;
+        int expired = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory)) {
+            for (Path file : files) {
+                BasicFileAttributes attributes;
+                try {
+                    attributes = Files.readAttributes(file, BasicFileAttributes.class);
+                } catch (NoSuchFileException e) {
+                    continue; // Moved into place or pruned since listing
+                }
+                if (!attributes.isRegularFile()) {
+                    continue;
+                }
+
+                String name = file.getFileName().toString();
+                Instant modified = attributes.lastModifiedTime().toInstant();
+                if (name.endsWith(".tmp")) {
+                    if (modified.isBefore(abandoned)) {
+                        deleteArtifact(file);
+                    }
+                } else if (name.endsWith(".pdf")) {
+                    if (modified.isBefore(expiry)) {
+                        if (deleteArtifact(file)) {
+                            expired++;
+                        }
+                    } else {
+                        artifacts.add(new StoredArtifact(file, modified, attributes.size()));
+                        totalBytes += attributes.size();
+                    }
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not list PDF artifacts in {}", directory, e);
+            return;
+        }
+
+        // Oldest first until the directory is back under its size limit
+        long maxBytes = maxSizeMb * 1024 * 1024;
+        int evicted = 0;
+        artifacts.sort(Comparator.comparing(StoredArtifact::getModified));
+        for (StoredArtifact artifact : artifacts) {
+            if (totalBytes <= maxBytes) {
+                break;
+            }
+            if (deleteArtifact(artifact.getPath())) {
+                totalBytes -= artifact.getSize();
+                evicted++;
+            }
+        }
+
+        if (expired > 0 || evicted > 0) {
+            logger.info("Pruned {} expired and {} oldest PDF artifacts; {} bytes remain",
+                    expired, evicted, totalBytes);
+        }
+    }
+
+    private boolean deleteArtifact(Path file) {
+        try {
+            return Files.deleteIfExists(file);
+        } catch (IOException e) {
+            logger.warn("Could not delete PDF artifact {}", file, e);
+            return false;
+        }
+    }
+
+    private void prepareResponse(String reportNumber, HttpServletResponse response) {
+        response.setContentType(MediaType.APPLICATION_PDF_VALUE);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + reportNumber + ".pdf\"");
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+    }
+
+    // Concurrent first downloads each render their own temporary file; the moves replace one
+    // another with identical content
+    private void renderAndStore(CreditReportResponse report, Path artifact, OutputStream responseStream) throws IOException {
+        Path directory = artifact.getParent();
+        Files.createDirectories(directory);
+        Path temporary = Files.createTempFile(directory, report.getReportNumber() + "-", ".tmp");
+
+        ArtifactTee tee = new ArtifactTee(responseStream,
+                new BufferedOutputStream(Files.newOutputStream(temporary)));
+        try {
+            OutputStream out = new BufferedOutputStream(tee);
+            render(report, out);
+            out.flush();
+        } catch (IOException | RuntimeException e) {
+            tee.closeFile();
+            Files.deleteIfExists(temporary);
+            throw e;
+        }
+
+        if (!tee.closeFile()) {
+            Files.deleteIfExists(temporary);
+            return;
+        }
+        try {
+            Files.move(temporary, artifact, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            logger.info("Stored PDF artifact for credit report {}", report.getReportNumber());
+        } catch (IOException e) {
+            logger.warn("Could not store PDF artifact for credit report {}", report.getReportNumber(), e);
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void render(CreditReportResponse report, OutputStream out) throws IOException {
+        try (PdfDocumentWriter pdf = new PdfDocumentWriter(out, "Trade Credit Report " + report.getReportNumber())) {
+            pdf.title("Trade Credit Report");
+            pdf.field("Report number", report.getReportNumber());
+            pdf.field("Generated", formatDate(report.getCreatedAt()));
+            pdf.field("Valid until", formatDate(report.getReportValidUntil()));
+            pdf.field("Requested by", report.getRequestedByName());
+
+            pdf.heading("Business");
+            pdf.field("Name", report.getBusinessName());
+            pdf.field("GSTIN", report.getBusinessGstin());
+            pdf.field("PAN", report.getBusinessPan());
+            pdf.field("Years in business", report.getYearsInBusiness() != null
+                    ? report.getYearsInBusiness().toString() : null);
+
+            pdf.heading("Credit Assessment");
+            pdf.field("Credit score", formatScore(report.getCreditScore()));
+            pdf.field("Credit grade", report.getCreditScoreGrade() != null
+                    ? report.getCreditScoreGrade().name() : null);
+            pdf.field("Risk category", report.getRiskCategory() != null
+                    ? report.getRiskCategory().name().replace('_', ' ') : null);
+            pdf.field("Recommended credit limit", report.getCreditLimitRecommendation() != null
+                    ? String.format(Locale.ENGLISH, "Rs. %,.2f", report.getCreditLimitRecommendation()) : null);
+
+            pdf.heading("Score Components");
+            pdf.field("Financial strength", formatScore(report.getFinancialStrengthScore()));
+            pdf.field("Payment behavior", formatScore(report.getPaymentBehaviorScore()));
+            pdf.field("Business stability", formatScore(report.getBusinessStabilityScore()));
+            pdf.field("Compliance", formatScore(report.getComplianceScore()));
+
+            pdf.heading("Verification and Trade References");
+            pdf.field("GST compliance", formatFlag(report.getGstComplianceStatus()));
+            pdf.field("PAN verification", formatFlag(report.getPanVerificationStatus()));
+            pdf.field("Trade references", String.format("%d (%d positive, %d negative)",
+                    count(report.getTradeReferencesCount()),
+                    count(report.getPositiveReferencesCount()),
+                    count(report.getNegativeReferencesCount())));
+
+            section(pdf, "Summary", report.getSummary());
+            section(pdf, "Recommendations", report.getRecommendations());
+            section(pdf, "Risk Factors", report.getRiskFactors());
+            section(pdf, "Positive Indicators", report.getPositiveIndicators());
+        }
+    }
+
+    private void section(PdfDocumentWriter pdf, String heading, String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        pdf.heading(heading);
+        pdf.text(text);
+    }
+
+    private String formatDate(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_FORMAT) : null;
+    }
+
+    private String formatScore(BigDecimal score) {
+        return score != null ? score.toPlainString() + " / 100" : null;
+    }
+
+    private String formatFlag(Boolean flag) {
+        return Boolean.TRUE.equals(flag) ? "Verified" : "Not verified";
+    }
+
+    private int count(Integer value) {
+        return value != null ? value : 0;
+    }
+
+    private static final class StoredArtifact {
+
+        private final Path path;
+        private final Instant modified;
+        private final long size;
+
+        StoredArtifact(Path path, Instant modified, long size) {
+            this.path = path;
+            this.modified = modified;
+            this.size = size;
+        }
+
+        Path getPath() { return path; }
+
+        Instant getModified() { return modified; }
+
+        long getSize() { return size; }
+    }
+
+    /**
+     * Copies everything written to the response into the artifact file. A failing artifact
+     * write only stops the copy, so the download itself still completes.
+     */
+    private static final class ArtifactTee extends FilterOutputStream {
+
+        private final OutputStream file;
+        private boolean fileFailed;
+
+        ArtifactTee(OutputStream response, OutputStream file) {
+            super(response);
+            this.file = file;
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            write(new byte[]{(byte) b}, 0, 1);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            if (!fileFailed) {
+                try {
+                    file.write(b, off, len);
+                } catch (IOException e) {
+                    logger.warn("Could not write PDF artifact, serving without caching", e);
+                    fileFailed = true;
+                }
+            }
+        }
+
+        // Returns whether the artifact was written completely
+        boolean closeFile() {
+            try {
+                file.close();
+            } catch (IOException e) {
+                logger.warn("Could not write PDF artifact, serving without caching", e);
+                fileFailed = true;
+            }
+            return !fileFailed;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.BusinessType;
+import com.tcrs.tcrs_backend.entity.CreditGrade;
+import com.tcrs.tcrs_backend.entity.RiskCategory;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.time.Period;
+
+/**
+ * Report scoring rules shared by {@link CreditReportService} and
+ * {@link EnhancedCreditReportService}. Component scores are fixed-point
+ * hundredths on a 0-100 scale.
+ */
+public final class CreditReportScoring {
+
+    public static final long MAX_COMPONENT_SCORE = 10000;
+
+    private static final BigDecimal BASE_CREDIT_LIMIT = new BigDecimal("100000"); // ₹1 Lakh base
+    private static final BigDecimal TEN_THOUSAND = new BigDecimal("10000");
+
+    private CreditReportScoring() {}
+
+    public static long complianceScore(Business business) {
+        long score = 0;
+
+        // GST verification (40% weight)
+        if (Boolean.TRUE.equals(business.getGstinVerified())) {
+            score += 4000;
+        }
+
+        // PAN verification (30% weight)
+        if (Boolean.TRUE.equals(business.getPanVerified())) {
+            score += 3000;
+        }
+
+        // Business active status (30% weight)
+        if (Boolean.TRUE.equals(business.getIsActive())) {
+            score += 3000;
+        }
+
+        return score;
+    }
+
+    public static long businessStabilityScore(Business business) {
+        long score = 5000; // Base score
+
+        int yearsInBusiness = yearsInBusiness(business);
+        if (yearsInBusiness >= 10) {
+            score += 3000;
+        } else if (yearsInBusiness >= 5) {
+            score += 2000;
+        } else if (yearsInBusiness >= 2) {
+            score += 1000;
+        }
+
+        // Complete business profile
+        if (business.getBusinessDescription() != null && !business.getBusinessDescription().isEmpty()) {
+            score += 1000;
+        }
+
+        if (business.getWebsite() != null && !business.getWebsite().isEmpty()) {
+            score += 1000;
+        }
+
+        return Math.min(score, MAX_COMPONENT_SCORE);
+    }
+
+    public static long financialStrengthScore(Business business) {
+        long score = 6000; // Base score
+
+        // Industry-based scoring
+        switch (business.getIndustryCategory()) {
+            case TECHNOLOGY:
+            case HEALTHCARE:
+                score += 2000;
+                break;
+            case MANUFACTURING:
+            case RETAIL:
+                score += 1500;
+                break;
+            case CONSTRUCTION:
+            case AGRICULTURE:
+                score += 1000;
+                break;
+            default:
+                score += 500;
+        }
+
+        // Business type scoring
+        if (business.getBusinessType() == BusinessType.PRIVATE_LIMITED) {
+            score += 1500;
+        } else if (business.getBusinessType() == BusinessType.PUBLIC_LIMITED) {
+            score += 2000;
+        } else {
+            score += 500;
+        }
+
+        return Math.min(score, MAX_COMPONENT_SCORE);
+    }
+
+    // Payment behavior when there is no payment history to score
+    public static long basicPaymentBehaviorScore(Business business) {
+        long score = 7000; // Assume good payment behavior
+
+        int yearsInBusiness = yearsInBusiness(business);
+        if (yearsInBusiness >= 5) {
+            score += 2000;
+        } else if (yearsInBusiness >= 2) {
+            score += 1000;
+        }
+
+        // Verification bonus
+        if (Boolean.TRUE.equals(business.getGstinVerified()) && Boolean.TRUE.equals(business.getPanVerified())) {
+            score += 1000;
+        }
+
+        return Math.min(score, MAX_COMPONENT_SCORE);
+    }
+
+    // Weights are percentages summing to 100; the result is in hundredths
+    public static long weightedScore(long compliance, int complianceWeight, long stability, int stabilityWeight,
+                                     long financial, int financialWeight, long payment, int paymentWeight) {
+        long weighted = compliance * complianceWeight
+                + stability * stabilityWeight
+                + financial * financialWeight
+                + payment * paymentWeight;
+        return CreditScoringKernel.divideHalfUp(weighted, 100);
+    }
+
+    public static CreditGrade creditGrade(BigDecimal score) {
+        int scoreInt = score.intValue();
+
+        if (scoreInt >= 90) return CreditGrade.AAA;
+        if (scoreInt >= 80) return CreditGrade.AA;
+        if (scoreInt >= 70) return CreditGrade.A;
+        if (scoreInt >= 60) return CreditGrade.BBB;
+        if (scoreInt >= 50) return CreditGrade.BB;
+        if (scoreInt >= 40) return CreditGrade.B;
+        if (scoreInt >= 30) return CreditGrade.CCC;
+        if (scoreInt >= 20) return CreditGrade.CC;
+        if (scoreInt >= 10) return CreditGrade.C;
+        return CreditGrade.D;
+    }
+
+    public static RiskCategory riskCategory(BigDecimal score) {
+        int scoreInt = score.intValue();
+
+        if (scoreInt >= 75) return RiskCategory.LOW;
+        if (scoreInt >= 60) return RiskCategory.MODERATE;
+        if (scoreInt >= 40) return RiskCategory.HIGH;
+        return RiskCategory.VERY_HIGH;
+    }
+
+    // Base credit limit scaled by the report score (0-100)
+    public static BigDecimal baseCreditLimit(BigDecimal score) {
+        BigDecimal multiplier = score.divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
+        return BASE_CREDIT_LIMIT.multiply(multiplier);
+    }
+
+    // Industry and business age multipliers, then rounding to the nearest 10,000
+    public static BigDecimal adjustCreditLimit(BigDecimal limit, Business business) {
+        BigDecimal adjustedLimit = limit;
+
+        switch (business.getIndustryCategory()) {
+            case TECHNOLOGY:
+            case HEALTHCARE:
+                adjustedLimit = adjustedLimit.multiply(new BigDecimal("2.0"));
+                break;
+            case MANUFACTURING:
+            case RETAIL:
+                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
+                break;
+            case CONSTRUCTION:
+                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
+                break;
+        }
+
+        int yearsInBusiness = yearsInBusiness(business);
+        if (yearsInBusiness >= 10) {
+            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
+        } else if (yearsInBusiness >= 5) {
+            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
+        }
+
+        return adjustedLimit.divide(TEN_THOUSAND, 0, RoundingMode.HALF_UP).multiply(TEN_THOUSAND);
+    }
+
+    public static int yearsInBusiness(Business business) {
+        if (business.getRegistrationDate() == null) {
+            return 0;
+        }
+        return Period.between(business.getRegistrationDate(), LocalDate.now()).getYears();
+    }
+}
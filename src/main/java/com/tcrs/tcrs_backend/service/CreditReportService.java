@@ -1,7 +1,10 @@
 package com.tcrs.tcrs_backend.service;
 
+import com.tcrs.tcrs_backend.dto.credit.CreditHistoryEntry;
+import com.tcrs.tcrs_backend.dto.credit.CreditHistoryPage;
 import com.tcrs.tcrs_backend.dto.credit.CreditReportRequest;
 import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import com.tcrs.tcrs_backend.dto.credit.CreditScoreSparkline;
 import com.tcrs.tcrs_backend.entity.*;
 import com.tcrs.tcrs_backend.exception.BadRequestException;
 import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
@@ -22,12 +25,17 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
-import java.time.Period;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -36,6 +44,8 @@ public class CreditReportService {
 
     private static final Logger logger = LoggerFactory.getLogger(CreditReportService.class);
     private static final int REPORT_VALIDITY_DAYS = 30; // Reports valid for 30 days
+    private static final int MAX_HISTORY_PAGE_SIZE = 100;
+    private static final int MAX_SPARKLINE_POINTS = 365;
 
     @Autowired
     private CreditReportRepository creditReportRepository;
@@ -46,27 +56,50 @@ public class CreditReportService {
     @Autowired
     private UserRepository userRepository;
 
-    public CreditReportResponse generateCreditReport(CreditReportRequest request) {
-        logger.info("Generating credit report for business ID: {}", request.getBusinessId());
+    @Autowired
+    private CreditScoreHistoryService creditScoreHistoryService;
+
+    @Autowired
+    private ValidReportIndex validReportIndex;
+
+    @Autowired
+    private ReportFeatureService reportFeatureService;
 
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
+    public CreditReportResponse generateCreditReport(CreditReportRequest request) {
         // Get current user
         UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
                 .getAuthentication().getPrincipal();
 
-        User requestedBy = userRepository.findById(currentUserPrincipal.getId())
+        return generateCreditReport(request.getBusinessId(), currentUserPrincipal.getId());
+    }
+
+    // Report generation for a given requester, for callers running outside the request thread
+    public CreditReportResponse generateCreditReport(Long businessId, Long requestedById) {
+        logger.info("Generating credit report for business ID: {}", businessId);
+
+        User requestedBy = userRepository.findById(requestedById)
                 .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
         // Get business
-        Business business = businessRepository.findById(request.getBusinessId())
-                .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + request.getBusinessId()));
+        Business business = businessRepository.findById(businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + businessId));
 
         if (!business.getIsActive()) {
             throw new BadRequestException("Cannot generate credit report for inactive business");
         }
 
         // Check if valid report already exists
-        Optional<CreditReport> existingReport = creditReportRepository.findValidReportByBusiness(
-                business, ReportStatus.GENERATED, LocalDateTime.now());
+        Optional<CreditReport> existingReport = validReportIndex.findValidReport(business);
+
+        if (existingReport.isEmpty()) {
+            // Wait out a generation for this business in flight on another node, then use its report
+            creditReportRepository.lockReportGeneration(business.getId());
+            existingReport = creditReportRepository.findValidReportByBusiness(
+                    business, ReportStatus.GENERATED, LocalDateTime.now());
+        }
 
         if (existingReport.isPresent()) {
             logger.info("Valid report already exists for business: {}", business.getBusinessName());
@@ -81,14 +114,17 @@ public class CreditReportService {
         creditReport.setReportStatus(ReportStatus.GENERATED);
         creditReport.setReportValidUntil(LocalDateTime.now().plusDays(REPORT_VALIDITY_DAYS));
 
-        // Calculate credit scores
-        calculateCreditScores(creditReport, business);
+        // Load report inputs and calculate credit scores
+        ReportFeatures features = reportFeatureService.load(business);
+        calculateCreditScores(creditReport, features);
 
         // Generate report content
-        generateReportContent(creditReport, business);
+        generateReportContent(creditReport, features);
 
         // Save credit report
         CreditReport savedReport = creditReportRepository.save(creditReport);
+        validReportIndex.reportSaved(savedReport);
+        creditScoreHistoryService.record(business.getId(), savedReport.getCreditScore(), CreditScoreSource.CREDIT_REPORT);
 
         logger.info("Credit report generated successfully with number: {}", savedReport.getReportNumber());
 
@@ -113,6 +149,28 @@ public class CreditReportService {
         return convertToResponse(creditReport);
     }
 
+    /**
+     * The newest still-valid report of each business, keyed by business ID. Reports are
+     * found with one query and converted in the same read-only transaction.
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, CreditReportResponse> getValidReports(Collection<Business> businesses) {
+        Map<Long, CreditReportResponse> validReports = new HashMap<>();
+        if (businesses.isEmpty()) {
+            return validReports;
+        }
+
+        // Newest first, as findValidReportByBusiness would pick
+        for (CreditReport report : creditReportRepository.findValidReportsByBusinesses(
+                businesses, ReportStatus.GENERATED, LocalDateTime.now())) {
+            Long businessId = report.getBusiness().getId();
+            if (!validReports.containsKey(businessId)) {
+                validReports.put(businessId, convertToResponse(report));
+            }
+        }
+        return validReports;
+    }
+
     public List<CreditReportResponse> getBusinessCreditHistory(Long businessId) {
         logger.info("Retrieving credit history for business ID: {}", businessId);
 
@@ -126,257 +184,159 @@ public class CreditReportService {
                 .collect(Collectors.toList());
     }
 
-    public Page<CreditReportResponse> getUserCreditReports(int page, int size) {
-        logger.info("Retrieving credit reports for current user - page: {}, size: {}", page, size);
-
-        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
-                .getAuthentication().getPrincipal();
-
-        User user = userRepository.findById(currentUserPrincipal.getId())
-                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
+    /**
+     * One page of a business's report history, newest first. The cursor is the opaque
+     * nextCursor of the previous page; pages are read by keyset on (createdAt, id), so
+     * later pages cost the same as the first and reports added meanwhile are not repeated.
+     */
+    public CreditHistoryPage getBusinessCreditHistoryPage(Long businessId, String cursor, int size) {
+        logger.info("Retrieving credit history page for business ID: {}", businessId);
 
-        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
-        Page<CreditReport> reportsPage = creditReportRepository.findByRequestedByOrderByCreatedAtDesc(user, pageable);
+        int limit = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+        List<CreditHistoryEntry> entries = findHistoryEntries(businessId, cursor, limit);
+        String nextCursor = nextHistoryCursor(entries, limit);
 
-        return reportsPage.map(this::convertToResponse);
+        return new CreditHistoryPage(entries, nextCursor);
     }
 
-    private void calculateCreditScores(CreditReport creditReport, Business business) {
-        logger.debug("Calculating credit scores for business: {}", business.getBusinessName());
-
-        // Calculate component scores
-        BigDecimal complianceScore = calculateComplianceScore(business);
-        BigDecimal businessStabilityScore = calculateBusinessStabilityScore(business);
-        BigDecimal financialStrengthScore = calculateFinancialStrengthScore(business);
-        BigDecimal paymentBehaviorScore = calculatePaymentBehaviorScore(business);
-
-        // Set component scores
-        creditReport.setComplianceScore(complianceScore);
-        creditReport.setBusinessStabilityScore(businessStabilityScore);
-        creditReport.setFinancialStrengthScore(financialStrengthScore);
-        creditReport.setPaymentBehaviorScore(paymentBehaviorScore);
-
-        // Calculate overall credit score (weighted average)
-        BigDecimal overallScore = calculateOverallCreditScore(
-                complianceScore, businessStabilityScore, financialStrengthScore, paymentBehaviorScore);
-
-        creditReport.setCreditScore(overallScore);
-        creditReport.setCreditScoreGrade(determineCreditGrade(overallScore));
-        creditReport.setRiskCategory(determineRiskCategory(overallScore));
-        creditReport.setCreditLimitRecommendation(calculateCreditLimitRecommendation(overallScore, business));
-
-        // Set business metrics
-        creditReport.setYearsInBusiness(calculateYearsInBusiness(business));
-        creditReport.setGstComplianceStatus(business.getGstinVerified());
-        creditReport.setPanVerificationStatus(business.getPanVerified());
-
-        // Set trade reference counts (mock data for now)
-        creditReport.setTradeReferencesCount(generateMockTradeReferencesCount());
-        creditReport.setPositiveReferencesCount(generateMockPositiveReferencesCount(creditReport.getTradeReferencesCount()));
-        creditReport.setNegativeReferencesCount(creditReport.getTradeReferencesCount() - creditReport.getPositiveReferencesCount());
-
-        logger.debug("Credit scores calculated - Overall: {}, Grade: {}, Risk: {}",
-                overallScore, creditReport.getCreditScoreGrade(), creditReport.getRiskCategory());
-    }
-
-    private BigDecimal calculateComplianceScore(Business business) {
-        BigDecimal score = BigDecimal.ZERO;
-
-        // GST verification (40% weight)
-        if (Boolean.TRUE.equals(business.getGstinVerified())) {
-            score = score.add(new BigDecimal("40"));
-        }
-
-        // PAN verification (30% weight)
-        if (Boolean.TRUE.equals(business.getPanVerified())) {
-            score = score.add(new BigDecimal("30"));
+    // The same keyset pages reduced to the scores, oldest first, for plotting trends
+    public CreditScoreSparkline getCreditScoreSparkline(Long businessId, String cursor, int points) {
+        logger.info("Retrieving credit score sparkline for business ID: {}", businessId);
+
+        int limit = Math.max(1, Math.min(points, MAX_SPARKLINE_POINTS));
+        List<CreditHistoryEntry> entries = findHistoryEntries(businessId, cursor, limit);
+        String nextCursor = nextHistoryCursor(entries, limit);
+
+        List<BigDecimal> scores = new ArrayList<>(entries.size());
+        BigDecimal minScore = null;
+        BigDecimal maxScore = null;
+        for (CreditHistoryEntry entry : entries) {
+            BigDecimal score = entry.getCreditScore();
+            if (score == null) {
+                continue;
+            }
+            scores.add(score);
+            minScore = minScore == null || score.compareTo(minScore) < 0 ? score : minScore;
+            maxScore = maxScore == null || score.compareTo(maxScore) > 0 ? score : maxScore;
         }
+        Collections.reverse(scores);
 
-        // Business active status (30% weight)
-        if (Boolean.TRUE.equals(business.getIsActive())) {
-            score = score.add(new BigDecimal("30"));
-        }
+        LocalDateTime from = entries.isEmpty() ? null : entries.get(entries.size() - 1).getCreatedAt();
+        LocalDateTime to = entries.isEmpty() ? null : entries.get(0).getCreatedAt();
 
-        return score.setScale(2, RoundingMode.HALF_UP);
+        return new CreditScoreSparkline(scores, minScore, maxScore, from, to, nextCursor);
     }
 
-    private BigDecimal calculateBusinessStabilityScore(Business business) {
-        BigDecimal score = new BigDecimal("50"); // Base score
-
-        // Years in business
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 10) {
-            score = score.add(new BigDecimal("30"));
-        } else if (yearsInBusiness >= 5) {
-            score = score.add(new BigDecimal("20"));
-        } else if (yearsInBusiness >= 2) {
-            score = score.add(new BigDecimal("10"));
-        }
+    // Reads one row past the limit to tell whether another page follows, and drops it again
+    private List<CreditHistoryEntry> findHistoryEntries(Long businessId, String cursor, int limit) {
+        Pageable pageable = PageRequest.of(0, limit + 1);
+        List<CreditHistoryEntry> entries;
 
-        // Complete business profile
-        if (business.getBusinessDescription() != null && !business.getBusinessDescription().isEmpty()) {
-            score = score.add(new BigDecimal("10"));
+        if (cursor == null || cursor.isBlank()) {
+            entries = creditReportRepository.findHistoryFirstPage(businessId, pageable);
+        } else {
+            HistoryCursor position = decodeHistoryCursor(cursor);
+            entries = creditReportRepository.findHistoryPageAfter(
+                    businessId, position.createdAt, position.id, pageable);
         }
 
-        if (business.getWebsite() != null && !business.getWebsite().isEmpty()) {
-            score = score.add(new BigDecimal("10"));
+        // An empty first page is the only case that needs the business looked up
+        if (entries.isEmpty() && (cursor == null || cursor.isBlank()) && !businessRepository.existsById(businessId)) {
+            throw new ResourceNotFoundException("Business not found with ID: " + businessId);
         }
 
-        return score.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
+        return entries;
     }
 
-    private BigDecimal calculateFinancialStrengthScore(Business business) {
-        // Mock financial strength calculation
-        // In real implementation, this would analyze financial statements, bank data, etc.
-
-        BigDecimal baseScore = new BigDecimal("60"); // Base score
-
-        // Industry-based scoring
-        switch (business.getIndustryCategory()) {
-            case TECHNOLOGY:
-            case HEALTHCARE:
-                baseScore = baseScore.add(new BigDecimal("20"));
-                break;
-            case MANUFACTURING:
-            case RETAIL:
-                baseScore = baseScore.add(new BigDecimal("15"));
-                break;
-            case CONSTRUCTION:
-            case AGRICULTURE:
-                baseScore = baseScore.add(new BigDecimal("10"));
-                break;
-            default:
-                baseScore = baseScore.add(new BigDecimal("5"));
+    private String nextHistoryCursor(List<CreditHistoryEntry> entries, int limit) {
+        if (entries.size() <= limit) {
+            return null;
         }
+        entries.remove(entries.size() - 1);
+        CreditHistoryEntry last = entries.get(entries.size() - 1);
+        String position = last.getCreatedAt() + "|" + last.getReportId();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+    }
 
-        // Business type scoring
-        if (business.getBusinessType() == BusinessType.PRIVATE_LIMITED) {
-            baseScore = baseScore.add(new BigDecimal("15"));
-        } else if (business.getBusinessType() == BusinessType.PUBLIC_LIMITED) {
-            baseScore = baseScore.add(new BigDecimal("20"));
-        } else {
-            baseScore = baseScore.add(new BigDecimal("5"));
+    private HistoryCursor decodeHistoryCursor(String cursor) {
+        try {
+            String position = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = position.indexOf('|');
+            return new HistoryCursor(LocalDateTime.parse(position.substring(0, separator)),
+                    Long.parseLong(position.substring(separator + 1)));
+        } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+            throw new BadRequestException("Invalid history cursor");
         }
-
-        return baseScore.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal calculatePaymentBehaviorScore(Business business) {
-        // Mock payment behavior calculation
-        // In real implementation, this would analyze payment history, defaults, etc.
-
-        BigDecimal baseScore = new BigDecimal("70"); // Assume good payment behavior
-
-        // Adjust based on business age
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 5) {
-            baseScore = baseScore.add(new BigDecimal("20"));
-        } else if (yearsInBusiness >= 2) {
-            baseScore = baseScore.add(new BigDecimal("10"));
-        }
+    private static final class HistoryCursor {
+        private final LocalDateTime createdAt;
+        private final Long id;
 
-        // Verification bonus
-        if (Boolean.TRUE.equals(business.getGstinVerified()) && Boolean.TRUE.equals(business.getPanVerified())) {
-            baseScore = baseScore.add(new BigDecimal("10"));
+        private HistoryCursor(LocalDateTime createdAt, Long id) {
+            this.createdAt = createdAt;
+            this.id = id;
         }
-
-        return baseScore.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
     }
 
-    private BigDecimal calculateOverallCreditScore(BigDecimal compliance, BigDecimal stability,
-                                                   BigDecimal financial, BigDecimal payment) {
-        // Weighted average calculation
-        BigDecimal weightedScore = compliance.multiply(new BigDecimal("0.25"))      // 25% weight
-                .add(stability.multiply(new BigDecimal("0.20")))                   // 20% weight
-                .add(financial.multiply(new BigDecimal("0.30")))                   // 30% weight
-                .add(payment.multiply(new BigDecimal("0.25")));                    // 25% weight
+    public Page<CreditReportResponse> getUserCreditReports(int page, int size) {
+        logger.info("Retrieving credit reports for current user - page: {}, size: {}", page, size);
 
-        return weightedScore.setScale(2, RoundingMode.HALF_UP);
-    }
+        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
 
-    private CreditGrade determineCreditGrade(BigDecimal score) {
-        int scoreInt = score.intValue();
-
-        if (scoreInt >= 90) return CreditGrade.AAA;
-        if (scoreInt >= 80) return CreditGrade.AA;
-        if (scoreInt >= 70) return CreditGrade.A;
-        if (scoreInt >= 60) return CreditGrade.BBB;
-        if (scoreInt >= 50) return CreditGrade.BB;
-        if (scoreInt >= 40) return CreditGrade.B;
-        if (scoreInt >= 30) return CreditGrade.CCC;
-        if (scoreInt >= 20) return CreditGrade.CC;
-        if (scoreInt >= 10) return CreditGrade.C;
-        return CreditGrade.D;
-    }
+        User user = userRepository.findById(currentUserPrincipal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"));
 
-    private RiskCategory determineRiskCategory(BigDecimal score) {
-        int scoreInt = score.intValue();
+        Pageable pageable = PageRequest.of(page, size, Sort.by(Sort.Direction.DESC, "createdAt"));
+        Page<CreditReport> reportsPage = creditReportRepository.findByRequestedByOrderByCreatedAtDesc(user, pageable);
 
-        if (scoreInt >= 75) return RiskCategory.LOW;
-        if (scoreInt >= 60) return RiskCategory.MODERATE;
-        if (scoreInt >= 40) return RiskCategory.HIGH;
-        return RiskCategory.VERY_HIGH;
+        return reportsPage.map(this::convertToResponse);
     }
 
-    private BigDecimal calculateCreditLimitRecommendation(BigDecimal score, Business business) {
-        // Base credit limit calculation
-        BigDecimal baseLimit = new BigDecimal("100000"); // ₹1 Lakh base
-
-        // Adjust based on credit score
-        BigDecimal multiplier = score.divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-        BigDecimal adjustedLimit = baseLimit.multiply(multiplier);
-
-        // Industry-based adjustments
-        switch (business.getIndustryCategory()) {
-            case TECHNOLOGY:
-            case HEALTHCARE:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("2.0"));
-                break;
-            case MANUFACTURING:
-            case RETAIL:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
-                break;
-            case CONSTRUCTION:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
-                break;
-        }
+    private void calculateCreditScores(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+        logger.debug("Calculating credit scores for business: {}", business.getBusinessName());
 
-        // Years in business bonus
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 10) {
-            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
-        } else if (yearsInBusiness >= 5) {
-            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
-        }
+        // Calculate component scores (hundredths)
+        long complianceScore = CreditReportScoring.complianceScore(business);
+        long businessStabilityScore = CreditReportScoring.businessStabilityScore(business);
+        long financialStrengthScore = CreditReportScoring.financialStrengthScore(business);
+        long paymentBehaviorScore = CreditReportScoring.basicPaymentBehaviorScore(business);
 
-        // Round to nearest 10,000
-        return adjustedLimit.divide(new BigDecimal("10000"), 0, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("10000"));
-    }
+        // Set component scores
+        creditReport.setComplianceScore(BigDecimal.valueOf(complianceScore, 2));
+        creditReport.setBusinessStabilityScore(BigDecimal.valueOf(businessStabilityScore, 2));
+        creditReport.setFinancialStrengthScore(BigDecimal.valueOf(financialStrengthScore, 2));
+        creditReport.setPaymentBehaviorScore(BigDecimal.valueOf(paymentBehaviorScore, 2));
 
-    private int calculateYearsInBusiness(Business business) {
-        if (business.getRegistrationDate() == null) {
-            return 0;
-        }
+        // Calculate overall credit score (weighted average: 25% compliance, 20% stability, 30% financial, 25% payment)
+        BigDecimal overallScore = BigDecimal.valueOf(CreditReportScoring.weightedScore(
+                complianceScore, 25, businessStabilityScore, 20, financialStrengthScore, 30, paymentBehaviorScore, 25), 2);
 
-        LocalDate registrationDate = business.getRegistrationDate();
-        LocalDate currentDate = LocalDate.now();
+        creditReport.setCreditScore(overallScore);
+        creditReport.setCreditScoreGrade(CreditReportScoring.creditGrade(overallScore));
+        creditReport.setRiskCategory(CreditReportScoring.riskCategory(overallScore));
+        creditReport.setCreditLimitRecommendation(CreditReportScoring.adjustCreditLimit(
+                CreditReportScoring.baseCreditLimit(overallScore), business));
 
-        return Period.between(registrationDate, currentDate).getYears();
-    }
+        // Set business metrics
+        creditReport.setYearsInBusiness(CreditReportScoring.yearsInBusiness(business));
+        creditReport.setGstComplianceStatus(business.getGstinVerified());
+        creditReport.setPanVerificationStatus(business.getPanVerified());
 
-    private Integer generateMockTradeReferencesCount() {
-        // Mock trade references count (in real implementation, this would come from database)
-        return (int) (Math.random() * 20) + 5; // 5-25 references
-    }
+        // Set trade reference counts
+        creditReport.setTradeReferencesCount(features.getTradeReferencesCount());
+        creditReport.setPositiveReferencesCount(features.getPositiveTradeReferences());
+        creditReport.setNegativeReferencesCount(features.getNegativeTradeReferences());
 
-    private Integer generateMockPositiveReferencesCount(Integer totalReferences) {
-        // Mock positive references (70-95% positive)
-        double positivePercentage = 0.70 + (Math.random() * 0.25);
-        return (int) (totalReferences * positivePercentage);
+        logger.debug("Credit scores calculated - Overall: {}, Grade: {}, Risk: {}",
+                overallScore, creditReport.getCreditScoreGrade(), creditReport.getRiskCategory());
     }
 
-    private void generateReportContent(CreditReport creditReport, Business business) {
+    private void generateReportContent(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+
         // Generate summary
         creditReport.setSummary(generateSummary(creditReport, business));
 
@@ -384,10 +344,10 @@ public class CreditReportService {
         creditReport.setRecommendations(generateRecommendations(creditReport, business));
 
         // Generate risk factors
-        creditReport.setRiskFactors(generateRiskFactors(creditReport, business));
+        creditReport.setRiskFactors(generateRiskFactors(creditReport, features));
 
         // Generate positive indicators
-        creditReport.setPositiveIndicators(generatePositiveIndicators(creditReport, business));
+        creditReport.setPositiveIndicators(generatePositiveIndicators(creditReport, features));
     }
 
     private String generateSummary(CreditReport creditReport, Business business) {
@@ -432,7 +392,8 @@ public class CreditReportService {
         return recommendations.toString();
     }
 
-    private String generateRiskFactors(CreditReport creditReport, Business business) {
+    private String generateRiskFactors(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
         StringBuilder riskFactors = new StringBuilder();
 
         if (creditReport.getYearsInBusiness() < 2) {
@@ -456,6 +417,10 @@ public class CreditReportService {
                     creditReport.getNegativeReferencesCount()));
         }
 
+        if (features.getKycStatus() == KycStatus.REJECTED || features.getKycStatus() == KycStatus.EXPIRED) {
+            riskFactors.append(String.format("• KYC %s\n", features.getKycStatus().toString().toLowerCase()));
+        }
+
         if (riskFactors.length() == 0) {
             riskFactors.append("• No significant risk factors identified");
         }
@@ -463,7 +428,8 @@ public class CreditReportService {
         return riskFactors.toString();
     }
 
-    private String generatePositiveIndicators(CreditReport creditReport, Business business) {
+    private String generatePositiveIndicators(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
         StringBuilder positiveIndicators = new StringBuilder();
 
         if (Boolean.TRUE.equals(business.getGstinVerified())) {
@@ -474,6 +440,10 @@ public class CreditReportService {
             positiveIndicators.append("• PAN verified\n");
         }
 
+        if (features.getKycStatus() == KycStatus.COMPLETED) {
+            positiveIndicators.append("• KYC completed\n");
+        }
+
         if (creditReport.getYearsInBusiness() >= 5) {
             positiveIndicators.append("• Established business with proven track record\n");
         }
@@ -495,7 +465,7 @@ public class CreditReportService {
     }
 
     private String generateReportNumber() {
-        return "TCR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return documentNumberAllocator.next(DocumentNumberAllocator.Series.CREDIT_REPORT);
     }
 
     private String formatCurrency(BigDecimal amount) {
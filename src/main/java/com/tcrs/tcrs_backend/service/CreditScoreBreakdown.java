@@ -0,0 +1,65 @@
+package com.tcrs.tcrs_backend.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Result of scoring one business: the overall score together with the
+ * sub-scores it was built from.
+ */
+public class CreditScoreBreakdown {
+
+    private Long businessId;
+
+    private BigDecimal paymentHistoryScore;
+    private BigDecimal tradeReferenceScore;
+    private BigDecimal businessProfileScore;
+    private BigDecimal creditUtilizationScore;
+    private BigDecimal businessAgeScore;
+
+    private BigDecimal creditScore;
+    private String creditScoreGrade;
+    private String riskCategory;
+    private BigDecimal recommendedCreditLimit;
+
+    private int modelVersion;
+
+    public CreditScoreBreakdown() {}
+
+    public CreditScoreBreakdown(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    // Getters and Setters
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public BigDecimal getPaymentHistoryScore() { return paymentHistoryScore; }
+    public void setPaymentHistoryScore(BigDecimal paymentHistoryScore) { this.paymentHistoryScore = paymentHistoryScore; }
+
+    public BigDecimal getTradeReferenceScore() { return tradeReferenceScore; }
+    public void setTradeReferenceScore(BigDecimal tradeReferenceScore) { this.tradeReferenceScore = tradeReferenceScore; }
+
+    public BigDecimal getBusinessProfileScore() { return businessProfileScore; }
+    public void setBusinessProfileScore(BigDecimal businessProfileScore) { this.businessProfileScore = businessProfileScore; }
+
+    public BigDecimal getCreditUtilizationScore() { return creditUtilizationScore; }
+    public void setCreditUtilizationScore(BigDecimal creditUtilizationScore) { this.creditUtilizationScore = creditUtilizationScore; }
+
+    public BigDecimal getBusinessAgeScore() { return businessAgeScore; }
+    public void setBusinessAgeScore(BigDecimal businessAgeScore) { this.businessAgeScore = businessAgeScore; }
+
+    public BigDecimal getCreditScore() { return creditScore; }
+    public void setCreditScore(BigDecimal creditScore) { this.creditScore = creditScore; }
+
+    public String getCreditScoreGrade() { return creditScoreGrade; }
+    public void setCreditScoreGrade(String creditScoreGrade) { this.creditScoreGrade = creditScoreGrade; }
+
+    public String getRiskCategory() { return riskCategory; }
+    public void setRiskCategory(String riskCategory) { this.riskCategory = riskCategory; }
+
+    public BigDecimal getRecommendedCreditLimit() { return recommendedCreditLimit; }
+    public void setRecommendedCreditLimit(BigDecimal recommendedCreditLimit) { this.recommendedCreditLimit = recommendedCreditLimit; }
+
+    public int getModelVersion() { return modelVersion; }
+    public void setModelVersion(int modelVersion) { this.modelVersion = modelVersion; }
+}
@@ -0,0 +1,162 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.tcrs.tcrs_backend.repository.BusinessCreditScoreRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Per-business cache in front of the current credit score and the trade reference
+ * features behind the recommended credit limit. Entries are evicted when the
+ * business's credit data changes, and otherwise expire after a fixed time.
+ * Hit, miss and eviction counts are published as cache.* metrics.
+ *
+ * Evictions reach the other nodes over Postgres LISTEN/NOTIFY on {@value #CHANNEL},
+ * as with ValidReportIndex. While this node is not listening the cache is bypassed,
+ * and it is cleared before it is used again.
+ */
+@Component
+public class CreditScoreCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditScoreCache.class);
+
+    public static final String CHANNEL = "credit_score_cache";
+
+    // Business IDs per notification, well within the 8000 byte payload limit
+    private static final int MAX_PAYLOAD_LENGTH = 7000;
+
+    @Autowired
+    private BusinessCreditScoreRepository businessCreditScoreRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Notifications this node sent itself are ignored
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<Long, BigDecimal> creditScores;
+    private final Cache<Long, CreditScoreFeatures> creditLimitFeatures;
+
+    private PostgresChannelListener listener;
+
+    public CreditScoreCache(@Value("${app.credit-score.cache.max-size:10000}") long maxSize,
+                            @Value("${app.credit-score.cache.ttl-minutes:30}") long ttlMinutes,
+                            MeterRegistry meterRegistry) {
+        this.creditScores = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                        .recordStats()
+                        .<Long, BigDecimal>build(),
+                "creditScores");
+        this.creditLimitFeatures = CaffeineCacheMetrics.monitor(meterRegistry,
+                Caffeine.newBuilder()
+                        .maximumSize(maxSize)
+                        .expireAfterWrite(Duration.ofMinutes(ttlMinutes))
+                        .recordStats()
+                        .<Long, CreditScoreFeatures>build(),
+                "creditLimitFeatures");
+    }
+
+    @PostConstruct
+    public void startListening() {
+        // Evictions may have been missed while not listening
+        listener = new PostgresChannelListener(dataSource, CHANNEL, this::evictAll, this::handle);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        listener.stop();
+    }
+
+    // Exceptions from the loader propagate and nothing is cached
+    public BigDecimal getCreditScore(Long businessId, Function<Long, BigDecimal> loader) {
+        if (!listener.isListening()) {
+            return loader.apply(businessId);
+        }
+        return creditScores.get(businessId, loader);
+    }
+
+    public CreditScoreFeatures getCreditLimitFeatures(Long businessId, Function<Long, CreditScoreFeatures> loader) {
+        if (!listener.isListening()) {
+            return loader.apply(businessId);
+        }
+        return creditLimitFeatures.get(businessId, loader);
+    }
+
+    public void evict(Long businessId) {
+        evict(Collections.singletonList(businessId));
+    }
+
+    // Evicts here and notifies the other nodes, one notification per batch of IDs
+    public void evict(Collection<Long> businessIds) {
+        creditScores.invalidateAll(businessIds);
+        creditLimitFeatures.invalidateAll(businessIds);
+
+        StringBuilder ids = new StringBuilder();
+        for (Long businessId : businessIds) {
+            if (ids.length() > MAX_PAYLOAD_LENGTH) {
+                notifyEvicted(ids);
+                ids.setLength(0);
+            }
+            if (ids.length() > 0) {
+                ids.append(',');
+            }
+            ids.append(businessId);
+        }
+        if (ids.length() > 0) {
+            notifyEvicted(ids);
+        }
+    }
+
+    // Local only: every node evicts its own entries when it loads a new scoring model
+    public void evictAll() {
+        creditScores.invalidateAll();
+        creditLimitFeatures.invalidateAll();
+    }
+
+    // A failed notification leaves other nodes' entries to expire after ttl-minutes; the write itself stands
+    private void notifyEvicted(CharSequence ids) {
+        try {
+            businessCreditScoreRepository.notifyChannel(CHANNEL, nodeId + ":" + ids);
+        } catch (Exception e) {
+            logger.warn("Could not notify other nodes of credit score evictions: {}", e.getMessage());
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            List<Long> businessIds = new ArrayList<>();
+            for (String id : payload.substring(separator + 1).split(",")) {
+                businessIds.add(Long.valueOf(id));
+            }
+            creditScores.invalidateAll(businessIds);
+            creditLimitFeatures.invalidateAll(businessIds);
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed credit score eviction notification: {}", payload);
+        }
+    }
+}
@@ -0,0 +1,267 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+
+/**
+ * Compact per-business feature vector consumed by {@link CreditScoringService}.
+ *
+ * Every sub-score is derived from these counters and sums, so a score can be
+ * computed from one business row plus one aggregate row set per table instead
+ * of loading every PaymentHistory and TradeReference entity.
+ */
+public class CreditScoreFeatures {
+
+    private Long businessId;
+    private String businessName;
+
+    // Business profile features
+    private boolean gstinVerified;
+    private boolean panVerified;
+    private boolean completeProfile;
+    private BusinessType businessType;
+    private IndustryCategory industryCategory;
+    private LocalDate registrationDate;
+
+    // Payment history features
+    private int totalPayments;
+    private int onTimePayments;
+    private int latePayments;
+    private int veryLatePayments;
+    private int overduePayments;
+    private int defaultedPayments;
+    private BigDecimal totalPaymentAmount = BigDecimal.ZERO;
+
+    // Trade reference features
+    private int totalReferences;
+    private int verifiedReferences;
+    private int partiallyVerifiedReferences;
+    private int disputedReferences;
+    private int highValueReferences;
+    private final int[] paymentBehaviorCounts = new int[PaymentBehavior.values().length];
+    private final int[] recommendationLevelCounts = new int[RecommendationLevel.values().length];
+    // Money sums are kept in hundredths (paise) so the scoring kernel never touches BigDecimal
+    private long totalCreditLimitHundredths;
+    private int referencesWithCreditLimit;
+    private long totalBusinessValueHundredths;
+    private int referencesWithBusinessValue;
+
+    public CreditScoreFeatures() {}
+
+    public CreditScoreFeatures(Long businessId) {
+        this.businessId = businessId;
+    }
+
+    /**
+     * Independent copy, so what-if changes can be applied without touching the original.
+     */
+    public CreditScoreFeatures copy() {
+        CreditScoreFeatures copy = new CreditScoreFeatures(businessId);
+        copy.businessName = businessName;
+        copy.gstinVerified = gstinVerified;
+        copy.panVerified = panVerified;
+        copy.completeProfile = completeProfile;
+        copy.businessType = businessType;
+        copy.industryCategory = industryCategory;
+        copy.registrationDate = registrationDate;
+        copy.totalPayments = totalPayments;
+        copy.onTimePayments = onTimePayments;
+        copy.latePayments = latePayments;
+        copy.veryLatePayments = veryLatePayments;
+        copy.overduePayments = overduePayments;
+        copy.defaultedPayments = defaultedPayments;
+        copy.totalPaymentAmount = totalPaymentAmount;
+        copy.totalReferences = totalReferences;
+        copy.verifiedReferences = verifiedReferences;
+        copy.partiallyVerifiedReferences = partiallyVerifiedReferences;
+        copy.disputedReferences = disputedReferences;
+        copy.highValueReferences = highValueReferences;
+        System.arraycopy(paymentBehaviorCounts, 0, copy.paymentBehaviorCounts, 0, paymentBehaviorCounts.length);
+        System.arraycopy(recommendationLevelCounts, 0, copy.recommendationLevelCounts, 0, recommendationLevelCounts.length);
+        copy.totalCreditLimitHundredths = totalCreditLimitHundredths;
+        copy.referencesWithCreditLimit = referencesWithCreditLimit;
+        copy.totalBusinessValueHundredths = totalBusinessValueHundredths;
+        copy.referencesWithBusinessValue = referencesWithBusinessValue;
+        return copy;
+    }
+
+    public void applyBusiness(Business business) {
+        this.businessId = business.getId();
+        this.businessName = business.getBusinessName();
+        this.gstinVerified = Boolean.TRUE.equals(business.getGstinVerified());
+        this.panVerified = Boolean.TRUE.equals(business.getPanVerified());
+        this.businessType = business.getBusinessType();
+        this.industryCategory = business.getIndustryCategory();
+        this.registrationDate = business.getRegistrationDate();
+        this.completeProfile = business.getBusinessName() != null &&
+                business.getGstin() != null &&
+                business.getPan() != null &&
+                business.getAddress() != null &&
+                business.getPhoneNumber() != null &&
+                business.getEmail() != null;
+    }
+
+    /**
+     * Applies one row of the payment aggregate query starting at {@code offset}:
+     * total, on-time, late, very late, overdue, defaulted, amount.
+     */
+    public void applyPaymentAggregate(Object[] row, int offset) {
+        this.totalPayments = toInt(row[offset]);
+        this.onTimePayments = toInt(row[offset + 1]);
+        this.latePayments = toInt(row[offset + 2]);
+        this.veryLatePayments = toInt(row[offset + 3]);
+        this.overduePayments = toInt(row[offset + 4]);
+        this.defaultedPayments = toInt(row[offset + 5]);
+        this.totalPaymentAmount = toBigDecimal(row[offset + 6]);
+    }
+
+    public void applyPaymentCounters(BusinessPaymentCounters counters) {
+        this.totalPayments = counters.getTotalPayments().intValue();
+        this.onTimePayments = counters.getOnTimePayments().intValue();
+        this.latePayments = counters.getLatePayments().intValue();
+        this.veryLatePayments = counters.getVeryLatePayments().intValue();
+        this.overduePayments = counters.getOverduePayments().intValue();
+        this.defaultedPayments = counters.getDefaultedPayments().intValue();
+        this.totalPaymentAmount = counters.getTotalAmount();
+    }
+
+    /**
+     * Adds one group of the trade reference aggregate query starting at {@code offset}:
+     * verification status, payment behavior, recommendation level, count, disputed count,
+     * high value count, credit limit sum, credit limit count, business value sum, business value count.
+     */
+    public void addTradeReferenceGroup(Object[] row, int offset) {
+        ReferenceVerificationStatus verificationStatus = (ReferenceVerificationStatus) row[offset];
+        PaymentBehavior paymentBehavior = (PaymentBehavior) row[offset + 1];
+        RecommendationLevel recommendationLevel = (RecommendationLevel) row[offset + 2];
+        int count = toInt(row[offset + 3]);
+
+        this.totalReferences += count;
+        if (verificationStatus == ReferenceVerificationStatus.VERIFIED) {
+            this.verifiedReferences += count;
+        } else if (verificationStatus == ReferenceVerificationStatus.PARTIALLY_VERIFIED) {
+            this.partiallyVerifiedReferences += count;
+        }
+        if (paymentBehavior != null) {
+            this.paymentBehaviorCounts[paymentBehavior.ordinal()] += count;
+        }
+        if (recommendationLevel != null) {
+            this.recommendationLevelCounts[recommendationLevel.ordinal()] += count;
+        }
+
+        this.disputedReferences += toInt(row[offset + 4]);
+        this.highValueReferences += toInt(row[offset + 5]);
+        this.totalCreditLimitHundredths += toHundredths(row[offset + 6]);
+        this.referencesWithCreditLimit += toInt(row[offset + 7]);
+        this.totalBusinessValueHundredths += toHundredths(row[offset + 8]);
+        this.referencesWithBusinessValue += toInt(row[offset + 9]);
+    }
+
+    private static int toInt(Object value) {
+        return value != null ? ((Number) value).intValue() : 0;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    private static long toHundredths(Object value) {
+        return toHundredths(toBigDecimal(value));
+    }
+
+    private static long toHundredths(BigDecimal value) {
+        return value != null ? value.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact() : 0L;
+    }
+
+    // Getters and Setters
+    public Long getBusinessId() { return businessId; }
+    public void setBusinessId(Long businessId) { this.businessId = businessId; }
+
+    public String getBusinessName() { return businessName; }
+    public void setBusinessName(String businessName) { this.businessName = businessName; }
+
+    public boolean isGstinVerified() { return gstinVerified; }
+    public void setGstinVerified(boolean gstinVerified) { this.gstinVerified = gstinVerified; }
+
+    public boolean isPanVerified() { return panVerified; }
+    public void setPanVerified(boolean panVerified) { this.panVerified = panVerified; }
+
+    public boolean isCompleteProfile() { return completeProfile; }
+    public void setCompleteProfile(boolean completeProfile) { this.completeProfile = completeProfile; }
+
+    public BusinessType getBusinessType() { return businessType; }
+    public void setBusinessType(BusinessType businessType) { this.businessType = businessType; }
+
+    public IndustryCategory getIndustryCategory() { return industryCategory; }
+    public void setIndustryCategory(IndustryCategory industryCategory) { this.industryCategory = industryCategory; }
+
+    public LocalDate getRegistrationDate() { return registrationDate; }
+    public void setRegistrationDate(LocalDate registrationDate) { this.registrationDate = registrationDate; }
+
+    public int getTotalPayments() { return totalPayments; }
+    public void setTotalPayments(int totalPayments) { this.totalPayments = totalPayments; }
+
+    public int getOnTimePayments() { return onTimePayments; }
+    public void setOnTimePayments(int onTimePayments) { this.onTimePayments = onTimePayments; }
+
+    public int getLatePayments() { return latePayments; }
+    public void setLatePayments(int latePayments) { this.latePayments = latePayments; }
+
+    public int getVeryLatePayments() { return veryLatePayments; }
+    public void setVeryLatePayments(int veryLatePayments) { this.veryLatePayments = veryLatePayments; }
+
+    public int getOverduePayments() { return overduePayments; }
+    public void setOverduePayments(int overduePayments) { this.overduePayments = overduePayments; }
+
+    public int getDefaultedPayments() { return defaultedPayments; }
+    public void setDefaultedPayments(int defaultedPayments) { this.defaultedPayments = defaultedPayments; }
+
+    public BigDecimal getTotalPaymentAmount() { return totalPaymentAmount; }
+    public void setTotalPaymentAmount(BigDecimal totalPaymentAmount) { this.totalPaymentAmount = totalPaymentAmount; }
+
+    public int getTotalReferences() { return totalReferences; }
+    public void setTotalReferences(int totalReferences) { this.totalReferences = totalReferences; }
+
+    public int getVerifiedReferences() { return verifiedReferences; }
+    public void setVerifiedReferences(int verifiedReferences) { this.verifiedReferences = verifiedReferences; }
+
+    public int getPartiallyVerifiedReferences() { return partiallyVerifiedReferences; }
+    public void setPartiallyVerifiedReferences(int partiallyVerifiedReferences) { this.partiallyVerifiedReferences = partiallyVerifiedReferences; }
+
+    public int getDisputedReferences() { return disputedReferences; }
+    public void setDisputedReferences(int disputedReferences) { this.disputedReferences = disputedReferences; }
+
+    public int getHighValueReferences() { return highValueReferences; }
+    public void setHighValueReferences(int highValueReferences) { this.highValueReferences = highValueReferences; }
+
+    public int getPaymentBehaviorCount(PaymentBehavior paymentBehavior) { return paymentBehaviorCounts[paymentBehavior.ordinal()]; }
+    public void setPaymentBehaviorCount(PaymentBehavior paymentBehavior, int count) { paymentBehaviorCounts[paymentBehavior.ordinal()] = count; }
+
+    public int getRecommendationLevelCount(RecommendationLevel level) { return recommendationLevelCounts[level.ordinal()]; }
+    public void setRecommendationLevelCount(RecommendationLevel level, int count) { recommendationLevelCounts[level.ordinal()] = count; }
+
+    public BigDecimal getTotalCreditLimit() { return BigDecimal.valueOf(totalCreditLimitHundredths, 2); }
+    public void setTotalCreditLimit(BigDecimal totalCreditLimit) { this.totalCreditLimitHundredths = toHundredths(totalCreditLimit); }
+
+    public long getTotalCreditLimitHundredths() { return totalCreditLimitHundredths; }
+
+    public int getReferencesWithCreditLimit() { return referencesWithCreditLimit; }
+    public void setReferencesWithCreditLimit(int referencesWithCreditLimit) { this.referencesWithCreditLimit = referencesWithCreditLimit; }
+
+    public BigDecimal getTotalBusinessValue() { return BigDecimal.valueOf(totalBusinessValueHundredths, 2); }
+    public void setTotalBusinessValue(BigDecimal totalBusinessValue) { this.totalBusinessValueHundredths = toHundredths(totalBusinessValue); }
+
+    public long getTotalBusinessValueHundredths() { return totalBusinessValueHundredths; }
+
+    public int getReferencesWithBusinessValue() { return referencesWithBusinessValue; }
+    public void setReferencesWithBusinessValue(int referencesWithBusinessValue) { this.referencesWithBusinessValue = referencesWithBusinessValue; }
+}
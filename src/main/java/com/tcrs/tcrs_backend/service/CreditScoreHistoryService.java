@@ -0,0 +1,126 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.credit.CreditScoreHistoryPoint;
+import com.tcrs.tcrs_backend.entity.CreditScoreHistory;
+import com.tcrs.tcrs_backend.entity.CreditScoreSource;
+import com.tcrs.tcrs_backend.entity.SnapShotType;
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.repository.CreditScoreHistoryRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Append-only history of computed scores, with range queries downsampled to
+ * day, week, month, quarter or year buckets.
+ */
+@Service
+@Transactional
+public class CreditScoreHistoryService {
+
+    // Sources on the 300-900 business credit score scale; report scores use their own scale
+    public static final Set<CreditScoreSource> CREDIT_SCORE_SOURCES = EnumSet.of(
+            CreditScoreSource.DATA_CHANGE, CreditScoreSource.RESCORE, CreditScoreSource.MONITORING);
+
+    private static final Set<String> CREDIT_SCORE_SOURCE_NAMES = CREDIT_SCORE_SOURCES.stream()
+            .map(Enum::name)
+            .collect(Collectors.toSet());
+
+    @Autowired
+    private CreditScoreHistoryRepository creditScoreHistoryRepository;
+
+    public void record(Long businessId, BigDecimal creditScore, CreditScoreSource source) {
+        creditScoreHistoryRepository.save(new CreditScoreHistory(businessId, creditScore, source, LocalDateTime.now()));
+    }
+
+    public void recordAll(Collection<CreditScoreBreakdown> breakdowns, CreditScoreSource source) {
+        LocalDateTime now = LocalDateTime.now();
+        List<CreditScoreHistory> entries = new ArrayList<>(breakdowns.size());
+        for (CreditScoreBreakdown breakdown : breakdowns) {
+            entries.add(new CreditScoreHistory(breakdown.getBusinessId(), breakdown.getCreditScore(), source, now));
+        }
+        creditScoreHistoryRepository.saveAll(entries);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<BigDecimal> getLatestCreditScore(Long businessId) {
+        return creditScoreHistoryRepository
+                .findFirstByBusinessIdAndSourceInOrderByRecordedAtDesc(businessId, CREDIT_SCORE_SOURCES)
+                .map(CreditScoreHistory::getCreditScore);
+    }
+
+    @Transactional(readOnly = true)
+    public List<CreditScoreHistoryPoint> getCreditScoreHistory(Long businessId, SnapShotType granularity,
+                                                               LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Object[]> rows = creditScoreHistoryRepository.downsampleByBusinessId(businessId,
+                CREDIT_SCORE_SOURCE_NAMES, truncationUnit(granularity), from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        List<CreditScoreHistoryPoint> points = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            points.add(new CreditScoreHistoryPoint(toLocalDate(row[0]), toScore(row[1]), toScore(row[2]),
+                    toScore(row[3]), toScore(row[4]), ((Number) row[5]).longValue()));
+        }
+        return points;
+    }
+
+    @Transactional(readOnly = true)
+    public List<CreditScoreHistoryPoint> getPortfolioCreditScoreTrend(SnapShotType granularity,
+                                                                      LocalDate from, LocalDate to) {
+        validateRange(from, to);
+        List<Object[]> rows = creditScoreHistoryRepository.downsampleAllBusinesses(
+                CREDIT_SCORE_SOURCE_NAMES, truncationUnit(granularity), from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+
+        List<CreditScoreHistoryPoint> points = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            points.add(new CreditScoreHistoryPoint(toLocalDate(row[0]), toScore(row[1]), toScore(row[2]),
+                    toScore(row[3]), null, ((Number) row[4]).longValue()));
+        }
+        return points;
+    }
+
+    private void validateRange(LocalDate from, LocalDate to) {
+        if (from == null || to == null || from.isAfter(to)) {
+            throw new BadRequestException("Invalid date range: from must not be after to");
+        }
+    }
+
+    // PostgreSQL date_trunc field names
+    private String truncationUnit(SnapShotType granularity) {
+        return switch (granularity) {
+            case DAILY -> "day";
+            case WEEKLY -> "week";
+            case MONTHLY -> "month";
+            case QUARTERLY -> "quarter";
+            case YEARLY -> "year";
+        };
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Timestamp) {
+            return ((Timestamp) value).toLocalDateTime().toLocalDate();
+        }
+        return ((LocalDateTime) value).toLocalDate();
+    }
+
+    private static BigDecimal toScore(Object value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal score = value instanceof BigDecimal ? (BigDecimal) value : new BigDecimal(value.toString());
+        return score.setScale(2, RoundingMode.HALF_UP);
+    }
+}
@@ -0,0 +1,34 @@
+package com.tcrs.tcrs_backend.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the materialized business credit score in step with writes. Runs after the
+ * writing transaction commits so the rescore sees the new rows and a scoring
+ * failure can never roll back the original change. Cached scores for the business
+ * are dropped afterwards either way.
+ */
+@Component
+public class CreditScoreRefreshListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(CreditScoreRefreshListener.class);
+
+    @Autowired
+    private CreditScoringService creditScoringService;
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    public void onCreditDataChanged(CreditDataChangedEvent event) {
+        try {
+            creditScoringService.refreshCreditScore(event.getBusinessId());
+        } catch (Exception e) {
+            logger.warn("Could not refresh credit score for business {}: {}", event.getBusinessId(), e.getMessage());
+        } finally {
+            creditScoringService.evictCachedScores(event.getBusinessId());
+        }
+    }
+}
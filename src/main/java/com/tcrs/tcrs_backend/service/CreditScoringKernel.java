@@ -0,0 +1,51 @@
+package com.tcrs.tcrs_backend.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Primitive arithmetic shared by {@link ScoringModel} implementations.
+ *
+ * Sub-scores are fixed-point longs in hundredths, the overall score is an int in
+ * tenths and credit limits are whole rupees. Every division rounds half away from
+ * zero so the results match the BigDecimal HALF_UP arithmetic they replace.
+ * BigDecimal only appears in the conversion helpers used at the service boundary.
+ */
+public final class CreditScoringKernel {
+
+    private CreditScoringKernel() {}
+
+    /**
+     * Integer division rounding half away from zero, matching RoundingMode.HALF_UP.
+     * The denominator must be positive.
+     */
+    public static long divideHalfUp(long numerator, long denominator) {
+        long quotient = numerator / denominator;
+        long remainder = numerator % denominator;
+        if (Math.abs(remainder) * 2 >= denominator) {
+            quotient += Long.signum(numerator);
+        }
+        return quotient;
+    }
+
+    public static long clamp(long value, long min, long max) {
+        return Math.max(min, Math.min(max, value));
+    }
+
+    // Conversions used at the BigDecimal API boundary
+
+    public static BigDecimal fromTenths(int tenths) {
+        return BigDecimal.valueOf(tenths, 1);
+    }
+
+    public static BigDecimal fromHundredths(long hundredths) {
+        return BigDecimal.valueOf(hundredths, 2);
+    }
+
+    /**
+     * Score in tenths rounded down, so ">= threshold" checks agree with the exact value.
+     */
+    public static int toTenths(BigDecimal score) {
+        return score.movePointRight(1).setScale(0, RoundingMode.FLOOR).intValue();
+    }
+}
@@ -0,0 +1,85 @@
+package com.tcrs.tcrs_backend.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads RFC 4180 CSV one record at a time, so a body of any size is never held in memory.
+ * Fields may be quoted, with doubled quotes standing for a quote and line breaks kept inside
+ * quotes. Blank lines are skipped; an unterminated quote ends at the end of input.
+ */
+final class CsvRecordReader {
+
+    private static final int NONE = -2;
+
+    private final Reader reader;
+    private int pushedBack = NONE;
+
+    // Reads a character at a time, so the reader should be buffered
+    CsvRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // The next record's fields, or null at the end of input
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean empty = true;
+        int c;
+
+        while ((c = read()) != -1) {
+            if (quoted) {
+                if (c != '"') {
+                    field.append((char) c);
+                } else {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        pushedBack = next;
+                    }
+                }
+            } else if (c == '"') {
+                quoted = true;
+                empty = false;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                empty = false;
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        pushedBack = next;
+                    }
+                }
+                if (!empty) {
+                    fields.add(field.toString());
+                    return fields;
+                }
+            } else {
+                field.append((char) c);
+                empty = false;
+            }
+        }
+
+        if (empty) {
+            return null;
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != NONE) {
+            int c = pushedBack;
+            pushedBack = NONE;
+            return c;
+        }
+        return reader.read();
+    }
+}
@@ -0,0 +1,90 @@
+package com.tcrs.tcrs_backend.service;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Issues human-readable document numbers (TCR-0000012345) that never collide, without a
+ * database round trip per number. Each node reserves a block of numbers at a time by taking
+ * the next "hi" value from a Postgres sequence and hands out the "lo" part from memory.
+ * Sequence values are never returned twice, even when the reserving transaction rolls back,
+ * so blocks never overlap across nodes; numbers left in a block at shutdown are skipped.
+ */
+@Service
+public class DocumentNumberAllocator {
+
+    private static final Logger logger = LoggerFactory.getLogger(DocumentNumberAllocator.class);
+
+    // Part of the numbering scheme: changing it would overlap blocks already issued
+    private static final long BLOCK_SIZE = 100;
+
+    // Ten digits keep these apart from the eight-character UUID prefixes issued before
+    private static final String NUMBER_FORMAT = "%s-%010d";
+
+    public enum Series {
+        CREDIT_REPORT("TCR", "credit_report_number_seq"),
+        CREDIT_ALERT("ALT", "credit_alert_number_seq"),
+        TRADE_REFERENCE("REF", "trade_reference_number_seq");
+
+        private final String prefix;
+        private final String sequence;
+
+        Series(String prefix, String sequence) {
+            this.prefix = prefix;
+            this.sequence = sequence;
+        }
+    }
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final Map<Series, NumberBlock> blocks = new EnumMap<>(Series.class);
+
+    public DocumentNumberAllocator() {
+        for (Series series : Series.values()) {
+            blocks.put(series, new NumberBlock());
+        }
+    }
+
+    @PostConstruct
+    public void createSequences() {
+        for (Series series : Series.values()) {
+            jdbcTemplate.execute("CREATE SEQUENCE IF NOT EXISTS " + series.sequence);
+        }
+    }
+
+    public String next(Series series) {
+        NumberBlock block = blocks.get(series);
+        long number;
+
+        synchronized (block) {
+            if (block.next == block.end) {
+                long hi = reserveBlock(series);
+                block.next = hi * BLOCK_SIZE;
+                block.end = block.next + BLOCK_SIZE;
+            }
+            number = block.next++;
+        }
+
+        return String.format(NUMBER_FORMAT, series.prefix, number);
+    }
+
+    // Runs on the caller's transactional connection when there is one
+    private long reserveBlock(Series series) {
+        Long hi = jdbcTemplate.queryForObject("SELECT nextval(CAST(? AS regclass))", Long.class, series.sequence);
+        logger.debug("Reserved {} number block {}", series.prefix, hi);
+        return hi;
+    }
+
+    private static final class NumberBlock {
+        private long next;
+        private long end;
+    }
+}
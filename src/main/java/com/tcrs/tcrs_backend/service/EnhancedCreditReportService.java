@@ -8,7 +8,6 @@ import com.tcrs.tcrs_backend.exception.BadRequestException;
 import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
 import com.tcrs.tcrs_backend.repository.BusinessRepository;
 import com.tcrs.tcrs_backend.repository.CreditReportRepository;
-import com.tcrs.tcrs_backend.repository.PaymentHistoryRepository;
 import com.tcrs.tcrs_backend.repository.UserRepository;
 import com.tcrs.tcrs_backend.security.UserPrincipal;
 import org.slf4j.Logger;
@@ -24,12 +23,9 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.time.Period;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -39,6 +35,10 @@ public class EnhancedCreditReportService {
     private static final Logger logger = LoggerFactory.getLogger(EnhancedCreditReportService.class);
     private static final int REPORT_VALIDITY_DAYS = 30;
 
+    private static final BigDecimal ONE_CRORE = new BigDecimal("10000000");
+    private static final BigDecimal TEN_LAKH = new BigDecimal("1000000");
+    private static final BigDecimal FIVE_LAKH = new BigDecimal("500000");
+
     @Autowired
     private CreditReportRepository creditReportRepository;
 
@@ -49,10 +49,16 @@ public class EnhancedCreditReportService {
     private UserRepository userRepository;
 
     @Autowired
-    private PaymentHistoryRepository paymentHistoryRepository;
+    private CreditScoreHistoryService creditScoreHistoryService;
+
+    @Autowired
+    private ValidReportIndex validReportIndex;
+
+    @Autowired
+    private ReportFeatureService reportFeatureService;
 
     @Autowired
-    private PaymentHistoryService paymentHistoryService;
+    private DocumentNumberAllocator documentNumberAllocator;
 
     public CreditReportResponse generateEnhancedCreditReport(CreditReportRequest request) {
         logger.info("Generating enhanced credit report for business ID: {}", request.getBusinessId());
@@ -73,21 +79,22 @@ public class EnhancedCreditReportService {
         }
 
         // Check if valid report already exists
-        Optional<CreditReport> existingReport = creditReportRepository.findValidReportByBusiness(
-                business, ReportStatus.GENERATED, LocalDateTime.now());
+        Optional<CreditReport> existingReport = validReportIndex.findValidReport(business);
+
+        if (existingReport.isEmpty()) {
+            // Wait out a generation for this business in flight on another node, then use its report
+            creditReportRepository.lockReportGeneration(business.getId());
+            existingReport = creditReportRepository.findValidReportByBusiness(
+                    business, ReportStatus.GENERATED, LocalDateTime.now());
+        }
 
         if (existingReport.isPresent()) {
             logger.info("Valid report already exists for business: {}", business.getBusinessName());
             return convertToResponse(existingReport.get());
         }
 
-        // Get payment analytics for enhanced scoring
-        PaymentAnalyticsResponse paymentAnalytics = null;
-        try {
-            paymentAnalytics = paymentHistoryService.getPaymentAnalytics(business.getId());
-        } catch (Exception e) {
-            logger.warn("Could not retrieve payment analytics for business {}: {}", business.getId(), e.getMessage());
-        }
+        // Load payment, trade reference and KYC inputs for enhanced scoring
+        ReportFeatures features = reportFeatureService.load(business);
 
         // Generate new enhanced credit report
         CreditReport creditReport = new CreditReport();
@@ -98,51 +105,55 @@ public class EnhancedCreditReportService {
         creditReport.setReportValidUntil(LocalDateTime.now().plusDays(REPORT_VALIDITY_DAYS));
 
         // Calculate enhanced credit scores with payment history
-        calculateEnhancedCreditScores(creditReport, business, paymentAnalytics);
+        calculateEnhancedCreditScores(creditReport, features);
 
         // Generate enhanced report content
-        generateEnhancedReportContent(creditReport, business, paymentAnalytics);
+        generateEnhancedReportContent(creditReport, features);
 
         // Save credit report
         CreditReport savedReport = creditReportRepository.save(creditReport);
+        validReportIndex.reportSaved(savedReport);
+        creditScoreHistoryService.record(business.getId(), savedReport.getCreditScore(), CreditScoreSource.CREDIT_REPORT);
 
         logger.info("Enhanced credit report generated successfully with number: {}", savedReport.getReportNumber());
 
         return convertToResponse(savedReport);
     }
 
-    private void calculateEnhancedCreditScores(CreditReport creditReport, Business business,
-                                               PaymentAnalyticsResponse paymentAnalytics) {
+    private void calculateEnhancedCreditScores(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+        PaymentAnalyticsResponse paymentAnalytics = features.getPaymentSummary();
         logger.debug("Calculating enhanced credit scores for business: {}", business.getBusinessName());
 
-        // Calculate component scores with payment history integration
-        BigDecimal complianceScore = calculateEnhancedComplianceScore(business);
-        BigDecimal businessStabilityScore = calculateEnhancedBusinessStabilityScore(business);
-        BigDecimal financialStrengthScore = calculateEnhancedFinancialStrengthScore(business, paymentAnalytics);
-        BigDecimal paymentBehaviorScore = calculateEnhancedPaymentBehaviorScore(business, paymentAnalytics);
+        // Calculate component scores with payment history integration (fixed-point hundredths)
+        long complianceScore = CreditReportScoring.complianceScore(business);
+        long businessStabilityScore = CreditReportScoring.businessStabilityScore(business);
+        long financialStrengthScore = calculateEnhancedFinancialStrengthScore(business, paymentAnalytics);
+        long paymentBehaviorScore = calculateEnhancedPaymentBehaviorScore(business, paymentAnalytics);
 
         // Set component scores
-        creditReport.setComplianceScore(complianceScore);
-        creditReport.setBusinessStabilityScore(businessStabilityScore);
-        creditReport.setFinancialStrengthScore(financialStrengthScore);
-        creditReport.setPaymentBehaviorScore(paymentBehaviorScore);
+        creditReport.setComplianceScore(BigDecimal.valueOf(complianceScore, 2));
+        creditReport.setBusinessStabilityScore(BigDecimal.valueOf(businessStabilityScore, 2));
+        creditReport.setFinancialStrengthScore(BigDecimal.valueOf(financialStrengthScore, 2));
+        creditReport.setPaymentBehaviorScore(BigDecimal.valueOf(paymentBehaviorScore, 2));
 
         // Calculate overall credit score with enhanced weighting
-        BigDecimal overallScore = calculateEnhancedOverallCreditScore(
-                complianceScore, businessStabilityScore, financialStrengthScore, paymentBehaviorScore);
+        // (20% compliance, 20% stability, 25% financial, 35% payment)
+        BigDecimal overallScore = BigDecimal.valueOf(CreditReportScoring.weightedScore(
+                complianceScore, 20, businessStabilityScore, 20, financialStrengthScore, 25, paymentBehaviorScore, 35), 2);
 
         creditReport.setCreditScore(overallScore);
-        creditReport.setCreditScoreGrade(determineCreditGrade(overallScore));
-        creditReport.setRiskCategory(determineRiskCategory(overallScore));
+        creditReport.setCreditScoreGrade(CreditReportScoring.creditGrade(overallScore));
+        creditReport.setRiskCategory(CreditReportScoring.riskCategory(overallScore));
         creditReport.setCreditLimitRecommendation(calculateEnhancedCreditLimitRecommendation(overallScore, business, paymentAnalytics));
 
         // Set enhanced business metrics
-        creditReport.setYearsInBusiness(calculateYearsInBusiness(business));
+        creditReport.setYearsInBusiness(CreditReportScoring.yearsInBusiness(business));
         creditReport.setGstComplianceStatus(business.getGstinVerified());
         creditReport.setPanVerificationStatus(business.getPanVerified());
 
-        // Set payment-based trade reference counts
-        if (paymentAnalytics != null) {
+        // Set payment-based trade reference counts, falling back to recorded trade references
+        if (features.hasPaymentHistory()) {
             creditReport.setTradeReferencesCount(paymentAnalytics.getTotalTransactions());
 
             // Calculate positive/negative based on payment performance
@@ -150,55 +161,47 @@ public class EnhancedCreditReportService {
             creditReport.setPositiveReferencesCount(positiveReferences);
             creditReport.setNegativeReferencesCount(paymentAnalytics.getTotalTransactions() - positiveReferences);
         } else {
-            // Fallback to mock data if no payment history
-            creditReport.setTradeReferencesCount(generateMockTradeReferencesCount());
-            creditReport.setPositiveReferencesCount(generateMockPositiveReferencesCount(creditReport.getTradeReferencesCount()));
-            creditReport.setNegativeReferencesCount(creditReport.getTradeReferencesCount() - creditReport.getPositiveReferencesCount());
+            creditReport.setTradeReferencesCount(features.getTradeReferencesCount());
+            creditReport.setPositiveReferencesCount(features.getPositiveTradeReferences());
+            creditReport.setNegativeReferencesCount(features.getNegativeTradeReferences());
         }
 
         logger.debug("Enhanced credit scores calculated - Overall: {}, Grade: {}, Risk: {}",
                 overallScore, creditReport.getCreditScoreGrade(), creditReport.getRiskCategory());
     }
 
-    private BigDecimal calculateEnhancedPaymentBehaviorScore(Business business, PaymentAnalyticsResponse paymentAnalytics) {
+    private long calculateEnhancedPaymentBehaviorScore(Business business, PaymentAnalyticsResponse paymentAnalytics) {
         if (paymentAnalytics == null || paymentAnalytics.getTotalTransactions() == null || paymentAnalytics.getTotalTransactions() == 0) {
             // Fallback to basic scoring if no payment history
-            return calculateBasicPaymentBehaviorScore(business);
+            return CreditReportScoring.basicPaymentBehaviorScore(business);
         }
 
-        BigDecimal score = BigDecimal.ZERO;
+        // Accumulated in ten-thousandths (hundredths of a point times weights in hundredths)
+        long score = 0;
 
         // On-time payment percentage (40% weight)
         if (paymentAnalytics.getOnTimePaymentPercentage() != null) {
-            BigDecimal onTimeScore = BigDecimal.valueOf(paymentAnalytics.getOnTimePaymentPercentage())
-                    .multiply(new BigDecimal("0.4"));
-            score = score.add(onTimeScore);
+            score += toHundredths(paymentAnalytics.getOnTimePaymentPercentage()) * 40;
         }
 
         // Payment speed score (25% weight)
         if (paymentAnalytics.getPaymentSpeedScore() != null) {
-            BigDecimal speedScore = BigDecimal.valueOf(paymentAnalytics.getPaymentSpeedScore())
-                    .multiply(new BigDecimal("0.25"));
-            score = score.add(speedScore);
+            score += toHundredths(paymentAnalytics.getPaymentSpeedScore()) * 25;
         }
 
         // Dispute frequency score (20% weight)
         if (paymentAnalytics.getDisputeFrequencyScore() != null) {
-            BigDecimal disputeScore = BigDecimal.valueOf(paymentAnalytics.getDisputeFrequencyScore())
-                    .multiply(new BigDecimal("0.20"));
-            score = score.add(disputeScore);
+            score += toHundredths(paymentAnalytics.getDisputeFrequencyScore()) * 20;
         }
 
         // Transaction volume bonus (15% weight)
-        BigDecimal volumeScore = calculateVolumeScore(paymentAnalytics.getTotalTransactions())
-                .multiply(new BigDecimal("0.15"));
-        score = score.add(volumeScore);
+        score += calculateVolumeScore(paymentAnalytics.getTotalTransactions()) * 100L * 15;
 
-        return score.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
+        return CreditScoringKernel.divideHalfUp(Math.min(score, CreditReportScoring.MAX_COMPONENT_SCORE * 100), 100);
     }
 
-    private BigDecimal calculateEnhancedFinancialStrengthScore(Business business, PaymentAnalyticsResponse paymentAnalytics) {
-        BigDecimal baseScore = calculateBasicFinancialStrengthScore(business);
+    private long calculateEnhancedFinancialStrengthScore(Business business, PaymentAnalyticsResponse paymentAnalytics) {
+        long baseScore = CreditReportScoring.financialStrengthScore(business);
 
         if (paymentAnalytics == null) {
             return baseScore;
@@ -208,63 +211,38 @@ public class EnhancedCreditReportService {
         if (paymentAnalytics.getTotalTransactionValue() != null) {
             BigDecimal transactionValue = paymentAnalytics.getTotalTransactionValue();
 
-            if (transactionValue.compareTo(new BigDecimal("10000000")) >= 0) { // >= 1 Crore
-                baseScore = baseScore.add(new BigDecimal("15"));
-            } else if (transactionValue.compareTo(new BigDecimal("1000000")) >= 0) { // >= 10 Lakh
-                baseScore = baseScore.add(new BigDecimal("10"));
-            } else if (transactionValue.compareTo(new BigDecimal("500000")) >= 0) { // >= 5 Lakh
-                baseScore = baseScore.add(new BigDecimal("5"));
+            if (transactionValue.compareTo(ONE_CRORE) >= 0) { // >= 1 Crore
+                baseScore += 1500;
+            } else if (transactionValue.compareTo(TEN_LAKH) >= 0) { // >= 10 Lakh
+                baseScore += 1000;
+            } else if (transactionValue.compareTo(FIVE_LAKH) >= 0) { // >= 5 Lakh
+                baseScore += 500;
             }
         }
 
         // Payment consistency adjustment
         if (paymentAnalytics.getOverallPaymentScore() != null) {
-            BigDecimal paymentScore = BigDecimal.valueOf(paymentAnalytics.getOverallPaymentScore());
-
-            if (paymentScore.compareTo(new BigDecimal("80")) >= 0) {
-                baseScore = baseScore.add(new BigDecimal("10"));
-            } else if (paymentScore.compareTo(new BigDecimal("60")) >= 0) {
-                baseScore = baseScore.add(new BigDecimal("5"));
-            } else if (paymentScore.compareTo(new BigDecimal("40")) < 0) {
-                baseScore = baseScore.subtract(new BigDecimal("10"));
+            double paymentScore = paymentAnalytics.getOverallPaymentScore();
+
+            if (paymentScore >= 80) {
+                baseScore += 1000;
+            } else if (paymentScore >= 60) {
+                baseScore += 500;
+            } else if (paymentScore < 40) {
+                baseScore -= 1000;
             }
         }
 
-        return baseScore.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateEnhancedComplianceScore(Business business) {
-        // Same as basic compliance score for now
-        return calculateBasicComplianceScore(business);
-    }
-
-    private BigDecimal calculateEnhancedBusinessStabilityScore(Business business) {
-        // Same as basic stability score for now
-        return calculateBasicBusinessStabilityScore(business);
-    }
-
-    private BigDecimal calculateEnhancedOverallCreditScore(BigDecimal compliance, BigDecimal stability,
-                                                           BigDecimal financial, BigDecimal payment) {
-        // Enhanced weighted average with more emphasis on payment behavior
-        BigDecimal weightedScore = compliance.multiply(new BigDecimal("0.20"))      // 20% weight (reduced)
-                .add(stability.multiply(new BigDecimal("0.20")))                   // 20% weight (same)
-                .add(financial.multiply(new BigDecimal("0.25")))                   // 25% weight (reduced)
-                .add(payment.multiply(new BigDecimal("0.35")));                    // 35% weight (increased)
-
-        return weightedScore.setScale(2, RoundingMode.HALF_UP);
+        return Math.min(baseScore, CreditReportScoring.MAX_COMPONENT_SCORE);
     }
 
     private BigDecimal calculateEnhancedCreditLimitRecommendation(BigDecimal score, Business business,
                                                                   PaymentAnalyticsResponse paymentAnalytics) {
-        // Base credit limit calculation
-        BigDecimal baseLimit = new BigDecimal("100000"); // ₹1 Lakh base
-
-        // Adjust based on credit score
-        BigDecimal multiplier = score.divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-        BigDecimal adjustedLimit = baseLimit.multiply(multiplier);
+        // Base credit limit adjusted by credit score
+        BigDecimal adjustedLimit = CreditReportScoring.baseCreditLimit(score);
 
         // Payment history adjustments
-        if (paymentAnalytics != null) {
+        if (paymentAnalytics != null && paymentAnalytics.getTotalTransactions() > 0) {
             // Transaction volume adjustment
             if (paymentAnalytics.getTotalTransactionValue() != null) {
                 BigDecimal avgTransactionValue = paymentAnalytics.getTotalTransactionValue()
@@ -301,36 +279,14 @@ public class EnhancedCreditReportService {
             }
         }
 
-        // Industry-based adjustments (same as before)
-        switch (business.getIndustryCategory()) {
-            case TECHNOLOGY:
-            case HEALTHCARE:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("2.0"));
-                break;
-            case MANUFACTURING:
-            case RETAIL:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
-                break;
-            case CONSTRUCTION:
-                adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
-                break;
-        }
-
-        // Years in business bonus (same as before)
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 10) {
-            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.5"));
-        } else if (yearsInBusiness >= 5) {
-            adjustedLimit = adjustedLimit.multiply(new BigDecimal("1.2"));
-        }
-
-        // Round to nearest 10,000
-        return adjustedLimit.divide(new BigDecimal("10000"), 0, RoundingMode.HALF_UP)
-                .multiply(new BigDecimal("10000"));
+        // Industry and years in business adjustments, rounded to nearest 10,000
+        return CreditReportScoring.adjustCreditLimit(adjustedLimit, business);
     }
 
-    private void generateEnhancedReportContent(CreditReport creditReport, Business business,
-                                               PaymentAnalyticsResponse paymentAnalytics) {
+    private void generateEnhancedReportContent(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+        PaymentAnalyticsResponse paymentAnalytics = features.getPaymentSummary();
+
         // Generate enhanced summary
         creditReport.setSummary(generateEnhancedSummary(creditReport, business, paymentAnalytics));
 
@@ -338,10 +294,10 @@ public class EnhancedCreditReportService {
         creditReport.setRecommendations(generateEnhancedRecommendations(creditReport, business, paymentAnalytics));
 
         // Generate enhanced risk factors
-        creditReport.setRiskFactors(generateEnhancedRiskFactors(creditReport, business, paymentAnalytics));
+        creditReport.setRiskFactors(generateEnhancedRiskFactors(creditReport, features));
 
         // Generate enhanced positive indicators
-        creditReport.setPositiveIndicators(generateEnhancedPositiveIndicators(creditReport, business, paymentAnalytics));
+        creditReport.setPositiveIndicators(generateEnhancedPositiveIndicators(creditReport, features));
     }
 
     private String generateEnhancedSummary(CreditReport creditReport, Business business,
@@ -429,8 +385,9 @@ public class EnhancedCreditReportService {
         return recommendations.toString();
     }
 
-    private String generateEnhancedRiskFactors(CreditReport creditReport, Business business,
-                                               PaymentAnalyticsResponse paymentAnalytics) {
+    private String generateEnhancedRiskFactors(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+        PaymentAnalyticsResponse paymentAnalytics = features.getPaymentSummary();
         StringBuilder riskFactors = new StringBuilder();
 
         // Standard risk factors
@@ -446,6 +403,10 @@ public class EnhancedCreditReportService {
             riskFactors.append("• PAN not verified\n");
         }
 
+        if (features.getKycStatus() == KycStatus.REJECTED || features.getKycStatus() == KycStatus.EXPIRED) {
+            riskFactors.append(String.format("• KYC %s\n", features.getKycStatus().toString().toLowerCase()));
+        }
+
         // Payment history risk factors
         if (paymentAnalytics != null) {
             if (paymentAnalytics.getOnTimePaymentPercentage() != null &&
@@ -476,6 +437,11 @@ public class EnhancedCreditReportService {
             riskFactors.append("• Below-average credit score\n");
         }
 
+        if (features.getNegativeTradeReferences() > 0) {
+            riskFactors.append(String.format("• %d negative trade references on record\n",
+                    features.getNegativeTradeReferences()));
+        }
+
         if (riskFactors.length() == 0) {
             riskFactors.append("• No significant risk factors identified");
         }
@@ -483,8 +449,9 @@ public class EnhancedCreditReportService {
         return riskFactors.toString();
     }
 
-    private String generateEnhancedPositiveIndicators(CreditReport creditReport, Business business,
-                                                      PaymentAnalyticsResponse paymentAnalytics) {
+    private String generateEnhancedPositiveIndicators(CreditReport creditReport, ReportFeatures features) {
+        Business business = features.getBusiness();
+        PaymentAnalyticsResponse paymentAnalytics = features.getPaymentSummary();
         StringBuilder positiveIndicators = new StringBuilder();
 
         // Standard positive indicators
@@ -496,6 +463,10 @@ public class EnhancedCreditReportService {
             positiveIndicators.append("• PAN verified\n");
         }
 
+        if (features.getKycStatus() == KycStatus.COMPLETED) {
+            positiveIndicators.append("• KYC completed\n");
+        }
+
         if (creditReport.getYearsInBusiness() >= 5) {
             positiveIndicators.append("• Established business with proven track record\n");
         }
@@ -529,6 +500,11 @@ public class EnhancedCreditReportService {
             }
         }
 
+        if (features.getPositiveTradeReferences() > 0) {
+            positiveIndicators.append(String.format("• %d positive trade references\n",
+                    features.getPositiveTradeReferences()));
+        }
+
         if (business.getWebsite() != null && !business.getWebsite().isEmpty()) {
             positiveIndicators.append("• Professional web presence\n");
         }
@@ -538,16 +514,16 @@ public class EnhancedCreditReportService {
 
     // Helper methods (keeping existing ones and adding new ones)
 
-    private BigDecimal calculateVolumeScore(Integer totalTransactions) {
+    private int calculateVolumeScore(Integer totalTransactions) {
         if (totalTransactions == null || totalTransactions == 0) {
-            return BigDecimal.ZERO;
+            return 0;
         }
 
-        if (totalTransactions >= 50) return new BigDecimal("100");
-        if (totalTransactions >= 25) return new BigDecimal("80");
-        if (totalTransactions >= 10) return new BigDecimal("60");
-        if (totalTransactions >= 5) return new BigDecimal("40");
-        return new BigDecimal("20");
+        if (totalTransactions >= 50) return 100;
+        if (totalTransactions >= 25) return 80;
+        if (totalTransactions >= 10) return 60;
+        if (totalTransactions >= 5) return 40;
+        return 20;
     }
 
     private int calculatePositiveReferences(PaymentAnalyticsResponse paymentAnalytics) {
@@ -559,142 +535,13 @@ public class EnhancedCreditReportService {
         return (int) (paymentAnalytics.getTotalTransactions() * positivePercentage);
     }
 
-    // Keep all existing helper methods from original CreditReportService
-    private BigDecimal calculateBasicComplianceScore(Business business) {
-        BigDecimal score = BigDecimal.ZERO;
-
-        if (Boolean.TRUE.equals(business.getGstinVerified())) {
-            score = score.add(new BigDecimal("40"));
-        }
-
-        if (Boolean.TRUE.equals(business.getPanVerified())) {
-            score = score.add(new BigDecimal("30"));
-        }
-
-        if (Boolean.TRUE.equals(business.getIsActive())) {
-            score = score.add(new BigDecimal("30"));
-        }
-
-        return score.setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateBasicBusinessStabilityScore(Business business) {
-        BigDecimal score = new BigDecimal("50");
-
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 10) {
-            score = score.add(new BigDecimal("30"));
-        } else if (yearsInBusiness >= 5) {
-            score = score.add(new BigDecimal("20"));
-        } else if (yearsInBusiness >= 2) {
-            score = score.add(new BigDecimal("10"));
-        }
-
-        if (business.getBusinessDescription() != null && !business.getBusinessDescription().isEmpty()) {
-            score = score.add(new BigDecimal("10"));
-        }
-
-        if (business.getWebsite() != null && !business.getWebsite().isEmpty()) {
-            score = score.add(new BigDecimal("10"));
-        }
-
-        return score.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateBasicFinancialStrengthScore(Business business) {
-        BigDecimal baseScore = new BigDecimal("60");
-
-        switch (business.getIndustryCategory()) {
-            case TECHNOLOGY:
-            case HEALTHCARE:
-                baseScore = baseScore.add(new BigDecimal("20"));
-                break;
-            case MANUFACTURING:
-            case RETAIL:
-                baseScore = baseScore.add(new BigDecimal("15"));
-                break;
-            case CONSTRUCTION:
-            case AGRICULTURE:
-                baseScore = baseScore.add(new BigDecimal("10"));
-                break;
-            default:
-                baseScore = baseScore.add(new BigDecimal("5"));
-        }
-
-        if (business.getBusinessType() == BusinessType.PRIVATE_LIMITED) {
-            baseScore = baseScore.add(new BigDecimal("15"));
-        } else if (business.getBusinessType() == BusinessType.PUBLIC_LIMITED) {
-            baseScore = baseScore.add(new BigDecimal("20"));
-        } else {
-            baseScore = baseScore.add(new BigDecimal("5"));
-        }
-
-        return baseScore.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private BigDecimal calculateBasicPaymentBehaviorScore(Business business) {
-        BigDecimal baseScore = new BigDecimal("70");
-
-        int yearsInBusiness = calculateYearsInBusiness(business);
-        if (yearsInBusiness >= 5) {
-            baseScore = baseScore.add(new BigDecimal("20"));
-        } else if (yearsInBusiness >= 2) {
-            baseScore = baseScore.add(new BigDecimal("10"));
-        }
-
-        if (Boolean.TRUE.equals(business.getGstinVerified()) && Boolean.TRUE.equals(business.getPanVerified())) {
-            baseScore = baseScore.add(new BigDecimal("10"));
-        }
-
-        return baseScore.min(new BigDecimal("100")).setScale(2, RoundingMode.HALF_UP);
-    }
-
-    private int calculateYearsInBusiness(Business business) {
-        if (business.getRegistrationDate() == null) {
-            return 0;
-        }
-
-        LocalDate registrationDate = business.getRegistrationDate();
-        LocalDate currentDate = LocalDate.now();
-
-        return Period.between(registrationDate, currentDate).getYears();
-    }
-
-    private CreditGrade determineCreditGrade(BigDecimal score) {
-        int scoreInt = score.intValue();
-
-        if (scoreInt >= 90) return CreditGrade.AAA;
-        if (scoreInt >= 80) return CreditGrade.AA;
-        if (scoreInt >= 70) return CreditGrade.A;
-        if (scoreInt >= 60) return CreditGrade.BBB;
-        if (scoreInt >= 50) return CreditGrade.BB;
-        if (scoreInt >= 40) return CreditGrade.B;
-        if (scoreInt >= 30) return CreditGrade.CCC;
-        if (scoreInt >= 20) return CreditGrade.CC;
-        if (scoreInt >= 10) return CreditGrade.C;
-        return CreditGrade.D;
-    }
-
-    private RiskCategory determineRiskCategory(BigDecimal score) {
-        int scoreInt = score.intValue();
-
-        if (scoreInt >= 75) return RiskCategory.LOW;
-        if (scoreInt >= 60) return RiskCategory.MODERATE;
-        if (scoreInt >= 40) return RiskCategory.HIGH;
-        return RiskCategory.VERY_HIGH;
-    }
-
-    private Integer generateMockTradeReferencesCount() {
-        return (int) (Math.random() * 20) + 5;
-    }
-
-    private Integer generateMockPositiveReferencesCount(Integer totalReferences) {
-        double positivePercentage = 0.70 + (Math.random() * 0.25);
-        return (int) (totalReferences * positivePercentage);
+    // Analytics percentages and scores are already rounded to 2 decimal places
+    private long toHundredths(double value) {
+        return Math.round(value * 100);
     }
 
     private String generateReportNumber() {
-        return "TCR-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return documentNumberAllocator.next(DocumentNumberAllocator.Series.CREDIT_REPORT);
     }
 
     private String formatCurrency(BigDecimal amount) {
@@ -0,0 +1,354 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.RescoreChunk;
+import com.tcrs.tcrs_backend.entity.RescoreChunkStatus;
+import com.tcrs.tcrs_backend.entity.RescoreRun;
+import com.tcrs.tcrs_backend.entity.RescoreRunStatus;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Nightly rescore of every active business. The business ID space is split into
+ * chunks that a fixed number of workers claim and score in parallel, so at most
+ * that many database connections are in use. Chunk state is persisted as it
+ * changes, so a run cut short by a crash or by the time window resumes where it
+ * stopped, on the next trigger or on startup.
+ */
+@Service
+public class NightlyRescoreService {
+
+    private static final Logger logger = LoggerFactory.getLogger(NightlyRescoreService.class);
+
+    // Attempts per chunk before it is left failed
+    private static final int MAX_CHUNK_ATTEMPTS = 3;
+
+    // Chunks logged between progress lines
+    private static final int PROGRESS_LOG_INTERVAL = 50;
+
+    // Wait between checks on chunks claimed by another node or left stale by a crash
+    private static final long IN_PROGRESS_POLL_MILLIS = 30000;
+
+    @Autowired
+    private RescoreCheckpointService checkpointService;
+
+    @Autowired
+    private PortfolioScoringService portfolioScoringService;
+
+    @Autowired
+    private CreditScoringService creditScoringService;
+
+    @Autowired
+    private ScoringModelService scoringModelService;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Value("${app.rescore.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.rescore.chunk-size:1000}")
+    private int chunkSize;
+
+    @Value("${app.rescore.db-concurrency:4}")
+    private int dbConcurrency;
+
+    @Value("${app.rescore.max-duration-minutes:120}")
+    private long maxDurationMinutes;
+
+    @Value("${app.rescore.chunk-timeout-minutes:10}")
+    private long chunkTimeoutMinutes;
+
+    private final ExecutorService coordinator = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "rescore-coordinator");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    // Progress of the run this node is working on
+    private final AtomicLong totalChunks = new AtomicLong();
+    private final AtomicLong finishedChunks = new AtomicLong();
+    private final AtomicLong businessesScored = new AtomicLong();
+    private volatile long startedAtNanos;
+
+    private final Counter businessesScoredCounter;
+    private final Counter chunksDoneCounter;
+    private final Counter chunksFailedCounter;
+    private final Timer chunkTimer;
+
+    public NightlyRescoreService(MeterRegistry meterRegistry) {
+        this.businessesScoredCounter = Counter.builder("rescore.businesses.scored")
+                .description("Businesses rescored by the portfolio rescore job")
+                .register(meterRegistry);
+        this.chunksDoneCounter = Counter.builder("rescore.chunks")
+                .tag("outcome", "done")
+                .register(meterRegistry);
+        this.chunksFailedCounter = Counter.builder("rescore.chunks")
+                .tag("outcome", "failed")
+                .register(meterRegistry);
+        this.chunkTimer = Timer.builder("rescore.chunk.duration")
+                .description("Time to load, score and store one chunk")
+                .register(meterRegistry);
+        Gauge.builder("rescore.progress", this, NightlyRescoreService::getProgress)
+                .description("Fraction of the current run's chunks finished")
+                .register(meterRegistry);
+        Gauge.builder("rescore.throughput", this, NightlyRescoreService::getThroughput)
+                .description("Businesses rescored per second in the current run")
+                .baseUnit("businesses/s")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(cron = "${app.rescore.cron:0 0 1 * * *}") // 1 AM daily
+    public void runNightlyRescore() {
+        if (enabled) {
+            rescore();
+        }
+    }
+
+    // A run interrupted by a crash or shutdown carries on in the background once the application is up
+    @EventListener(ApplicationReadyEvent.class)
+    public void resumeInterruptedRun() {
+        if (enabled && checkpointService.findRunningRun().isPresent()) {
+            logger.info("Found an unfinished portfolio rescore run, resuming");
+            trigger();
+        }
+    }
+
+    // Starts or resumes a run in the background; false if this node is already running one
+    public boolean trigger() {
+        if (running.get()) {
+            return false;
+        }
+        coordinator.submit(this::rescore);
+        return true;
+    }
+
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new HashMap<>();
+        status.put("running", running.get());
+        status.put("progress", getProgress());
+        status.put("throughput", getThroughput());
+        status.put("businessesScored", businessesScored.get());
+
+        Optional<RescoreRun> latestRun = checkpointService.findLatestRun();
+        latestRun.ifPresent(run -> {
+            status.put("runId", run.getId());
+            status.put("runDate", run.getRunDate());
+            status.put("runStatus", run.getStatus());
+            status.put("totalChunks", run.getTotalChunks());
+            status.put("doneChunks", checkpointService.countChunks(run.getId(), RescoreChunkStatus.DONE));
+            status.put("failedChunks", checkpointService.countChunks(run.getId(), RescoreChunkStatus.FAILED));
+            status.put("startedAt", run.getStartedAt());
+            status.put("completedAt", run.getCompletedAt());
+        });
+        return status;
+    }
+
+    public void rescore() {
+        if (!running.compareAndSet(false, true)) {
+            logger.info("Portfolio rescore already running on this node, skipping");
+            return;
+        }
+
+        try {
+            if (scoringModelService.getLatestModel().isEmpty()) {
+                logger.warn("Portfolio rescore skipped: the latest scoring model could not be loaded on this node");
+                return;
+            }
+
+            RescoreRun run;
+            while ((run = openRun()) != null && run.getStatus() != RescoreRunStatus.COMPLETED) {
+                RescoreRun finished = processRun(run);
+                // A resumed run from an earlier night is followed by tonight's own run
+                if (finished.getStatus() != RescoreRunStatus.COMPLETED || !finished.getRunDate().isBefore(LocalDate.now())) {
+                    break;
+                }
+            }
+
+        } catch (Exception e) {
+            logger.error("Portfolio rescore failed", e);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private RescoreRun processRun(RescoreRun run) throws InterruptedException {
+        LocalDateTime deadline = LocalDateTime.now().plusMinutes(maxDurationMinutes);
+        long remaining = checkpointService.countChunks(run.getId(), RescoreChunkStatus.PENDING);
+        totalChunks.set(run.getTotalChunks());
+        finishedChunks.set(run.getTotalChunks() - remaining);
+        businessesScored.set(0);
+        startedAtNanos = System.nanoTime();
+
+        logger.info("Portfolio rescore run {} started: {} of {} chunks pending, {} workers",
+                run.getId(), remaining, run.getTotalChunks(), dbConcurrency);
+
+        // Repeat while chunks come back for a retry; attempts are capped per chunk
+        while (LocalDateTime.now().isBefore(deadline)) {
+            int released = checkpointService.releaseChunks(run.getId(),
+                    LocalDateTime.now().minusMinutes(chunkTimeoutMinutes), MAX_CHUNK_ATTEMPTS);
+            if (released > 0) {
+                finishedChunks.addAndGet(-released);
+                logger.info("Released {} stale or failed chunks of rescore run {}", released, run.getId());
+            }
+            if (checkpointService.findPendingChunkIds(run.getId(), 1).isEmpty()) {
+                if (checkpointService.countChunks(run.getId(), RescoreChunkStatus.IN_PROGRESS) == 0) {
+                    break;
+                }
+                // Claimed by another node, or left by a crash until the chunk timeout releases them
+                Thread.sleep(IN_PROGRESS_POLL_MILLIS);
+                continue;
+            }
+            processChunks(run.getId(), deadline);
+        }
+
+        RescoreRun finished = checkpointService.completeIfFinished(run.getId());
+        long elapsedSeconds = Math.max(1, Duration.ofNanos(System.nanoTime() - startedAtNanos).getSeconds());
+        if (finished.getStatus() == RescoreRunStatus.COMPLETED) {
+            logger.info("Portfolio rescore run {} completed: {} businesses scored, {} failed chunks, {} businesses/s on this node",
+                    finished.getId(), finished.getBusinessesScored(), finished.getFailedChunks(),
+                    businessesScored.get() / elapsedSeconds);
+        } else {
+            logger.warn("Portfolio rescore run {} stopped before finishing; it will resume on the next trigger",
+                    finished.getId());
+        }
+        return finished;
+    }
+
+    private RescoreRun openRun() {
+        Optional<RescoreRun> unfinished = checkpointService.findRunningRun();
+        if (unfinished.isPresent()) {
+            return unfinished.get();
+        }
+
+        LocalDate today = LocalDate.now();
+        if (checkpointService.findRun(today).isPresent()) {
+            logger.info("Portfolio rescore for {} already completed", today);
+            return null;
+        }
+
+        try {
+            return checkpointService.createRun(today, chunkSize, scoringModelService.getModel().getVersion());
+        } catch (DataIntegrityViolationException e) {
+            // Another node created today's run first; join it
+            return checkpointService.findRunningRun().orElse(null);
+        }
+    }
+
+    private void processChunks(Long runId, LocalDateTime deadline) throws InterruptedException {
+        ExecutorService workers = Executors.newFixedThreadPool(dbConcurrency, runnable -> {
+            Thread thread = new Thread(runnable, "rescore-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            for (int i = 0; i < dbConcurrency; i++) {
+                workers.submit(() -> {
+                    try {
+                        RescoreChunk chunk;
+                        while (LocalDateTime.now().isBefore(deadline) && (chunk = claimNextChunk(runId)) != null) {
+                            processChunk(chunk);
+                        }
+                    } catch (Exception e) {
+                        logger.error("Rescore worker stopped for run {}", runId, e);
+                    }
+                });
+            }
+            workers.shutdown();
+            workers.awaitTermination(Duration.between(LocalDateTime.now(), deadline).toMillis() + chunkTimeoutMinutes * 60000,
+                    TimeUnit.MILLISECONDS);
+        } finally {
+            workers.shutdownNow();
+        }
+    }
+
+    private RescoreChunk claimNextChunk(Long runId) {
+        while (true) {
+            List<Long> candidates = checkpointService.findPendingChunkIds(runId, dbConcurrency * 2);
+            if (candidates.isEmpty()) {
+                return null;
+            }
+            for (Long chunkId : candidates) {
+                Optional<RescoreChunk> claimed = checkpointService.claim(chunkId);
+                if (claimed.isPresent()) {
+                    return claimed.get();
+                }
+            }
+        }
+    }
+
+    private void processChunk(RescoreChunk chunk) {
+        long start = System.nanoTime();
+        try {
+            List<Long> businessIds = businessRepository.findActiveIdsInRange(chunk.getFromId(), chunk.getToId());
+            if (!businessIds.isEmpty()) {
+                creditScoringService.storeCreditScores(portfolioScoringService.scoreAll(businessIds).values());
+                creditScoringService.evictCachedScores(businessIds);
+            }
+            checkpointService.markDone(chunk.getId(), businessIds.size());
+
+            businessesScored.addAndGet(businessIds.size());
+            businessesScoredCounter.increment(businessIds.size());
+            chunksDoneCounter.increment();
+
+        } catch (Exception e) {
+            logger.error("Error rescoring businesses {} to {}", chunk.getFromId(), chunk.getToId() - 1, e);
+            checkpointService.markFailed(chunk.getId(), e.getMessage());
+            chunksFailedCounter.increment();
+        } finally {
+            chunkTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+
+        long finished = finishedChunks.incrementAndGet();
+        if (finished % PROGRESS_LOG_INTERVAL == 0) {
+            logger.info("Portfolio rescore progress: {}/{} chunks, {} businesses/s",
+                    finished, totalChunks.get(), String.format("%.1f", getThroughput()));
+        }
+    }
+
+    private double getProgress() {
+        long total = totalChunks.get();
+        return total > 0 ? Math.min(1.0, (double) finishedChunks.get() / total) : 0.0;
+    }
+
+    private double getThroughput() {
+        if (!running.get()) {
+            return 0.0;
+        }
+        double seconds = (System.nanoTime() - startedAtNanos) / 1_000_000_000.0;
+        return seconds > 0 ? businessesScored.get() / seconds : 0.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        // Chunks in flight stay IN_PROGRESS and are released by the next run after the chunk timeout
+        coordinator.shutdownNow();
+    }
+}
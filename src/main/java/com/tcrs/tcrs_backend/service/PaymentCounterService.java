@@ -0,0 +1,301 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.BusinessPaymentCounters;
+import com.tcrs.tcrs_backend.entity.DisputeStatus;
+import com.tcrs.tcrs_backend.entity.PaymentHistory;
+import com.tcrs.tcrs_backend.entity.PaymentStatus;
+import com.tcrs.tcrs_backend.repository.BusinessPaymentCountersRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+/**
+ * Keeps {@link BusinessPaymentCounters} in step with payment history writes.
+ *
+ * Each write applies the difference between the old and new state of the record
+ * to the business's counters row, inside the same transaction as the write.
+ */
+@Service
+@Transactional
+public class PaymentCounterService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentCounterService.class);
+
+    // Businesses backfilled per scheduled run
+    private static final int BACKFILL_BATCH_SIZE = 500;
+
+    @Autowired
+    private BusinessPaymentCountersRepository businessPaymentCountersRepository;
+
+    @Autowired
+    private PaymentRollupService paymentRollupService;
+
+    public void recordAdded(PaymentHistory paymentHistory) {
+        applyDelta(paymentHistory.getBusiness().getId(), null, PaymentSnapshot.of(paymentHistory));
+    }
+
+    // Bulk uploads lock each business's counters once, in business ID order so concurrent uploads cannot deadlock
+    public void recordAddedAll(List<PaymentHistory> paymentHistories) {
+        Map<Long, List<PaymentSnapshot>> addedByBusiness = new TreeMap<>();
+        for (PaymentHistory paymentHistory : paymentHistories) {
+            addedByBusiness.computeIfAbsent(paymentHistory.getBusiness().getId(), businessId -> new ArrayList<>())
+                    .add(PaymentSnapshot.of(paymentHistory));
+        }
+        addedByBusiness.forEach(this::applyAdded);
+    }
+
+    // Also covers soft deletes, where the record is now inactive and only its old state counts
+    public void recordUpdated(PaymentSnapshot before, PaymentHistory paymentHistory) {
+        applyDelta(paymentHistory.getBusiness().getId(), before, PaymentSnapshot.of(paymentHistory));
+    }
+
+    /**
+     * Current counters for a business. Businesses without a counters row yet are
+     * recounted from payment history without persisting, so reads stay side-effect free.
+     */
+    @Transactional(readOnly = true)
+    public BusinessPaymentCounters getCounters(Long businessId) {
+        return businessPaymentCountersRepository.findById(businessId)
+                .orElseGet(() -> recount(businessId));
+    }
+
+    // Create counters for businesses with payment history recorded before counters existed
+    @Scheduled(initialDelay = 30000, fixedDelay = 3600000) // Shortly after startup, then hourly
+    public void materializeMissingCounters() {
+        List<Long> businessIds = businessPaymentCountersRepository
+                .findBusinessIdsWithoutCounters(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        if (businessIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Materializing payment counters for {} businesses", businessIds.size());
+
+        for (Long businessId : businessIds) {
+            // A payment write may have created the row since the query; its counters are already current
+            if (businessPaymentCountersRepository.insertIfAbsent(businessId) > 0) {
+                businessPaymentCountersRepository.save(materialize(businessId));
+            }
+        }
+    }
+
+    // Build monthly rollups for counters created before rollups existed
+    @Scheduled(initialDelay = 60000, fixedDelay = 3600000) // After the counters backfill, then hourly
+    public void materializeMissingMonthlyRollups() {
+        List<Long> businessIds = businessPaymentCountersRepository
+                .findBusinessIdsWithoutMonthlyRollups(PageRequest.of(0, BACKFILL_BATCH_SIZE));
+        if (businessIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Materializing monthly payment rollups for {} businesses", businessIds.size());
+
+        for (Long businessId : businessIds) {
+            // Locked like a payment write, so no delta lands between the rebuild and the flag
+            businessPaymentCountersRepository.findByBusinessIdForUpdate(businessId)
+                    .filter(counters -> !Boolean.TRUE.equals(counters.getMonthlyRollupsBuilt()))
+                    .ifPresent(counters -> {
+                        paymentRollupService.rebuild(businessId);
+                        counters.setMonthlyRollupsBuilt(true);
+                        businessPaymentCountersRepository.save(counters);
+                    });
+        }
+    }
+
+    // Must run after the payment history write so a recount already sees the new state
+    private void applyDelta(Long businessId, PaymentSnapshot before, PaymentSnapshot after) {
+        Optional<BusinessPaymentCounters> existing = lockCounters(businessId);
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        BusinessPaymentCounters counters = existing.get();
+        if (before != null) {
+            apply(counters, before, -1);
+        }
+        if (after != null) {
+            apply(counters, after, 1);
+        }
+
+        // The counters row lock also serializes the business's rollup updates
+        if (Boolean.TRUE.equals(counters.getMonthlyRollupsBuilt())) {
+            paymentRollupService.applyDelta(businessId, before, after);
+        } else {
+            paymentRollupService.rebuild(businessId);
+            counters.setMonthlyRollupsBuilt(true);
+        }
+        businessPaymentCountersRepository.save(counters);
+    }
+
+    /**
+     * Locks the business's counters row for a delta. Empty when the row did not exist: this
+     * transaction has then created and recounted it, the recount already including the write.
+     */
+    private Optional<BusinessPaymentCounters> lockCounters(Long businessId) {
+        if (businessPaymentCountersRepository.insertIfAbsent(businessId) > 0) {
+            businessPaymentCountersRepository.save(materialize(businessId));
+            return Optional.empty();
+        }
+        return businessPaymentCountersRepository.findByBusinessIdForUpdate(businessId);
+    }
+
+    // Counters and monthly rollups recounted together from payment history
+    private BusinessPaymentCounters materialize(Long businessId) {
+        BusinessPaymentCounters counters = recount(businessId);
+        paymentRollupService.rebuild(businessId);
+        counters.setMonthlyRollupsBuilt(true);
+        return counters;
+    }
+
+    private void applyAdded(Long businessId, List<PaymentSnapshot> added) {
+        Optional<BusinessPaymentCounters> existing = lockCounters(businessId);
+        if (existing.isEmpty()) {
+            return;
+        }
+
+        BusinessPaymentCounters counters = existing.get();
+        for (PaymentSnapshot payment : added) {
+            apply(counters, payment, 1);
+        }
+
+        if (Boolean.TRUE.equals(counters.getMonthlyRollupsBuilt())) {
+            paymentRollupService.applyAdded(businessId, added);
+        } else {
+            paymentRollupService.rebuild(businessId);
+            counters.setMonthlyRollupsBuilt(true);
+        }
+        businessPaymentCountersRepository.save(counters);
+    }
+
+    private BusinessPaymentCounters recount(Long businessId) {
+        BusinessPaymentCounters counters = new BusinessPaymentCounters(businessId);
+        List<Object[]> rows = businessPaymentCountersRepository.aggregateCountersByBusinessId(businessId);
+        if (rows.isEmpty()) {
+            return counters;
+        }
+
+        Object[] row = rows.get(0);
+        counters.setTotalPayments(toLong(row[0]));
+        counters.setTotalAmount(toBigDecimal(row[1]));
+        counters.setOnTimePayments(toLong(row[2]));
+        counters.setLatePayments(toLong(row[3]));
+        counters.setVeryLatePayments(toLong(row[4]));
+        counters.setOverduePayments(toLong(row[5]));
+        counters.setDefaultedPayments(toLong(row[6]));
+        counters.setOverdueAmount(toBigDecimal(row[7]));
+        counters.setPaidWithoutDelayPayments(toLong(row[8]));
+        counters.setDelayedPayments(toLong(row[9]));
+        counters.setTotalDelayDays(toLong(row[10]));
+        counters.setRatedPayments(toLong(row[11]));
+        counters.setTotalRating(toLong(row[12]));
+        return counters;
+    }
+
+    // Adds (sign 1) or removes (sign -1) one payment; buckets mirror the aggregate query
+    private void apply(BusinessPaymentCounters counters, PaymentSnapshot payment, int sign) {
+        if (!payment.active) {
+            return;
+        }
+
+        counters.setTotalPayments(counters.getTotalPayments() + sign);
+        if (payment.amount != null) {
+            counters.setTotalAmount(addSigned(counters.getTotalAmount(), payment.amount, sign));
+        }
+
+        PaymentStatus status = payment.status;
+        if (status == PaymentStatus.PAID) {
+            int daysDelayed = payment.daysDelayed != null ? payment.daysDelayed : 0;
+            if (daysDelayed <= 0) {
+                counters.setOnTimePayments(counters.getOnTimePayments() + sign);
+            } else if (daysDelayed <= 30) {
+                counters.setLatePayments(counters.getLatePayments() + sign);
+            } else {
+                counters.setVeryLatePayments(counters.getVeryLatePayments() + sign);
+            }
+
+            if (payment.daysOverdue == null || payment.daysOverdue == 0) {
+                counters.setPaidWithoutDelayPayments(counters.getPaidWithoutDelayPayments() + sign);
+            }
+        } else if (status == PaymentStatus.OVERDUE || status == PaymentStatus.DEFAULTED) {
+            if (status == PaymentStatus.OVERDUE) {
+                counters.setOverduePayments(counters.getOverduePayments() + sign);
+            } else {
+                counters.setDefaultedPayments(counters.getDefaultedPayments() + sign);
+            }
+            if (payment.amount != null) {
+                counters.setOverdueAmount(addSigned(counters.getOverdueAmount(), payment.amount, sign));
+            }
+        }
+
+        if (payment.daysOverdue != null && payment.daysOverdue > 0) {
+            counters.setDelayedPayments(counters.getDelayedPayments() + sign);
+            counters.setTotalDelayDays(counters.getTotalDelayDays() + (long) sign * payment.daysOverdue);
+        }
+
+        if (payment.rating != null) {
+            counters.setRatedPayments(counters.getRatedPayments() + sign);
+            counters.setTotalRating(counters.getTotalRating() + (long) sign * payment.rating);
+        }
+    }
+
+    private static BigDecimal addSigned(BigDecimal total, BigDecimal amount, int sign) {
+        return sign > 0 ? total.add(amount) : total.subtract(amount);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+
+    /**
+     * The fields of a payment history record that feed the counters, captured
+     * before an update or delete so the old contribution can be taken back out.
+     */
+    public static class PaymentSnapshot {
+
+        // Package-private for PaymentRollupService, which applies the same snapshots per month
+        final boolean active;
+        final PaymentStatus status;
+        final Integer daysDelayed;
+        final Integer daysOverdue;
+        final BigDecimal amount;
+        final Integer rating;
+        final LocalDate dueDate;
+        final DisputeStatus disputeStatus;
+
+        private PaymentSnapshot(PaymentHistory paymentHistory) {
+            this.active = Boolean.TRUE.equals(paymentHistory.getIsActive());
+            this.status = paymentHistory.getPaymentStatus();
+            this.daysDelayed = paymentHistory.getDaysDelayed();
+            this.daysOverdue = paymentHistory.getDaysOverdue();
+            this.amount = paymentHistory.getTransactionAmount();
+            this.rating = paymentHistory.getPaymentRating();
+            this.dueDate = paymentHistory.getDueDate();
+            this.disputeStatus = paymentHistory.getDisputeStatus();
+        }
+
+        public static PaymentSnapshot of(PaymentHistory paymentHistory) {
+            return new PaymentSnapshot(paymentHistory);
+        }
+    }
+}
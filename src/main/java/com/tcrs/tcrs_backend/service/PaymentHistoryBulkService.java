@@ -0,0 +1,235 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.tcrs.tcrs_backend.dto.payment.BulkPaymentIngestionResponse;
+import com.tcrs.tcrs_backend.dto.payment.PaymentHistoryRequest;
+import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
+import com.tcrs.tcrs_backend.repository.UserRepository;
+import com.tcrs.tcrs_backend.security.UserPrincipal;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk payment history uploads from ERP integrations, as CSV or NDJSON. Records are parsed
+ * and validated one at a time as the body arrives, and valid rows are written a chunk at a
+ * time, each chunk in its own transaction, so uploads of any size run in bounded memory and
+ * a bad row only rejects itself. CSV bodies start with a header row naming the
+ * PaymentHistoryRequest properties of each column.
+ */
+@Service
+public class PaymentHistoryBulkService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentHistoryBulkService.class);
+
+    public enum Format { CSV, NDJSON }
+
+    @Value("${app.payment-bulk.chunk-size:1000}")
+    private int chunkSize;
+
+    // Rejected rows beyond this are counted but not listed
+    @Value("${app.payment-bulk.max-reported-errors:10000}")
+    private int maxReportedErrors;
+
+    @Autowired
+    private PaymentHistoryService paymentHistoryService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    public BulkPaymentIngestionResponse ingest(InputStream body, Format format) throws IOException {
+        UserPrincipal currentUserPrincipal = (UserPrincipal) SecurityContextHolder.getContext()
+                .getAuthentication().getPrincipal();
+        Long reportedById = userRepository.findById(currentUserPrincipal.getId())
+                .orElseThrow(() -> new ResourceNotFoundException("Current user not found"))
+                .getId();
+
+        logger.info("Bulk payment history upload ({}) started by user {}", format, reportedById);
+
+        Upload upload = new Upload(reportedById);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+        try {
+            if (format == Format.CSV) {
+                readCsv(reader, upload);
+            } else {
+                readNdjson(reader, upload);
+            }
+            upload.flush();
+        } finally {
+            // One rescore per business for the whole upload, covering chunks committed before any failure
+            for (Long businessId : upload.changedBusinessIds) {
+                eventPublisher.publishEvent(new CreditDataChangedEvent(businessId));
+            }
+        }
+
+        // Rows rejected on parsing are reported as they are read, the rest when their chunk is written
+        BulkPaymentIngestionResponse report = upload.report;
+        report.getErrors().sort(Comparator.comparingLong(BulkPaymentIngestionResponse.RowError::getRowNumber));
+        logger.info("Bulk payment history upload finished: {} rows, {} added, {} rejected",
+                report.getTotalRows(), report.getInsertedRows(), report.getRejectedRows());
+
+        return report;
+    }
+
+    private void readNdjson(BufferedReader reader, Upload upload) throws IOException {
+        ObjectReader recordReader = objectMapper.readerFor(PaymentHistoryRequest.class);
+        long rowNumber = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (line.isBlank()) {
+                continue;
+            }
+            rowNumber++;
+
+            PaymentHistoryRequest request;
+            try {
+                request = recordReader.readValue(line);
+            } catch (JsonProcessingException e) {
+                upload.reject(rowNumber, null, "Malformed record: " + e.getOriginalMessage());
+                continue;
+            }
+            upload.add(rowNumber, request);
+        }
+    }
+
+    private void readCsv(BufferedReader reader, Upload upload) throws IOException {
+        CsvRecordReader csv = new CsvRecordReader(reader);
+        List<String> header = csv.next();
+        if (header == null) {
+            return;
+        }
+        // Spreadsheet exports often start with a byte order mark
+        header.set(0, header.get(0).replace("\uFEFF", ""));
+
+        long rowNumber = 0;
+        List<String> fields;
+        while ((fields = csv.next()) != null) {
+            rowNumber++;
+
+            if (fields.size() != header.size()) {
+                upload.reject(rowNumber, null, "Expected " + header.size() + " fields but found " + fields.size());
+                continue;
+            }
+
+            Map<String, String> values = new HashMap<>();
+            for (int i = 0; i < fields.size(); i++) {
+                if (!fields.get(i).isBlank()) {
+                    values.put(header.get(i).trim(), fields.get(i).trim());
+                }
+            }
+
+            PaymentHistoryRequest request;
+            try {
+                request = objectMapper.convertValue(values, PaymentHistoryRequest.class);
+            } catch (IllegalArgumentException e) {
+                String message = e.getCause() instanceof JsonProcessingException
+                        ? ((JsonProcessingException) e.getCause()).getOriginalMessage() : e.getMessage();
+                upload.reject(rowNumber, values.get("transactionReference"), "Malformed record: " + message);
+                continue;
+            }
+            upload.add(rowNumber, request);
+        }
+    }
+
+    /**
+     * State of one upload: the chunk being collected, the report so far and the businesses
+     * whose payment history changed.
+     */
+    private final class Upload {
+
+        private final Long reportedById;
+        private final Map<Long, PaymentHistoryRequest> chunk = new LinkedHashMap<>();
+        private final BulkPaymentIngestionResponse report = new BulkPaymentIngestionResponse();
+        private final Set<Long> changedBusinessIds = new HashSet<>();
+
+        Upload(Long reportedById) {
+            this.reportedById = reportedById;
+        }
+
+        void add(long rowNumber, PaymentHistoryRequest request) {
+            if (request == null) {
+                reject(rowNumber, null, "Malformed record: empty record");
+                return;
+            }
+
+            Set<ConstraintViolation<PaymentHistoryRequest>> violations = validator.validate(request);
+            if (!violations.isEmpty()) {
+                reject(rowNumber, request.getTransactionReference(), violations.stream()
+                        .map(ConstraintViolation::getMessage)
+                        .sorted()
+                        .collect(Collectors.joining("; ")));
+                return;
+            }
+
+            report.setTotalRows(report.getTotalRows() + 1);
+            chunk.put(rowNumber, request);
+            if (chunk.size() >= chunkSize) {
+                flush();
+            }
+        }
+
+        void reject(long rowNumber, String transactionReference, String message) {
+            report.setTotalRows(report.getTotalRows() + 1);
+            recordRejection(rowNumber, transactionReference, message);
+        }
+
+        void flush() {
+            if (chunk.isEmpty()) {
+                return;
+            }
+
+            Map<Long, String> rejected = paymentHistoryService.addPaymentHistories(chunk, reportedById);
+            for (Map.Entry<Long, PaymentHistoryRequest> row : chunk.entrySet()) {
+                String reason = rejected.get(row.getKey());
+                if (reason != null) {
+                    recordRejection(row.getKey(), row.getValue().getTransactionReference(), reason);
+                } else {
+                    report.setInsertedRows(report.getInsertedRows() + 1);
+                    changedBusinessIds.add(row.getValue().getBusinessId());
+                }
+            }
+            chunk.clear();
+        }
+
+        private void recordRejection(long rowNumber, String transactionReference, String message) {
+            report.setRejectedRows(report.getRejectedRows() + 1);
+            if (report.getErrors().size() < maxReportedErrors) {
+                report.getErrors().add(new BulkPaymentIngestionResponse.RowError(rowNumber, transactionReference, message));
+            } else {
+                report.setErrorsTruncated(true);
+            }
+        }
+    }
+}
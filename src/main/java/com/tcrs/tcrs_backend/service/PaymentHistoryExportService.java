@@ -0,0 +1,212 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.tcrs.tcrs_backend.dto.payment.PaymentHistoryResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.DisputeStatus;
+import com.tcrs.tcrs_backend.entity.PaymentStatus;
+import com.tcrs.tcrs_backend.entity.TransactionType;
+import com.tcrs.tcrs_backend.entity.VerificationStatus;
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.sql.DataSource;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Locale;
+
+/**
+ * Exports a business's active payment history as a JSON array or CSV, newest first, while
+ * it is read. Rows come from a forward-only cursor over a flat projection joined to the
+ * reporter's name, so neither entities nor lazy associations are loaded and memory stays
+ * constant however many rows a business has. JSON elements have the same shape as the
+ * payment history list endpoint's.
+ */
+@Service
+public class PaymentHistoryExportService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PaymentHistoryExportService.class);
+
+    // Rows fetched per cursor round trip
+    private static final int FETCH_SIZE = 1000;
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final String EXPORT_QUERY = "SELECT ph.id, ph.transaction_reference, ph.invoice_number, " +
+            "ph.transaction_amount, ph.due_date, ph.payment_date, ph.payment_status, ph.transaction_type, " +
+            "ph.days_overdue, ph.penalty_amount, ph.settled_amount, ph.payment_method, ph.payment_terms, " +
+            "ph.trade_relationship, ph.payment_rating, ph.comments, ph.verification_status, ph.verified_by, " +
+            "ph.verified_date, ph.dispute_status, ph.dispute_reason, ph.created_at, ph.updated_at, " +
+            "u.first_name, u.last_name " +
+            "FROM payment_histories ph JOIN users u ON u.id = ph.reported_by " +
+            "WHERE ph.business_id = ? AND ph.is_active = true ORDER BY ph.created_at DESC";
+
+    private static final String CSV_HEADER = "id,businessId,businessName,businessGstin,transactionReference," +
+            "invoiceNumber,transactionAmount,dueDate,paymentDate,paymentStatus,transactionType,daysOverdue," +
+            "penaltyAmount,settledAmount,paymentMethod,paymentTerms,tradeRelationship,paymentRating,comments," +
+            "verificationStatus,verifiedBy,verifiedDate,disputeStatus,disputeReason,reportedByName," +
+            "createdAt,updatedAt\r\n";
+
+    public enum Format {
+        JSON, CSV;
+
+        public static Format from(String format) {
+            try {
+                return valueOf(format.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Unsupported export format: " + format);
+            }
+        }
+    }
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    public StreamingResponseBody streamExport(Long businessId, Format format) {
+        // Resolved up front so an unknown business is a 404 rather than a broken stream
+        Business business = businessRepository.findById(businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + businessId));
+
+        logger.info("Exporting payment history for business ID {} as {}", businessId, format);
+
+        return outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, BUFFER_SIZE);
+            try (Connection connection = dataSource.getConnection()) {
+                // Postgres only fetches through a cursor, rather than all at once, inside a transaction
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                try (PreparedStatement statement = connection.prepareStatement(EXPORT_QUERY,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(FETCH_SIZE);
+                    statement.setLong(1, businessId);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        if (format == Format.CSV) {
+                            writeCsv(rows, business, out);
+                        } else {
+                            writeJson(rows, business, out);
+                        }
+                    }
+                } finally {
+                    // The pool restores auto-commit and read-only when the connection is returned
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                throw new IOException("Payment history export failed for business ID " + businessId, e);
+            }
+            out.flush();
+        };
+    }
+
+    private void writeJson(ResultSet rows, Business business, OutputStream out) throws SQLException, IOException {
+        out.write('[');
+        boolean first = true;
+        while (rows.next()) {
+            if (!first) {
+                out.write(',');
+            }
+            out.write(objectMapper.writeValueAsBytes(toResponse(rows, business)));
+            first = false;
+        }
+        out.write(']');
+    }
+
+    private void writeCsv(ResultSet rows, Business business, OutputStream out) throws SQLException, IOException {
+        Writer writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        writer.write(CSV_HEADER);
+        while (rows.next()) {
+            PaymentHistoryResponse row = toResponse(rows, business);
+            writeCsvRow(writer, row.getId(), row.getBusinessId(), row.getBusinessName(), row.getBusinessGstin(),
+                    row.getTransactionReference(), row.getInvoiceNumber(), row.getTransactionAmount(),
+                    row.getDueDate(), row.getPaymentDate(), row.getPaymentStatus(), row.getTransactionType(),
+                    row.getDaysOverdue(), row.getPenaltyAmount(), row.getSettledAmount(), row.getPaymentMethod(),
+                    row.getPaymentTerms(), row.getTradeRelationship(), row.getPaymentRating(), row.getComments(),
+                    row.getVerificationStatus(), row.getVerifiedBy(), row.getVerifiedDate(), row.getDisputeStatus(),
+                    row.getDisputeReason(), row.getReportedByName(), row.getCreatedAt(), row.getUpdatedAt());
+        }
+        writer.flush();
+    }
+
+    private void writeCsvRow(Writer writer, Object... values) throws IOException {
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                writer.write(',');
+            }
+            Object value = values[i];
+            if (value == null) {
+                continue;
+            }
+            String text = value instanceof BigDecimal ? ((BigDecimal) value).toPlainString() : value.toString();
+            if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0 || text.indexOf('\n') >= 0 || text.indexOf('\r') >= 0) {
+                writer.write('"');
+                writer.write(text.replace("\"", "\"\""));
+                writer.write('"');
+            } else {
+                writer.write(text);
+            }
+        }
+        writer.write("\r\n");
+    }
+
+    // Same fields as PaymentHistoryService.convertToResponse, from the flat projection
+    private PaymentHistoryResponse toResponse(ResultSet rows, Business business) throws SQLException {
+        PaymentHistoryResponse response = new PaymentHistoryResponse();
+
+        response.setId(rows.getLong(1));
+        response.setBusinessId(business.getId());
+        response.setBusinessName(business.getBusinessName());
+        response.setBusinessGstin(business.getGstin());
+        response.setTransactionReference(rows.getString(2));
+        response.setInvoiceNumber(rows.getString(3));
+        response.setTransactionAmount(rows.getBigDecimal(4));
+        response.setDueDate(rows.getObject(5, LocalDate.class));
+        response.setPaymentDate(rows.getObject(6, LocalDate.class));
+        response.setPaymentStatus(enumValue(PaymentStatus.class, rows.getString(7)));
+        response.setTransactionType(enumValue(TransactionType.class, rows.getString(8)));
+        response.setDaysOverdue(rows.getObject(9, Integer.class));
+        response.setPenaltyAmount(rows.getBigDecimal(10));
+        response.setSettledAmount(rows.getBigDecimal(11));
+        response.setPaymentMethod(rows.getString(12));
+        response.setPaymentTerms(rows.getString(13));
+        response.setTradeRelationship(rows.getString(14));
+        response.setPaymentRating(rows.getObject(15, Integer.class));
+        response.setComments(rows.getString(16));
+        response.setVerificationStatus(enumValue(VerificationStatus.class, rows.getString(17)));
+        response.setVerifiedBy(rows.getString(18));
+        response.setVerifiedDate(rows.getObject(19, LocalDateTime.class));
+        response.setDisputeStatus(enumValue(DisputeStatus.class, rows.getString(20)));
+        response.setDisputeReason(rows.getString(21));
+        response.setReportedByName(rows.getString(24) + " " + rows.getString(25));
+        response.setIsActive(true);
+        response.setCreatedAt(rows.getObject(22, LocalDateTime.class));
+        response.setUpdatedAt(rows.getObject(23, LocalDateTime.class));
+
+        return response;
+    }
+
+    private static <E extends Enum<E>> E enumValue(Class<E> type, String name) {
+        return name != null ? Enum.valueOf(type, name) : null;
+    }
+}
@@ -13,22 +13,29 @@ import com.tcrs.tcrs_backend.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.sql.Types;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.stream.Collectors;
 
@@ -38,6 +45,15 @@ public class PaymentHistoryService {
 
     private static final Logger logger = LoggerFactory.getLogger(PaymentHistoryService.class);
 
+    private static final int INSERT_BATCH_SIZE = 500;
+
+    private static final String INSERT_PAYMENT_HISTORY = "INSERT INTO payment_histories (business_id, reported_by, " +
+            "transaction_reference, invoice_number, transaction_amount, due_date, payment_date, payment_status, " +
+            "transaction_type, days_overdue, penalty_amount, settled_amount, payment_method, payment_terms, " +
+            "trade_relationship, payment_rating, comments, verification_status, verified_by, verified_date, " +
+            "dispute_status, dispute_reason, is_active, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private PaymentHistoryRepository paymentHistoryRepository;
 
@@ -47,6 +63,21 @@ public class PaymentHistoryService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private PaymentCounterService paymentCounterService;
+
+    @Autowired
+    private PaymentRollupService paymentRollupService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionReferenceFilter transactionReferenceFilter;
+
     public PaymentHistoryResponse addPaymentHistory(PaymentHistoryRequest request) {
         logger.info("Adding payment history for business ID: {}", request.getBusinessId());
 
@@ -62,54 +93,68 @@ public class PaymentHistoryService {
                 .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + request.getBusinessId()));
 
         // Check if transaction reference already exists
-        if (paymentHistoryRepository.findByTransactionReferenceAndIsActiveTrue(request.getTransactionReference()).isPresent()) {
+        if (transactionReferenceFilter.isTaken(request.getTransactionReference())) {
             throw new BadRequestException("Payment history with this transaction reference already exists");
         }
 
-        // Create payment history
-        PaymentHistory paymentHistory = new PaymentHistory();
-        paymentHistory.setBusiness(business);
-        paymentHistory.setReportedBy(reportedBy);
-        paymentHistory.setTransactionReference(request.getTransactionReference());
-        paymentHistory.setInvoiceNumber(request.getInvoiceNumber());
-        paymentHistory.setTransactionAmount(request.getTransactionAmount());
-        paymentHistory.setDueDate(request.getDueDate());
-        paymentHistory.setPaymentDate(request.getPaymentDate());
-        paymentHistory.setPaymentStatus(request.getPaymentStatus());
-        paymentHistory.setTransactionType(request.getTransactionType());
-        paymentHistory.setPenaltyAmount(request.getPenaltyAmount());
-        paymentHistory.setSettledAmount(request.getSettledAmount());
-        paymentHistory.setPaymentMethod(request.getPaymentMethod());
-        paymentHistory.setPaymentTerms(request.getPaymentTerms());
-        paymentHistory.setTradeRelationship(request.getTradeRelationship());
-        paymentHistory.setPaymentRating(request.getPaymentRating());
-        paymentHistory.setComments(request.getComments());
-        paymentHistory.setDisputeStatus(request.getDisputeStatus() != null ? request.getDisputeStatus() : DisputeStatus.NO_DISPUTE);
-        paymentHistory.setDisputeReason(request.getDisputeReason());
-        paymentHistory.setVerificationStatus(VerificationStatus.PENDING);
+        PaymentHistory paymentHistory = buildPaymentHistory(request, business, reportedBy);
 
-        // Calculate days overdue if payment is made and was late
-        if (request.getPaymentDate() != null && request.getDueDate() != null) {
-            long daysBetween = ChronoUnit.DAYS.between(request.getDueDate(), request.getPaymentDate());
-            if (daysBetween > 0) {
-                paymentHistory.setDaysOverdue((int) daysBetween);
-            }
-        } else if (request.getDaysOverdue() != null) {
-            paymentHistory.setDaysOverdue(request.getDaysOverdue());
+        PaymentHistory savedPaymentHistory = paymentHistoryRepository.save(paymentHistory);
+        paymentCounterService.recordAdded(savedPaymentHistory);
+        transactionReferenceFilter.referencesAdded(List.of(savedPaymentHistory.getTransactionReference()));
+        eventPublisher.publishEvent(new CreditDataChangedEvent(business.getId()));
+
+        logger.info("Payment history added successfully with ID: {}", savedPaymentHistory.getId());
+
+        return convertToResponse(savedPaymentHistory);
+    }
+
+    /**
+     * Adds a chunk of validated bulk upload rows, keyed by row number, in one transaction.
+     * Taken transaction references (only the reference filter's probable hits) and unknown
+     * businesses are found with one query each for the whole chunk, and the remaining rows
+     * are inserted as JDBC batches. Returns the rejected rows' reasons. No credit data change
+     * events are published: the bulk upload publishes one per business once it is done,
+     * rather than one per chunk.
+     */
+    public Map<Long, String> addPaymentHistories(Map<Long, PaymentHistoryRequest> rows, Long reportedById) {
+        Set<String> references = new HashSet<>();
+        Set<Long> businessIds = new HashSet<>();
+        for (PaymentHistoryRequest request : rows.values()) {
+            references.add(request.getTransactionReference());
+            businessIds.add(request.getBusinessId());
         }
 
-        // Auto-verify if certain conditions are met
-        if (shouldAutoVerify(paymentHistory, reportedBy)) {
-            paymentHistory.setVerificationStatus(VerificationStatus.AUTO_VERIFIED);
-            paymentHistory.setVerifiedBy("System Auto-Verification");
-            paymentHistory.setVerifiedDate(LocalDateTime.now());
+        Set<String> takenReferences = transactionReferenceFilter.findTaken(references);
+        Set<Long> knownBusinessIds = new HashSet<>(businessRepository.findExistingIds(businessIds));
+        User reportedBy = userRepository.getReferenceById(reportedById);
+
+        Map<Long, String> rejected = new LinkedHashMap<>();
+        List<PaymentHistory> accepted = new ArrayList<>(rows.size());
+        for (Map.Entry<Long, PaymentHistoryRequest> row : rows.entrySet()) {
+            PaymentHistoryRequest request = row.getValue();
+            if (!knownBusinessIds.contains(request.getBusinessId())) {
+                rejected.put(row.getKey(), "Business not found with ID: " + request.getBusinessId());
+            } else if (!takenReferences.add(request.getTransactionReference())) {
+                // Also catches references repeated within the chunk; earlier chunks are committed
+                rejected.put(row.getKey(), "Payment history with this transaction reference already exists");
+            } else {
+                Business business = businessRepository.getReferenceById(request.getBusinessId());
+                accepted.add(buildPaymentHistory(request, business, reportedBy));
+            }
         }
 
-        PaymentHistory savedPaymentHistory = paymentHistoryRepository.save(paymentHistory);
+        if (!accepted.isEmpty()) {
+            insertPaymentHistories(accepted);
+            paymentCounterService.recordAddedAll(accepted);
+            transactionReferenceFilter.referencesAdded(accepted.stream()
+                    .map(PaymentHistory::getTransactionReference)
+                    .collect(Collectors.toList()));
+        }
 
-        logger.info("Payment history added successfully with ID: {}", savedPaymentHistory.getId());
+        logger.info("Bulk payment history chunk: {} rows added, {} rejected", accepted.size(), rejected.size());
 
-        return convertToResponse(savedPaymentHistory);
+        return rejected;
     }
 
     public PaymentHistoryResponse updatePaymentHistory(Long paymentHistoryId, PaymentHistoryRequest request) {
@@ -127,6 +172,8 @@ public class PaymentHistoryService {
             throw new BadRequestException("You can only update payment history records that you reported");
         }
 
+        PaymentCounterService.PaymentSnapshot before = PaymentCounterService.PaymentSnapshot.of(paymentHistory);
+
         // Update fields
         paymentHistory.setInvoiceNumber(request.getInvoiceNumber());
         paymentHistory.setTransactionAmount(request.getTransactionAmount());
@@ -164,6 +211,8 @@ public class PaymentHistoryService {
         }
 
         PaymentHistory updatedPaymentHistory = paymentHistoryRepository.save(paymentHistory);
+        paymentCounterService.recordUpdated(before, updatedPaymentHistory);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(paymentHistory.getBusiness().getId()));
 
         logger.info("Payment history updated successfully");
 
@@ -232,64 +281,95 @@ public class PaymentHistoryService {
         analytics.setBusinessId(business.getId());
         analytics.setBusinessName(business.getBusinessName());
 
-        // Basic Statistics
-        Long totalTransactions = paymentHistoryRepository.countTotalTransactionsByBusiness(business);
-        BigDecimal totalValue = paymentHistoryRepository.sumTotalTransactionValueByBusiness(business);
-        Long onTimePayments = paymentHistoryRepository.countOnTimePaymentsByBusiness(business);
-        Long overdueTransactions = paymentHistoryRepository.countOverdueTransactionsByBusiness(business);
-        BigDecimal overdueAmount = paymentHistoryRepository.sumOverdueAmountByBusiness(business);
-        Double averageDelay = paymentHistoryRepository.averagePaymentDelayByBusiness(business);
-        Double averageRating = paymentHistoryRepository.averagePaymentRatingByBusiness(business);
-
-        analytics.setTotalTransactions(totalTransactions != null ? totalTransactions.intValue() : 0);
-        analytics.setTotalTransactionValue(totalValue != null ? totalValue : BigDecimal.ZERO);
-        analytics.setTotalOverdueTransactions(overdueTransactions != null ? overdueTransactions.intValue() : 0);
-        analytics.setTotalOverdueAmount(overdueAmount != null ? overdueAmount : BigDecimal.ZERO);
-        analytics.setAveragePaymentDelay(averageDelay != null ? averageDelay : 0.0);
-
-        // Calculate percentages
-        if (totalTransactions != null && totalTransactions > 0) {
-            double onTimePercentage = (onTimePayments != null ? onTimePayments.doubleValue() : 0.0) / totalTransactions * 100;
-            double overduePercentage = (overdueTransactions != null ? overdueTransactions.doubleValue() : 0.0) / totalTransactions * 100;
-
-            analytics.setOnTimePaymentPercentage(BigDecimal.valueOf(onTimePercentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-            analytics.setOverduePaymentPercentage(BigDecimal.valueOf(overduePercentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
-        } else {
-            analytics.setOnTimePaymentPercentage(0.0);
-            analytics.setOverduePaymentPercentage(0.0);
+        // Every statistic but the monthly trends comes from a single grouping-sets scan
+        List<Object[]> rows = paymentHistoryRepository.getPaymentAnalyticsRows(business.getId());
+
+        Map<String, Integer> statusDistribution = new HashMap<>();
+        Map<String, BigDecimal> amountByStatus = new HashMap<>();
+        Map<String, Integer> relationshipBreakdown = new HashMap<>();
+        Map<String, Double> ratingByRelationship = new HashMap<>();
+        Object[] total = null;
+
+        for (Object[] row : rows) {
+            int count = (int) toLong(row[3]);
+            switch ((String) row[0]) {
+                case "STATUS" -> {
+                    statusDistribution.put((String) row[1], count);
+                    amountByStatus.put((String) row[1], toBigDecimal(row[4]));
+                }
+                case "RELATIONSHIP" -> {
+                    relationshipBreakdown.put((String) row[2], count);
+                    // Relationships without rated payments have no average, as before
+                    if (row[5] != null) {
+                        ratingByRelationship.put((String) row[2], ((Number) row[5]).doubleValue());
+                    }
+                }
+                default -> total = row;
+            }
         }
 
+        // Basic Statistics (the counter aggregates, taken from the same scan)
+        applyBasicStatistics(analytics, toCounters(business.getId(), total));
+
         // Payment Behavior Scores
         calculatePaymentBehaviorScores(analytics, business);
 
         // Distribution Analysis
-        analytics.setPaymentStatusDistribution(getPaymentStatusDistribution(business));
-        analytics.setPaymentAmountByStatus(getPaymentAmountByStatus(business));
+        analytics.setPaymentStatusDistribution(statusDistribution);
+        analytics.setPaymentAmountByStatus(amountByStatus);
 
         // Relationship Analysis
-        analytics.setRelationshipTypeBreakdown(getRelationshipTypeBreakdown(business));
-        analytics.setAverageRatingByRelationship(getAverageRatingByRelationship(business));
+        analytics.setRelationshipTypeBreakdown(relationshipBreakdown);
+        analytics.setAverageRatingByRelationship(ratingByRelationship);
 
         // Risk Indicators
-        BigDecimal largestOverdue = paymentHistoryRepository.findLargestOverdueAmount(business);
-        Integer longestDelay = paymentHistoryRepository.findLongestPaymentDelay(business);
-        Long activeDisputes = paymentHistoryRepository.countActiveDisputes(business);
-
-        analytics.setLargestOverdueAmount(largestOverdue != null ? largestOverdue : BigDecimal.ZERO);
-        analytics.setLongestPaymentDelay(longestDelay != null ? longestDelay : 0);
-        analytics.setTotalDisputes(activeDisputes != null ? activeDisputes.intValue() : 0);
+        analytics.setLargestOverdueAmount(total != null && total[17] != null ? toBigDecimal(total[17]) : BigDecimal.ZERO);
+        analytics.setLongestPaymentDelay(total != null ? (int) toLong(total[18]) : 0);
+        analytics.setTotalDisputes(total != null ? (int) toLong(total[19]) : 0);
 
-        // Monthly Trends
-        LocalDate sixMonthsAgo = LocalDate.now().minusMonths(6);
-        List<Object[]> monthlyTrends = paymentHistoryRepository.getMonthlyPaymentTrends(business, sixMonthsAgo);
-        analytics.setMonthlyPaymentTrends(processMonthlyTrends(monthlyTrends));
-        analytics.setMonthlyTransactionCounts(processMonthlyTransactionCounts(monthlyTrends));
+        // Monthly Trends (from the monthly rollups, covering whole months back to six months ago)
+        Map<String, Double> monthlyTrends = new HashMap<>();
+        Map<String, Integer> monthlyCounts = new HashMap<>();
+        LocalDate sixMonthsAgo = LocalDate.now().minusMonths(6).withDayOfMonth(1);
+        for (BusinessPaymentMonthlyRollup rollup : paymentRollupService.getMonthlyPaymentTrends(business.getId(), sixMonthsAgo)) {
+            if (rollup.getTotalPayments() <= 0) {
+                continue;
+            }
+            String monthKey = rollup.getMonthStart().getYear() + "-" + String.format("%02d", rollup.getMonthStart().getMonthValue());
+            monthlyTrends.put(monthKey, rollup.getDelayReportedPayments() > 0
+                    ? rollup.getTotalDelayDays().doubleValue() / rollup.getDelayReportedPayments() : 0.0);
+            monthlyCounts.put(monthKey, rollup.getTotalPayments().intValue());
+        }
+        analytics.setMonthlyPaymentTrends(monthlyTrends);
+        analytics.setMonthlyTransactionCounts(monthlyCounts);
 
         logger.info("Payment analytics generated successfully for business: {}", business.getBusinessName());
 
         return analytics;
     }
 
+    /**
+     * The subset of {@link #getPaymentAnalytics(Long)} that credit reports score from: basic
+     * statistics, behavior scores and risk indicators, without the distribution and trend queries.
+     * The risk indicators are passed in so callers can fetch them alongside their other aggregates.
+     */
+    @Transactional(readOnly = true)
+    public PaymentAnalyticsResponse getPaymentSummary(Business business, Integer longestDelay, Long activeDisputes) {
+        PaymentAnalyticsResponse analytics = new PaymentAnalyticsResponse();
+        analytics.setBusinessId(business.getId());
+        analytics.setBusinessName(business.getBusinessName());
+
+        applyBasicStatistics(analytics, paymentCounterService.getCounters(business.getId()));
+
+        // Scored before the risk indicators are set, as in getPaymentAnalytics
+        calculatePaymentBehaviorScores(analytics, business);
+
+        analytics.setLongestPaymentDelay(longestDelay != null ? longestDelay : 0);
+        analytics.setTotalDisputes(activeDisputes != null ? activeDisputes.intValue() : 0);
+
+        return analytics;
+    }
+
     public void verifyPaymentHistory(Long paymentHistoryId, boolean approve, String reason) {
         logger.info("Verifying payment history ID: {} - Approved: {}", paymentHistoryId, approve);
 
@@ -330,14 +410,92 @@ public class PaymentHistoryService {
         }
 
         // Soft delete
+        PaymentCounterService.PaymentSnapshot before = PaymentCounterService.PaymentSnapshot.of(paymentHistory);
         paymentHistory.setIsActive(false);
         paymentHistoryRepository.save(paymentHistory);
+        paymentCounterService.recordUpdated(before, paymentHistory);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(paymentHistory.getBusiness().getId()));
 
         logger.info("Payment history deleted successfully");
     }
 
     // Helper Methods
 
+    // New, unsaved payment history for a request, with days overdue and auto-verification applied
+    private PaymentHistory buildPaymentHistory(PaymentHistoryRequest request, Business business, User reportedBy) {
+        PaymentHistory paymentHistory = new PaymentHistory();
+        paymentHistory.setBusiness(business);
+        paymentHistory.setReportedBy(reportedBy);
+        paymentHistory.setTransactionReference(request.getTransactionReference());
+        paymentHistory.setInvoiceNumber(request.getInvoiceNumber());
+        paymentHistory.setTransactionAmount(request.getTransactionAmount());
+        paymentHistory.setDueDate(request.getDueDate());
+        paymentHistory.setPaymentDate(request.getPaymentDate());
+        paymentHistory.setPaymentStatus(request.getPaymentStatus());
+        paymentHistory.setTransactionType(request.getTransactionType());
+        paymentHistory.setPenaltyAmount(request.getPenaltyAmount());
+        paymentHistory.setSettledAmount(request.getSettledAmount());
+        paymentHistory.setPaymentMethod(request.getPaymentMethod());
+        paymentHistory.setPaymentTerms(request.getPaymentTerms());
+        paymentHistory.setTradeRelationship(request.getTradeRelationship());
+        paymentHistory.setPaymentRating(request.getPaymentRating());
+        paymentHistory.setComments(request.getComments());
+        paymentHistory.setDisputeStatus(request.getDisputeStatus() != null ? request.getDisputeStatus() : DisputeStatus.NO_DISPUTE);
+        paymentHistory.setDisputeReason(request.getDisputeReason());
+        paymentHistory.setVerificationStatus(VerificationStatus.PENDING);
+
+        // Calculate days overdue if payment is made and was late
+        if (request.getPaymentDate() != null && request.getDueDate() != null) {
+            long daysBetween = ChronoUnit.DAYS.between(request.getDueDate(), request.getPaymentDate());
+            if (daysBetween > 0) {
+                paymentHistory.setDaysOverdue((int) daysBetween);
+            }
+        } else if (request.getDaysOverdue() != null) {
+            paymentHistory.setDaysOverdue(request.getDaysOverdue());
+        }
+
+        // Auto-verify if certain conditions are met
+        if (shouldAutoVerify(paymentHistory, reportedBy)) {
+            paymentHistory.setVerificationStatus(VerificationStatus.AUTO_VERIFIED);
+            paymentHistory.setVerifiedBy("System Auto-Verification");
+            paymentHistory.setVerifiedDate(LocalDateTime.now());
+        }
+
+        return paymentHistory;
+    }
+
+    // Plain JDBC batches, bypassing the persistence context and auditing, so timestamps are set here
+    private void insertPaymentHistories(List<PaymentHistory> paymentHistories) {
+        LocalDateTime now = LocalDateTime.now();
+        jdbcTemplate.batchUpdate(INSERT_PAYMENT_HISTORY, paymentHistories, INSERT_BATCH_SIZE, (ps, paymentHistory) -> {
+            ps.setLong(1, paymentHistory.getBusiness().getId());
+            ps.setLong(2, paymentHistory.getReportedBy().getId());
+            ps.setString(3, paymentHistory.getTransactionReference());
+            ps.setString(4, paymentHistory.getInvoiceNumber());
+            ps.setBigDecimal(5, paymentHistory.getTransactionAmount());
+            ps.setObject(6, paymentHistory.getDueDate());
+            ps.setObject(7, paymentHistory.getPaymentDate());
+            ps.setString(8, paymentHistory.getPaymentStatus().name());
+            ps.setString(9, paymentHistory.getTransactionType().name());
+            ps.setObject(10, paymentHistory.getDaysOverdue(), Types.INTEGER);
+            ps.setBigDecimal(11, paymentHistory.getPenaltyAmount());
+            ps.setBigDecimal(12, paymentHistory.getSettledAmount());
+            ps.setString(13, paymentHistory.getPaymentMethod());
+            ps.setString(14, paymentHistory.getPaymentTerms());
+            ps.setString(15, paymentHistory.getTradeRelationship());
+            ps.setObject(16, paymentHistory.getPaymentRating(), Types.INTEGER);
+            ps.setString(17, paymentHistory.getComments());
+            ps.setString(18, paymentHistory.getVerificationStatus().name());
+            ps.setString(19, paymentHistory.getVerifiedBy());
+            ps.setObject(20, paymentHistory.getVerifiedDate());
+            ps.setString(21, paymentHistory.getDisputeStatus().name());
+            ps.setString(22, paymentHistory.getDisputeReason());
+            ps.setBoolean(23, true);
+            ps.setObject(24, now);
+            ps.setObject(25, now);
+        });
+    }
+
     private boolean shouldAutoVerify(PaymentHistory paymentHistory, User reportedBy) {
         // Auto-verify if:
         // 1. Reporter has good track record
@@ -360,6 +518,36 @@ public class PaymentHistoryService {
                 (existing.getPaymentDate() != null && !existing.getPaymentDate().equals(request.getPaymentDate()));
     }
 
+    private void applyBasicStatistics(PaymentAnalyticsResponse analytics, BusinessPaymentCounters counters) {
+        Long totalTransactions = counters.getTotalPayments();
+        BigDecimal totalValue = counters.getTotalAmount();
+        Long onTimePayments = counters.getPaidWithoutDelayPayments();
+        Long overdueTransactions = counters.getOverduePayments() + counters.getDefaultedPayments();
+        BigDecimal overdueAmount = counters.getOverdueAmount();
+        Double averageDelay = counters.getDelayedPayments() > 0
+                ? counters.getTotalDelayDays().doubleValue() / counters.getDelayedPayments() : null;
+        Double averageRating = counters.getRatedPayments() > 0
+                ? counters.getTotalRating().doubleValue() / counters.getRatedPayments() : null;
+
+        analytics.setTotalTransactions(totalTransactions != null ? totalTransactions.intValue() : 0);
+        analytics.setTotalTransactionValue(totalValue != null ? totalValue : BigDecimal.ZERO);
+        analytics.setTotalOverdueTransactions(overdueTransactions != null ? overdueTransactions.intValue() : 0);
+        analytics.setTotalOverdueAmount(overdueAmount != null ? overdueAmount : BigDecimal.ZERO);
+        analytics.setAveragePaymentDelay(averageDelay != null ? averageDelay : 0.0);
+
+        // Calculate percentages
+        if (totalTransactions != null && totalTransactions > 0) {
+            double onTimePercentage = (onTimePayments != null ? onTimePayments.doubleValue() : 0.0) / totalTransactions * 100;
+            double overduePercentage = (overdueTransactions != null ? overdueTransactions.doubleValue() : 0.0) / totalTransactions * 100;
+
+            analytics.setOnTimePaymentPercentage(BigDecimal.valueOf(onTimePercentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
+            analytics.setOverduePaymentPercentage(BigDecimal.valueOf(overduePercentage).setScale(2, RoundingMode.HALF_UP).doubleValue());
+        } else {
+            analytics.setOnTimePaymentPercentage(0.0);
+            analytics.setOverduePaymentPercentage(0.0);
+        }
+    }
+
     private void calculatePaymentBehaviorScores(PaymentAnalyticsResponse analytics, Business business) {
         // Payment Reliability Score (0-100)
         double reliabilityScore = 50.0; // Base score
@@ -391,87 +579,41 @@ public class PaymentHistoryService {
         analytics.setOverallPaymentScore(BigDecimal.valueOf(overallScore).setScale(2, RoundingMode.HALF_UP).doubleValue());
     }
 
-    private Map<String, Integer> getPaymentStatusDistribution(Business business) {
-        List<Object[]> results = paymentHistoryRepository.getPaymentStatusDistribution(business);
-        Map<String, Integer> distribution = new HashMap<>();
-
-        for (Object[] result : results) {
-            PaymentStatus status = (PaymentStatus) result[0];
-            Long count = (Long) result[1];
-            distribution.put(status.toString(), count.intValue());
-        }
-
-        return distribution;
-    }
-
-    private Map<String, BigDecimal> getPaymentAmountByStatus(Business business) {
-        List<Object[]> results = paymentHistoryRepository.getPaymentAmountByStatus(business);
-        Map<String, BigDecimal> amounts = new HashMap<>();
-
-        for (Object[] result : results) {
-            PaymentStatus status = (PaymentStatus) result[0];
-            BigDecimal amount = (BigDecimal) result[1];
-            amounts.put(status.toString(), amount != null ? amount : BigDecimal.ZERO);
+    // Counters as PaymentCounterService would recount them, from the TOTAL analytics row
+    private BusinessPaymentCounters toCounters(Long businessId, Object[] total) {
+        BusinessPaymentCounters counters = new BusinessPaymentCounters(businessId);
+        if (total == null) {
+            return counters;
         }
 
-        return amounts;
+        counters.setTotalPayments(toLong(total[3]));
+        counters.setTotalAmount(toBigDecimal(total[4]));
+        counters.setOnTimePayments(toLong(total[6]));
+        counters.setLatePayments(toLong(total[7]));
+        counters.setVeryLatePayments(toLong(total[8]));
+        counters.setOverduePayments(toLong(total[9]));
+        counters.setDefaultedPayments(toLong(total[10]));
+        counters.setOverdueAmount(toBigDecimal(total[11]));
+        counters.setPaidWithoutDelayPayments(toLong(total[12]));
+        counters.setDelayedPayments(toLong(total[13]));
+        counters.setTotalDelayDays(toLong(total[14]));
+        counters.setRatedPayments(toLong(total[15]));
+        counters.setTotalRating(toLong(total[16]));
+        return counters;
     }
 
-    private Map<String, Integer> getRelationshipTypeBreakdown(Business business) {
-        List<Object[]> results = paymentHistoryRepository.getRelationshipTypeBreakdown(business);
-        Map<String, Integer> breakdown = new HashMap<>();
-
-        for (Object[] result : results) {
-            String relationship = (String) result[0];
-            Long count = (Long) result[1];
-            breakdown.put(relationship, count.intValue());
-        }
-
-        return breakdown;
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
     }
 
-    private Map<String, Double> getAverageRatingByRelationship(Business business) {
-        List<Object[]> results = paymentHistoryRepository.getAverageRatingByRelationship(business);
-        Map<String, Double> ratings = new HashMap<>();
-
-        for (Object[] result : results) {
-            String relationship = (String) result[0];
-            Double avgRating = (Double) result[1];
-            ratings.put(relationship, avgRating != null ? avgRating : 0.0);
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
         }
-
-        return ratings;
-    }
-
-    private Map<String, Double> processMonthlyTrends(List<Object[]> trends) {
-        Map<String, Double> monthlyTrends = new HashMap<>();
-
-        for (Object[] trend : trends) {
-            Integer year = (Integer) trend[0];
-            Integer month = (Integer) trend[1];
-            Long count = (Long) trend[2];
-            Double avgDelay = (Double) trend[3];
-
-            String monthKey = year + "-" + String.format("%02d", month);
-            monthlyTrends.put(monthKey, avgDelay != null ? avgDelay : 0.0);
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
         }
-
-        return monthlyTrends;
-    }
-
-    private Map<String, Integer> processMonthlyTransactionCounts(List<Object[]> trends) {
-        Map<String, Integer> monthlyCounts = new HashMap<>();
-
-        for (Object[] trend : trends) {
-            Integer year = (Integer) trend[0];
-            Integer month = (Integer) trend[1];
-            Long count = (Long) trend[2];
-
-            String monthKey = year + "-" + String.format("%02d", month);
-            monthlyCounts.put(monthKey, count != null ? count.intValue() : 0);
-        }
-
-        return monthlyCounts;
+        return new BigDecimal(value.toString());
     }
 
     private PaymentHistoryResponse convertToResponse(PaymentHistory paymentHistory) {
@@ -0,0 +1,179 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.BusinessPaymentMonthlyRollup;
+import com.tcrs.tcrs_backend.entity.DisputeStatus;
+import com.tcrs.tcrs_backend.entity.PaymentStatus;
+import com.tcrs.tcrs_backend.repository.BusinessPaymentMonthlyRollupRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Keeps {@link BusinessPaymentMonthlyRollup} rows in step with payment history writes.
+ *
+ * Deltas are applied by {@link PaymentCounterService} while it holds the business's counters
+ * row lock, which also records whether the business's rollups have been built yet.
+ */
+@Service
+@Transactional
+public class PaymentRollupService {
+
+    private static final Set<DisputeStatus> ACTIVE_DISPUTES = EnumSet.of(
+            DisputeStatus.DISPUTE_RAISED, DisputeStatus.UNDER_REVIEW, DisputeStatus.ESCALATED);
+
+    @Autowired
+    private BusinessPaymentMonthlyRollupRepository rollupRepository;
+
+    // A changed due date moves the payment from one month's rollup to the other's
+    public void applyDelta(Long businessId, PaymentCounterService.PaymentSnapshot before,
+                           PaymentCounterService.PaymentSnapshot after) {
+        Map<LocalDate, BusinessPaymentMonthlyRollup> touched = new HashMap<>();
+
+        if (before != null && counts(before)) {
+            apply(monthRollup(businessId, before.dueDate, touched), before, -1);
+        }
+        if (after != null && counts(after)) {
+            apply(monthRollup(businessId, after.dueDate, touched), after, 1);
+        }
+
+        rollupRepository.saveAll(touched.values());
+    }
+
+    public void applyAdded(Long businessId, List<PaymentCounterService.PaymentSnapshot> added) {
+        Map<LocalDate, BusinessPaymentMonthlyRollup> touched = new HashMap<>();
+
+        for (PaymentCounterService.PaymentSnapshot payment : added) {
+            if (counts(payment)) {
+                apply(monthRollup(businessId, payment.dueDate, touched), payment, 1);
+            }
+        }
+
+        rollupRepository.saveAll(touched.values());
+    }
+
+    public void rebuild(Long businessId) {
+        rollupRepository.deleteByBusinessId(businessId);
+        rollupRepository.saveAll(recount(businessId));
+    }
+
+    /**
+     * A business's rollups from fromMonth on, oldest first. Businesses whose rollups are not
+     * built yet are recounted from payment history without persisting, as for counters.
+     */
+    @Transactional(readOnly = true)
+    public List<BusinessPaymentMonthlyRollup> getMonthlyPaymentTrends(Long businessId, LocalDate fromMonth) {
+        List<Object[]> rows = rollupRepository.findRollupsWithBuildState(businessId, fromMonth);
+
+        if (rows.isEmpty() || !Boolean.TRUE.equals(rows.get(0)[0])) {
+            List<BusinessPaymentMonthlyRollup> rollups = new ArrayList<>();
+            for (BusinessPaymentMonthlyRollup rollup : recount(businessId)) {
+                if (!rollup.getMonthStart().isBefore(fromMonth)) {
+                    rollups.add(rollup);
+                }
+            }
+            rollups.sort(Comparator.comparing(BusinessPaymentMonthlyRollup::getMonthStart));
+            return rollups;
+        }
+
+        List<BusinessPaymentMonthlyRollup> rollups = new ArrayList<>(rows.size());
+        for (Object[] row : rows) {
+            if (row[1] != null) {
+                rollups.add((BusinessPaymentMonthlyRollup) row[1]);
+            }
+        }
+        return rollups;
+    }
+
+    private List<BusinessPaymentMonthlyRollup> recount(Long businessId) {
+        List<BusinessPaymentMonthlyRollup> rollups = new ArrayList<>();
+
+        for (Object[] row : rollupRepository.aggregateMonthsByBusinessId(businessId)) {
+            LocalDate monthStart = LocalDate.of(((Number) row[0]).intValue(), ((Number) row[1]).intValue(), 1);
+            BusinessPaymentMonthlyRollup rollup = new BusinessPaymentMonthlyRollup(businessId, monthStart);
+            rollup.setTotalPayments(toLong(row[2]));
+            rollup.setPaidWithoutDelayPayments(toLong(row[3]));
+            rollup.setOverduePayments(toLong(row[4]));
+            rollup.setTotalAmount(toBigDecimal(row[5]));
+            rollup.setOverdueAmount(toBigDecimal(row[6]));
+            rollup.setDelayReportedPayments(toLong(row[7]));
+            rollup.setTotalDelayDays(toLong(row[8]));
+            rollup.setActiveDisputes(toLong(row[9]));
+            rollup.setRatedPayments(toLong(row[10]));
+            rollup.setTotalRating(toLong(row[11]));
+            rollups.add(rollup);
+        }
+
+        return rollups;
+    }
+
+    private BusinessPaymentMonthlyRollup monthRollup(Long businessId, LocalDate dueDate,
+                                                     Map<LocalDate, BusinessPaymentMonthlyRollup> touched) {
+        LocalDate monthStart = dueDate.withDayOfMonth(1);
+        return touched.computeIfAbsent(monthStart, month -> rollupRepository
+                .findByBusinessIdAndMonthStart(businessId, month)
+                .orElseGet(() -> new BusinessPaymentMonthlyRollup(businessId, month)));
+    }
+
+    private boolean counts(PaymentCounterService.PaymentSnapshot payment) {
+        return payment.active && payment.dueDate != null;
+    }
+
+    // Adds (sign 1) or removes (sign -1) one payment; buckets mirror the aggregate query
+    private void apply(BusinessPaymentMonthlyRollup rollup, PaymentCounterService.PaymentSnapshot payment, int sign) {
+        rollup.setTotalPayments(rollup.getTotalPayments() + sign);
+        if (payment.amount != null) {
+            rollup.setTotalAmount(addSigned(rollup.getTotalAmount(), payment.amount, sign));
+        }
+
+        if (payment.status == PaymentStatus.PAID && (payment.daysOverdue == null || payment.daysOverdue == 0)) {
+            rollup.setPaidWithoutDelayPayments(rollup.getPaidWithoutDelayPayments() + sign);
+        } else if (payment.status == PaymentStatus.OVERDUE || payment.status == PaymentStatus.DEFAULTED) {
+            rollup.setOverduePayments(rollup.getOverduePayments() + sign);
+            if (payment.amount != null) {
+                rollup.setOverdueAmount(addSigned(rollup.getOverdueAmount(), payment.amount, sign));
+            }
+        }
+
+        if (payment.daysOverdue != null) {
+            rollup.setDelayReportedPayments(rollup.getDelayReportedPayments() + sign);
+            rollup.setTotalDelayDays(rollup.getTotalDelayDays() + (long) sign * payment.daysOverdue);
+        }
+
+        if (payment.disputeStatus != null && ACTIVE_DISPUTES.contains(payment.disputeStatus)) {
+            rollup.setActiveDisputes(rollup.getActiveDisputes() + sign);
+        }
+
+        if (payment.rating != null) {
+            rollup.setRatedPayments(rollup.getRatedPayments() + sign);
+            rollup.setTotalRating(rollup.getTotalRating() + (long) sign * payment.rating);
+        }
+    }
+
+    private static BigDecimal addSigned(BigDecimal total, BigDecimal amount, int sign) {
+        return sign > 0 ? total.add(amount) : total.subtract(amount);
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+
+    private static BigDecimal toBigDecimal(Object value) {
+        if (value == null) {
+            return BigDecimal.ZERO;
+        }
+        if (value instanceof BigDecimal) {
+            return (BigDecimal) value;
+        }
+        return new BigDecimal(value.toString());
+    }
+}
@@ -0,0 +1,325 @@
+package com.tcrs.tcrs_backend.service;
+
+import java.io.Closeable;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Minimal PDF 1.4 writer for text documents. Each page is written to the underlying stream
+ * as soon as it fills, so the document is never held in memory; the page tree and the
+ * cross-reference table follow on close. Text is set in the standard Helvetica fonts with
+ * WinAnsiEncoding, which every viewer provides, so no font is embedded.
+ */
+final class PdfDocumentWriter implements Closeable {
+
+    // A4 in points
+    private static final float PAGE_WIDTH = 595f;
+    private static final float PAGE_HEIGHT = 842f;
+    private static final float MARGIN = 50f;
+    private static final float FOOTER_HEIGHT = 20f;
+    private static final float LINE_SPACING = 1.4f;
+    private static final float TEXT_SIZE = 10f;
+    private static final float FIELD_VALUE_OFFSET = 180f;
+
+    private static final int CATALOG_OBJECT = 1;
+    private static final int PAGES_OBJECT = 2;
+    private static final int REGULAR_FONT_OBJECT = 3;
+    private static final int BOLD_FONT_OBJECT = 4;
+
+    private static final String BULLET = "\u0095 ";
+
+    // Helvetica advance widths for WinAnsi 32..126, in 1/1000 of the font size
+    private static final int[] HELVETICA_WIDTHS = {
+            278, 278, 355, 556, 556, 889, 667, 191, 333, 333, 389, 584, 278, 333, 278, 278,
+            556, 556, 556, 556, 556, 556, 556, 556, 556, 556, 278, 278, 584, 584, 584, 556,
+            1015, 667, 667, 722, 722, 667, 611, 778, 722, 278, 500, 667, 556, 833, 722, 778,
+            667, 778, 722, 667, 611, 722, 667, 944, 667, 667, 611, 278, 278, 278, 469, 556,
+            333, 556, 556, 500, 556, 556, 278, 556, 556, 222, 222, 500, 222, 833, 556, 556,
+            556, 556, 333, 500, 278, 556, 500, 722, 500, 500, 500, 334, 260, 334, 584
+    };
+
+    private final CountingOutputStream out;
+    private final String footer;
+    private final List<Long> objectOffsets = new ArrayList<>();
+    private final List<Integer> pageObjects = new ArrayList<>();
+
+    private StringBuilder content;
+    private float y;
+
+    PdfDocumentWriter(OutputStream out, String footer) throws IOException {
+        this.out = new CountingOutputStream(out);
+        this.footer = toWinAnsi(footer);
+
+        for (int i = 0; i < BOLD_FONT_OBJECT; i++) {
+            objectOffsets.add(null);
+        }
+
+        // The binary comment tells transfer tools the file is not plain text
+        write("%PDF-1.4\n%âãÏÓ\n");
+        writeFont(REGULAR_FONT_OBJECT, "Helvetica");
+        writeFont(BOLD_FONT_OBJECT, "Helvetica-Bold");
+    }
+
+    void title(String text) throws IOException {
+        paragraph(text, true, 18f, MARGIN);
+        space(6f);
+    }
+
+    void heading(String text) throws IOException {
+        space(10f);
+        paragraph(text, true, 12f, MARGIN);
+        space(2f);
+    }
+
+    void text(String text) throws IOException {
+        if (text == null || text.isBlank()) {
+            return;
+        }
+        for (String line : text.split("\n")) {
+            paragraph(line, false, TEXT_SIZE, MARGIN);
+        }
+    }
+
+    // Label in bold with the value wrapped in a column to its right
+    void field(String label, String value) throws IOException {
+        List<String> lines = wrap(toWinAnsi(value == null ? "-" : value),
+                TEXT_SIZE, PAGE_WIDTH - 2 * MARGIN - FIELD_VALUE_OFFSET, 0f);
+        float lineHeight = TEXT_SIZE * LINE_SPACING;
+
+        for (int i = 0; i < lines.size(); i++) {
+            ensureSpace(lineHeight);
+            y -= lineHeight;
+            if (i == 0) {
+                showText(toWinAnsi(label), true, TEXT_SIZE, MARGIN);
+            }
+            showText(lines.get(i), false, TEXT_SIZE, MARGIN + FIELD_VALUE_OFFSET);
+        }
+    }
+
+    void space(float points) {
+        if (content != null) {
+            y -= points;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (content != null || pageObjects.isEmpty()) {
+            if (content == null) {
+                startPage();
+            }
+            finishPage();
+        }
+
+        StringBuilder kids = new StringBuilder();
+        for (int pageObject : pageObjects) {
+            kids.append(pageObject).append(" 0 R ");
+        }
+        writeObject(PAGES_OBJECT, "<< /Type /Pages /Kids [ " + kids + "] /Count " + pageObjects.size() + " >>");
+        writeObject(CATALOG_OBJECT, "<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>");
+
+        long xrefOffset = out.count;
+        StringBuilder xref = new StringBuilder();
+        xref.append("xref\n0 ").append(objectOffsets.size() + 1).append('\n');
+        xref.append("0000000000 65535 f \n");
+        for (Long offset : objectOffsets) {
+            xref.append(String.format(Locale.ROOT, "%010d 00000 n \n", offset));
+        }
+        xref.append("trailer\n<< /Size ").append(objectOffsets.size() + 1)
+                .append(" /Root ").append(CATALOG_OBJECT).append(" 0 R >>\n");
+        xref.append("startxref\n").append(xrefOffset).append("\n%%EOF\n");
+        write(xref.toString());
+        out.flush();
+    }
+
+    private void paragraph(String text, boolean bold, float size, float x) throws IOException {
+        String line = toWinAnsi(text);
+        float hangingIndent = line.startsWith(BULLET) ? width(BULLET, size) : 0f;
+        float lineHeight = size * LINE_SPACING;
+
+        for (String wrapped : wrap(line, size, PAGE_WIDTH - MARGIN - x, hangingIndent)) {
+            ensureSpace(lineHeight);
+            y -= lineHeight;
+            showText(wrapped, bold, size, x);
+        }
+    }
+
+    // Continuation lines are prefixed with spaces worth the hanging indent so they align under the text
+    private List<String> wrap(String text, float size, float maxWidth, float hangingIndent) {
+        List<String> lines = new ArrayList<>();
+        String indent = hangingIndent > 0 ? " ".repeat(Math.round(hangingIndent / width(" ", size))) : "";
+        StringBuilder current = new StringBuilder();
+        int lineStart = 0;
+
+        for (String word : text.split(" ")) {
+            String candidate = current.length() > lineStart ? current + " " + word : current + word;
+            if (width(candidate, size) <= maxWidth) {
+                current.setLength(0);
+                current.append(candidate);
+                continue;
+            }
+            if (current.length() > lineStart) {
+                lines.add(current.toString());
+                current.setLength(0);
+                current.append(indent);
+                lineStart = indent.length();
+                if (width(current + word, size) <= maxWidth) {
+                    current.append(word);
+                    continue;
+                }
+            }
+            // Words wider than the line are broken wherever they overflow
+            for (char c : word.toCharArray()) {
+                if (width(current.toString() + c, size) > maxWidth && current.length() > lineStart) {
+                    lines.add(current.toString());
+                    current.setLength(0);
+                    current.append(indent);
+                    lineStart = indent.length();
+                }
+                current.append(c);
+            }
+        }
+        lines.add(current.toString());
+        return lines;
+    }
+
+    private void ensureSpace(float lineHeight) throws IOException {
+        if (content == null) {
+            startPage();
+        } else if (y - lineHeight < MARGIN + FOOTER_HEIGHT) {
+            finishPage();
+            startPage();
+        }
+    }
+
+    private void startPage() {
+        content = new StringBuilder();
+        y = PAGE_HEIGHT - MARGIN;
+    }
+
+    private void finishPage() throws IOException {
+        y = MARGIN;
+        showText(footer + " - Page " + (pageObjects.size() + 1), false, 8f, MARGIN);
+
+        byte[] stream = content.toString().getBytes(StandardCharsets.ISO_8859_1);
+        content = null;
+
+        int contentObject = nextObject();
+        beginObject(contentObject);
+        write("<< /Length " + stream.length + " >>\nstream\n");
+        out.write(stream);
+        write("\nendstream\nendobj\n");
+
+        int pageObject = nextObject();
+        writeObject(pageObject, "<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R"
+                + " /MediaBox [0 0 " + (int) PAGE_WIDTH + " " + (int) PAGE_HEIGHT + "]"
+                + " /Resources << /Font << /F1 " + REGULAR_FONT_OBJECT + " 0 R /F2 " + BOLD_FONT_OBJECT + " 0 R >> >>"
+                + " /Contents " + contentObject + " 0 R >>");
+        pageObjects.add(pageObject);
+    }
+
+    private void showText(String text, boolean bold, float size, float x) {
+        content.append("BT /").append(bold ? "F2" : "F1").append(' ')
+                .append(format(size)).append(" Tf ")
+                .append(format(x)).append(' ').append(format(y)).append(" Td (");
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == ')' || c == '\\') {
+                content.append('\\');
+            }
+            content.append(c);
+        }
+        content.append(") Tj ET\n");
+    }
+
+    private void writeFont(int object, String baseFont) throws IOException {
+        writeObject(object, "<< /Type /Font /Subtype /Type1 /BaseFont /" + baseFont
+                + " /Encoding /WinAnsiEncoding >>");
+    }
+
+    private void writeObject(int object, String body) throws IOException {
+        beginObject(object);
+        write(body + "\nendobj\n");
+    }
+
+    private int nextObject() {
+        objectOffsets.add(null);
+        return objectOffsets.size();
+    }
+
+    private void beginObject(int object) throws IOException {
+        objectOffsets.set(object - 1, out.count);
+        write(object + " 0 obj\n");
+    }
+
+    private void write(String text) throws IOException {
+        out.write(text.getBytes(StandardCharsets.ISO_8859_1));
+    }
+
+    private static String format(float value) {
+        return String.format(Locale.ROOT, "%.2f", value);
+    }
+
+    private static float width(String text, float size) {
+        int units = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c >= 32 && c <= 126) {
+                units += HELVETICA_WIDTHS[c - 32];
+            } else if (c == '\u0095') {
+                units += 350;
+            } else {
+                units += 556;
+            }
+        }
+        return units * size / 1000f;
+    }
+
+    // Maps text onto the WinAnsi code points of the standard fonts; anything outside is replaced
+    static String toWinAnsi(String text) {
+        StringBuilder result = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            switch (c) {
+                case '•' -> result.append('\u0095');
+                case '₹' -> result.append("Rs.");
+                case '€' -> result.append('\u0080');
+                case '‘' -> result.append('\u0091');
+                case '’' -> result.append('\u0092');
+                case '“' -> result.append('\u0093');
+                case '”' -> result.append('\u0094');
+                case '–' -> result.append('\u0096');
+                case '—' -> result.append('\u0097');
+                case '\t', '\r' -> result.append(' ');
+                default -> result.append(c >= 32 && c <= 126 || c >= 160 && c <= 255 ? c : '?');
+            }
+        }
+        return result.toString();
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
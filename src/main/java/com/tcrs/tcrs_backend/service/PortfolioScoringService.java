@@ -0,0 +1,221 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.BusinessPaymentCounters;
+import com.tcrs.tcrs_backend.repository.BusinessCreditScoreRepository;
+import com.tcrs.tcrs_backend.repository.BusinessPaymentCountersRepository;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.PaymentHistoryRepository;
+import com.tcrs.tcrs_backend.repository.TradeReferenceRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores many businesses at once. Features for a chunk of businesses are read
+ * with three set-based queries (businesses, payment counters, trade reference
+ * aggregates) and the CPU-only scoring is then spread across cores.
+ */
+@Service
+public class PortfolioScoringService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PortfolioScoringService.class);
+
+    // Businesses per round of aggregate queries (keeps IN lists within driver limits)
+    private static final int QUERY_CHUNK_SIZE = 1000;
+
+    // Below this many businesses a fork-join task scores sequentially
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private PaymentHistoryRepository paymentHistoryRepository;
+
+    @Autowired
+    private TradeReferenceRepository tradeReferenceRepository;
+
+    @Autowired
+    private BusinessPaymentCountersRepository businessPaymentCountersRepository;
+
+    @Autowired
+    private CreditScoringService creditScoringService;
+
+    @Autowired
+    private BusinessCreditScoreRepository businessCreditScoreRepository;
+
+    @Autowired
+    private ScoringModelService scoringModelService;
+
+    // One thread, so back-to-back reloads rescore one after the other
+    private final ExecutorService modelRescoreExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "model-rescore");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @Transactional(readOnly = true)
+    public Map<Long, CreditScoreBreakdown> scoreAll(Collection<Long> businessIds) {
+        return scoreAll(businessIds, scoringModelService.getModel());
+    }
+
+    // Every business is scored with the given model, even if a reload swaps the active one meanwhile
+    @Transactional(readOnly = true)
+    public Map<Long, CreditScoreBreakdown> scoreAll(Collection<Long> businessIds, ScoringModel model) {
+        Map<Long, CreditScoreBreakdown> results = new LinkedHashMap<>();
+        if (businessIds == null || businessIds.isEmpty()) {
+            return results;
+        }
+
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(businessIds));
+        long startTime = System.currentTimeMillis();
+
+        for (int from = 0; from < ids.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = ids.subList(from, Math.min(from + QUERY_CHUNK_SIZE, ids.size()));
+            CreditScoreFeatures[] features = extractFeatures(chunk);
+
+            CreditScoreBreakdown[] scored = new CreditScoreBreakdown[features.length];
+            ForkJoinPool.commonPool().invoke(new ScoringTask(model, features, scored, 0, features.length));
+
+            for (CreditScoreBreakdown breakdown : scored) {
+                results.put(breakdown.getBusinessId(), breakdown);
+            }
+        }
+
+        logger.info("Scored {} of {} requested businesses in {} ms",
+                results.size(), ids.size(), System.currentTimeMillis() - startTime);
+        return results;
+    }
+
+    // Materialize scores for businesses that have never been scored (existing data, missed events)
+    // or were last scored with another model version (a reload while this node was down)
+    @Scheduled(initialDelay = 60000, fixedDelay = 3600000) // Shortly after startup, then hourly
+    public void materializeMissingScores() {
+        materialize(businessCreditScoreRepository.findBusinessIdsWithoutScore(), "never scored");
+
+        Optional<ScoringModel> latestModel = scoringModelService.getLatestModel();
+        if (latestModel.isPresent()) {
+            rescoreOtherModelVersions(latestModel.get());
+        } else {
+            logger.warn("Skipping rescore of stored credit scores until the latest scoring model loads");
+        }
+    }
+
+    // Stored scores from the previous model are rewritten in the background after a reload,
+    // unless a newer version has been added since
+    @EventListener
+    public void onScoringModelChanged(ScoringModelChangedEvent event) {
+        modelRescoreExecutor.execute(() -> scoringModelService.getLatestModel()
+                .filter(model -> model.getVersion() == event.getModelVersion())
+                .ifPresent(this::rescoreOtherModelVersions));
+    }
+
+    private void rescoreOtherModelVersions(ScoringModel model) {
+        materialize(businessCreditScoreRepository.findBusinessIdsScoredWithOtherModel(model.getVersion()),
+                model, "scored with a model other than version " + model.getVersion());
+    }
+
+    private void materialize(List<Long> businessIds, String reason) {
+        materialize(businessIds, scoringModelService.getModel(), reason);
+    }
+
+    private void materialize(List<Long> businessIds, ScoringModel model, String reason) {
+        if (businessIds.isEmpty()) {
+            return;
+        }
+
+        logger.info("Materializing credit scores for {} businesses ({})", businessIds.size(), reason);
+
+        for (int from = 0; from < businessIds.size(); from += QUERY_CHUNK_SIZE) {
+            List<Long> chunk = businessIds.subList(from, Math.min(from + QUERY_CHUNK_SIZE, businessIds.size()));
+            try {
+                creditScoringService.storeCreditScores(scoreAll(chunk, model).values());
+            } catch (Exception e) {
+                logger.error("Error materializing credit scores for businesses {} to {}",
+                        chunk.get(0), chunk.get(chunk.size() - 1), e);
+            }
+        }
+    }
+
+    private CreditScoreFeatures[] extractFeatures(List<Long> businessIds) {
+        Map<Long, CreditScoreFeatures> featuresById = new LinkedHashMap<>();
+        for (Business business : businessRepository.findAllById(businessIds)) {
+            CreditScoreFeatures features = new CreditScoreFeatures();
+            features.applyBusiness(business);
+            featuresById.put(business.getId(), features);
+        }
+
+        if (featuresById.isEmpty()) {
+            return new CreditScoreFeatures[0];
+        }
+
+        Set<Long> foundIds = featuresById.keySet();
+
+        // Payment features come from the running counters; only businesses without a row are aggregated
+        Set<Long> uncountedIds = new HashSet<>(foundIds);
+        for (BusinessPaymentCounters counters : businessPaymentCountersRepository.findAllById(foundIds)) {
+            featuresById.get(counters.getBusinessId()).applyPaymentCounters(counters);
+            uncountedIds.remove(counters.getBusinessId());
+        }
+
+        if (!uncountedIds.isEmpty()) {
+            for (Object[] row : paymentHistoryRepository.getScoringAggregatesByBusinessIds(uncountedIds)) {
+                CreditScoreFeatures features = featuresById.get((Long) row[0]);
+                if (features != null) {
+                    features.applyPaymentAggregate(row, 1);
+                }
+            }
+        }
+
+        for (Object[] row : tradeReferenceRepository.getScoringAggregatesByBusinessIds(foundIds)) {
+            CreditScoreFeatures features = featuresById.get((Long) row[0]);
+            if (features != null) {
+                features.addTradeReferenceGroup(row, 1);
+            }
+        }
+
+        return featuresById.values().toArray(new CreditScoreFeatures[0]);
+    }
+
+    private class ScoringTask extends RecursiveAction {
+
+        private final ScoringModel model;
+        private final CreditScoreFeatures[] features;
+        private final CreditScoreBreakdown[] results;
+        private final int from;
+        private final int to;
+
+        ScoringTask(ScoringModel model, CreditScoreFeatures[] features, CreditScoreBreakdown[] results, int from, int to) {
+            this.model = model;
+            this.features = features;
+            this.results = results;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                for (int i = from; i < to; i++) {
+                    results[i] = creditScoringService.calculateScoreBreakdown(features[i], model);
+                }
+                return;
+            }
+
+            int mid = (from + to) >>> 1;
+            invokeAll(new ScoringTask(model, features, results, from, mid),
+                    new ScoringTask(model, features, results, mid, to));
+        }
+    }
+}
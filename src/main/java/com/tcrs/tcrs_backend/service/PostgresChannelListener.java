@@ -0,0 +1,99 @@
+package com.tcrs.tcrs_backend.service;
+
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * LISTENs on one Postgres channel from a daemon thread, reconnecting when the
+ * connection drops, and hands each notification payload to a handler.
+ *
+ * Notifications sent while not connected are lost, so onListening runs every time
+ * the listener (re)connects, before any notification is handled.
+ */
+final class PostgresChannelListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(PostgresChannelListener.class);
+
+    private static final int NOTIFICATION_POLL_MILLIS = 10000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    private final DataSource dataSource;
+    private final String channel;
+    private final Runnable onListening;
+    private final Consumer<String> onNotification;
+
+    private volatile boolean listening;
+    private volatile boolean stopped;
+    private Thread thread;
+
+    PostgresChannelListener(DataSource dataSource, String channel, Runnable onListening, Consumer<String> onNotification) {
+        this.dataSource = dataSource;
+        this.channel = channel;
+        this.onListening = onListening;
+        this.onNotification = onNotification;
+    }
+
+    void start() {
+        thread = new Thread(this::listen, channel.replace('_', '-') + "-listener");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    void stop() {
+        stopped = true;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    boolean isListening() {
+        return listening;
+    }
+
+    private void listen() {
+        while (!stopped) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + channel);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                onListening.run();
+                listening = true;
+                logger.info("Listening for notifications on channel {}", channel);
+
+                while (!stopped) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            onNotification.accept(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (!stopped) {
+                    logger.warn("Listener on channel {} stopped: {}", channel, e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (!stopped) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.KycStatus;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Loads the inputs of a credit report in two round trips: the business's payment
+ * counters row, and one query for the payment risk indicators, trade reference
+ * counts and KYC profile. The business itself is already loaded by the caller.
+ */
+@Service
+@Transactional(readOnly = true)
+public class ReportFeatureService {
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private PaymentHistoryService paymentHistoryService;
+
+    public ReportFeatures load(Business business) {
+        Object[] row = businessRepository.getReportAggregates(business.getId()).get(0);
+
+        ReportFeatures features = new ReportFeatures(business);
+        features.setPaymentSummary(paymentHistoryService.getPaymentSummary(business,
+                row[0] != null ? ((Number) row[0]).intValue() : null,
+                toLong(row[1])));
+        features.setTradeReferencesCount((int) toLong(row[2]));
+        features.setPositiveTradeReferences((int) toLong(row[3]));
+        features.setNegativeTradeReferences((int) toLong(row[4]));
+        features.setKycStatus((KycStatus) row[5]);
+        features.setKycCompletionPercentage(row[6] != null ? ((Number) row[6]).intValue() : null);
+        return features;
+    }
+
+    private static long toLong(Object value) {
+        return value != null ? ((Number) value).longValue() : 0L;
+    }
+}
@@ -0,0 +1,54 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.payment.PaymentAnalyticsResponse;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.KycStatus;
+
+/**
+ * Everything a credit report is built from, loaded once by {@link ReportFeatureService}
+ * and shared by both report flavours.
+ */
+public class ReportFeatures {
+
+    private final Business business;
+
+    // Basic statistics, behavior scores and risk indicators only; no distributions or trends
+    private PaymentAnalyticsResponse paymentSummary;
+
+    private int tradeReferencesCount;
+    private int positiveTradeReferences;  // Paying EXCELLENT or GOOD
+    private int negativeTradeReferences;  // Paying POOR, VERY_POOR or DEFAULTED
+
+    private KycStatus kycStatus;          // Null when the business has no KYC profile
+    private Integer kycCompletionPercentage;
+
+    public ReportFeatures(Business business) {
+        this.business = business;
+    }
+
+    public boolean hasPaymentHistory() {
+        return paymentSummary != null && paymentSummary.getTotalTransactions() != null
+                && paymentSummary.getTotalTransactions() > 0;
+    }
+
+    // Getters and Setters
+    public Business getBusiness() { return business; }
+
+    public PaymentAnalyticsResponse getPaymentSummary() { return paymentSummary; }
+    public void setPaymentSummary(PaymentAnalyticsResponse paymentSummary) { this.paymentSummary = paymentSummary; }
+
+    public int getTradeReferencesCount() { return tradeReferencesCount; }
+    public void setTradeReferencesCount(int tradeReferencesCount) { this.tradeReferencesCount = tradeReferencesCount; }
+
+    public int getPositiveTradeReferences() { return positiveTradeReferences; }
+    public void setPositiveTradeReferences(int positiveTradeReferences) { this.positiveTradeReferences = positiveTradeReferences; }
+
+    public int getNegativeTradeReferences() { return negativeTradeReferences; }
+    public void setNegativeTradeReferences(int negativeTradeReferences) { this.negativeTradeReferences = negativeTradeReferences; }
+
+    public KycStatus getKycStatus() { return kycStatus; }
+    public void setKycStatus(KycStatus kycStatus) { this.kycStatus = kycStatus; }
+
+    public Integer getKycCompletionPercentage() { return kycCompletionPercentage; }
+    public void setKycCompletionPercentage(Integer kycCompletionPercentage) { this.kycCompletionPercentage = kycCompletionPercentage; }
+}
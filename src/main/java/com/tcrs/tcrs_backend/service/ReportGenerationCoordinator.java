@@ -0,0 +1,72 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.credit.CreditReportResponse;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Coalesces concurrent report requests for the same business on this node: the
+ * first caller generates, later callers wait for and share its result. The
+ * generation itself takes a per-business advisory lock and re-checks for a valid
+ * report, which covers callers on other nodes. The shared future completes only
+ * after the generating transaction has committed.
+ */
+@Service
+public class ReportGenerationCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReportGenerationCoordinator.class);
+
+    @Autowired
+    private CreditReportService creditReportService;
+
+    private final Map<Long, CompletableFuture<CreditReportResponse>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter coalescedCounter;
+
+    public ReportGenerationCoordinator(MeterRegistry meterRegistry) {
+        this.coalescedCounter = Counter.builder("report.generation.coalesced")
+                .description("Report requests served by a generation already in flight for the same business")
+                .register(meterRegistry);
+    }
+
+    public CreditReportResponse generateCreditReport(Long businessId, Long requestedById) {
+        CompletableFuture<CreditReportResponse> generation = new CompletableFuture<>();
+        CompletableFuture<CreditReportResponse> existing = inFlight.putIfAbsent(businessId, generation);
+
+        if (existing != null) {
+            logger.debug("Joining in-flight credit report generation for business ID: {}", businessId);
+            coalescedCounter.increment();
+            return await(existing);
+        }
+
+        try {
+            generation.complete(creditReportService.generateCreditReport(businessId, requestedById));
+        } catch (RuntimeException e) {
+            generation.completeExceptionally(e);
+        } finally {
+            inFlight.remove(businessId, generation);
+        }
+
+        return await(generation);
+    }
+
+    private CreditReportResponse await(CompletableFuture<CreditReportResponse> generation) {
+        try {
+            return generation.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
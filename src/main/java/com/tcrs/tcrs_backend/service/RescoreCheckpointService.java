@@ -0,0 +1,148 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.RescoreChunk;
+import com.tcrs.tcrs_backend.entity.RescoreChunkStatus;
+import com.tcrs.tcrs_backend.entity.RescoreRun;
+import com.tcrs.tcrs_backend.entity.RescoreRunStatus;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import com.tcrs.tcrs_backend.repository.RescoreChunkRepository;
+import com.tcrs.tcrs_backend.repository.RescoreRunRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Persistent state of portfolio rescore runs. Every method commits on its own,
+ * so progress survives a crash of the node running the job.
+ */
+@Service
+@Transactional
+public class RescoreCheckpointService {
+
+    // Longest error message kept on a failed chunk
+    private static final int MAX_ERROR_LENGTH = 500;
+
+    @Autowired
+    private RescoreRunRepository rescoreRunRepository;
+
+    @Autowired
+    private RescoreChunkRepository rescoreChunkRepository;
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Transactional(readOnly = true)
+    public Optional<RescoreRun> findRunningRun() {
+        return rescoreRunRepository.findFirstByStatusOrderByStartedAtDesc(RescoreRunStatus.RUNNING);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RescoreRun> findRun(LocalDate runDate) {
+        return rescoreRunRepository.findByRunDate(runDate);
+    }
+
+    @Transactional(readOnly = true)
+    public Optional<RescoreRun> findLatestRun() {
+        return rescoreRunRepository.findFirstByOrderByStartedAtDesc();
+    }
+
+    /**
+     * Creates the run for a day with its ID range chunks. Fails with a data integrity
+     * violation when another node already created the run for that day.
+     */
+    public RescoreRun createRun(LocalDate runDate, int chunkSize, int modelVersion) {
+        Object[] range = businessRepository.findActiveIdRange().get(0);
+
+        List<long[]> ranges = new ArrayList<>();
+        if (range[0] != null) {
+            long minId = ((Number) range[0]).longValue();
+            long maxId = ((Number) range[1]).longValue();
+            for (long fromId = minId; fromId <= maxId; fromId += chunkSize) {
+                ranges.add(new long[]{fromId, Math.min(fromId + chunkSize, maxId + 1)});
+            }
+        }
+
+        RescoreRun run = new RescoreRun(runDate, chunkSize, ranges.size(), modelVersion);
+        if (ranges.isEmpty()) {
+            run.setStatus(RescoreRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+        }
+        run = rescoreRunRepository.saveAndFlush(run);
+
+        List<RescoreChunk> chunks = new ArrayList<>(ranges.size());
+        for (long[] idRange : ranges) {
+            chunks.add(new RescoreChunk(run.getId(), idRange[0], idRange[1]));
+        }
+        rescoreChunkRepository.saveAll(chunks);
+        return run;
+    }
+
+    // Retries stale and failed chunks with attempts left; stale chunks without any are failed instead
+    public int releaseChunks(Long runId, LocalDateTime staleBefore, int maxAttempts) {
+        rescoreChunkRepository.failStaleChunks(runId, staleBefore, maxAttempts, LocalDateTime.now(),
+                "Not finished within the chunk timeout after " + maxAttempts + " attempts");
+        return rescoreChunkRepository.releaseChunks(runId, staleBefore, maxAttempts);
+    }
+
+    @Transactional(readOnly = true)
+    public List<Long> findPendingChunkIds(Long runId, int limit) {
+        return rescoreChunkRepository.findChunkIds(runId, RescoreChunkStatus.PENDING, PageRequest.of(0, limit));
+    }
+
+    // Empty when another worker claimed the chunk first
+    public Optional<RescoreChunk> claim(Long chunkId) {
+        if (rescoreChunkRepository.claim(chunkId, LocalDateTime.now()) == 0) {
+            return Optional.empty();
+        }
+        return rescoreChunkRepository.findById(chunkId);
+    }
+
+    public void markDone(Long chunkId, int businessesScored) {
+        rescoreChunkRepository.findById(chunkId).ifPresent(chunk -> {
+            chunk.setStatus(RescoreChunkStatus.DONE);
+            chunk.setBusinessesScored(businessesScored);
+            chunk.setCompletedAt(LocalDateTime.now());
+            chunk.setLastError(null);
+        });
+    }
+
+    public void markFailed(Long chunkId, String error) {
+        rescoreChunkRepository.findById(chunkId).ifPresent(chunk -> {
+            chunk.setStatus(RescoreChunkStatus.FAILED);
+            chunk.setCompletedAt(LocalDateTime.now());
+            chunk.setLastError(error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public long countChunks(Long runId, RescoreChunkStatus status) {
+        return rescoreChunkRepository.countByRunIdAndStatus(runId, status);
+    }
+
+    // Closes the run once no chunk is pending or in progress; failed chunks are counted, not retried
+    public RescoreRun completeIfFinished(Long runId) {
+        RescoreRun run = rescoreRunRepository.findById(runId)
+                .orElseThrow(() -> new IllegalStateException("Rescore run not found with ID: " + runId));
+        if (run.getStatus() == RescoreRunStatus.COMPLETED) {
+            return run;
+        }
+
+        run.setBusinessesScored(rescoreChunkRepository.sumBusinessesScored(runId));
+        run.setFailedChunks((int) rescoreChunkRepository.countByRunIdAndStatus(runId, RescoreChunkStatus.FAILED));
+
+        long unfinished = rescoreChunkRepository.countByRunIdAndStatus(runId, RescoreChunkStatus.PENDING)
+                + rescoreChunkRepository.countByRunIdAndStatus(runId, RescoreChunkStatus.IN_PROGRESS);
+        if (unfinished == 0) {
+            run.setStatus(RescoreRunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+        }
+        return rescoreRunRepository.save(run);
+    }
+}
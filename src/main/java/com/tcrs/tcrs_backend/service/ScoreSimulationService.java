@@ -0,0 +1,189 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.dto.credit.ScoreScenario;
+import com.tcrs.tcrs_backend.dto.credit.ScoreScenarioChange;
+import com.tcrs.tcrs_backend.dto.credit.ScoreScenarioResult;
+import com.tcrs.tcrs_backend.dto.credit.ScoreSimulationRequest;
+import com.tcrs.tcrs_backend.dto.credit.ScoreSimulationResponse;
+import com.tcrs.tcrs_backend.entity.PaymentBehavior;
+import com.tcrs.tcrs_backend.entity.RecommendationLevel;
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.exception.ResourceNotFoundException;
+import com.tcrs.tcrs_backend.repository.BusinessRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What-if credit scoring. The business's features are loaded once, and every
+ * scenario is scored against its own copy of them with the same scoring model,
+ * so adding scenarios costs no extra queries.
+ */
+@Service
+public class ScoreSimulationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoreSimulationService.class);
+
+    // Same cut-off as the high value count in the trade reference scoring aggregates
+    private static final BigDecimal HIGH_VALUE_REFERENCE_THRESHOLD = new BigDecimal("1000000");
+
+    @Autowired
+    private BusinessRepository businessRepository;
+
+    @Autowired
+    private CreditScoringService creditScoringService;
+
+    @Autowired
+    private ScoringModelService scoringModelService;
+
+    @Transactional(readOnly = true)
+    public ScoreSimulationResponse simulate(ScoreSimulationRequest request) {
+        Long businessId = request.getBusinessId();
+        // Loads the business into the persistence context, so feature extraction does not query it again
+        businessRepository.findById(businessId)
+                .orElseThrow(() -> new ResourceNotFoundException("Business not found with ID: " + businessId));
+
+        logger.info("Simulating {} credit score scenarios for business: {}", request.getScenarios().size(), businessId);
+
+        CreditScoreFeatures snapshot = creditScoringService.extractFeatures(businessId);
+        ScoringModel model = scoringModelService.getModel();
+
+        ScoreScenarioResult baseline = toResult("Current", creditScoringService.calculateScoreBreakdown(snapshot, model));
+        baseline.setScoreChange(BigDecimal.ZERO.setScale(baseline.getCreditScore().scale()));
+        baseline.setCreditLimitChange(BigDecimal.ZERO);
+
+        List<ScoreScenarioResult> results = new ArrayList<>(request.getScenarios().size());
+        for (ScoreScenario scenario : request.getScenarios()) {
+            CreditScoreFeatures features = snapshot.copy();
+            for (ScoreScenarioChange change : scenario.getChanges()) {
+                applyChange(features, change);
+            }
+
+            ScoreScenarioResult result = toResult(scenario.getName(), creditScoringService.calculateScoreBreakdown(features, model));
+            result.setScoreChange(result.getCreditScore().subtract(baseline.getCreditScore()));
+            result.setCreditLimitChange(result.getRecommendedCreditLimit().subtract(baseline.getRecommendedCreditLimit()));
+            results.add(result);
+        }
+
+        ScoreSimulationResponse response = new ScoreSimulationResponse();
+        response.setBusinessId(businessId);
+        response.setBusinessName(snapshot.getBusinessName());
+        response.setModelVersion(model.getVersion());
+        response.setBaseline(baseline);
+        response.setScenarios(results);
+        response.setSimulatedAt(LocalDateTime.now());
+        return response;
+    }
+
+    private void applyChange(CreditScoreFeatures features, ScoreScenarioChange change) {
+        switch (change.getType()) {
+            case ADD_ON_TIME_PAYMENTS -> {
+                int count = requireCount(change);
+                addPayments(features, count, change.getAmount());
+                features.setOnTimePayments(features.getOnTimePayments() + count);
+            }
+            case ADD_LATE_PAYMENTS -> {
+                int count = requireCount(change);
+                addPayments(features, count, change.getAmount());
+                features.setLatePayments(features.getLatePayments() + count);
+            }
+            case ADD_VERY_LATE_PAYMENTS -> {
+                int count = requireCount(change);
+                addPayments(features, count, change.getAmount());
+                features.setVeryLatePayments(features.getVeryLatePayments() + count);
+            }
+            case ADD_OVERDUE_PAYMENTS -> {
+                int count = requireCount(change);
+                addPayments(features, count, change.getAmount());
+                features.setOverduePayments(features.getOverduePayments() + count);
+            }
+            case ADD_DEFAULTED_PAYMENTS -> {
+                int count = requireCount(change);
+                addPayments(features, count, change.getAmount());
+                features.setDefaultedPayments(features.getDefaultedPayments() + count);
+            }
+            case SETTLE_OVERDUE_PAYMENTS -> {
+                // Settling an overdue invoice makes it a paid-late one
+                int settled = countOrAll(change, features.getOverduePayments());
+                features.setOverduePayments(features.getOverduePayments() - settled);
+                features.setLatePayments(features.getLatePayments() + settled);
+            }
+            case RESOLVE_DISPUTES -> {
+                int resolved = countOrAll(change, features.getDisputedReferences());
+                features.setDisputedReferences(features.getDisputedReferences() - resolved);
+            }
+            case VERIFY_TRADE_REFERENCES -> {
+                int unverified = features.getTotalReferences() - features.getVerifiedReferences();
+                int verified = countOrAll(change, unverified);
+                // Partially verified references are upgraded before pending ones
+                int upgraded = Math.min(verified, features.getPartiallyVerifiedReferences());
+                features.setPartiallyVerifiedReferences(features.getPartiallyVerifiedReferences() - upgraded);
+                features.setVerifiedReferences(features.getVerifiedReferences() + verified);
+            }
+            case ADD_TRADE_REFERENCES -> addTradeReferences(features, change);
+            case VERIFY_GSTIN -> features.setGstinVerified(true);
+            case VERIFY_PAN -> features.setPanVerified(true);
+            default -> throw new BadRequestException("Unsupported change type: " + change.getType());
+        }
+    }
+
+    private void addPayments(CreditScoreFeatures features, int count, BigDecimal amount) {
+        features.setTotalPayments(features.getTotalPayments() + count);
+        if (amount != null) {
+            features.setTotalPaymentAmount(features.getTotalPaymentAmount().add(amount.multiply(BigDecimal.valueOf(count))));
+        }
+    }
+
+    private void addTradeReferences(CreditScoreFeatures features, ScoreScenarioChange change) {
+        int count = requireCount(change);
+        features.setTotalReferences(features.getTotalReferences() + count);
+        features.setVerifiedReferences(features.getVerifiedReferences() + count);
+
+        PaymentBehavior paymentBehavior = change.getPaymentBehavior();
+        if (paymentBehavior != null) {
+            features.setPaymentBehaviorCount(paymentBehavior, features.getPaymentBehaviorCount(paymentBehavior) + count);
+        }
+        RecommendationLevel recommendationLevel = change.getRecommendationLevel();
+        if (recommendationLevel != null) {
+            features.setRecommendationLevelCount(recommendationLevel,
+                    features.getRecommendationLevelCount(recommendationLevel) + count);
+        }
+
+        BigDecimal multiplier = BigDecimal.valueOf(count);
+        if (change.getCreditLimit() != null && change.getCreditLimit().signum() > 0) {
+            features.setTotalCreditLimit(features.getTotalCreditLimit().add(change.getCreditLimit().multiply(multiplier)));
+            features.setReferencesWithCreditLimit(features.getReferencesWithCreditLimit() + count);
+        }
+        if (change.getAmount() != null && change.getAmount().signum() > 0) {
+            features.setTotalBusinessValue(features.getTotalBusinessValue().add(change.getAmount().multiply(multiplier)));
+            features.setReferencesWithBusinessValue(features.getReferencesWithBusinessValue() + count);
+            if (change.getAmount().compareTo(HIGH_VALUE_REFERENCE_THRESHOLD) > 0) {
+                features.setHighValueReferences(features.getHighValueReferences() + count);
+            }
+        }
+    }
+
+    private int requireCount(ScoreScenarioChange change) {
+        if (change.getCount() == null) {
+            throw new BadRequestException("Count is required for change type: " + change.getType());
+        }
+        return change.getCount();
+    }
+
+    // Changes that act on existing records cover all of them unless a count is given
+    private int countOrAll(ScoreScenarioChange change, int available) {
+        return change.getCount() != null ? Math.min(change.getCount(), available) : available;
+    }
+
+    private ScoreScenarioResult toResult(String name, CreditScoreBreakdown breakdown) {
+        return new ScoreScenarioResult(name, breakdown.getCreditScore(), breakdown.getCreditScoreGrade(),
+                breakdown.getRiskCategory(), breakdown.getRecommendedCreditLimit());
+    }
+}
@@ -0,0 +1,43 @@
+package com.tcrs.tcrs_backend.service;
+
+/**
+ * Credit scoring rules applied to a {@link CreditScoreFeatures} vector.
+ *
+ * Units follow {@link CreditScoringKernel}: sub-scores are in hundredths, the
+ * overall score is in tenths and credit limits are whole rupees.
+ * Implementations are immutable and safe to share between threads.
+ */
+public interface ScoringModel {
+
+    int getVersion();
+
+    int getBaseScore();
+
+    long paymentHistoryScore(CreditScoreFeatures features);
+
+    long tradeReferenceScore(CreditScoreFeatures features);
+
+    long businessProfileScore(CreditScoreFeatures features);
+
+    long creditUtilizationScore(CreditScoreFeatures features);
+
+    long businessAgeScore(CreditScoreFeatures features, long todayEpochDay);
+
+    int weightedScore(long paymentScore, long tradeReferenceScore, long businessProfileScore,
+                      long creditUtilizationScore, long businessAgeScore);
+
+    String creditScoreGrade(int scoreTenths);
+
+    String riskCategory(int scoreTenths);
+
+    long recommendedCreditLimit(int scoreTenths, CreditScoreFeatures features);
+
+    default int creditScore(CreditScoreFeatures features, long todayEpochDay) {
+        return weightedScore(
+                paymentHistoryScore(features),
+                tradeReferenceScore(features),
+                businessProfileScore(features),
+                creditUtilizationScore(features),
+                businessAgeScore(features, todayEpochDay));
+    }
+}
@@ -0,0 +1,20 @@
+package com.tcrs.tcrs_backend.service;
+
+/**
+ * Published when a reload swaps in a scoring model with a different version, so
+ * scores materialized with the previous model can be recomputed.
+ */
+public class ScoringModelChangedEvent {
+
+    private final int previousVersion;
+    private final int modelVersion;
+
+    public ScoringModelChangedEvent(int previousVersion, int modelVersion) {
+        this.previousVersion = previousVersion;
+        this.modelVersion = modelVersion;
+    }
+
+    public int getPreviousVersion() { return previousVersion; }
+
+    public int getModelVersion() { return modelVersion; }
+}
@@ -0,0 +1,148 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.exception.BadRequestException;
+import com.tcrs.tcrs_backend.repository.ScoringRuleRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Holds the active scoring model. A reload compiles the latest rule version from
+ * the scoring_rules table and swaps it in atomically; scoring calls already in
+ * flight finish on the model they started with.
+ *
+ * A reload notifies {@value #CHANNEL} on commit and the other nodes load the same
+ * version. A node that missed the notification catches up when it reconnects, or
+ * when a scoring job checks {@link #getLatestModel()}.
+ */
+@Service
+public class ScoringModelService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ScoringModelService.class);
+
+    public static final String CHANNEL = "scoring_model";
+
+    private final AtomicReference<ScoringModel> activeModel = new AtomicReference<>(TableScoringModel.defaultModel());
+
+    @Autowired
+    private ScoringRuleRepository scoringRuleRepository;
+
+    @Autowired
+    private CreditScoreCache creditScoreCache;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DataSource dataSource;
+
+    // Notifications this node sent itself are ignored
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private PostgresChannelListener listener;
+
+    public ScoringModel getModel() {
+        return activeModel.get();
+    }
+
+    @PostConstruct
+    public void startListening() {
+        listener = new PostgresChannelListener(dataSource, CHANNEL, this::getLatestModel, this::handle);
+        listener.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        listener.stop();
+    }
+
+    // Stored scores of another version are rescored by the hourly materialization, not on every node start
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadOnStartup() {
+        try {
+            activate(false);
+        } catch (Exception e) {
+            logger.error("Could not load scoring model, using built-in version {}", getModel().getVersion(), e);
+        }
+    }
+
+    /**
+     * Loads the latest version on this node and, once the calling transaction commits,
+     * on the others. Only this node publishes a {@link ScoringModelChangedEvent}.
+     */
+    @Transactional
+    public ScoringModel reload() {
+        ScoringModel model = activate(true);
+        scoringRuleRepository.notifyChannel(CHANNEL, nodeId + ":" + model.getVersion());
+        return model;
+    }
+
+    /**
+     * The active model, reloaded first when scoring_rules holds a different latest version.
+     * Empty when this node cannot load that version, so scoring jobs never write scores
+     * with an older model than another node may be using.
+     */
+    public Optional<ScoringModel> getLatestModel() {
+        Integer latestVersion = scoringRuleRepository.findLatestModelVersion();
+        int expectedVersion = latestVersion != null ? latestVersion : TableScoringModel.DEFAULT_VERSION;
+
+        ScoringModel model = getModel();
+        if (model.getVersion() != expectedVersion) {
+            try {
+                model = activate(false);
+            } catch (Exception e) {
+                logger.error("Could not load scoring model version {}, still on version {}",
+                        expectedVersion, model.getVersion(), e);
+                return Optional.empty();
+            }
+        }
+        return model.getVersion() == expectedVersion ? Optional.of(model) : Optional.empty();
+    }
+
+    private ScoringModel activate(boolean publishChange) {
+        Integer latestVersion = scoringRuleRepository.findLatestModelVersion();
+
+        ScoringModel model;
+        if (latestVersion == null) {
+            model = TableScoringModel.defaultModel();
+        } else {
+            try {
+                model = TableScoringModel.compile(latestVersion, scoringRuleRepository.findByModelVersion(latestVersion));
+            } catch (IllegalArgumentException e) {
+                throw new BadRequestException("Invalid scoring model version " + latestVersion + ": " + e.getMessage());
+            }
+        }
+
+        ScoringModel previous = activeModel.getAndSet(model);
+        if (previous.getVersion() != model.getVersion()) {
+            creditScoreCache.evictAll(); // Cached scores came from the previous model
+            if (publishChange) {
+                eventPublisher.publishEvent(new ScoringModelChangedEvent(previous.getVersion(), model.getVersion()));
+            }
+        }
+
+        logger.info("Scoring model version {} active (previously {})", model.getVersion(), previous.getVersion());
+        return model;
+    }
+
+    // Payload is the reloading node's ID and the version it loaded
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        getLatestModel();
+    }
+}
@@ -0,0 +1,538 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.*;
+
+import java.util.*;
+
+import static com.tcrs.tcrs_backend.service.CreditScoringKernel.clamp;
+import static com.tcrs.tcrs_backend.service.CreditScoringKernel.divideHalfUp;
+
+/**
+ * {@link ScoringModel} compiled from a versioned {@link ScoringRule} table.
+ *
+ * Enum lookups become int arrays indexed by ordinal and score bands become
+ * parallel threshold/value arrays sorted from the highest threshold down, so
+ * evaluation is array reads and compares with no allocation.
+ *
+ * Table units are whole points and whole scores; they are converted here to the
+ * hundredths and tenths the kernel arithmetic works in.
+ */
+public final class TableScoringModel implements ScoringModel {
+
+    public static final int DEFAULT_VERSION = 0;
+
+    private static final PaymentBehavior[] PAYMENT_BEHAVIORS = PaymentBehavior.values();
+    private static final RecommendationLevel[] RECOMMENDATION_LEVELS = RecommendationLevel.values();
+
+    // Sub-score caps, in hundredths
+    private static final long MIN_PAYMENT_SCORE = -10000;
+    private static final long MAX_PAYMENT_SCORE = 10000;
+    private static final long MIN_TRADE_REFERENCE_SCORE = -5000;
+    private static final long MAX_TRADE_REFERENCE_SCORE = 8000;
+
+    // Credit limit multiplier bounds in ten-thousandths (0.5x to 2x)
+    private static final long MIN_VALUE_MULTIPLIER = 5000;
+    private static final long MAX_VALUE_MULTIPLIER = 20000;
+
+    private final int version;
+
+    // Overall score, in tenths
+    private final int baseScore;
+    private final int minScore;
+    private final int maxScore;
+
+    // Weights, in hundredths
+    private final int paymentHistoryWeight;
+    private final int tradeReferenceWeight;
+    private final int businessProfileWeight;
+    private final int creditUtilizationWeight;
+    private final int businessAgeWeight;
+
+    // Per payment and per reference points
+    private final long onTimePoints;
+    private final long latePoints;
+    private final long veryLatePoints;
+    private final long overduePoints;
+    private final long defaultedPoints;
+    private final long verifiedPoints;
+    private final long partiallyVerifiedPoints;
+    private final long disputedPoints;
+    private final long highValuePoints;
+
+    // Bonuses and penalties with their thresholds (rates in basis points)
+    private final long excellentPaymentRate;
+    private final long excellentPaymentPoints;
+    private final long goodPaymentRate;
+    private final long goodPaymentPoints;
+    private final long multipleReferencesCount;
+    private final long multipleReferencesPoints;
+    private final long highVerificationRate;
+    private final long highVerificationPoints;
+    private final long noTradeReferencesScore; // Hundredths
+    private final long gstinVerifiedPoints;
+    private final long panVerifiedPoints;
+    private final long completeProfilePoints;
+    private final long unknownRegistrationScore; // Hundredths
+
+    // Lookups indexed by enum ordinal
+    private final int[] paymentBehaviorPoints;
+    private final int[] recommendationPoints;
+    private final int[] businessTypePoints;
+    private final int[] industryCategoryPoints;
+
+    // Bands, highest threshold first; the last entry is the fallback
+    private final long[] gradeThresholds;
+    private final String[] gradeLabels;
+    private final long[] riskThresholds;
+    private final String[] riskLabels;
+    private final long[] creditLimitThresholds;
+    private final long[] creditLimits;
+    private final long[] businessAgeThresholds;
+    private final long[] businessAgeScores;
+    private final long[] utilizationThresholds;
+    private final long[] utilizationScores;
+
+    private TableScoringModel(int version, Map<ScoringRuleType, List<ScoringRule>> rules) {
+        this.version = version;
+
+        Map<String, ScoringRule> limits = byKey(rules, ScoringRuleType.SCORE_LIMIT);
+        this.baseScore = (int) points(limits, "BASE") * 10;
+        this.minScore = (int) points(limits, "MIN") * 10;
+        this.maxScore = (int) points(limits, "MAX") * 10;
+
+        Map<String, ScoringRule> weights = byKey(rules, ScoringRuleType.WEIGHT);
+        this.paymentHistoryWeight = (int) points(weights, "PAYMENT_HISTORY");
+        this.tradeReferenceWeight = (int) points(weights, "TRADE_REFERENCE");
+        this.businessProfileWeight = (int) points(weights, "BUSINESS_PROFILE");
+        this.creditUtilizationWeight = (int) points(weights, "CREDIT_UTILIZATION");
+        this.businessAgeWeight = (int) points(weights, "BUSINESS_AGE");
+
+        Map<String, ScoringRule> outcomes = byKey(rules, ScoringRuleType.PAYMENT_OUTCOME);
+        this.onTimePoints = points(outcomes, "ON_TIME");
+        this.latePoints = points(outcomes, "LATE");
+        this.veryLatePoints = points(outcomes, "VERY_LATE");
+        this.overduePoints = points(outcomes, "OVERDUE");
+        this.defaultedPoints = points(outcomes, "DEFAULTED");
+
+        Map<String, ScoringRule> references = byKey(rules, ScoringRuleType.TRADE_REFERENCE);
+        this.verifiedPoints = points(references, "VERIFIED");
+        this.partiallyVerifiedPoints = points(references, "PARTIALLY_VERIFIED");
+        this.disputedPoints = points(references, "DISPUTED");
+        this.highValuePoints = points(references, "HIGH_VALUE");
+
+        Map<String, ScoringRule> adjustments = byKey(rules, ScoringRuleType.ADJUSTMENT);
+        this.excellentPaymentRate = threshold(adjustments, "EXCELLENT_PAYMENT_RATE");
+        this.excellentPaymentPoints = points(adjustments, "EXCELLENT_PAYMENT_RATE");
+        this.goodPaymentRate = threshold(adjustments, "GOOD_PAYMENT_RATE");
+        this.goodPaymentPoints = points(adjustments, "GOOD_PAYMENT_RATE");
+        this.multipleReferencesCount = threshold(adjustments, "MULTIPLE_REFERENCES");
+        this.multipleReferencesPoints = points(adjustments, "MULTIPLE_REFERENCES");
+        this.highVerificationRate = threshold(adjustments, "HIGH_VERIFICATION_RATE");
+        this.highVerificationPoints = points(adjustments, "HIGH_VERIFICATION_RATE");
+        this.noTradeReferencesScore = points(adjustments, "NO_TRADE_REFERENCES") * 100;
+        this.gstinVerifiedPoints = points(adjustments, "GSTIN_VERIFIED");
+        this.panVerifiedPoints = points(adjustments, "PAN_VERIFIED");
+        this.completeProfilePoints = points(adjustments, "COMPLETE_PROFILE");
+        this.unknownRegistrationScore = points(adjustments, "UNKNOWN_REGISTRATION_DATE") * 100;
+
+        this.paymentBehaviorPoints = lookup(rules, ScoringRuleType.PAYMENT_BEHAVIOR, PaymentBehavior.class);
+        this.recommendationPoints = lookup(rules, ScoringRuleType.RECOMMENDATION_LEVEL, RecommendationLevel.class);
+        this.businessTypePoints = lookup(rules, ScoringRuleType.BUSINESS_TYPE, BusinessType.class);
+        this.industryCategoryPoints = lookup(rules, ScoringRuleType.INDUSTRY_CATEGORY, IndustryCategory.class);
+
+        List<ScoringRule> grades = bands(rules, ScoringRuleType.GRADE);
+        this.gradeThresholds = thresholds(grades, 10, 0);
+        this.gradeLabels = labels(grades);
+
+        List<ScoringRule> risks = bands(rules, ScoringRuleType.RISK_CATEGORY);
+        this.riskThresholds = thresholds(risks, 10, 0);
+        this.riskLabels = labels(risks);
+
+        List<ScoringRule> creditLimitBands = bands(rules, ScoringRuleType.CREDIT_LIMIT);
+        this.creditLimitThresholds = thresholds(creditLimitBands, 10, 0);
+        this.creditLimits = values(creditLimitBands, 1);
+
+        List<ScoringRule> ageBands = bands(rules, ScoringRuleType.BUSINESS_AGE);
+        this.businessAgeThresholds = thresholds(ageBands, 1, 0);
+        this.businessAgeScores = values(ageBands, 100);
+
+        // Utilization thresholds are exclusive rupee amounts, compared against hundredths
+        List<ScoringRule> utilizationBands = bands(rules, ScoringRuleType.CREDIT_UTILIZATION);
+        this.utilizationThresholds = thresholds(utilizationBands, 100, 1);
+        this.utilizationScores = values(utilizationBands, 100);
+    }
+
+    /**
+     * Compiles a rule table. Rule types missing from {@code rules} are taken from
+     * the built-in defaults. Throws IllegalArgumentException for an invalid table.
+     */
+    public static TableScoringModel compile(int version, Collection<ScoringRule> rules) {
+        Map<ScoringRuleType, List<ScoringRule>> byType = new EnumMap<>(ScoringRuleType.class);
+        for (ScoringRule rule : rules) {
+            byType.computeIfAbsent(rule.getRuleType(), type -> new ArrayList<>()).add(rule);
+        }
+        Set<ScoringRuleType> providedTypes = EnumSet.noneOf(ScoringRuleType.class);
+        providedTypes.addAll(byType.keySet());
+        for (ScoringRule rule : defaultRules()) {
+            if (!providedTypes.contains(rule.getRuleType())) {
+                byType.computeIfAbsent(rule.getRuleType(), type -> new ArrayList<>()).add(rule);
+            }
+        }
+        return new TableScoringModel(version, byType);
+    }
+
+    public static TableScoringModel defaultModel() {
+        return compile(DEFAULT_VERSION, Collections.emptyList());
+    }
+
+    @Override
+    public int getVersion() {
+        return version;
+    }
+
+    @Override
+    public int getBaseScore() {
+        return baseScore;
+    }
+
+    @Override
+    public int weightedScore(long paymentScore, long tradeReferenceScore, long businessProfileScore,
+                             long creditUtilizationScore, long businessAgeScore) {
+        // Hundredths times hundredths gives ten-thousandths
+        long total = baseScore * 1000L
+                + paymentScore * paymentHistoryWeight
+                + tradeReferenceScore * tradeReferenceWeight
+                + businessProfileScore * businessProfileWeight
+                + creditUtilizationScore * creditUtilizationWeight
+                + businessAgeScore * businessAgeWeight;
+
+        // Ensure score is within bounds
+        total = clamp(total, minScore * 1000L, maxScore * 1000L);
+
+        return (int) divideHalfUp(total, 1000);
+    }
+
+    @Override
+    public long paymentHistoryScore(CreditScoreFeatures features) {
+        int totalPayments = features.getTotalPayments();
+        if (totalPayments == 0) {
+            return 0; // No payment history
+        }
+
+        int onTimePayments = features.getOnTimePayments();
+        long totalScore = onTimePayments * onTimePoints
+                + features.getLatePayments() * latePoints
+                + features.getVeryLatePayments() * veryLatePoints
+                + features.getOverduePayments() * overduePoints
+                + features.getDefaultedPayments() * defaultedPoints;
+
+        // On-time share in basis points, rounded like the 4 decimal place ratio
+        long onTimeBasisPoints = divideHalfUp(onTimePayments * 10000L, totalPayments);
+        if (onTimeBasisPoints >= excellentPaymentRate) {
+            totalScore += excellentPaymentPoints;
+        } else if (onTimeBasisPoints >= goodPaymentRate) {
+            totalScore += goodPaymentPoints;
+        }
+
+        // Average per payment, capped at +/-100
+        long averageScore = divideHalfUp(totalScore * 100, totalPayments);
+        return clamp(averageScore, MIN_PAYMENT_SCORE, MAX_PAYMENT_SCORE);
+    }
+
+    @Override
+    public long tradeReferenceScore(CreditScoreFeatures features) {
+        int totalReferences = features.getTotalReferences();
+        if (totalReferences == 0) {
+            return noTradeReferencesScore;
+        }
+
+        int verifiedReferences = features.getVerifiedReferences();
+        long totalScore = verifiedReferences * verifiedPoints
+                + features.getPartiallyVerifiedReferences() * partiallyVerifiedPoints
+                + features.getDisputedReferences() * disputedPoints
+                + features.getHighValueReferences() * highValuePoints;
+
+        for (PaymentBehavior behavior : PAYMENT_BEHAVIORS) {
+            totalScore += (long) features.getPaymentBehaviorCount(behavior) * paymentBehaviorPoints[behavior.ordinal()];
+        }
+        for (RecommendationLevel level : RECOMMENDATION_LEVELS) {
+            totalScore += (long) features.getRecommendationLevelCount(level) * recommendationPoints[level.ordinal()];
+        }
+
+        // Quality adjustments
+        if (totalReferences >= multipleReferencesCount) {
+            totalScore += multipleReferencesPoints;
+        }
+        if (verifiedReferences > 0 && divideHalfUp(verifiedReferences * 10000L, totalReferences) >= highVerificationRate) {
+            totalScore += highVerificationPoints;
+        }
+
+        // Average per reference, capped to -50..80
+        long averageScore = divideHalfUp(totalScore * 100, totalReferences);
+        return clamp(averageScore, MIN_TRADE_REFERENCE_SCORE, MAX_TRADE_REFERENCE_SCORE);
+    }
+
+    @Override
+    public long businessProfileScore(CreditScoreFeatures features) {
+        long score = 0;
+        if (features.isGstinVerified()) {
+            score += gstinVerifiedPoints;
+        }
+        if (features.isPanVerified()) {
+            score += panVerifiedPoints;
+        }
+        if (features.isCompleteProfile()) {
+            score += completeProfilePoints;
+        }
+        if (features.getBusinessType() != null) {
+            score += businessTypePoints[features.getBusinessType().ordinal()];
+        }
+        if (features.getIndustryCategory() != null) {
+            score += industryCategoryPoints[features.getIndustryCategory().ordinal()];
+        }
+        return score * 100;
+    }
+
+    @Override
+    public long creditUtilizationScore(CreditScoreFeatures features) {
+        int referencesWithCredit = features.getReferencesWithCreditLimit();
+        if (referencesWithCredit == 0) {
+            return 0;
+        }
+
+        // Average credit limit in hundredths
+        long avgCreditLimit = divideHalfUp(features.getTotalCreditLimitHundredths(), referencesWithCredit);
+        return utilizationScores[band(utilizationThresholds, avgCreditLimit)];
+    }
+
+    @Override
+    public long businessAgeScore(CreditScoreFeatures features, long todayEpochDay) {
+        if (features.getRegistrationDate() == null) {
+            return unknownRegistrationScore;
+        }
+
+        long monthsBetween = (todayEpochDay - features.getRegistrationDate().toEpochDay()) / 30;
+        return businessAgeScores[band(businessAgeThresholds, monthsBetween)];
+    }
+
+    @Override
+    public String creditScoreGrade(int scoreTenths) {
+        return gradeLabels[band(gradeThresholds, scoreTenths)];
+    }
+
+    @Override
+    public String riskCategory(int scoreTenths) {
+        return riskLabels[band(riskThresholds, scoreTenths)];
+    }
+
+    @Override
+    public long recommendedCreditLimit(int scoreTenths, CreditScoreFeatures features) {
+        long baseCreditLimit = creditLimits[band(creditLimitThresholds, scoreTenths)];
+
+        int validReferences = features.getReferencesWithBusinessValue();
+        if (validReferences == 0) {
+            return baseCreditLimit;
+        }
+
+        // Average business value in hundredths, then a multiplier in ten-thousandths of avg / 10 Lakh
+        long avgBusinessValue = divideHalfUp(features.getTotalBusinessValueHundredths(), validReferences);
+        long valueMultiplier = clamp(divideHalfUp(avgBusinessValue, 10000), MIN_VALUE_MULTIPLIER, MAX_VALUE_MULTIPLIER);
+
+        return divideHalfUp(baseCreditLimit * valueMultiplier, 10000);
+    }
+
+    // Index of the first band whose threshold the value reaches; the fallback threshold is Long.MIN_VALUE
+    private static int band(long[] thresholds, long value) {
+        int i = 0;
+        while (value < thresholds[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    // Compiling
+
+    private static Map<String, ScoringRule> byKey(Map<ScoringRuleType, List<ScoringRule>> rules, ScoringRuleType type) {
+        Map<String, ScoringRule> byKey = new HashMap<>();
+        for (ScoringRule rule : rules.getOrDefault(type, Collections.emptyList())) {
+            if (byKey.put(rule.getRuleKey(), rule) != null) {
+                throw new IllegalArgumentException("Duplicate " + type + " rule: " + rule.getRuleKey());
+            }
+        }
+        return byKey;
+    }
+
+    private static long points(Map<String, ScoringRule> rules, String key) {
+        ScoringRule rule = rules.get(key);
+        if (rule == null || rule.getPoints() == null) {
+            throw new IllegalArgumentException("Missing points for scoring rule: " + key);
+        }
+        return rule.getPoints();
+    }
+
+    private static long threshold(Map<String, ScoringRule> rules, String key) {
+        ScoringRule rule = rules.get(key);
+        if (rule == null || rule.getThreshold() == null) {
+            throw new IllegalArgumentException("Missing threshold for scoring rule: " + key);
+        }
+        return rule.getThreshold();
+    }
+
+    private static <E extends Enum<E>> int[] lookup(Map<ScoringRuleType, List<ScoringRule>> rules,
+                                                    ScoringRuleType type, Class<E> enumType) {
+        int[] table = new int[enumType.getEnumConstants().length];
+        Map<String, ScoringRule> byKey = byKey(rules, type);
+        for (String key : byKey.keySet()) {
+            table[Enum.valueOf(enumType, key).ordinal()] = (int) points(byKey, key);
+        }
+        return table;
+    }
+
+    // Band rules sorted from the highest threshold down, with exactly one fallback (no threshold) last
+    private static List<ScoringRule> bands(Map<ScoringRuleType, List<ScoringRule>> rules, ScoringRuleType type) {
+        List<ScoringRule> bands = new ArrayList<>(rules.getOrDefault(type, Collections.emptyList()));
+        bands.sort(Comparator.comparing(ScoringRule::getThreshold, Comparator.nullsLast(Comparator.reverseOrder())));
+
+        long fallbacks = bands.stream().filter(rule -> rule.getThreshold() == null).count();
+        if (fallbacks != 1) {
+            throw new IllegalArgumentException(type + " rules need exactly one fallback band without a threshold");
+        }
+        return bands;
+    }
+
+    private static long[] thresholds(List<ScoringRule> bands, long scale, long offset) {
+        long[] thresholds = new long[bands.size()];
+        for (int i = 0; i < thresholds.length; i++) {
+            Long threshold = bands.get(i).getThreshold();
+            thresholds[i] = threshold != null ? threshold * scale + offset : Long.MIN_VALUE;
+        }
+        return thresholds;
+    }
+
+    private static long[] values(List<ScoringRule> bands, long scale) {
+        long[] values = new long[bands.size()];
+        for (int i = 0; i < values.length; i++) {
+            ScoringRule rule = bands.get(i);
+            if (rule.getPoints() == null) {
+                throw new IllegalArgumentException("Missing points for " + rule.getRuleType() + " band: " + rule.getRuleKey());
+            }
+            values[i] = rule.getPoints() * scale;
+        }
+        return values;
+    }
+
+    private static String[] labels(List<ScoringRule> bands) {
+        String[] labels = new String[bands.size()];
+        for (int i = 0; i < labels.length; i++) {
+            labels[i] = bands.get(i).getRuleKey();
+        }
+        return labels;
+    }
+
+    /**
+     * The built-in model (version 0). Scores, thresholds and points are whole
+     * values; weights are percentages.
+     */
+    public static List<ScoringRule> defaultRules() {
+        List<ScoringRule> rules = new ArrayList<>();
+
+        rules.add(rule(ScoringRuleType.SCORE_LIMIT, "BASE", null, 500L));
+        rules.add(rule(ScoringRuleType.SCORE_LIMIT, "MIN", null, 300L));
+        rules.add(rule(ScoringRuleType.SCORE_LIMIT, "MAX", null, 850L));
+
+        rules.add(rule(ScoringRuleType.WEIGHT, "PAYMENT_HISTORY", null, 35L));
+        rules.add(rule(ScoringRuleType.WEIGHT, "TRADE_REFERENCE", null, 25L));
+        rules.add(rule(ScoringRuleType.WEIGHT, "BUSINESS_PROFILE", null, 20L));
+        rules.add(rule(ScoringRuleType.WEIGHT, "CREDIT_UTILIZATION", null, 10L));
+        rules.add(rule(ScoringRuleType.WEIGHT, "BUSINESS_AGE", null, 10L));
+
+        rules.add(rule(ScoringRuleType.PAYMENT_OUTCOME, "ON_TIME", null, 50L));
+        rules.add(rule(ScoringRuleType.PAYMENT_OUTCOME, "LATE", null, -10L));
+        rules.add(rule(ScoringRuleType.PAYMENT_OUTCOME, "VERY_LATE", null, -30L));
+        rules.add(rule(ScoringRuleType.PAYMENT_OUTCOME, "OVERDUE", null, -40L));
+        rules.add(rule(ScoringRuleType.PAYMENT_OUTCOME, "DEFAULTED", null, -100L));
+
+        rules.add(rule(ScoringRuleType.TRADE_REFERENCE, "VERIFIED", null, 20L));
+        rules.add(rule(ScoringRuleType.TRADE_REFERENCE, "PARTIALLY_VERIFIED", null, 10L));
+        rules.add(rule(ScoringRuleType.TRADE_REFERENCE, "DISPUTED", null, -15L));
+        rules.add(rule(ScoringRuleType.TRADE_REFERENCE, "HIGH_VALUE", null, 10L));
+
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "EXCELLENT_PAYMENT_RATE", 9500L, 50L)); // Basis points on time
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "GOOD_PAYMENT_RATE", 8500L, 25L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "MULTIPLE_REFERENCES", 5L, 20L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "HIGH_VERIFICATION_RATE", 8000L, 25L)); // Basis points verified
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "NO_TRADE_REFERENCES", null, -20L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "GSTIN_VERIFIED", null, 20L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "PAN_VERIFIED", null, 15L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "COMPLETE_PROFILE", null, 15L));
+        rules.add(rule(ScoringRuleType.ADJUSTMENT, "UNKNOWN_REGISTRATION_DATE", null, -10L));
+
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "EXCELLENT", null, 30L));
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "GOOD", null, 20L));
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "SATISFACTORY", null, 10L));
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "POOR", null, -20L));
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "VERY_POOR", null, -40L));
+        rules.add(rule(ScoringRuleType.PAYMENT_BEHAVIOR, "DEFAULTED", null, -60L));
+
+        rules.add(rule(ScoringRuleType.RECOMMENDATION_LEVEL, "HIGHLY_RECOMMENDED", null, 25L));
+        rules.add(rule(ScoringRuleType.RECOMMENDATION_LEVEL, "RECOMMENDED", null, 15L));
+        rules.add(rule(ScoringRuleType.RECOMMENDATION_LEVEL, "CONDITIONALLY_RECOMMENDED", null, 5L));
+        rules.add(rule(ScoringRuleType.RECOMMENDATION_LEVEL, "NOT_RECOMMENDED", null, -30L));
+
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "PUBLIC_LIMITED", null, 25L));
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "PRIVATE_LIMITED", null, 20L));
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "PARTNERSHIP", null, 15L));
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "LLP", null, 15L));
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "SOLE_PROPRIETORSHIP", null, 10L));
+        rules.add(rule(ScoringRuleType.BUSINESS_TYPE, "OTHER", null, 5L));
+
+        // Lower risk industries
+        rules.add(rule(ScoringRuleType.INDUSTRY_CATEGORY, "TECHNOLOGY", null, 10L));
+        rules.add(rule(ScoringRuleType.INDUSTRY_CATEGORY, "HEALTHCARE", null, 10L));
+        rules.add(rule(ScoringRuleType.INDUSTRY_CATEGORY, "EDUCATION", null, 10L));
+        rules.add(rule(ScoringRuleType.INDUSTRY_CATEGORY, "MANUFACTURING", null, 5L));
+        rules.add(rule(ScoringRuleType.INDUSTRY_CATEGORY, "RETAIL", null, 5L));
+
+        rules.add(rule(ScoringRuleType.GRADE, "A+", 750L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "A", 700L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "B+", 650L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "B", 600L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "C+", 550L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "C", 500L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "D", 450L, null));
+        rules.add(rule(ScoringRuleType.GRADE, "F", null, null));
+
+        rules.add(rule(ScoringRuleType.RISK_CATEGORY, "LOW", 700L, null));
+        rules.add(rule(ScoringRuleType.RISK_CATEGORY, "MODERATE", 600L, null));
+        rules.add(rule(ScoringRuleType.RISK_CATEGORY, "MEDIUM", 500L, null));
+        rules.add(rule(ScoringRuleType.RISK_CATEGORY, "HIGH", 400L, null));
+        rules.add(rule(ScoringRuleType.RISK_CATEGORY, "VERY_HIGH", null, null));
+
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "50_LAKH", 750L, 5000000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "25_LAKH", 700L, 2500000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "15_LAKH", 650L, 1500000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "10_LAKH", 600L, 1000000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "5_LAKH", 550L, 500000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "2_5_LAKH", 500L, 250000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "1_LAKH", 450L, 100000L));
+        rules.add(rule(ScoringRuleType.CREDIT_LIMIT, "50_THOUSAND", null, 50000L));
+
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "5_YEARS", 60L, 30L));
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "3_YEARS", 36L, 20L));
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "2_YEARS", 24L, 15L));
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "1_YEAR", 12L, 10L));
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "6_MONTHS", 6L, 5L));
+        rules.add(rule(ScoringRuleType.BUSINESS_AGE, "NEW", null, -5L));
+
+        rules.add(rule(ScoringRuleType.CREDIT_UTILIZATION, "OVER_10_LAKH", 1000000L, 20L));
+        rules.add(rule(ScoringRuleType.CREDIT_UTILIZATION, "OVER_5_LAKH", 500000L, 15L));
+        rules.add(rule(ScoringRuleType.CREDIT_UTILIZATION, "OVER_1_LAKH", 100000L, 10L));
+        rules.add(rule(ScoringRuleType.CREDIT_UTILIZATION, "UP_TO_1_LAKH", null, 5L));
+
+        return rules;
+    }
+
+    private static ScoringRule rule(ScoringRuleType type, String key, Long threshold, Long points) {
+        return new ScoringRule(DEFAULT_VERSION, type, key, threshold, points);
+    }
+}
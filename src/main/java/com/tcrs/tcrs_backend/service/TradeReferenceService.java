@@ -13,6 +13,7 @@ import com.tcrs.tcrs_backend.security.UserPrincipal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
@@ -30,7 +31,6 @@ import java.time.Period;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -51,6 +51,12 @@ public class TradeReferenceService {
     @Autowired
     private EmailService emailService;
 
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private DocumentNumberAllocator documentNumberAllocator;
+
     public TradeReferenceResponse addTradeReference(TradeReferenceRequest request) {
         logger.info("Adding trade reference for business ID: {}", request.getBusinessId());
 
@@ -118,6 +124,7 @@ public class TradeReferenceService {
         }
 
         TradeReference savedReference = tradeReferenceRepository.save(tradeReference);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(savedReference.getBusiness().getId()));
 
         // Send verification email asynchronously
         sendVerificationEmailAsync(savedReference);
@@ -194,6 +201,7 @@ public class TradeReferenceService {
         }
 
         TradeReference updatedReference = tradeReferenceRepository.save(tradeReference);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(updatedReference.getBusiness().getId()));
 
         logger.info("Trade reference updated successfully");
 
@@ -398,6 +406,7 @@ public class TradeReferenceService {
         }
 
         tradeReferenceRepository.save(tradeReference);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(tradeReference.getBusiness().getId()));
 
         // Send notification to the business owner
         sendVerificationNotificationAsync(tradeReference);
@@ -441,6 +450,7 @@ public class TradeReferenceService {
         // Soft delete
         tradeReference.setIsActive(false);
         tradeReferenceRepository.save(tradeReference);
+        eventPublisher.publishEvent(new CreditDataChangedEvent(tradeReference.getBusiness().getId()));
 
         logger.info("Trade reference deleted successfully");
     }
@@ -606,7 +616,7 @@ public class TradeReferenceService {
     }
 
     private String generateReferenceNumber() {
-        return "REF-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        return documentNumberAllocator.next(DocumentNumberAllocator.Series.TRADE_REFERENCE);
     }
 
     private TradeReferenceResponse convertToResponse(TradeReference tradeReference) {
@@ -0,0 +1,403 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.repository.PaymentHistoryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bloom filter over active payment history transaction references, so duplicate checks
+ * for references that were never used skip the database. Only probable hits are looked up,
+ * and those that turn out to be free are counted as false positives.
+ *
+ * A definite miss must hold on every node, so each added reference is also published on
+ * {@value #CHANNEL} inside the inserting transaction and every node, this one included,
+ * adds it on commit. Soft-deleted references stay in the filter, as false positives, until
+ * the periodic rebuild from the table. While this node is not listening, or before the
+ * first build, every check goes to the database.
+ */
+@Service
+public class TransactionReferenceFilter {
+
+    private static final Logger logger = LoggerFactory.getLogger(TransactionReferenceFilter.class);
+
+    public static final String CHANNEL = "transaction_reference_filter";
+
+    private static final int NOTIFICATION_POLL_MILLIS = 10000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+    private static final int REBUILD_FETCH_SIZE = 10000;
+
+    // Notification payloads are limited to 8000 bytes; three UTF-8 bytes per char at most
+    private static final int MAX_PAYLOAD_CHARS = 2500;
+
+    @Autowired
+    private PaymentHistoryRepository paymentHistoryRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.reference-filter.enabled:true}")
+    private boolean enabled;
+
+    private final long expectedReferences;
+    private final double falsePositiveRate;
+
+    // Null until the first build completes
+    private volatile BloomFilter filter;
+    // Also receives additions while a rebuild reads the table, so none are lost on the swap
+    private volatile BloomFilter building;
+    private final Object rebuildLock = new Object();
+
+    private volatile boolean listening;
+    private volatile boolean stopped;
+    private Thread listenerThread;
+
+    private final Counter absentCounter;
+    private final Counter presentCounter;
+    private final Counter bypassCounter;
+    private final Counter falsePositiveCounter;
+
+    public TransactionReferenceFilter(@Value("${app.reference-filter.expected-references:10000000}") long expectedReferences,
+                                      @Value("${app.reference-filter.false-positive-rate:0.01}") double falsePositiveRate,
+                                      MeterRegistry meterRegistry) {
+        this.expectedReferences = expectedReferences;
+        this.falsePositiveRate = falsePositiveRate;
+        this.absentCounter = Counter.builder("payment.reference.filter.checks")
+                .tag("result", "absent")
+                .register(meterRegistry);
+        this.presentCounter = Counter.builder("payment.reference.filter.checks")
+                .tag("result", "present")
+                .register(meterRegistry);
+        this.bypassCounter = Counter.builder("payment.reference.filter.checks")
+                .tag("result", "bypassed")
+                .register(meterRegistry);
+        this.falsePositiveCounter = Counter.builder("payment.reference.filter.false.positives")
+                .description("Probable hits the database showed to be free; divide by checks{result=present} for the observed rate")
+                .register(meterRegistry);
+        Gauge.builder("payment.reference.filter.expected.fpp", this, TransactionReferenceFilter::expectedFalsePositiveRate)
+                .description("False positive rate expected from the current filter's fill")
+                .register(meterRegistry);
+        Gauge.builder("payment.reference.filter.references", this, TransactionReferenceFilter::referenceCount)
+                .description("References added to the current filter, including repeats")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        if (!enabled) {
+            return;
+        }
+        listenerThread = new Thread(this::listen, "transaction-reference-filter-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        stopped = true;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    // Whether an active payment history already uses the reference, as findByTransactionReferenceAndIsActiveTrue
+    public boolean isTaken(String reference) {
+        BloomFilter current = activeFilter();
+        if (current == null) {
+            bypassCounter.increment();
+            return paymentHistoryRepository.findByTransactionReferenceAndIsActiveTrue(reference).isPresent();
+        }
+        if (!current.mightContain(reference)) {
+            absentCounter.increment();
+            return false;
+        }
+
+        presentCounter.increment();
+        boolean taken = paymentHistoryRepository.findByTransactionReferenceAndIsActiveTrue(reference).isPresent();
+        if (!taken) {
+            falsePositiveCounter.increment();
+        }
+        return taken;
+    }
+
+    // The references already used by active payment histories, looking up only the probable hits
+    public Set<String> findTaken(Collection<String> references) {
+        BloomFilter current = activeFilter();
+        List<String> probable = new ArrayList<>();
+        if (current == null) {
+            bypassCounter.increment(references.size());
+            probable.addAll(references);
+        } else {
+            for (String reference : references) {
+                if (current.mightContain(reference)) {
+                    probable.add(reference);
+                }
+            }
+            absentCounter.increment(references.size() - probable.size());
+            presentCounter.increment(probable.size());
+        }
+
+        if (probable.isEmpty()) {
+            return new HashSet<>();
+        }
+        Set<String> taken = new HashSet<>(paymentHistoryRepository.findActiveTransactionReferences(probable));
+        if (current != null) {
+            falsePositiveCounter.increment(probable.size() - taken.size());
+        }
+        return taken;
+    }
+
+    // Call in the transaction that inserted the payment histories
+    public void referencesAdded(Collection<String> references) {
+        // Right away for this node's next check; the notification covers a rebuild in progress
+        for (String reference : references) {
+            add(reference);
+        }
+        if (!enabled) {
+            return;
+        }
+
+        // Length-prefixed, as references may contain any separator
+        StringBuilder payload = new StringBuilder();
+        for (String reference : references) {
+            if (payload.length() > 0 && payload.length() + reference.length() + 12 > MAX_PAYLOAD_CHARS) {
+                paymentHistoryRepository.notifyChannel(CHANNEL, payload.toString());
+                payload.setLength(0);
+            }
+            payload.append(reference.length()).append(':').append(reference);
+        }
+        if (payload.length() > 0) {
+            paymentHistoryRepository.notifyChannel(CHANNEL, payload.toString());
+        }
+    }
+
+    // Drops soft-deleted references and resizes for growth; daily by default
+    @Scheduled(cron = "${app.reference-filter.rebuild-cron:0 30 3 * * *}")
+    public void scheduledRebuild() {
+        if (enabled && listening) {
+            rebuild();
+        }
+    }
+
+    private void rebuild() {
+        synchronized (rebuildLock) {
+            BloomFilter next = new BloomFilter(expectedReferences, falsePositiveRate);
+            building = next;
+            long count = 0;
+
+            try (Connection connection = dataSource.getConnection()) {
+                // Postgres only fetches through a cursor, rather than all at once, inside a transaction
+                connection.setAutoCommit(false);
+                connection.setReadOnly(true);
+                try (PreparedStatement statement = connection.prepareStatement(
+                        "SELECT transaction_reference FROM payment_histories WHERE is_active = true",
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    statement.setFetchSize(REBUILD_FETCH_SIZE);
+                    try (ResultSet rows = statement.executeQuery()) {
+                        while (rows.next()) {
+                            next.add(rows.getString(1));
+                            count++;
+                        }
+                    }
+                } finally {
+                    // The pool restores auto-commit and read-only when the connection is returned
+                    connection.rollback();
+                }
+            } catch (SQLException e) {
+                logger.warn("Could not rebuild the transaction reference filter, keeping the current one: {}", e.getMessage());
+                return;
+            } finally {
+                building = null;
+            }
+
+            filter = next;
+            logger.info("Rebuilt the transaction reference filter from {} active references", count);
+            if (count > expectedReferences) {
+                logger.warn("Active transaction references ({}) exceed app.reference-filter.expected-references ({}); " +
+                        "the false positive rate will rise above {}", count, expectedReferences, falsePositiveRate);
+            }
+        }
+    }
+
+    private void listen() {
+        while (!stopped) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Additions may have been missed while not listening; those made from now on queue up meanwhile
+                rebuild();
+                listening = true;
+                logger.info("Listening for transaction reference additions on channel {}", CHANNEL);
+
+                while (!stopped) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!stopped) {
+                    logger.warn("Transaction reference filter listener lost its connection, bypassing the filter: {}", e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (!stopped) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int position = 0;
+        try {
+            while (position < payload.length()) {
+                int separator = payload.indexOf(':', position);
+                int length = Integer.parseInt(payload.substring(position, separator));
+                add(payload.substring(separator + 1, separator + 1 + length));
+                position = separator + 1 + length;
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Ignoring malformed transaction reference notification: {}", payload);
+        }
+    }
+
+    private void add(String reference) {
+        BloomFilter current = filter;
+        if (current != null) {
+            current.add(reference);
+        }
+        BloomFilter next = building;
+        if (next != null) {
+            next.add(reference);
+        }
+    }
+
+    private BloomFilter activeFilter() {
+        return enabled && listening ? filter : null;
+    }
+
+    private double expectedFalsePositiveRate() {
+        BloomFilter current = filter;
+        return current != null ? current.expectedFalsePositiveRate() : 0.0;
+    }
+
+    private double referenceCount() {
+        BloomFilter current = filter;
+        return current != null ? current.additions.sum() : 0.0;
+    }
+
+    /**
+     * Bit array of a size and hash count chosen for the expected references and target false
+     * positive rate. Positions come from double hashing of one 64-bit hash; bits are set with
+     * compare-and-set so additions need no lock.
+     */
+    private static final class BloomFilter {
+
+        private final AtomicLongArray words;
+        private final long bitCount;
+        private final int hashCount;
+        private final LongAdder setBits = new LongAdder();
+        private final LongAdder additions = new LongAdder();
+
+        BloomFilter(long expectedReferences, double falsePositiveRate) {
+            long expected = Math.max(1, expectedReferences);
+            long bits = (long) Math.ceil(-expected * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.words = new AtomicLongArray((int) Math.max(1, (bits + 63) / 64));
+            this.bitCount = words.length() * 64L;
+            this.hashCount = (int) Math.max(1, Math.round((double) bitCount / expected * Math.log(2)));
+        }
+
+        void add(String reference) {
+            long hash = hash(reference);
+            long step = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                set(Math.floorMod(hash + i * step, bitCount));
+            }
+            additions.increment();
+        }
+
+        boolean mightContain(String reference) {
+            long hash = hash(reference);
+            long step = mix(hash + 0x9E3779B97F4A7C15L) | 1;
+            for (int i = 0; i < hashCount; i++) {
+                long bit = Math.floorMod(hash + i * step, bitCount);
+                if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        double expectedFalsePositiveRate() {
+            return Math.pow((double) setBits.sum() / bitCount, hashCount);
+        }
+
+        private void set(long bit) {
+            int index = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            while (true) {
+                long word = words.get(index);
+                if ((word & mask) != 0) {
+                    return;
+                }
+                if (words.compareAndSet(index, word, word | mask)) {
+                    setBits.increment();
+                    return;
+                }
+            }
+        }
+
+        // FNV-1a over the UTF-16 code units, finished with a 64-bit mix
+        private static long hash(String reference) {
+            long hash = 0xCBF29CE484222325L;
+            for (int i = 0; i < reference.length(); i++) {
+                char c = reference.charAt(i);
+                hash = (hash ^ (c & 0xFF)) * 0x100000001B3L;
+                hash = (hash ^ (c >>> 8)) * 0x100000001B3L;
+            }
+            return mix(hash);
+        }
+
+        private static long mix(long value) {
+            value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+            value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+            return value ^ (value >>> 33);
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.tcrs.tcrs_backend.entity.Business;
+import com.tcrs.tcrs_backend.entity.CreditReport;
+import com.tcrs.tcrs_backend.entity.ReportStatus;
+import com.tcrs.tcrs_backend.repository.CreditReportRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Business ID to its current valid report, so report requests for a business with
+ * a valid report skip the findValidReportByBusiness query. Entries expire at the
+ * report's reportValidUntil.
+ *
+ * Nodes keep each other coherent over Postgres LISTEN/NOTIFY: saving a report
+ * notifies {@value #CHANNEL} inside the saving transaction, so the notification
+ * is delivered only if the report commits, and the other nodes drop their entry
+ * for the business. While this node is not listening the index is bypassed, and
+ * it is cleared before it is used again.
+ */
+@Service
+public class ValidReportIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(ValidReportIndex.class);
+
+    public static final String CHANNEL = "valid_report_index";
+
+    private static final int NOTIFICATION_POLL_MILLIS = 10000;
+    private static final long RECONNECT_DELAY_MILLIS = 5000;
+
+    @Autowired
+    private CreditReportRepository creditReportRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Value("${app.report-index.enabled:true}")
+    private boolean enabled;
+
+    // Notifications this node sent itself are ignored
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Cache<Long, IndexedReport> reports;
+
+    private volatile boolean listening;
+    private volatile boolean stopped;
+    private Thread listenerThread;
+
+    private final Counter hitCounter;
+    private final Counter missCounter;
+    private final Counter invalidationCounter;
+
+    public ValidReportIndex(@Value("${app.report-index.max-size:100000}") long maxSize, MeterRegistry meterRegistry) {
+        this.reports = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ValidUntilExpiry())
+                .<Long, IndexedReport>build();
+        this.hitCounter = Counter.builder("report.index.lookups")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.missCounter = Counter.builder("report.index.lookups")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        this.invalidationCounter = Counter.builder("report.index.invalidations")
+                .description("Index entries dropped on notification from another node")
+                .register(meterRegistry);
+        Gauge.builder("report.index.size", reports, Cache::estimatedSize)
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void startListening() {
+        if (!enabled) {
+            return;
+        }
+        listenerThread = new Thread(this::listen, "valid-report-index-listener");
+        listenerThread.setDaemon(true);
+        listenerThread.start();
+    }
+
+    @PreDestroy
+    public void stopListening() {
+        stopped = true;
+        if (listenerThread != null) {
+            listenerThread.interrupt();
+        }
+    }
+
+    /**
+     * The business's current valid report: from the index with a primary key read when
+     * it has one, otherwise from findValidReportByBusiness, which then fills the index.
+     */
+    public Optional<CreditReport> findValidReport(Business business) {
+        if (listening) {
+            IndexedReport indexed = reports.getIfPresent(business.getId());
+            if (indexed != null) {
+                Optional<CreditReport> report = creditReportRepository.findById(indexed.reportId)
+                        .filter(ValidReportIndex::isValid);
+                if (report.isPresent()) {
+                    hitCounter.increment();
+                    return report;
+                }
+                reports.invalidate(business.getId());
+            }
+            missCounter.increment();
+        }
+
+        Optional<CreditReport> report = creditReportRepository.findValidReportByBusiness(
+                business, ReportStatus.GENERATED, LocalDateTime.now());
+        report.ifPresent(this::index);
+        return report;
+    }
+
+    // Call in the transaction that saved the report
+    public void reportSaved(CreditReport report) {
+        index(report);
+        if (enabled) {
+            creditReportRepository.notifyChannel(CHANNEL, nodeId + ":" + report.getBusiness().getId());
+        }
+    }
+
+    private void index(CreditReport report) {
+        if (listening && isValid(report)) {
+            reports.put(report.getBusiness().getId(),
+                    new IndexedReport(report.getId(), report.getReportValidUntil()));
+        }
+    }
+
+    private void listen() {
+        while (!stopped) {
+            try (Connection connection = dataSource.getConnection()) {
+                try (Statement statement = connection.createStatement()) {
+                    statement.execute("LISTEN " + CHANNEL);
+                }
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+
+                // Invalidations may have been missed while not listening
+                reports.invalidateAll();
+                listening = true;
+                logger.info("Listening for valid report invalidations on channel {}", CHANNEL);
+
+                while (!stopped) {
+                    PGNotification[] notifications = pgConnection.getNotifications(NOTIFICATION_POLL_MILLIS);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            handle(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException e) {
+                if (!stopped) {
+                    logger.warn("Valid report index listener lost its connection, bypassing the index: {}", e.getMessage());
+                }
+            } finally {
+                listening = false;
+            }
+
+            if (!stopped) {
+                try {
+                    Thread.sleep(RECONNECT_DELAY_MILLIS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    private void handle(String payload) {
+        int separator = payload.lastIndexOf(':');
+        if (separator < 0 || payload.substring(0, separator).equals(nodeId)) {
+            return;
+        }
+        try {
+            reports.invalidate(Long.valueOf(payload.substring(separator + 1)));
+            invalidationCounter.increment();
+        } catch (NumberFormatException e) {
+            logger.warn("Ignoring malformed valid report notification: {}", payload);
+        }
+    }
+
+    private static boolean isValid(CreditReport report) {
+        return report.getReportStatus() == ReportStatus.GENERATED
+                && report.getReportValidUntil() != null
+                && report.getReportValidUntil().isAfter(LocalDateTime.now());
+    }
+
+    private static final class IndexedReport {
+
+        private final Long reportId;
+        private final LocalDateTime validUntil;
+
+        private IndexedReport(Long reportId, LocalDateTime validUntil) {
+            this.reportId = reportId;
+            this.validUntil = validUntil;
+        }
+    }
+
+    // Each entry lives until its report stops being valid
+    private static final class ValidUntilExpiry implements Expiry<Long, IndexedReport> {
+
+        @Override
+        public long expireAfterCreate(Long businessId, IndexedReport report, long currentTime) {
+            return Math.max(0, Duration.between(LocalDateTime.now(), report.validUntil).toNanos());
+        }
+
+        @Override
+        public long expireAfterUpdate(Long businessId, IndexedReport report, long currentTime, long currentDuration) {
+            return expireAfterCreate(businessId, report, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Long businessId, IndexedReport report, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.*;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The BigDecimal scoring rules from before the fixed-point kernel, unchanged apart
+ * from taking entities and the current date as arguments instead of loading them.
+ * Shared by the parity test and the kernel benchmark.
+ */
+public final class BaselineScoringRules {
+
+    private static final BigDecimal PAYMENT_HISTORY_WEIGHT = new BigDecimal("0.35");
+    private static final BigDecimal TRADE_REFERENCE_WEIGHT = new BigDecimal("0.25");
+    private static final BigDecimal BUSINESS_PROFILE_WEIGHT = new BigDecimal("0.20");
+    private static final BigDecimal CREDIT_UTILIZATION_WEIGHT = new BigDecimal("0.10");
+    private static final BigDecimal BUSINESS_AGE_WEIGHT = new BigDecimal("0.10");
+
+    private static final BigDecimal BASE_SCORE = new BigDecimal("500");
+    private static final BigDecimal MIN_SCORE = new BigDecimal("300");
+    private static final BigDecimal MAX_SCORE = new BigDecimal("850");
+
+    private BaselineScoringRules() {}
+
+    public static BigDecimal creditScore(BigDecimal paymentScore, BigDecimal tradeReferenceScore,
+                                         BigDecimal businessProfileScore, BigDecimal creditUtilizationScore,
+                                         BigDecimal businessAgeScore) {
+        BigDecimal totalScore = BASE_SCORE
+                .add(paymentScore.multiply(PAYMENT_HISTORY_WEIGHT))
+                .add(tradeReferenceScore.multiply(TRADE_REFERENCE_WEIGHT))
+                .add(businessProfileScore.multiply(BUSINESS_PROFILE_WEIGHT))
+                .add(creditUtilizationScore.multiply(CREDIT_UTILIZATION_WEIGHT))
+                .add(businessAgeScore.multiply(BUSINESS_AGE_WEIGHT));
+
+        if (totalScore.compareTo(MIN_SCORE) < 0) {
+            totalScore = MIN_SCORE;
+        } else if (totalScore.compareTo(MAX_SCORE) > 0) {
+            totalScore = MAX_SCORE;
+        }
+
+        return totalScore.setScale(1, RoundingMode.HALF_UP);
+    }
+
+    public static BigDecimal paymentHistoryScore(List<PaymentHistory> paymentHistories) {
+        if (paymentHistories.isEmpty()) {
+            return BigDecimal.ZERO;
+        }
+
+        BigDecimal totalScore = BigDecimal.ZERO;
+        int totalPayments = paymentHistories.size();
+        int onTimePayments = 0;
+
+        for (PaymentHistory payment : paymentHistories) {
+            if (payment.getPaymentStatus() == PaymentStatus.PAID) {
+                if (payment.getDaysDelayed() == null || payment.getDaysDelayed() <= 0) {
+                    onTimePayments++;
+                    totalScore = totalScore.add(new BigDecimal("50"));
+                } else if (payment.getDaysDelayed() <= 30) {
+                    totalScore = totalScore.subtract(new BigDecimal("10"));
+                } else {
+                    totalScore = totalScore.subtract(new BigDecimal("30"));
+                }
+            } else if (payment.getPaymentStatus() == PaymentStatus.OVERDUE) {
+                totalScore = totalScore.subtract(new BigDecimal("40"));
+            } else if (payment.getPaymentStatus() == PaymentStatus.DEFAULTED) {
+                totalScore = totalScore.subtract(new BigDecimal("100"));
+            }
+        }
+
+        BigDecimal onTimePercentage = new BigDecimal(onTimePayments)
+                .divide(new BigDecimal(totalPayments), 4, RoundingMode.HALF_UP);
+        if (onTimePercentage.compareTo(new BigDecimal("0.95")) >= 0) {
+            totalScore = totalScore.add(new BigDecimal("50"));
+        } else if (onTimePercentage.compareTo(new BigDecimal("0.85")) >= 0) {
+            totalScore = totalScore.add(new BigDecimal("25"));
+        }
+
+        BigDecimal averageScore = totalScore.divide(new BigDecimal(totalPayments), 2, RoundingMode.HALF_UP);
+        if (averageScore.compareTo(new BigDecimal("100")) > 0) {
+            averageScore = new BigDecimal("100");
+        } else if (averageScore.compareTo(new BigDecimal("-100")) < 0) {
+            averageScore = new BigDecimal("-100");
+        }
+        return averageScore;
+    }
+
+    public static BigDecimal tradeReferenceScore(List<TradeReference> tradeReferences) {
+        if (tradeReferences.isEmpty()) {
+            return new BigDecimal("-20");
+        }
+
+        BigDecimal totalScore = BigDecimal.ZERO;
+        int verifiedReferences = 0;
+
+        for (TradeReference reference : tradeReferences) {
+            if (reference.getVerificationStatus() == ReferenceVerificationStatus.VERIFIED) {
+                verifiedReferences++;
+                totalScore = totalScore.add(new BigDecimal("20"));
+            } else if (reference.getVerificationStatus() == ReferenceVerificationStatus.PARTIALLY_VERIFIED) {
+                totalScore = totalScore.add(new BigDecimal("10"));
+            }
+
+            switch (reference.getPaymentBehavior()) {
+                case EXCELLENT: totalScore = totalScore.add(new BigDecimal("30")); break;
+                case GOOD: totalScore = totalScore.add(new BigDecimal("20")); break;
+                case SATISFACTORY: totalScore = totalScore.add(new BigDecimal("10")); break;
+                case POOR: totalScore = totalScore.subtract(new BigDecimal("20")); break;
+                case VERY_POOR: totalScore = totalScore.subtract(new BigDecimal("40")); break;
+                case DEFAULTED: totalScore = totalScore.subtract(new BigDecimal("60")); break;
+            }
+
+            if (reference.getRecommendationLevel() != null) {
+                switch (reference.getRecommendationLevel()) {
+                    case HIGHLY_RECOMMENDED: totalScore = totalScore.add(new BigDecimal("25")); break;
+                    case RECOMMENDED: totalScore = totalScore.add(new BigDecimal("15")); break;
+                    case CONDITIONALLY_RECOMMENDED: totalScore = totalScore.add(new BigDecimal("5")); break;
+                    case NOT_RECOMMENDED: totalScore = totalScore.subtract(new BigDecimal("30")); break;
+                }
+            }
+
+            if (reference.getHasDisputes() != null && reference.getHasDisputes()) {
+                totalScore = totalScore.subtract(new BigDecimal("15"));
+            }
+
+            if (reference.getTotalBusinessValue() != null &&
+                    reference.getTotalBusinessValue().compareTo(new BigDecimal("1000000")) > 0) {
+                totalScore = totalScore.add(new BigDecimal("10"));
+            }
+        }
+
+        int totalReferences = tradeReferences.size();
+        if (totalReferences >= 5) {
+            totalScore = totalScore.add(new BigDecimal("20"));
+        }
+
+        if (verifiedReferences > 0) {
+            BigDecimal verificationRate = new BigDecimal(verifiedReferences)
+                    .divide(new BigDecimal(totalReferences), 4, RoundingMode.HALF_UP);
+            if (verificationRate.compareTo(new BigDecimal("0.8")) >= 0) {
+                totalScore = totalScore.add(new BigDecimal("25"));
+            }
+        }
+
+        BigDecimal averageScore = totalScore.divide(new BigDecimal(totalReferences), 2, RoundingMode.HALF_UP);
+        if (averageScore.compareTo(new BigDecimal("80")) > 0) {
+            averageScore = new BigDecimal("80");
+        } else if (averageScore.compareTo(new BigDecimal("-50")) < 0) {
+            averageScore = new BigDecimal("-50");
+        }
+        return averageScore;
+    }
+
+    public static BigDecimal businessProfileScore(Business business) {
+        BigDecimal score = BigDecimal.ZERO;
+
+        if (business.getGstinVerified() != null && business.getGstinVerified()) {
+            score = score.add(new BigDecimal("20"));
+        }
+        if (business.getPanVerified() != null && business.getPanVerified()) {
+            score = score.add(new BigDecimal("15"));
+        }
+
+        if (business.getBusinessType() != null) {
+            switch (business.getBusinessType()) {
+                case PUBLIC_LIMITED: score = score.add(new BigDecimal("25")); break;
+                case PRIVATE_LIMITED: score = score.add(new BigDecimal("20")); break;
+                case PARTNERSHIP: score = score.add(new BigDecimal("15")); break;
+                case LLP: score = score.add(new BigDecimal("15")); break;
+                case SOLE_PROPRIETORSHIP: score = score.add(new BigDecimal("10")); break;
+                case OTHER: score = score.add(new BigDecimal("5")); break;
+                default: break;
+            }
+        }
+
+        boolean hasCompleteProfile =
+                business.getBusinessName() != null &&
+                        business.getGstin() != null &&
+                        business.getPan() != null &&
+                        business.getAddress() != null &&
+                        business.getPhoneNumber() != null &&
+                        business.getEmail() != null;
+        if (hasCompleteProfile) {
+            score = score.add(new BigDecimal("15"));
+        }
+
+        if (business.getIndustryCategory() != null) {
+            switch (business.getIndustryCategory()) {
+                case TECHNOLOGY:
+                case HEALTHCARE:
+                case EDUCATION:
+                    score = score.add(new BigDecimal("10"));
+                    break;
+                case MANUFACTURING:
+                case RETAIL:
+                    score = score.add(new BigDecimal("5"));
+                    break;
+                default:
+                    break;
+            }
+        }
+        return score;
+    }
+
+    public static BigDecimal creditUtilizationScore(List<TradeReference> references) {
+        BigDecimal totalCreditLimit = BigDecimal.ZERO;
+        int referencesWithCredit = 0;
+
+        for (TradeReference reference : references) {
+            if (reference.getCreditLimitProvided() != null &&
+                    reference.getCreditLimitProvided().compareTo(BigDecimal.ZERO) > 0) {
+                totalCreditLimit = totalCreditLimit.add(reference.getCreditLimitProvided());
+                referencesWithCredit++;
+            }
+        }
+
+        if (referencesWithCredit > 0) {
+            BigDecimal avgCreditLimit = totalCreditLimit.divide(new BigDecimal(referencesWithCredit), 2, RoundingMode.HALF_UP);
+            if (avgCreditLimit.compareTo(new BigDecimal("1000000")) > 0) {
+                return new BigDecimal("20");
+            } else if (avgCreditLimit.compareTo(new BigDecimal("500000")) > 0) {
+                return new BigDecimal("15");
+            } else if (avgCreditLimit.compareTo(new BigDecimal("100000")) > 0) {
+                return new BigDecimal("10");
+            } else {
+                return new BigDecimal("5");
+            }
+        }
+        return BigDecimal.ZERO;
+    }
+
+    public static BigDecimal businessAgeScore(Business business, LocalDate today) {
+        if (business.getRegistrationDate() == null) {
+            return new BigDecimal("-10");
+        }
+
+        long daysBetween = Duration.between(business.getRegistrationDate().atStartOfDay(), today.atStartOfDay()).toDays();
+        long monthsBetween = daysBetween / 30;
+
+        if (monthsBetween >= 60) {
+            return new BigDecimal("30");
+        } else if (monthsBetween >= 36) {
+            return new BigDecimal("20");
+        } else if (monthsBetween >= 24) {
+            return new BigDecimal("15");
+        } else if (monthsBetween >= 12) {
+            return new BigDecimal("10");
+        } else if (monthsBetween >= 6) {
+            return new BigDecimal("5");
+        } else {
+            return new BigDecimal("-5");
+        }
+    }
+
+    public static String creditScoreGrade(BigDecimal score) {
+        if (score.compareTo(new BigDecimal("750")) >= 0) {
+            return "A+";
+        } else if (score.compareTo(new BigDecimal("700")) >= 0) {
+            return "A";
+        } else if (score.compareTo(new BigDecimal("650")) >= 0) {
+            return "B+";
+        } else if (score.compareTo(new BigDecimal("600")) >= 0) {
+            return "B";
+        } else if (score.compareTo(new BigDecimal("550")) >= 0) {
+            return "C+";
+        } else if (score.compareTo(new BigDecimal("500")) >= 0) {
+            return "C";
+        } else if (score.compareTo(new BigDecimal("450")) >= 0) {
+            return "D";
+        } else {
+            return "F";
+        }
+    }
+
+    public static String riskCategory(BigDecimal score) {
+        if (score.compareTo(new BigDecimal("700")) >= 0) {
+            return "LOW";
+        } else if (score.compareTo(new BigDecimal("600")) >= 0) {
+            return "MODERATE";
+        } else if (score.compareTo(new BigDecimal("500")) >= 0) {
+            return "MEDIUM";
+        } else if (score.compareTo(new BigDecimal("400")) >= 0) {
+            return "HIGH";
+        } else {
+            return "VERY_HIGH";
+        }
+    }
+
+    public static BigDecimal recommendedCreditLimit(BigDecimal score, List<TradeReference> references) {
+        BigDecimal baseCreditLimit;
+        if (score.compareTo(new BigDecimal("750")) >= 0) {
+            baseCreditLimit = new BigDecimal("5000000");
+        } else if (score.compareTo(new BigDecimal("700")) >= 0) {
+            baseCreditLimit = new BigDecimal("2500000");
+        } else if (score.compareTo(new BigDecimal("650")) >= 0) {
+            baseCreditLimit = new BigDecimal("1500000");
+        } else if (score.compareTo(new BigDecimal("600")) >= 0) {
+            baseCreditLimit = new BigDecimal("1000000");
+        } else if (score.compareTo(new BigDecimal("550")) >= 0) {
+            baseCreditLimit = new BigDecimal("500000");
+        } else if (score.compareTo(new BigDecimal("500")) >= 0) {
+            baseCreditLimit = new BigDecimal("250000");
+        } else if (score.compareTo(new BigDecimal("450")) >= 0) {
+            baseCreditLimit = new BigDecimal("100000");
+        } else {
+            baseCreditLimit = new BigDecimal("50000");
+        }
+
+        if (!references.isEmpty()) {
+            BigDecimal totalBusinessValue = BigDecimal.ZERO;
+            int validReferences = 0;
+
+            for (TradeReference reference : references) {
+                if (reference.getTotalBusinessValue() != null &&
+                        reference.getTotalBusinessValue().compareTo(BigDecimal.ZERO) > 0) {
+                    totalBusinessValue = totalBusinessValue.add(reference.getTotalBusinessValue());
+                    validReferences++;
+                }
+            }
+
+            if (validReferences > 0) {
+                BigDecimal avgBusinessValue = totalBusinessValue.divide(new BigDecimal(validReferences), 2, RoundingMode.HALF_UP);
+                BigDecimal valueMultiplier = avgBusinessValue.divide(new BigDecimal("1000000"), 4, RoundingMode.HALF_UP);
+                if (valueMultiplier.compareTo(new BigDecimal("2.0")) > 0) {
+                    valueMultiplier = new BigDecimal("2.0");
+                } else if (valueMultiplier.compareTo(new BigDecimal("0.5")) < 0) {
+                    valueMultiplier = new BigDecimal("0.5");
+                }
+                baseCreditLimit = baseCreditLimit.multiply(valueMultiplier);
+            }
+        }
+
+        return baseCreditLimit.setScale(0, RoundingMode.HALF_UP);
+    }
+}
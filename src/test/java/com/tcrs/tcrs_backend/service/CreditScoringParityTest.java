@@ -0,0 +1,378 @@
+package com.tcrs.tcrs_backend.service;
+
+import com.tcrs.tcrs_backend.entity.*;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks the built-in table model and the fixed-point kernel against the BigDecimal
+ * scoring rules they replaced. {@link BaselineScoringRules} keeps those rules as they were,
+ * working on entities; the model works on the feature vector built from the same
+ * entities the way the aggregate queries would.
+ */
+class CreditScoringParityTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 10, 17);
+
+    private final ScoringModel model = TableScoringModel.defaultModel();
+    private final CreditScoringService creditScoringService = new CreditScoringService();
+
+    @Test
+    void zeroPaymentsAndZeroReferences() {
+        Business business = completeBusiness();
+
+        CreditScoreBreakdown breakdown = assertParity(business, Collections.emptyList(), Collections.emptyList());
+
+        assertSameValue(new BigDecimal("0"), breakdown.getPaymentHistoryScore(), "payment history score");
+        assertSameValue(new BigDecimal("-20"), breakdown.getTradeReferenceScore(), "trade reference score");
+        assertSameValue(new BigDecimal("0"), breakdown.getCreditUtilizationScore(), "credit utilization score");
+    }
+
+    @Test
+    void nullFields() {
+        Business business = new Business();
+        business.setId(1L);
+        business.setGstinVerified(null);
+        business.setPanVerified(null);
+
+        PaymentHistory paidWithoutDelay = payment(PaymentStatus.PAID, null);
+
+        TradeReference bare = reference(ReferenceVerificationStatus.PENDING, PaymentBehavior.GOOD);
+        bare.setRecommendationLevel(null);
+        bare.setHasDisputes(null);
+        bare.setTotalBusinessValue(null);
+        bare.setCreditLimitProvided(null);
+
+        CreditScoreBreakdown breakdown = assertParity(business, List.of(paidWithoutDelay), List.of(bare));
+
+        assertSameValue(new BigDecimal("0"), breakdown.getBusinessProfileScore(), "business profile score");
+        assertSameValue(new BigDecimal("-10"), breakdown.getBusinessAgeScore(), "business age score");
+    }
+
+    @Test
+    void averagesRoundHalfUp() {
+        // 7 on time and 1 default with the good payment bonus: 275 / 8 = 34.375
+        List<PaymentHistory> payments = new ArrayList<>(Collections.nCopies(7, payment(PaymentStatus.PAID, 0)));
+        payments.add(payment(PaymentStatus.DEFAULTED, null));
+
+        // 8 very poor references, one disputed, with the multiple references bonus: -315 / 8 = -39.375,
+        // rounded away from zero
+        List<TradeReference> references = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            TradeReference reference = reference(ReferenceVerificationStatus.PENDING, PaymentBehavior.VERY_POOR);
+            reference.setHasDisputes(i == 0);
+            references.add(reference);
+        }
+
+        CreditScoreBreakdown breakdown = assertParity(completeBusiness(), payments, references);
+
+        assertSameValue(new BigDecimal("34.38"), breakdown.getPaymentHistoryScore(), "payment history score");
+        assertSameValue(new BigDecimal("-39.38"), breakdown.getTradeReferenceScore(), "trade reference score");
+    }
+
+    @Test
+    void ratesRoundHalfUpAtFourDecimals() {
+        // 18999 of 20000 on time is 0.94995, which rounds to the 0.95 excellent rate
+        List<PaymentHistory> excellent = new ArrayList<>(Collections.nCopies(18999, payment(PaymentStatus.PAID, 0)));
+        excellent.addAll(Collections.nCopies(1001, payment(PaymentStatus.PAID, 45)));
+        assertParity(completeBusiness(), excellent, Collections.emptyList());
+
+        // 16999 of 20000 on time is 0.84995, which rounds to the 0.85 good rate
+        List<PaymentHistory> good = new ArrayList<>(Collections.nCopies(16999, payment(PaymentStatus.PAID, 0)));
+        good.addAll(Collections.nCopies(3001, payment(PaymentStatus.OVERDUE, null)));
+        assertParity(completeBusiness(), good, Collections.emptyList());
+
+        // 15999 of 20000 verified is 0.79995, which rounds to the 0.8 high verification rate
+        List<TradeReference> verified = new ArrayList<>(Collections.nCopies(15999,
+                reference(ReferenceVerificationStatus.VERIFIED, PaymentBehavior.SATISFACTORY)));
+        verified.addAll(Collections.nCopies(4001, reference(ReferenceVerificationStatus.UNVERIFIED, PaymentBehavior.POOR)));
+        assertParity(completeBusiness(), Collections.emptyList(), verified);
+    }
+
+    @Test
+    void weightedScoreRoundsHalfUpToOneDecimal() {
+        // Every payment sub-score in steps of 0.01, including those landing on x.x5 exactly
+        for (long paymentScore = -10000; paymentScore <= 10000; paymentScore++) {
+            assertWeightedParity(paymentScore, -2000, 8500, 0, 3000);
+        }
+        for (long tradeReferenceScore = -5000; tradeReferenceScore <= 8000; tradeReferenceScore++) {
+            assertWeightedParity(3438, tradeReferenceScore, 4500, 1000, -500);
+        }
+
+        assertEquals(5004, model.weightedScore(100, 0, 0, 0, 0)); // 500.35
+        assertEquals(4997, model.weightedScore(-100, 0, 0, 0, 0)); // 499.65
+    }
+
+    @Test
+    void subScoresStayWithinTheirCaps() {
+        // One verified, excellent, highly recommended, high value reference: 110 capped at 80
+        TradeReference best = reference(ReferenceVerificationStatus.VERIFIED, PaymentBehavior.EXCELLENT);
+        best.setRecommendationLevel(RecommendationLevel.HIGHLY_RECOMMENDED);
+        best.setTotalBusinessValue(new BigDecimal("2000000.00"));
+        CreditScoreBreakdown high = assertParity(completeBusiness(),
+                List.of(payment(PaymentStatus.PAID, -3)), List.of(best));
+        assertSameValue(new BigDecimal("100"), high.getPaymentHistoryScore(), "payment history score");
+        assertSameValue(new BigDecimal("80"), high.getTradeReferenceScore(), "trade reference score");
+
+        // One defaulted, not recommended, disputed reference: -105 capped at -50
+        TradeReference worst = reference(ReferenceVerificationStatus.PENDING, PaymentBehavior.DEFAULTED);
+        worst.setRecommendationLevel(RecommendationLevel.NOT_RECOMMENDED);
+        worst.setHasDisputes(true);
+        CreditScoreBreakdown low = assertParity(completeBusiness(),
+                List.of(payment(PaymentStatus.DEFAULTED, null), payment(PaymentStatus.DEFAULTED, null)), List.of(worst));
+        assertSameValue(new BigDecimal("-100"), low.getPaymentHistoryScore(), "payment history score");
+        assertSameValue(new BigDecimal("-50"), low.getTradeReferenceScore(), "trade reference score");
+    }
+
+    @Test
+    void overallScoreClampsTo300And850() {
+        // Out of reach for the default sub-score caps, so the weighting is driven directly
+        assertWeightedParity(-1000000, -1000000, 0, 0, 0);
+        assertWeightedParity(1000000, 1000000, 0, 0, 0);
+        assertEquals(3000, model.weightedScore(-1000000, -1000000, 0, 0, 0));
+        assertEquals(8500, model.weightedScore(1000000, 1000000, 0, 0, 0));
+    }
+
+    @Test
+    void gradeRiskAndCreditLimitBands() {
+        CreditScoreFeatures noReferences = features(completeBusiness(), Collections.emptyList(), Collections.emptyList());
+
+        // Every score in tenths across and beyond the 300 to 850 range
+        for (int scoreTenths = 2000; scoreTenths <= 9000; scoreTenths++) {
+            BigDecimal score = CreditScoringKernel.fromTenths(scoreTenths);
+            assertEquals(BaselineScoringRules.creditScoreGrade(score), model.creditScoreGrade(scoreTenths), "grade at " + score);
+            assertEquals(BaselineScoringRules.riskCategory(score), model.riskCategory(scoreTenths), "risk category at " + score);
+            assertSameValue(BaselineScoringRules.recommendedCreditLimit(score, Collections.emptyList()),
+                    BigDecimal.valueOf(model.recommendedCreditLimit(scoreTenths, noReferences)), "credit limit at " + score);
+        }
+
+        assertEquals("A", model.creditScoreGrade(7499));
+        assertEquals("A+", model.creditScoreGrade(7500));
+        assertEquals("HIGH", model.riskCategory(4999));
+        assertEquals("MEDIUM", model.riskCategory(5000));
+    }
+
+    @Test
+    void creditLimitMultipliers() {
+        String[][] businessValues = {
+                {"100000.00"},                   // 0.1x, floored at 0.5x
+                {"499950.00"},                   // 0.49995x rounds to 0.5x
+                {"500000.00"},                   // 0.5x exactly
+                {"1000050.00"},                  // 1.00005x rounds to 1.0001x
+                {"1000000.01", "1000000.00"},    // Average 1000000.005 rounds to 1000000.01
+                {"1234567.89"},                  // 1.2346x
+                {"2000000.00"},                  // 2x exactly
+                {"9000000.00", "1000.00"},       // 4.5005x, capped at 2x
+                {"0.00", "-5.00", "750000.00"}   // Non-positive values are left out of the average
+        };
+
+        for (String[] values : businessValues) {
+            List<TradeReference> references = new ArrayList<>();
+            for (String value : values) {
+                TradeReference reference = reference(ReferenceVerificationStatus.VERIFIED, PaymentBehavior.GOOD);
+                reference.setTotalBusinessValue(new BigDecimal(value));
+                references.add(reference);
+            }
+            CreditScoreFeatures features = features(completeBusiness(), Collections.emptyList(), references);
+
+            for (int scoreTenths = 4400; scoreTenths <= 7600; scoreTenths += 50) {
+                BigDecimal score = CreditScoringKernel.fromTenths(scoreTenths);
+                assertSameValue(BaselineScoringRules.recommendedCreditLimit(score, references),
+                        BigDecimal.valueOf(model.recommendedCreditLimit(scoreTenths, features)),
+                        "credit limit at " + score + " for business values " + String.join(", ", values));
+            }
+        }
+    }
+
+    @Test
+    void randomPortfoliosMatch() {
+        Random random = new Random(20261017L);
+        PaymentStatus[] statuses = PaymentStatus.values();
+        ReferenceVerificationStatus[] verificationStatuses = ReferenceVerificationStatus.values();
+        PaymentBehavior[] behaviors = PaymentBehavior.values();
+        RecommendationLevel[] levels = RecommendationLevel.values();
+        BusinessType[] businessTypes = BusinessType.values();
+        IndustryCategory[] industries = IndustryCategory.values();
+
+        for (int i = 0; i < 2000; i++) {
+            Business business = new Business();
+            business.setId((long) i);
+            business.setBusinessName(random.nextBoolean() ? "Business " + i : null);
+            business.setGstin(random.nextInt(4) > 0 ? "GSTIN" + i : null);
+            business.setPan("PAN" + i);
+            business.setAddress("Address " + i);
+            business.setPhoneNumber("98000" + i);
+            business.setEmail("business" + i + "@example.com");
+            business.setGstinVerified(random.nextInt(3) == 0 ? null : random.nextBoolean());
+            business.setPanVerified(random.nextInt(3) == 0 ? null : random.nextBoolean());
+            business.setBusinessType(random.nextInt(6) == 0 ? null : businessTypes[random.nextInt(businessTypes.length)]);
+            business.setIndustryCategory(random.nextInt(6) == 0 ? null : industries[random.nextInt(industries.length)]);
+            business.setRegistrationDate(random.nextInt(8) == 0 ? null : TODAY.minusDays(random.nextInt(3000) - 30));
+
+            List<PaymentHistory> payments = new ArrayList<>();
+            int paymentCount = random.nextInt(5) == 0 ? 0 : random.nextInt(60);
+            for (int p = 0; p < paymentCount; p++) {
+                PaymentStatus status = random.nextInt(3) == 0 ? statuses[random.nextInt(statuses.length)] : PaymentStatus.PAID;
+                Integer daysDelayed = random.nextInt(4) == 0 ? null : random.nextInt(80) - 10;
+                payments.add(payment(status, daysDelayed));
+            }
+
+            List<TradeReference> references = new ArrayList<>();
+            int referenceCount = random.nextInt(5) == 0 ? 0 : random.nextInt(12);
+            for (int r = 0; r < referenceCount; r++) {
+                TradeReference reference = reference(verificationStatuses[random.nextInt(verificationStatuses.length)],
+                        behaviors[random.nextInt(behaviors.length)]);
+                reference.setRecommendationLevel(random.nextInt(4) == 0 ? null : levels[random.nextInt(levels.length)]);
+                reference.setHasDisputes(random.nextInt(4) == 0 ? null : random.nextInt(5) == 0);
+                reference.setTotalBusinessValue(random.nextInt(4) == 0 ? null : randomAmount(random, 4000000));
+                reference.setCreditLimitProvided(random.nextInt(4) == 0 ? null : randomAmount(random, 2000000));
+                references.add(reference);
+            }
+
+            assertParity(business, payments, references);
+        }
+    }
+
+    // Scores the entities both ways and checks every part of the breakdown agrees
+    private CreditScoreBreakdown assertParity(Business business, List<PaymentHistory> payments,
+                                              List<TradeReference> references) {
+        BigDecimal paymentScore = BaselineScoringRules.paymentHistoryScore(payments);
+        BigDecimal tradeReferenceScore = BaselineScoringRules.tradeReferenceScore(references);
+        BigDecimal businessProfileScore = BaselineScoringRules.businessProfileScore(business);
+        BigDecimal creditUtilizationScore = BaselineScoringRules.creditUtilizationScore(references);
+        BigDecimal businessAgeScore = BaselineScoringRules.businessAgeScore(business, TODAY);
+        BigDecimal creditScore = BaselineScoringRules.creditScore(paymentScore, tradeReferenceScore,
+                businessProfileScore, creditUtilizationScore, businessAgeScore);
+
+        CreditScoreFeatures features = features(business, payments, references);
+        CreditScoreBreakdown breakdown = creditScoringService.calculateScoreBreakdown(features, model);
+        // The breakdown scores business age against the current date
+        long ageScore = model.businessAgeScore(features, TODAY.toEpochDay());
+        int scoreTenths = model.weightedScore(model.paymentHistoryScore(features), model.tradeReferenceScore(features),
+                model.businessProfileScore(features), model.creditUtilizationScore(features), ageScore);
+
+        assertSameValue(paymentScore, breakdown.getPaymentHistoryScore(), "payment history score");
+        assertSameValue(tradeReferenceScore, breakdown.getTradeReferenceScore(), "trade reference score");
+        assertSameValue(businessProfileScore, breakdown.getBusinessProfileScore(), "business profile score");
+        assertSameValue(creditUtilizationScore, breakdown.getCreditUtilizationScore(), "credit utilization score");
+        assertSameValue(businessAgeScore, CreditScoringKernel.fromHundredths(ageScore), "business age score");
+        assertSameValue(creditScore, CreditScoringKernel.fromTenths(scoreTenths), "credit score");
+        assertEquals(BaselineScoringRules.creditScoreGrade(creditScore), model.creditScoreGrade(scoreTenths), "grade");
+        assertEquals(BaselineScoringRules.riskCategory(creditScore), model.riskCategory(scoreTenths), "risk category");
+        assertSameValue(BaselineScoringRules.recommendedCreditLimit(creditScore, references),
+                BigDecimal.valueOf(model.recommendedCreditLimit(scoreTenths, features)), "recommended credit limit");
+
+        return breakdown;
+    }
+
+    private void assertWeightedParity(long paymentScore, long tradeReferenceScore, long businessProfileScore,
+                                      long creditUtilizationScore, long businessAgeScore) {
+        BigDecimal expected = BaselineScoringRules.creditScore(
+                CreditScoringKernel.fromHundredths(paymentScore),
+                CreditScoringKernel.fromHundredths(tradeReferenceScore),
+                CreditScoringKernel.fromHundredths(businessProfileScore),
+                CreditScoringKernel.fromHundredths(creditUtilizationScore),
+                CreditScoringKernel.fromHundredths(businessAgeScore));
+        int actual = model.weightedScore(paymentScore, tradeReferenceScore, businessProfileScore,
+                creditUtilizationScore, businessAgeScore);
+        assertSameValue(expected, CreditScoringKernel.fromTenths(actual),
+                "credit score for payment " + paymentScore + ", trade reference " + tradeReferenceScore);
+    }
+
+    private static void assertSameValue(BigDecimal expected, BigDecimal actual, String what) {
+        assertEquals(0, expected.compareTo(actual), what + ": expected " + expected + " but was " + actual);
+    }
+
+    // Same buckets and sums as the payment and trade reference scoring aggregate queries
+    private static CreditScoreFeatures features(Business business, List<PaymentHistory> payments,
+                                                List<TradeReference> references) {
+        CreditScoreFeatures features = new CreditScoreFeatures(business.getId());
+        features.applyBusiness(business);
+
+        long onTime = 0, late = 0, veryLate = 0, overdue = 0, defaulted = 0;
+        BigDecimal amount = BigDecimal.ZERO;
+        for (PaymentHistory payment : payments) {
+            Integer daysDelayed = payment.getDaysDelayed();
+            if (payment.getPaymentStatus() == PaymentStatus.PAID) {
+                if (daysDelayed == null || daysDelayed <= 0) {
+                    onTime++;
+                } else if (daysDelayed <= 30) {
+                    late++;
+                } else {
+                    veryLate++;
+                }
+            } else if (payment.getPaymentStatus() == PaymentStatus.OVERDUE) {
+                overdue++;
+            } else if (payment.getPaymentStatus() == PaymentStatus.DEFAULTED) {
+                defaulted++;
+            }
+            amount = amount.add(payment.getTransactionAmount());
+        }
+        features.applyPaymentAggregate(new Object[] {(long) payments.size(), onTime, late, veryLate, overdue, defaulted,
+                payments.isEmpty() ? null : amount}, 0);
+
+        // One group per reference, as the grouped query would return for distinct groups
+        for (TradeReference reference : references) {
+            BigDecimal creditLimit = reference.getCreditLimitProvided();
+            BigDecimal businessValue = reference.getTotalBusinessValue();
+            boolean hasCreditLimit = creditLimit != null && creditLimit.signum() > 0;
+            boolean hasBusinessValue = businessValue != null && businessValue.signum() > 0;
+            features.addTradeReferenceGroup(new Object[] {
+                    reference.getVerificationStatus(),
+                    reference.getPaymentBehavior(),
+                    reference.getRecommendationLevel(),
+                    1L,
+                    Boolean.TRUE.equals(reference.getHasDisputes()) ? 1L : 0L,
+                    businessValue != null && businessValue.compareTo(new BigDecimal("1000000")) > 0 ? 1L : 0L,
+                    hasCreditLimit ? creditLimit : BigDecimal.ZERO,
+                    hasCreditLimit ? 1L : 0L,
+                    hasBusinessValue ? businessValue : BigDecimal.ZERO,
+                    hasBusinessValue ? 1L : 0L}, 0);
+        }
+        return features;
+    }
+
+    private static Business completeBusiness() {
+        Business business = new Business();
+        business.setId(1L);
+        business.setBusinessName("Acme Traders");
+        business.setGstin("27AAACA1234A1Z5");
+        business.setPan("AAACA1234A");
+        business.setAddress("1 Market Road");
+        business.setPhoneNumber("9800000000");
+        business.setEmail("accounts@acme.example");
+        business.setGstinVerified(true);
+        business.setPanVerified(false);
+        business.setBusinessType(BusinessType.PRIVATE_LIMITED);
+        business.setIndustryCategory(IndustryCategory.TECHNOLOGY);
+        business.setRegistrationDate(TODAY.minusYears(3));
+        return business;
+    }
+
+    private static PaymentHistory payment(PaymentStatus status, Integer daysDelayed) {
+        PaymentHistory payment = new PaymentHistory();
+        payment.setPaymentStatus(status);
+        payment.setDaysDelayed(daysDelayed);
+        payment.setTransactionAmount(new BigDecimal("125000.50"));
+        return payment;
+    }
+
+    private static TradeReference reference(ReferenceVerificationStatus verificationStatus, PaymentBehavior behavior) {
+        TradeReference reference = new TradeReference();
+        reference.setVerificationStatus(verificationStatus);
+        reference.setPaymentBehavior(behavior);
+        return reference;
+    }
+
+    private static BigDecimal randomAmount(Random random, int maxRupees) {
+        return BigDecimal.valueOf(random.nextInt(maxRupees) * 100L + random.nextInt(100), 2);
+    }
+}
@@ -0,0 +1,98 @@
+package com.tcrs.tcrs_backend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PdfDocumentWriterTest {
+
+    private static final Pattern START_XREF = Pattern.compile("startxref\n(\\d+)\n%%EOF\n$");
+    private static final Pattern XREF_HEADER = Pattern.compile("xref\n0 (\\d+)\n");
+    private static final Pattern STREAM_LENGTH = Pattern.compile("<< /Length (\\d+) >>\nstream\n");
+
+    @Test
+    void xrefOffsetsPointAtTheirObjects() throws IOException {
+        String pdf = render(writer -> {
+            writer.title("Trade Credit Report");
+            for (int i = 0; i < 200; i++) {
+                writer.field("Line " + i, "Value (" + i + ") with \\ and ₹ and a “quoted” word");
+            }
+        });
+
+        Matcher startXref = START_XREF.matcher(pdf);
+        assertTrue(startXref.find(), "startxref at the end of the file");
+        int xrefOffset = Integer.parseInt(startXref.group(1));
+
+        Matcher header = XREF_HEADER.matcher(pdf);
+        assertTrue(header.find(xrefOffset) && header.start() == xrefOffset, "xref table at the startxref offset");
+        int size = Integer.parseInt(header.group(1));
+        assertTrue(size > 8, "several pages were written");
+        assertTrue(pdf.contains("trailer\n<< /Size " + size + " /Root 1 0 R >>\n"), "trailer size matches the table");
+
+        // Entries are fixed 20 byte lines, object 0 being the head of the free list
+        int entries = header.end();
+        assertEquals("0000000000 65535 f \n", pdf.substring(entries, entries + 20));
+        for (int object = 1; object < size; object++) {
+            String entry = pdf.substring(entries + object * 20, entries + (object + 1) * 20);
+            assertTrue(entry.endsWith(" 00000 n \n"), "in-use entry for object " + object + ": " + entry);
+            int offset = Integer.parseInt(entry.substring(0, 10));
+            assertTrue(pdf.startsWith(object + " 0 obj\n", offset), "object " + object + " starts at offset " + offset);
+        }
+    }
+
+    @Test
+    void streamLengthsMatchTheirContent() throws IOException {
+        String pdf = render(writer -> writer.text("First (page)\nSecond \\ line"));
+
+        Matcher stream = STREAM_LENGTH.matcher(pdf);
+        int streams = 0;
+        while (stream.find()) {
+            int length = Integer.parseInt(stream.group(1));
+            assertTrue(pdf.startsWith("\nendstream\n", stream.end() + length), "stream of " + length + " bytes");
+            streams++;
+        }
+        assertEquals(1, streams);
+    }
+
+    @Test
+    void escapesParenthesesAndBackslashes() throws IOException {
+        String pdf = render(writer -> {
+            writer.field("Name", "Acme (India) Pvt. Ltd.");
+            writer.text("C:\\reports\\(draft)");
+            writer.text("unbalanced ) and (");
+        });
+
+        assertTrue(pdf.contains("(Acme \\(India\\) Pvt. Ltd.) Tj"), "parentheses escaped in field values");
+        assertTrue(pdf.contains("(C:\\\\reports\\\\\\(draft\\)) Tj"), "backslashes escaped before parentheses");
+        assertTrue(pdf.contains("(unbalanced \\) and \\() Tj"), "unbalanced parentheses escaped");
+        assertTrue(pdf.contains("(Report \\(1\\) - Page 1) Tj"), "footer escaped");
+    }
+
+    @Test
+    void emptyDocumentHasOnePage() throws IOException {
+        String pdf = render(writer -> { });
+
+        assertTrue(pdf.startsWith("%PDF-1.4\n"));
+        assertTrue(pdf.contains("/Kids [ 6 0 R ] /Count 1"), "single page in the page tree");
+    }
+
+    private interface Content {
+        void write(PdfDocumentWriter pdf) throws IOException;
+    }
+
+    // Rendered bytes as ISO-8859-1, so string offsets are byte offsets
+    private static String render(Content content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (PdfDocumentWriter pdf = new PdfDocumentWriter(out, "Report (1)")) {
+            content.write(pdf);
+        }
+        return out.toString(StandardCharsets.ISO_8859_1);
+    }
+}